@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.benchmark;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.expression.tree.ArithmeticBinaryExpression;
+import io.confluent.ksql.execution.expression.tree.ColumnReferenceExp;
+import io.confluent.ksql.execution.expression.tree.ComparisonExpression;
+import io.confluent.ksql.execution.expression.tree.DoubleLiteral;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.LogicalBinaryExpression;
+import io.confluent.ksql.execution.expression.tree.LongLiteral;
+import io.confluent.ksql.execution.plan.SelectExpression;
+import io.confluent.ksql.execution.sqlpredicate.SqlPredicate;
+import io.confluent.ksql.execution.streams.SelectValueMapper;
+import io.confluent.ksql.execution.streams.SelectValueMapperFactory;
+import io.confluent.ksql.function.InternalFunctionRegistry;
+import io.confluent.ksql.logging.processing.NoopProcessingLogContext;
+import io.confluent.ksql.logging.processing.ProcessingLogger;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.Operator;
+import io.confluent.ksql.schema.ksql.ColumnRef;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.util.KsqlConfig;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.streams.kstream.Predicate;
+import org.apache.kafka.streams.kstream.ValueMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ *  Runs JMH microbenchmarks against KSQL's generated filter and projection code.
+ *  Run with `-prof gc` to report the allocation rate per operation.
+ *  See `ksql-benchmark/README.md` for more info.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Threads(4)
+@Fork(3)
+public class ExpressionBenchmark {
+
+  private static final ColumnReferenceExp ID = column("ID");
+  private static final ColumnReferenceExp PRICE = column("PRICE");
+  private static final ColumnReferenceExp NAME = column("NAME");
+
+  private static final LogicalSchema SCHEMA = LogicalSchema.builder()
+      .valueColumn(ColumnName.of("ID"), SqlTypes.BIGINT)
+      .valueColumn(ColumnName.of("PRICE"), SqlTypes.DOUBLE)
+      .valueColumn(ColumnName.of("NAME"), SqlTypes.STRING)
+      .build()
+      .withMetaAndKeyColsInValue();
+
+  // WHERE ID > 5 AND PRICE < 100.0
+  private static final Expression FILTER = new LogicalBinaryExpression(
+      LogicalBinaryExpression.Type.AND,
+      new ComparisonExpression(ComparisonExpression.Type.GREATER_THAN, ID, new LongLiteral(5)),
+      new ComparisonExpression(ComparisonExpression.Type.LESS_THAN, PRICE, new DoubleLiteral(100.0))
+  );
+
+  // SELECT ID * 2, PRICE + 1.0, NAME
+  private static final ImmutableList<SelectExpression> PROJECTION = ImmutableList.of(
+      SelectExpression.of(
+          ColumnName.of("A"),
+          new ArithmeticBinaryExpression(Operator.MULTIPLY, ID, new LongLiteral(2))),
+      SelectExpression.of(
+          ColumnName.of("B"),
+          new ArithmeticBinaryExpression(Operator.ADD, PRICE, new DoubleLiteral(1.0))),
+      SelectExpression.of(ColumnName.of("C"), NAME)
+  );
+
+  @State(Scope.Thread)
+  public static class ExpressionState {
+
+    Predicate<Object, GenericRow> predicate;
+    ValueMapper<GenericRow, GenericRow> mapper;
+    GenericRow row;
+
+    /**
+     * {@code shared}: the thread safe predicate and mapper used by shared stream processors.
+     * {@code processor}: the predicate and mapper owned by a single processor instance.
+     */
+    @Param({"shared", "processor"})
+    public String evaluation;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+      final KsqlConfig ksqlConfig = new KsqlConfig(Collections.emptyMap());
+      final InternalFunctionRegistry functionRegistry = new InternalFunctionRegistry();
+      final ProcessingLogger logger = NoopProcessingLogContext.INSTANCE
+          .getLoggerFactory()
+          .getLogger("benchmark");
+
+      final SqlPredicate sqlPredicate =
+          new SqlPredicate(FILTER, SCHEMA, ksqlConfig, functionRegistry, logger);
+
+      final SelectValueMapper selectMapper = SelectValueMapperFactory
+          .create(PROJECTION, SCHEMA, ksqlConfig, functionRegistry, logger);
+
+      switch (evaluation) {
+        case "shared":
+          predicate = sqlPredicate.getPredicate();
+          mapper = selectMapper;
+          break;
+        case "processor":
+          predicate = sqlPredicate.getProcessorPredicate();
+          mapper = selectMapper.getProcessorMapper();
+          break;
+        default:
+          throw new RuntimeException("Invalid evaluation: " + evaluation);
+      }
+
+      row = new GenericRow(0L, "key", 10L, 12.5, "widget");
+    }
+  }
+
+  @Benchmark
+  public boolean filter(final ExpressionState state) {
+    return state.predicate.test(null, state.row);
+  }
+
+  @Benchmark
+  public GenericRow project(final ExpressionState state) {
+    return state.mapper.apply(state.row);
+  }
+
+  private static ColumnReferenceExp column(final String name) {
+    return new ColumnReferenceExp(ColumnRef.withoutSource(ColumnName.of(name)));
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder()
+        .include(ExpressionBenchmark.class.getSimpleName())
+        .build();
+
+    new Runner(opt).run();
+  }
+}
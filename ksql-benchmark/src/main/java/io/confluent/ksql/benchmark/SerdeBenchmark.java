@@ -15,21 +15,29 @@
 
 package io.confluent.ksql.benchmark;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import io.confluent.avro.random.generator.Generator;
 import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.datagen.RowGenerator;
 import io.confluent.ksql.logging.processing.ProcessingLogContext;
+import io.confluent.ksql.model.WindowType;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.serde.Format;
 import io.confluent.ksql.serde.FormatInfo;
+import io.confluent.ksql.serde.GenericKeySerDe;
 import io.confluent.ksql.serde.GenericRowSerDe;
+import io.confluent.ksql.serde.WindowInfo;
+import io.confluent.ksql.util.DecimalUtil;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.Pair;
 import java.io.InputStream;
+import java.math.BigDecimal;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.Random;
@@ -37,12 +45,15 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
-import org.apache.kafka.common.serialization.Serdes;
 import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.connect.data.ConnectSchema;
 import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.kstream.Windowed;
+import org.apache.kafka.streams.kstream.internals.SessionWindow;
+import org.apache.kafka.streams.kstream.internals.TimeWindow;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Fork;
@@ -56,6 +67,7 @@ import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.Options;
@@ -63,10 +75,13 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
 
 /**
  *  Runs JMH microbenchmarks against KSQL serdes.
+ *  Each pair of benchmarks covers the combinations of format and schema that the formats
+ *  support, e.g. the DELIMITED format does not support nested types.
+ *  Run with `-prof gc` to report the allocation rate per operation.
  *  See `ksql-benchmark/README.md` for more info, including benchmark results
  *  and how to run the benchmarks.
  */
-@BenchmarkMode(Mode.AverageTime)
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
 @OutputTimeUnit(TimeUnit.MICROSECONDS)
 @Warmup(iterations = 3, time = 10)
 @Measurement(iterations = 3, time = 10)
@@ -78,133 +93,373 @@ public class SerdeBenchmark {
   private static final String SCHEMA_FILE_SUFFIX = ".avro";
   private static final String TOPIC_NAME = "serde_benchmark";
 
-  @State(Scope.Thread)
-  public static class SchemaAndGenericRowState {
-    org.apache.kafka.connect.data.Schema schema;
+  private static final Schema ADDRESS_SCHEMA = SchemaBuilder.struct()
+      .field("STREET", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("CITY", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("ZIPCODE", Schema.OPTIONAL_INT32_SCHEMA)
+      .optional()
+      .build();
+
+  private static final Schema LINE_SCHEMA = SchemaBuilder.struct()
+      .field("ITEMID", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("QUANTITY", Schema.OPTIONAL_INT32_SCHEMA)
+      .field("PRICE", Schema.OPTIONAL_FLOAT64_SCHEMA)
+      .optional()
+      .build();
+
+  private static final ConnectSchema NESTED_SCHEMA = (ConnectSchema) SchemaBuilder.struct()
+      .field("ORDERID", Schema.OPTIONAL_INT64_SCHEMA)
+      .field("CUSTOMER", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("ADDRESS", ADDRESS_SCHEMA)
+      .field("TAGS", SchemaBuilder.array(Schema.OPTIONAL_STRING_SCHEMA).optional().build())
+      .field("ATTRIBUTES", SchemaBuilder
+          .map(Schema.OPTIONAL_STRING_SCHEMA, Schema.OPTIONAL_FLOAT64_SCHEMA)
+          .optional()
+          .build())
+      .field("LINES", SchemaBuilder.array(LINE_SCHEMA).optional().build())
+      .build();
+
+  private static final ConnectSchema DECIMALS_SCHEMA = (ConnectSchema) SchemaBuilder.struct()
+      .field("TRADEID", Schema.OPTIONAL_INT64_SCHEMA)
+      .field("SYMBOL", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("PRICE", DecimalUtil.builder(10, 2).optional().build())
+      .field("BID", DecimalUtil.builder(10, 2).optional().build())
+      .field("ASK", DecimalUtil.builder(10, 2).optional().build())
+      .field("VOLUME", DecimalUtil.builder(18, 4).optional().build())
+      .field("CHANGE", DecimalUtil.builder(6, 4).optional().build())
+      .build();
+
+  private static final ConnectSchema SINGLE_SCHEMA = (ConnectSchema) SchemaBuilder.struct()
+      .field("USERID", Schema.OPTIONAL_STRING_SCHEMA)
+      .build();
+
+  private static final ConnectSchema KEY_SCHEMA = (ConnectSchema) SchemaBuilder.struct()
+      .field("ROWKEY", Schema.OPTIONAL_STRING_SCHEMA)
+      .build();
+
+  private static final KsqlConfig KSQL_CONFIG = new KsqlConfig(Collections.emptyMap());
+
+  /**
+   * Common state of the value serde benchmarks.
+   */
+  public abstract static class RowSerdeState {
+
+    Serializer<GenericRow> serializer;
+    Deserializer<GenericRow> deserializer;
     GenericRow row;
+    byte[] bytes;
+
+    void setUp(
+        final String serializationFormat,
+        final String schemaName,
+        final boolean unwrapped
+    ) throws Exception {
+      final Pair<ConnectSchema, GenericRow> schemaAndRow = schemaAndRow(schemaName);
+      final PersistenceSchema schema =
+          PersistenceSchema.from(schemaAndRow.getLeft(), unwrapped);
+
+      final SchemaRegistryClient schemaRegistryClient = new MockSchemaRegistryClient();
+
+      final Serde<GenericRow> serde = GenericRowSerDe.from(
+          formatInfo(serializationFormat),
+          schema,
+          KSQL_CONFIG,
+          () -> schemaRegistryClient,
+          "benchmark",
+          ProcessingLogContext.create()
+      );
+
+      serializer = serde.serializer();
+      deserializer = serde.deserializer();
+      row = schemaAndRow.getRight();
+      bytes = serializer.serialize(TOPIC_NAME, row);
+    }
+  }
+
+  /**
+   * Rows with nested types, in the formats that support them.
+   */
+  @State(Scope.Thread)
+  public static class SerdeState extends RowSerdeState {
 
-    @Param({"impressions", "metrics"})
+    @Param({"impressions", "metrics", "nested"})
     public String schemaName;
 
+    @Param({"JSON", "Avro", "Internal"})
+    public String serializationFormat;
+
     @Setup(Level.Iteration)
     public void setUp() throws Exception {
-      final Generator generator = new Generator(getSchemaStream(), new Random());
+      setUp(serializationFormat, schemaName, false);
+    }
+  }
 
-      // choose arbitrary key
-      final String key = generator.schema().getFields().get(0).name();
+  /**
+   * Rows with only primitive and decimal columns, in the formats that support decimals.
+   */
+  @State(Scope.Thread)
+  public static class FlatSerdeState extends RowSerdeState {
+
+    @Param({"impressions", "decimals"})
+    public String schemaName;
 
-      final RowGenerator rowGenerator = new RowGenerator(generator, key);
+    @Param({"Delimited", "Avro", "Internal"})
+    public String serializationFormat;
 
-      final Pair<Struct, GenericRow> genericRowPair = rowGenerator.generateRow();
-      row = genericRowPair.getRight();
-      schema = rowGenerator.schema().valueConnectSchema();
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+      setUp(serializationFormat, schemaName, false);
     }
+  }
+
+  /**
+   * Rows with a single column, wrapped in a record or object where the format supports it.
+   */
+  @State(Scope.Thread)
+  public static class SingleValueSerdeState extends RowSerdeState {
+
+    @Param({"JSON", "Avro", "Internal", "Delimited", "Kafka"})
+    public String serializationFormat;
 
-    private InputStream getSchemaStream() {
-      return SerdeBenchmark.class.getClassLoader().getResourceAsStream(
-          SCHEMA_DIR.resolve(schemaName + SCHEMA_FILE_SUFFIX).toString());
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+      setUp(serializationFormat, "single", false);
     }
   }
 
+  /**
+   * Rows with a single column, serialized as an anonymous value.
+   */
   @State(Scope.Thread)
-  public static class SerdeState {
+  public static class UnwrappedSerdeState extends RowSerdeState {
 
-    Serializer<GenericRow> serializer;
-    Deserializer<GenericRow> deserializer;
-    GenericRow row;
+    @Param({"JSON", "Avro", "Internal"})
+    public String serializationFormat;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+      setUp(serializationFormat, "single", true);
+    }
+  }
+
+  /**
+   * Keys, as created by {@link GenericKeySerDe}, with and without windows.
+   */
+  @State(Scope.Thread)
+  public static class KeySerdeState {
+
+    Serializer<Object> serializer;
+    Deserializer<Object> deserializer;
+    Object key;
     byte[] bytes;
 
-    @Param({"JSON", "Avro"})
+    @Param({"Kafka", "JSON", "Avro", "Delimited"})
     public String serializationFormat;
 
+    @Param({"NONE", "TUMBLING", "SESSION"})
+    public String windowType;
+
     @Setup(Level.Iteration)
-    public void setUp(final SchemaAndGenericRowState rowState) {
-      final Serde<GenericRow> serde;
-      switch (serializationFormat) {
-        case "JSON":
-          serde = getJsonSerde(rowState.schema);
+    public void setUp() {
+      final SchemaRegistryClient schemaRegistryClient = new MockSchemaRegistryClient();
+      final Supplier<SchemaRegistryClient> srFactory = () -> schemaRegistryClient;
+      final FormatInfo format = formatInfo(serializationFormat);
+      final PersistenceSchema schema = PersistenceSchema.from(KEY_SCHEMA, false);
+      final GenericKeySerDe factory = new GenericKeySerDe();
+
+      final Struct struct = new Struct(KEY_SCHEMA).put("ROWKEY", "user_42");
+      final long start = 1_573_000_000_000L;
+
+      switch (windowType) {
+        case "NONE":
+          bind(factory.create(
+              format,
+              schema,
+              KSQL_CONFIG,
+              srFactory,
+              "benchmark",
+              ProcessingLogContext.create()
+          ), struct);
+          break;
+        case "TUMBLING":
+          bind(factory.create(
+              format,
+              WindowInfo.of(WindowType.TUMBLING, Optional.of(Duration.ofMinutes(1))),
+              schema,
+              KSQL_CONFIG,
+              srFactory,
+              "benchmark",
+              ProcessingLogContext.create()
+          ), new Windowed<>(struct, new TimeWindow(start, start + 60_000L)));
           break;
-        case "Avro":
-          serde = getAvroSerde(rowState.schema);
+        case "SESSION":
+          bind(factory.create(
+              format,
+              WindowInfo.of(WindowType.SESSION, Optional.empty()),
+              schema,
+              KSQL_CONFIG,
+              srFactory,
+              "benchmark",
+              ProcessingLogContext.create()
+          ), new Windowed<>(struct, new SessionWindow(start, start + 12_345L)));
           break;
         default:
-          throw new RuntimeException("Invalid format: " + serializationFormat);
+          throw new RuntimeException("Invalid window type: " + windowType);
       }
-      serializer = serde.serializer();
-      deserializer = serde.deserializer();
-      row = rowState.row;
-      bytes = serializer.serialize(TOPIC_NAME, row);
     }
 
-    private static Serde<GenericRow> getJsonSerde(
-        final org.apache.kafka.connect.data.Schema schema) {
-      final Serializer<GenericRow> serializer = getJsonSerdeHelper(schema).serializer();
-      // KsqlJsonDeserializer requires schema field names to be uppercase
-      final Deserializer<GenericRow> deserializer =
-          getJsonSerdeHelper(convertFieldNamesToUppercase(schema)).deserializer();
-      return Serdes.serdeFrom(serializer, deserializer);
+    @SuppressWarnings("unchecked")
+    private void bind(final Serde<?> serde, final Object key) {
+      this.serializer = (Serializer<Object>) serde.serializer();
+      this.deserializer = (Deserializer<Object>) serde.deserializer();
+      this.key = key;
+      this.bytes = serializer.serialize(TOPIC_NAME, key);
     }
+  }
 
-    private static org.apache.kafka.connect.data.Schema convertFieldNamesToUppercase(
-        final org.apache.kafka.connect.data.Schema schema) {
-      SchemaBuilder builder = SchemaBuilder.struct();
-      for (final Field field : schema.fields()) {
-        builder = builder.field(field.name().toUpperCase(), field.schema());
-      }
-      return builder.build();
-    }
+  @Benchmark
+  public byte[] serialize(final SerdeState serdeState) {
+    return serdeState.serializer.serialize(TOPIC_NAME, serdeState.row);
+  }
 
-    private static Serde<GenericRow> getJsonSerdeHelper(
-        final org.apache.kafka.connect.data.Schema schema
-    ) {
-      return getGenericRowSerde(
-          FormatInfo.of(Format.JSON),
-          schema,
-          () -> null
-      );
-    }
+  @Benchmark
+  public GenericRow deserialize(final SerdeState serdeState) {
+    return serdeState.deserializer.deserialize(TOPIC_NAME, serdeState.bytes);
+  }
 
-    private static Serde<GenericRow> getAvroSerde(
-        final org.apache.kafka.connect.data.Schema schema
-    ) {
-      final SchemaRegistryClient schemaRegistryClient = new MockSchemaRegistryClient();
+  @Benchmark
+  public byte[] serializeFlat(final FlatSerdeState serdeState) {
+    return serdeState.serializer.serialize(TOPIC_NAME, serdeState.row);
+  }
 
-      return getGenericRowSerde(
-          FormatInfo.of(Format.AVRO, Optional.of("benchmarkSchema"), Optional.empty()),
-          schema,
-          () -> schemaRegistryClient
-      );
-    }
+  @Benchmark
+  public GenericRow deserializeFlat(final FlatSerdeState serdeState) {
+    return serdeState.deserializer.deserialize(TOPIC_NAME, serdeState.bytes);
+  }
 
-    private static Serde<GenericRow> getGenericRowSerde(
-        final FormatInfo format,
-        final org.apache.kafka.connect.data.Schema schema,
-        final Supplier<SchemaRegistryClient> schemaRegistryClientFactory
-    ) {
-      return GenericRowSerDe.from(
-          format,
-          PersistenceSchema.from((ConnectSchema) schema, false),
-          new KsqlConfig(Collections.emptyMap()),
-          schemaRegistryClientFactory,
-          "benchmark",
-          ProcessingLogContext.create()
-      );
-    }
+  @Benchmark
+  public byte[] serializeSingle(final SingleValueSerdeState serdeState) {
+    return serdeState.serializer.serialize(TOPIC_NAME, serdeState.row);
   }
 
   @Benchmark
-  public byte[] serialize(final SerdeState serdeState) {
+  public GenericRow deserializeSingle(final SingleValueSerdeState serdeState) {
+    return serdeState.deserializer.deserialize(TOPIC_NAME, serdeState.bytes);
+  }
+
+  @Benchmark
+  public byte[] serializeUnwrapped(final UnwrappedSerdeState serdeState) {
     return serdeState.serializer.serialize(TOPIC_NAME, serdeState.row);
   }
 
   @Benchmark
-  public GenericRow deserialize(final SerdeState serdeState) {
+  public GenericRow deserializeUnwrapped(final UnwrappedSerdeState serdeState) {
+    return serdeState.deserializer.deserialize(TOPIC_NAME, serdeState.bytes);
+  }
+
+  @Benchmark
+  public byte[] serializeKey(final KeySerdeState serdeState) {
+    return serdeState.serializer.serialize(TOPIC_NAME, serdeState.key);
+  }
+
+  @Benchmark
+  public Object deserializeKey(final KeySerdeState serdeState) {
     return serdeState.deserializer.deserialize(TOPIC_NAME, serdeState.bytes);
   }
 
+  private static FormatInfo formatInfo(final String serializationFormat) {
+    switch (serializationFormat) {
+      case "JSON":
+        return FormatInfo.of(Format.JSON);
+      case "Avro":
+        return FormatInfo.of(Format.AVRO, Optional.of("benchmarkSchema"), Optional.empty());
+      case "Delimited":
+        return FormatInfo.of(Format.DELIMITED);
+      case "Kafka":
+        return FormatInfo.of(Format.KAFKA);
+      case "Internal":
+        return FormatInfo.of(Format.INTERNAL);
+      default:
+        throw new RuntimeException("Invalid format: " + serializationFormat);
+    }
+  }
+
+  private static Pair<ConnectSchema, GenericRow> schemaAndRow(
+      final String schemaName
+  ) throws Exception {
+    switch (schemaName) {
+      case "nested":
+        return Pair.of(NESTED_SCHEMA, new GenericRow(
+            1_234_567L,
+            "customer_42",
+            new Struct(ADDRESS_SCHEMA)
+                .put("STREET", "1 Main Street")
+                .put("CITY", "Mountain View")
+                .put("ZIPCODE", 94041),
+            ImmutableList.of("priority", "gift", "repeat"),
+            ImmutableMap.of("discount", 0.1, "weight", 2.5, "volume", 0.03),
+            ImmutableList.of(
+                new Struct(LINE_SCHEMA)
+                    .put("ITEMID", "item_1").put("QUANTITY", 2).put("PRICE", 9.99),
+                new Struct(LINE_SCHEMA)
+                    .put("ITEMID", "item_22").put("QUANTITY", 1).put("PRICE", 24.5),
+                new Struct(LINE_SCHEMA)
+                    .put("ITEMID", "item_333").put("QUANTITY", 10).put("PRICE", 0.75)
+            )
+        ));
+      case "decimals":
+        return Pair.of(DECIMALS_SCHEMA, new GenericRow(
+            1_234_567L,
+            "CNFL",
+            new BigDecimal("31.42"),
+            new BigDecimal("31.40"),
+            new BigDecimal("31.45"),
+            new BigDecimal("1500000.2500"),
+            new BigDecimal("-0.0125")
+        ));
+      case "single":
+        return Pair.of(SINGLE_SCHEMA, new GenericRow("user_42"));
+      default:
+        return generatedSchemaAndRow(schemaName);
+    }
+  }
+
+  private static Pair<ConnectSchema, GenericRow> generatedSchemaAndRow(
+      final String schemaName
+  ) throws Exception {
+    final Generator generator = new Generator(getSchemaStream(schemaName), new Random());
+
+    // choose arbitrary key
+    final String key = generator.schema().getFields().get(0).name();
+
+    final RowGenerator rowGenerator = new RowGenerator(generator, key);
+
+    final Pair<Struct, GenericRow> genericRowPair = rowGenerator.generateRow();
+
+    // KSQL column names are uppercase
+    final ConnectSchema schema =
+        convertFieldNamesToUppercase(rowGenerator.schema().valueConnectSchema());
+
+    return Pair.of(schema, genericRowPair.getRight());
+  }
+
+  private static InputStream getSchemaStream(final String schemaName) {
+    return SerdeBenchmark.class.getClassLoader().getResourceAsStream(
+        SCHEMA_DIR.resolve(schemaName + SCHEMA_FILE_SUFFIX).toString());
+  }
+
+  private static ConnectSchema convertFieldNamesToUppercase(final Schema schema) {
+    SchemaBuilder builder = SchemaBuilder.struct();
+    for (final Field field : schema.fields()) {
+      builder = builder.field(field.name().toUpperCase(), field.schema());
+    }
+    return (ConnectSchema) builder.build();
+  }
+
   public static void main(final String[] args) throws RunnerException {
     final Options opt = new OptionsBuilder()
         .include(SerdeBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
         .build();
 
     new Runner(opt).run();
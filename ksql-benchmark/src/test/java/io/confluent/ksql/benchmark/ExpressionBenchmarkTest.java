@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.benchmark;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.benchmark.ExpressionBenchmark.ExpressionState;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+@RunWith(Parameterized.class)
+public class ExpressionBenchmarkTest {
+
+  private final String evaluation;
+
+  private ExpressionState state;
+
+  public ExpressionBenchmarkTest(final String evaluation) {
+    this.evaluation = evaluation;
+  }
+
+  @Parameterized.Parameters(name = "{0}")
+  public static List<String> data() {
+    return ImmutableList.of("shared", "processor");
+  }
+
+  @Before
+  public void setUp() {
+    state = new ExpressionState();
+    state.evaluation = evaluation;
+    state.setUp();
+  }
+
+  @Test
+  public void shouldEvaluateFilterAndProjection() {
+    final ExpressionBenchmark benchmark = new ExpressionBenchmark();
+
+    assertThat(benchmark.filter(state), is(true));
+    assertThat(benchmark.project(state), is(new GenericRow(20L, 13.5, "widget")));
+  }
+}
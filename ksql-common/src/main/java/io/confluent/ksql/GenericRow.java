@@ -15,34 +15,169 @@
 
 package io.confluent.ksql;
 
-import java.util.ArrayList;
+import java.math.BigDecimal;
+import java.util.AbstractList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.RandomAccess;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Struct;
 
+/**
+ * A row of column values, held in an {@code Object[]}.
+ *
+ * <p>Two rows are equal if they have the same number of columns and each pair of values is
+ * equal, where:
+ * <ul>
+ *   <li>integral numbers, i.e. {@code Byte}, {@code Short}, {@code Integer} and {@code Long},
+ *   are equal if they have the same value, regardless of type.</li>
+ *   <li>{@code Float} and {@code Double} values are equal if their {@code double} values are
+ *   equal as defined by {@link Double#equals}, i.e. {@code NaN} equals {@code NaN} and
+ *   {@code 0.0} does not equal {@code -0.0}.</li>
+ *   <li>{@code BigDecimal} values are equal if they have the same value and scale.</li>
+ *   <li>lists, maps, structs and arrays are equal if their elements are equal as above.
+ *   Struct schemas are not compared, only field names and values.</li>
+ *   <li>other values are equal as defined by their {@code equals} method.</li>
+ * </ul>
+ *
+ * <p>A row created by {@link #lazy} decodes each column value only when it is first accessed.
+ * Any column access, including via {@link #getColumns}, {@code equals}, {@code hashCode} and
+ * {@code toString}, decodes as required, so such rows are indistinguishable from other rows.
+ */
 public class GenericRow {
 
-  private final List<Object> columns;
+  private static final Object[] EMPTY = new Object[0];
+  private static final Object NOT_DECODED = new Object();
+
+  private Object[] values;
+  private int size;
+  private final List<Object> columns = new Columns();
+
+  // Decoder of any columns not yet decoded, and the offset of its first column within the row:
+  private ColumnDecoder decoder;
+  private int decoderOffset;
+  private int undecoded;
 
   public GenericRow() {
-    columns = new ArrayList<>();
+    this.values = EMPTY;
+    this.size = 0;
   }
 
+  /**
+   * Create a row holding a copy of the supplied columns.
+   *
+   * <p>Later changes to {@code columns} are not reflected in the row. Callers building rows on
+   * a hot path should prefer {@link #builder} or {@link #GenericRow(Object...)}, which avoid the
+   * copy.
+   *
+   * @param columns the column values.
+   */
   public GenericRow(final List<Object> columns) {
     Objects.requireNonNull(columns);
-    this.columns = columns;
+    this.values = columns.toArray();
+    this.size = values.length;
   }
 
+  /**
+   * Create a row backed by the supplied array, which must not be changed afterwards.
+   *
+   * @param columns the column values.
+   */
   public GenericRow(final Object ...columns) {
-    this(Arrays.asList(columns));
+    this.values = Objects.requireNonNull(columns);
+    this.size = columns.length;
+  }
+
+  private GenericRow(final Object[] values, final int size) {
+    this.values = values;
+    this.size = size;
+  }
+
+  /**
+   * Create a row whose column values are decoded only when first accessed.
+   *
+   * <p>Rows that are only partially accessed, e.g. because a filter rejects them on the value of
+   * one column, then avoid the cost of decoding their other columns.
+   *
+   * @param size the number of columns.
+   * @param decoder the decoder of the column values.
+   * @return the row.
+   */
+  public static GenericRow lazy(final int size, final ColumnDecoder decoder) {
+    final Object[] values = new Object[size];
+    Arrays.fill(values, NOT_DECODED);
+
+    final GenericRow row = new GenericRow(values, size);
+    row.setDecoder(Objects.requireNonNull(decoder, "decoder"), 0, size);
+    return row;
+  }
+
+  /**
+   * Create a builder for a row with the supplied number of columns.
+   *
+   * @param capacity the number of columns.
+   * @return the builder.
+   */
+  public static Builder builder(final int capacity) {
+    return new Builder(capacity);
+  }
+
+  /**
+   * @return the number of columns in the row.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @param index the column index.
+   * @return the value of the column, which may be {@code null}.
+   */
+  public Object get(final int index) {
+    checkIndex(index);
+    final Object value = values[index];
+    return value == NOT_DECODED ? decode(index) : value;
+  }
+
+  /**
+   * @param index the column index.
+   * @param value the new value of the column.
+   */
+  public void set(final int index, final Object value) {
+    checkIndex(index);
+    if (values[index] == NOT_DECODED) {
+      decoded();
+    }
+    values[index] = value;
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> T getColumnValue(final int columnIndex) {
+    return (T) get(columnIndex);
+  }
+
+  /**
+   * A mutable list view of the columns, for compatibility.
+   *
+   * <p>Prefer the positional accessors. Adding or removing columns through the view copies the
+   * underlying array where necessary.
+   *
+   * @return the columns.
+   */
+  public List<Object> getColumns() {
+    return columns;
   }
 
   @Override
   public String toString() {
+    decodeAll();
+
     final StringBuilder stringBuilder = new StringBuilder("[ ");
-    int currentIndex = 0;
-    for (int i = 0; i < columns.size(); i++) {
-      final Object obj = columns.get(i);
+    for (int i = 0; i < size; i++) {
+      final Object obj = values[i];
       if (obj == null) {
         stringBuilder.append("null");
       } else if (obj.getClass().isArray()) {
@@ -55,8 +190,7 @@ public class GenericRow {
         stringBuilder.append(obj);
       }
 
-      currentIndex++;
-      if (currentIndex < columns.size()) {
+      if (i < size - 1) {
         stringBuilder.append(" | ");
       }
     }
@@ -73,25 +207,317 @@ public class GenericRow {
       return false;
     }
     final GenericRow that = (GenericRow) o;
-    if (columns.size() != that.columns.size()) {
+    if (size != that.size) {
       return false;
     }
 
-    // For now string matching is used to compare the rows as double comparison will cause issues
-    return this.toString().equals(that.toString());
+    decodeAll();
+    that.decodeAll();
+
+    for (int i = 0; i < size; i++) {
+      if (!valuesEqual(values[i], that.values[i])) {
+        return false;
+      }
+    }
+    return true;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(columns);
+    decodeAll();
+
+    int hash = 1;
+    for (int i = 0; i < size; i++) {
+      hash = 31 * hash + valueHash(values[i]);
+    }
+    return hash;
   }
 
-  public List<Object> getColumns() {
-    return columns;
+  private void setDecoder(final ColumnDecoder decoder, final int offset, final int undecoded) {
+    this.decoder = decoder;
+    this.decoderOffset = offset;
+    this.undecoded = undecoded;
   }
 
-  @SuppressWarnings("unchecked")
-  public <T> T getColumnValue(final int columnIndex) {
-    return (T) columns.get(columnIndex);
+  private Object decode(final int index) {
+    // If decoding throws, the column is left undecoded, so will throw again if accessed again:
+    final Object value = decoder.decode(index - decoderOffset);
+    values[index] = value;
+    decoded();
+    return value;
+  }
+
+  private void decoded() {
+    if (--undecoded == 0) {
+      // Release the decoder, and any encoded data it references:
+      decoder = null;
+    }
+  }
+
+  private void decodeAll() {
+    for (int i = 0; undecoded > 0 && i < size; i++) {
+      if (values[i] == NOT_DECODED) {
+        decode(i);
+      }
+    }
+  }
+
+  private void checkIndex(final int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+  }
+
+  private static boolean valuesEqual(final Object a, final Object b) {
+    if (a == b) {
+      return true;
+    }
+    if (a == null || b == null) {
+      return false;
+    }
+
+    if (isIntegral(a) && isIntegral(b)) {
+      return ((Number) a).longValue() == ((Number) b).longValue();
+    }
+    if (isFloatingPoint(a) && isFloatingPoint(b)) {
+      return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue()) == 0;
+    }
+    if (a instanceof BigDecimal || b instanceof BigDecimal) {
+      return a.equals(b);
+    }
+    if (a instanceof List && b instanceof List) {
+      return listsEqual((List<?>) a, (List<?>) b);
+    }
+    if (a instanceof Map && b instanceof Map) {
+      return mapsEqual((Map<?, ?>) a, (Map<?, ?>) b);
+    }
+    if (a instanceof Struct && b instanceof Struct) {
+      return structsEqual((Struct) a, (Struct) b);
+    }
+    if (a instanceof Object[] && b instanceof Object[]) {
+      return listsEqual(Arrays.asList((Object[]) a), Arrays.asList((Object[]) b));
+    }
+    return a.equals(b);
+  }
+
+  private static boolean listsEqual(final List<?> a, final List<?> b) {
+    if (a.size() != b.size()) {
+      return false;
+    }
+    final Iterator<?> itA = a.iterator();
+    final Iterator<?> itB = b.iterator();
+    while (itA.hasNext()) {
+      if (!valuesEqual(itA.next(), itB.next())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean mapsEqual(final Map<?, ?> a, final Map<?, ?> b) {
+    if (a.size() != b.size()) {
+      return false;
+    }
+    for (final Map.Entry<?, ?> e : a.entrySet()) {
+      if (!b.containsKey(e.getKey()) || !valuesEqual(e.getValue(), b.get(e.getKey()))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean structsEqual(final Struct a, final Struct b) {
+    final List<Field> fieldsA = a.schema().fields();
+    final List<Field> fieldsB = b.schema().fields();
+    if (fieldsA.size() != fieldsB.size()) {
+      return false;
+    }
+    for (int i = 0; i < fieldsA.size(); i++) {
+      final Field fieldA = fieldsA.get(i);
+      final Field fieldB = fieldsB.get(i);
+      if (!fieldA.name().equals(fieldB.name())
+          || !valuesEqual(a.get(fieldA), b.get(fieldB))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int valueHash(final Object value) {
+    if (value == null) {
+      return 0;
+    }
+    if (isIntegral(value)) {
+      return Long.hashCode(((Number) value).longValue());
+    }
+    if (isFloatingPoint(value)) {
+      return Double.hashCode(((Number) value).doubleValue());
+    }
+    if (value instanceof List) {
+      return iterableHash((List<?>) value);
+    }
+    if (value instanceof Object[]) {
+      return iterableHash(Arrays.asList((Object[]) value));
+    }
+    if (value instanceof Map) {
+      int hash = 0;
+      for (final Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+        hash += Objects.hashCode(e.getKey()) ^ valueHash(e.getValue());
+      }
+      return hash;
+    }
+    if (value instanceof Struct) {
+      final Struct struct = (Struct) value;
+      int hash = 1;
+      for (final Field field : struct.schema().fields()) {
+        hash = 31 * hash + field.name().hashCode();
+        hash = 31 * hash + valueHash(struct.get(field));
+      }
+      return hash;
+    }
+    return value.hashCode();
+  }
+
+  private static int iterableHash(final Iterable<?> values) {
+    int hash = 1;
+    for (final Object value : values) {
+      hash = 31 * hash + valueHash(value);
+    }
+    return hash;
+  }
+
+  private static boolean isIntegral(final Object value) {
+    return value instanceof Long
+        || value instanceof Integer
+        || value instanceof Short
+        || value instanceof Byte;
+  }
+
+  private static boolean isFloatingPoint(final Object value) {
+    return value instanceof Double || value instanceof Float;
+  }
+
+  private final class Columns extends AbstractList<Object> implements RandomAccess {
+
+    @Override
+    public Object get(final int index) {
+      return GenericRow.this.get(index);
+    }
+
+    @Override
+    public Object set(final int index, final Object element) {
+      final Object previous = GenericRow.this.get(index);
+      values[index] = element;
+      return previous;
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public void add(final int index, final Object element) {
+      if (index < 0 || index > size) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+      }
+
+      if (undecoded > 0) {
+        if (index <= decoderOffset) {
+          // All undecoded columns shift right:
+          decoderOffset++;
+        } else {
+          decodeAll();
+        }
+      }
+
+      if (size == values.length) {
+        values = Arrays.copyOf(values, Math.max(4, size + (size >> 1) + 1));
+      }
+      System.arraycopy(values, index, values, index + 1, size - index);
+      values[index] = element;
+      size++;
+      modCount++;
+    }
+
+    @Override
+    public Object remove(final int index) {
+      final Object previous = GenericRow.this.get(index);
+
+      if (undecoded > 0) {
+        if (index < decoderOffset) {
+          // All undecoded columns shift left:
+          decoderOffset--;
+        } else {
+          decodeAll();
+        }
+      }
+
+      System.arraycopy(values, index + 1, values, index, size - index - 1);
+      values[--size] = null;
+      modCount++;
+      return previous;
+    }
+  }
+
+  /**
+   * Decodes the value of a column of a lazily decoded row.
+   */
+  @FunctionalInterface
+  public interface ColumnDecoder {
+
+    /**
+     * @param index the index of the column.
+     * @return the decoded value, which may be {@code null}.
+     */
+    Object decode(int index);
+  }
+
+  /**
+   * Builds a row with a known number of columns without intermediate copies.
+   *
+   * <p>Undecoded columns of the first lazily decoded row appended remain undecoded in the built
+   * row. Any other row appended is first fully decoded.
+   */
+  public static final class Builder {
+
+    private final Object[] values;
+    private int size;
+    private ColumnDecoder decoder;
+    private int decoderOffset;
+    private int undecoded;
+
+    private Builder(final int capacity) {
+      this.values = new Object[capacity];
+    }
+
+    public Builder append(final Object value) {
+      values[size++] = value;
+      return this;
+    }
+
+    public Builder appendAll(final GenericRow row) {
+      if (row.undecoded > 0) {
+        if (decoder == null) {
+          decoder = row.decoder;
+          decoderOffset = size + row.decoderOffset;
+          undecoded = row.undecoded;
+        } else {
+          row.decodeAll();
+        }
+      }
+
+      System.arraycopy(row.values, 0, values, size, row.size);
+      size += row.size;
+      return this;
+    }
+
+    public GenericRow build() {
+      final GenericRow row = new GenericRow(values, size);
+      if (decoder != null) {
+        row.setDecoder(decoder, decoderOffset, undecoded);
+      }
+      return row;
+    }
   }
 }
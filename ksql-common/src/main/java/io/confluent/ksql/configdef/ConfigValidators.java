@@ -21,6 +21,7 @@ import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.apache.kafka.common.config.ConfigDef.Validator;
 import org.apache.kafka.common.config.ConfigException;
@@ -67,8 +68,16 @@ public final class ConfigValidators {
   }
 
   public static <T extends Enum<T>> Validator enumValues(final Class<T> enumClass) {
+    return enumValues(enumClass, value -> true);
+  }
+
+  public static <T extends Enum<T>> Validator enumValues(
+      final Class<T> enumClass,
+      final Predicate<T> filter
+  ) {
     final String[] enumValues = EnumSet.allOf(enumClass)
         .stream()
+        .filter(filter)
         .map(Object::toString)
         .toArray(String[]::new);
 
@@ -81,7 +81,7 @@ public final class CommonCreateConfigs {
             VALUE_FORMAT_PROPERTY,
             ConfigDef.Type.STRING,
             valueFormatRequired ? ConfigDef.NO_DEFAULT_VALUE : null,
-            ConfigValidators.enumValues(Format.class),
+            ConfigValidators.enumValues(Format.class, Format::isUserFacing),
             Importance.HIGH,
             "The format of the serialized value"
         )
@@ -19,26 +19,45 @@ import io.confluent.ksql.util.KsqlException;
 
 public enum Format {
 
-  JSON(true),
-  AVRO(true),
-  DELIMITED(false),
-  KAFKA(false);
+  JSON(true, true),
+  AVRO(true, true),
+  DELIMITED(false, true),
+  KAFKA(false, true),
+
+  /**
+   * Compact binary format used for KSQL's own internal topics, e.g. repartition and changelog
+   * topics. It can not be used for user topics.
+   */
+  INTERNAL(true, false);
 
   private final boolean supportsUnwrapping;
+  private final boolean userFacing;
 
-  Format(final boolean supportsUnwrapping) {
+  Format(final boolean supportsUnwrapping, final boolean userFacing) {
     this.supportsUnwrapping = supportsUnwrapping;
+    this.userFacing = userFacing;
   }
 
   public boolean supportsUnwrapping() {
     return supportsUnwrapping;
   }
 
+  public boolean isUserFacing() {
+    return userFacing;
+  }
+
   public static Format of(final String value) {
+    final Format format;
     try {
-      return valueOf(value.toUpperCase());
+      format = valueOf(value.toUpperCase());
     } catch (final IllegalArgumentException e) {
       throw new KsqlException("Unknown format: " + value);
     }
+
+    if (!format.isUserFacing()) {
+      throw new KsqlException("Unknown format: " + value);
+    }
+
+    return format;
   }
 }
@@ -146,10 +146,18 @@ public class KsqlConfig extends AbstractConfig {
   public static final String KSQL_USE_LEGACY_KEY_FIELD = "ksql.query.fields.key.legacy";
   public static final String KSQL_LEGACY_REPARTITION_ON_GROUP_BY_ROWKEY =
       "ksql.query.stream.groupby.rowkey.repartition";
+  public static final String KSQL_FUSE_STATELESS_STEPS =
+      "ksql.query.stream.stateless.steps.fused";
+
+  public static final String KSQL_INTERNAL_TOPICS_COMPACT_FORMAT =
+      "ksql.query.internal.topics.compact.format";
 
   public static final String KSQL_WRAP_SINGLE_VALUES =
       "ksql.persistence.wrap.single.values";
 
+  public static final String KSQL_LAZY_DESERIALIZATION =
+      "ksql.query.value.deserialization.lazy";
+
   public static final String KSQL_CUSTOM_METRICS_TAGS = "ksql.metrics.tags.custom";
   private static final String KSQL_CUSTOM_METRICS_TAGS_DOC =
       "A list of tags to be included with emitted JMX metrics, formatted as a string of key:value "
@@ -166,7 +174,9 @@ public class KsqlConfig extends AbstractConfig {
   public static final String KSQL_STREAMS_PREFIX = "ksql.streams.";
 
   public static final String KSQL_COLLECT_UDF_METRICS = "ksql.udf.collect.metrics";
+  public static final String KSQL_UDF_METRICS_SAMPLE_RATE = "ksql.udf.metrics.sample.rate";
   public static final String KSQL_UDF_SECURITY_MANAGER_ENABLED = "ksql.udf.enable.security.manager";
+  public static final String KSQL_UDF_TRUSTED_JARS = "ksql.udf.trusted.jars";
 
   public static final String KSQL_INSERT_INTO_VALUES_ENABLED = "ksql.insert.into.values.enabled";
 
@@ -284,6 +294,33 @@ public class KsqlConfig extends AbstractConfig {
               Optional.empty(),
               "Ensures legacy queries that perform a 'GROUP BY ROWKEY' continue to "
                   + "perform an unnecessary repartition step"
+          ),
+          new CompatibilityBreakingConfigDef(
+              KSQL_FUSE_STATELESS_STEPS,
+              ConfigDef.Type.BOOLEAN,
+              false,
+              true,
+              ConfigDef.Importance.LOW,
+              Optional.empty(),
+              "Determines if chains of stateless stream steps, i.e. adding the source meta "
+                  + "columns, filtering and projecting, are built as a single processor. "
+                  + "This setting is automatically disabled for persistent queries started by "
+                  + "older versions of KSQL, as it changes their topology. "
+                  + "This setting should not be set manually."
+          ),
+          new CompatibilityBreakingConfigDef(
+              KSQL_INTERNAL_TOPICS_COMPACT_FORMAT,
+              ConfigDef.Type.BOOLEAN,
+              false,
+              true,
+              ConfigDef.Importance.LOW,
+              Optional.empty(),
+              "Determines if the values in a query's repartition and changelog topics are "
+                  + "serialized in KSQL's compact internal format, rather than in the format of "
+                  + "the query's source. "
+                  + "This setting is automatically disabled for persistent queries started by "
+                  + "older versions of KSQL, as it changes the data in their internal topics. "
+                  + "This setting should not be set manually."
           )
   );
 
@@ -477,6 +514,16 @@ public class KsqlConfig extends AbstractConfig {
             "Whether or not metrics should be collected for custom udfs. Default is false. Note: "
                 + "this will add some overhead to udf invocation. It is recommended that this "
                 + " be set to false in production."
+        ).define(
+            KSQL_UDF_METRICS_SAMPLE_RATE,
+            ConfigDef.Type.INT,
+            1,
+            ConfigDef.Range.atLeast(1),
+            ConfigDef.Importance.LOW,
+            "When udf metrics are collected, on average only one in every N invocations of a udf "
+                + "is timed. Invocation counts are always exact. Default is 1, i.e. time every "
+                + "invocation. "
+                + "Higher values make it cheap enough to leave udf metrics enabled in production."
         ).define(
             KSQL_EXT_DIR,
             ConfigDef.Type.STRING,
@@ -496,6 +543,14 @@ public class KsqlConfig extends AbstractConfig {
             ConfigDef.Importance.LOW,
             "Enable the security manager for UDFs. Default is true and will stop UDFs from"
                + " calling System.exit or executing processes"
+        ).define(
+            KSQL_UDF_TRUSTED_JARS,
+            Type.LIST,
+            "",
+            ConfigDef.Importance.LOW,
+            "A list of UDF jar file names, found in the ext dir, that are trusted. Functions "
+                + "loaded from trusted jars, like those shipped with KSQL, are not sandboxed by "
+                + "the UDF security manager and so avoid its per-invocation overhead."
         ).define(
             KSQL_INSERT_INTO_VALUES_ENABLED,
             Type.BOOLEAN,
@@ -528,6 +583,16 @@ public class KsqlConfig extends AbstractConfig {
                 + "e.g. '{\"FOO\": 10}." + System.lineSeparator()
                 + "Note: the DELIMITED format ignores this setting as it does not support the "
                 + "concept of a STRUCT, record or object."
+        ).define(
+            KSQL_LAZY_DESERIALIZATION,
+            ConfigDef.Type.BOOLEAN,
+            true,
+            ConfigDef.Importance.LOW,
+            "Determines if the columns of JSON and AVRO values read by queries are decoded "
+                + "lazily, i.e. only once a column is first accessed. The value is still fully "
+                + "validated when it is read. Lazy decoding benefits queries that only access a "
+                + "few columns of wide rows, at the cost of a small overhead for queries that "
+                + "access every column."
         ).define(
             KSQL_CUSTOM_METRICS_TAGS,
             ConfigDef.Type.STRING,
@@ -17,11 +17,15 @@ package io.confluent.ksql;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.testing.EqualsTester;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import org.apache.kafka.connect.data.Schema;
@@ -154,4 +158,311 @@ public class GenericRowTest {
               testEquals();
   }
 
+
+  @Test
+  public void shouldCompareNumbersByValue() {
+    new EqualsTester()
+        .addEqualityGroup(
+            new GenericRow(1, 2.0),
+            new GenericRow(1L, 2.0f),
+            new GenericRow((short) 1, 2.0)
+        )
+        .addEqualityGroup(
+            new GenericRow(1.0, 2.0)
+        )
+        .addEqualityGroup(
+            new GenericRow(1, Double.NaN),
+            new GenericRow(1, Double.NaN)
+        )
+        .addEqualityGroup(
+            new GenericRow(1, 0.0)
+        )
+        .addEqualityGroup(
+            new GenericRow(1, -0.0)
+        )
+        .testEquals();
+  }
+
+  @Test
+  public void shouldCompareFloatsAndDoublesByDoubleValue() {
+    new EqualsTester()
+        .addEqualityGroup(
+            new GenericRow(1.5f),
+            new GenericRow(1.5)
+        )
+        .addEqualityGroup(
+            // 0.1f widens to 0.10000000149011612, so is not equal to 0.1, even though both print
+            // as "0.1":
+            new GenericRow(0.1f)
+        )
+        .addEqualityGroup(
+            new GenericRow(0.1)
+        )
+        .addEqualityGroup(
+            new GenericRow(Float.NaN),
+            new GenericRow(Double.NaN)
+        )
+        .testEquals();
+  }
+
+  @Test
+  public void shouldCompareDecimalsByValueAndScale() {
+    new EqualsTester()
+        .addEqualityGroup(
+            new GenericRow(new BigDecimal("1.10")),
+            new GenericRow(new BigDecimal("1.10"))
+        )
+        .addEqualityGroup(
+            new GenericRow(new BigDecimal("1.1"))
+        )
+        .addEqualityGroup(
+            new GenericRow(1.1)
+        )
+        .testEquals();
+  }
+
+  @Test
+  public void shouldCompareNestedValues() {
+    final Schema otherAddressSchema = SchemaBuilder.struct()
+        .field("NUMBER",Schema.OPTIONAL_INT64_SCHEMA)
+        .field("STREET", Schema.OPTIONAL_STRING_SCHEMA)
+        .field("CITY", Schema.OPTIONAL_STRING_SCHEMA)
+        .field("STATE", Schema.OPTIONAL_STRING_SCHEMA)
+        .field("ZIPCODE", Schema.OPTIONAL_INT64_SCHEMA)
+        .build();
+
+    new EqualsTester()
+        .addEqualityGroup(
+            new GenericRow(ImmutableList.of(1, 2), ImmutableMap.of("a", 1L)),
+            new GenericRow(ImmutableList.of(1L, 2L), ImmutableMap.of("a", 1)),
+            new GenericRow(new Object[]{1, 2}, ImmutableMap.of("a", 1L))
+        )
+        .addEqualityGroup(
+            new GenericRow(ImmutableList.of(1, 3), ImmutableMap.of("a", 1L))
+        )
+        .addEqualityGroup(
+            new GenericRow(address(addressSchema, 101L)),
+            new GenericRow(address(otherAddressSchema, 101L))
+        )
+        .addEqualityGroup(
+            new GenericRow(address(addressSchema, 102L))
+        )
+        .testEquals();
+  }
+
+  @Test
+  public void shouldBuildRow() {
+    // When:
+    final GenericRow row = GenericRow.builder(3)
+        .append("a")
+        .append(null)
+        .append(1L)
+        .build();
+
+    // Then:
+    assertThat(row.size(), is(3));
+    assertThat(row, is(new GenericRow("a", null, 1L)));
+  }
+
+  @Test
+  public void shouldBuildRowFromOtherRow() {
+    // When:
+    final GenericRow row = GenericRow.builder(4)
+        .append(1L)
+        .append("k")
+        .appendAll(new GenericRow("a", "b"))
+        .build();
+
+    // Then:
+    assertThat(row, is(new GenericRow(1L, "k", "a", "b")));
+  }
+
+  @Test
+  public void shouldGetAndSetByPosition() {
+    // Given:
+    final GenericRow row = new GenericRow("a", "b");
+
+    // When:
+    row.set(1, "c");
+
+    // Then:
+    assertThat(row.get(0), is("a"));
+    assertThat(row.get(1), is("c"));
+    assertThat(row.getColumns(), is(ImmutableList.of("a", "c")));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void shouldThrowOnGetBeyondSize() {
+    new GenericRow("a").get(1);
+  }
+
+  @Test
+  public void shouldNotShareListPassedToConstructor() {
+    // Given:
+    final List<Object> columns = new ArrayList<>(Arrays.asList("a", "b"));
+    final GenericRow row = new GenericRow(columns);
+
+    // When:
+    columns.set(0, "c");
+
+    // Then:
+    assertThat(row.get(0), is("a"));
+  }
+
+  @Test
+  public void shouldInsertAndRemoveThroughColumnsView() {
+    // Given:
+    final GenericRow row = new GenericRow("b", "c");
+
+    // When:
+    row.getColumns().add(0, "a");
+    row.getColumns().add("d");
+    row.getColumns().remove(2);
+
+    // Then:
+    assertThat(row.size(), is(3));
+    assertThat(row, is(new GenericRow("a", "b", "d")));
+  }
+
+  @Test
+  public void shouldAddToEmptyRow() {
+    // Given:
+    final GenericRow row = new GenericRow();
+
+    // When:
+    row.getColumns().add(null);
+
+    // Then:
+    assertThat(row.size(), is(1));
+    assertThat(row.get(0), is(nullValue()));
+  }
+
+  @Test
+  public void shouldOnlyDecodeLazyColumnsOnAccess() {
+    // Given:
+    final List<Integer> decoded = new ArrayList<>();
+    final GenericRow row = GenericRow.lazy(3, index -> {
+      decoded.add(index);
+      return "v" + index;
+    });
+
+    // When:
+    final Object value = row.get(1);
+    row.get(1);
+
+    // Then:
+    assertThat(value, is("v1"));
+    assertThat(decoded, is(ImmutableList.of(1)));
+  }
+
+  @Test
+  public void shouldDecodeAllLazyColumnsWhenComparing() {
+    // Given:
+    final GenericRow row = GenericRow.lazy(2, index -> "v" + index);
+
+    // Then:
+    assertThat(row, is(new GenericRow("v0", "v1")));
+    assertThat(row.hashCode(), is(new GenericRow("v0", "v1").hashCode()));
+    assertThat(row.toString(), is("[ 'v0' | 'v1' ]"));
+  }
+
+  @Test
+  public void shouldNotDecodeLazyColumnOnSet() {
+    // Given:
+    final List<Integer> decoded = new ArrayList<>();
+    final GenericRow row = GenericRow.lazy(2, index -> {
+      decoded.add(index);
+      return "v" + index;
+    });
+
+    // When:
+    row.set(0, "a");
+
+    // Then:
+    assertThat(row, is(new GenericRow("a", "v1")));
+    assertThat(decoded, is(ImmutableList.of(1)));
+  }
+
+  @Test
+  public void shouldKeepColumnsLazyWhenBuildingFromLazyRow() {
+    // Given:
+    final List<Integer> decoded = new ArrayList<>();
+    final GenericRow lazy = GenericRow.lazy(3, index -> {
+      decoded.add(index);
+      return "v" + index;
+    });
+
+    // When:
+    final GenericRow row = GenericRow.builder(5)
+        .append(1L)
+        .append("k")
+        .appendAll(lazy)
+        .build();
+
+    // Then:
+    assertThat(row.get(3), is("v1"));
+    assertThat(decoded, is(ImmutableList.of(1)));
+    assertThat(row, is(new GenericRow(1L, "k", "v0", "v1", "v2")));
+  }
+
+  @Test
+  public void shouldKeepColumnsLazyWhenInsertingBefore() {
+    // Given:
+    final List<Integer> decoded = new ArrayList<>();
+    final GenericRow row = GenericRow.lazy(2, index -> {
+      decoded.add(index);
+      return "v" + index;
+    });
+
+    // When:
+    row.getColumns().add(0, "k");
+    row.getColumns().add(0, 1L);
+
+    // Then:
+    assertThat(row.get(3), is("v1"));
+    assertThat(decoded, is(ImmutableList.of(1)));
+    assertThat(row, is(new GenericRow(1L, "k", "v0", "v1")));
+  }
+
+  @Test
+  public void shouldDecodeLazyColumnsWhenInsertingBetweenThem() {
+    // Given:
+    final GenericRow row = GenericRow.lazy(2, index -> "v" + index);
+
+    // When:
+    row.getColumns().add(1, "x");
+    row.getColumns().remove(0);
+
+    // Then:
+    assertThat(row, is(new GenericRow("x", "v1")));
+  }
+
+  @Test
+  public void shouldRetryLazyColumnIfDecodeFails() {
+    // Given:
+    final List<Integer> decoded = new ArrayList<>();
+    final GenericRow row = GenericRow.lazy(1, index -> {
+      decoded.add(index);
+      throw new IllegalStateException("Boom");
+    });
+
+    // When:
+    for (int i = 0; i < 2; i++) {
+      try {
+        row.get(0);
+      } catch (final IllegalStateException e) {
+        // expected
+      }
+    }
+
+    // Then:
+    assertThat(decoded, is(ImmutableList.of(0, 0)));
+  }
+
+  private static Struct address(final Schema schema, final long number) {
+    final Struct address = new Struct(schema);
+    address.put("NUMBER", number);
+    address.put("STREET", "University Ave.");
+    return address;
+  }
 }
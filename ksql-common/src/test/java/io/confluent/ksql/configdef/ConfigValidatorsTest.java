@@ -51,6 +51,20 @@ public class ConfigValidatorsTest {
     validator.ensureValid("propName", "NotValid");
   }
 
+  @Test
+  public void shouldFailIfValueFilteredOutOfEnum() {
+    // Given:
+    final Validator validator = ConfigValidators
+        .enumValues(TestEnum.class, value -> value != TestEnum.BAR);
+
+    // Then:
+    expectedException.expect(ConfigException.class);
+    expectedException.expectMessage("String must be one of: FOO");
+
+    // When:
+    validator.ensureValid("propName", TestEnum.BAR.toString());
+  }
+
   @Test
   public void shouldNotThrowIfAValidEnumValue() {
     // Given:
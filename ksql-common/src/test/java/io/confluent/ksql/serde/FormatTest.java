@@ -51,4 +51,14 @@ public class FormatTest {
     // When:
     Format.of("bob");
   }
-}
\ No newline at end of file
+
+  @Test
+  public void shouldThrowOnInternalFormat() {
+    // Then:
+    expectedException.expect(KsqlException.class);
+    expectedException.expectMessage("Unknown format: Internal");
+
+    // When:
+    Format.of("Internal");
+  }
+}
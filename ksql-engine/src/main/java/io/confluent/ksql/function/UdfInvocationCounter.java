@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.function;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.kafka.common.metrics.Sensor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Counts the invocations of a udf, across all instances of the udf.
+ *
+ * <p>Invocations are counted in a striped, lock-free {@link LongAdder}, and rolled up into the
+ * invocation sensor once a second, so every invocation is reported without contending on the
+ * sensor's lock.
+ */
+final class UdfInvocationCounter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(UdfInvocationCounter.class);
+  private static final long FLUSH_INTERVAL_MS = 1000;
+  private static final ConcurrentMap<Sensor, UdfInvocationCounter> COUNTERS =
+      new ConcurrentHashMap<>();
+
+  static {
+    scheduleFlush();
+  }
+
+  private final Sensor sensor;
+  private final LongAdder invocations = new LongAdder();
+  private long reported;
+
+  /**
+   * Get the counter that is periodically flushed into the supplied {@code sensor}.
+   *
+   * @param sensor the invocation sensor of the udf.
+   * @return the counter shared by all instances of the udf.
+   */
+  static UdfInvocationCounter forSensor(final Sensor sensor) {
+    return COUNTERS.computeIfAbsent(sensor, UdfInvocationCounter::new);
+  }
+
+  UdfInvocationCounter(final Sensor sensor) {
+    this.sensor = Objects.requireNonNull(sensor, "sensor can't be null");
+  }
+
+  void increment() {
+    invocations.increment();
+  }
+
+  synchronized void flush() {
+    final long total = invocations.sum();
+    if (total != reported) {
+      sensor.record(total - reported);
+      reported = total;
+    }
+  }
+
+  private static void scheduleFlush() {
+    final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+        new ThreadFactoryBuilder()
+            .setNameFormat("ksql-udf-metrics-%d")
+            .setDaemon(true)
+            .build());
+
+    executor.scheduleAtFixedRate(
+        UdfInvocationCounter::flushAll,
+        FLUSH_INTERVAL_MS,
+        FLUSH_INTERVAL_MS,
+        TimeUnit.MILLISECONDS
+    );
+  }
+
+  private static void flushAll() {
+    for (final UdfInvocationCounter counter : COUNTERS.values()) {
+      try {
+        counter.flush();
+      } catch (final Exception e) {
+        LOGGER.warn("Failed to flush udf invocation count", e);
+      }
+    }
+  }
+}
@@ -15,6 +15,7 @@
 
 package io.confluent.ksql.function;
 
+import com.google.common.collect.ImmutableSet;
 import io.confluent.ksql.execution.function.UdfUtil;
 import io.confluent.ksql.function.udaf.UdafDescription;
 import io.confluent.ksql.function.udaf.UdafFactory;
@@ -48,10 +49,12 @@ import java.lang.reflect.Parameter;
 import java.lang.reflect.Type;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -62,8 +65,11 @@ import org.apache.kafka.common.metrics.Metrics;
 import org.apache.kafka.common.metrics.Sensor;
 import org.apache.kafka.common.metrics.stats.Avg;
 import org.apache.kafka.common.metrics.stats.Max;
+import org.apache.kafka.common.metrics.stats.Percentile;
+import org.apache.kafka.common.metrics.stats.Percentiles;
+import org.apache.kafka.common.metrics.stats.Percentiles.BucketSizing;
 import org.apache.kafka.common.metrics.stats.Rate;
-import org.apache.kafka.common.metrics.stats.WindowedCount;
+import org.apache.kafka.common.metrics.stats.WindowedSum;
 import org.apache.kafka.common.utils.Time;
 import org.apache.kafka.connect.data.Schema;
 import org.slf4j.Logger;
@@ -75,11 +81,16 @@ public class UdfLoader {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(UdfLoader.class);
   private static final String UDF_METRIC_GROUP = "ksql-udf";
+  // Latency percentiles use 2000 linearly growing buckets up to 10s, giving a resolution of
+  // about 5us for fast udfs, and still capturing slow udfs to within about 10ms:
+  private static final int PERCENTILES_SIZE_IN_BYTES = 4 * 2000;
+  private static final double PERCENTILES_MAX_NS = TimeUnit.SECONDS.toNanos(10);
 
   private final MutableFunctionRegistry functionRegistry;
   private final File pluginDir;
   private final ClassLoader parentClassLoader;
   private final Predicate<String> blacklist;
+  private final Set<String> trustedJars;
   private final UdfCompiler compiler;
   @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
   private final Optional<Metrics> metrics;
@@ -93,6 +104,7 @@ public class UdfLoader {
       final File pluginDir,
       final ClassLoader parentClassLoader,
       final Predicate<String> blacklist,
+      final Set<String> trustedJars,
       final UdfCompiler compiler,
       final Optional<Metrics> metrics,
       final boolean loadCustomerUdfs
@@ -103,6 +115,7 @@ public class UdfLoader {
     this.parentClassLoader = Objects.requireNonNull(parentClassLoader,
         "parentClassLoader can't be null");
     this.blacklist = Objects.requireNonNull(blacklist, "blacklist can't be null");
+    this.trustedJars = Objects.requireNonNull(trustedJars, "trustedJars can't be null");
     this.compiler = Objects.requireNonNull(compiler, "compiler can't be null");
     this.metrics = Objects.requireNonNull(metrics, "metrics can't be null");
     this.loadCustomerUdfs = loadCustomerUdfs;
@@ -283,6 +296,7 @@ public class UdfLoader {
     final Udf udfAnnotation = method.getAnnotation(Udf.class);
     final String functionName = classLevelAnnotation.name();
     final String sensorName = "ksql-udf-" + functionName;
+    final boolean sandboxed = !isTrusted(path);
 
     @SuppressWarnings("unchecked")
     final Class<? extends Kudf> udfClass = metrics
@@ -348,16 +362,33 @@ public class UdfLoader {
             ((Configurable)actualUdf)
                 .configure(ksqlConfig.getKsqlFunctionsConfigProps(functionName));
           }
-          final PluggableUdf theUdf = new PluggableUdf(udf, actualUdf, method);
-          return metrics.<Kudf>map(m -> new UdfMetricProducer(m.getSensor(sensorName),
+          final PluggableUdf theUdf = new PluggableUdf(udf, actualUdf, method, sandboxed);
+          return metrics.<Kudf>map(m -> new UdfMetricProducer(
+              m.getSensor(sensorName),
+              UdfInvocationCounter.forSensor(m.getSensor(invocationSensorName(sensorName))),
               theUdf,
-              Time.SYSTEM)).orElse(theUdf);
+              Time.SYSTEM,
+              ksqlConfig.getInt(KsqlConfig.KSQL_UDF_METRICS_SAMPLE_RATE)
+          )).orElse(theUdf);
         }, udfAnnotation.description(),
         path,
         method.isVarArgs()));
   }
 
 
+  /**
+   * UDFs shipped with KSQL, and those loaded from jars listed in
+   * {@link KsqlConfig#KSQL_UDF_TRUSTED_JARS}, do not need to run inside the security manager.
+   */
+  private boolean isTrusted(final String path) {
+    if (KsqlFunction.INTERNAL_PATH.equals(path)) {
+      return true;
+    }
+
+    final Path fileName = Paths.get(path).getFileName();
+    return fileName != null && trustedJars.contains(fileName.toString());
+  }
+
   private static Object instantiateUdfClass(final Method method,
                                             final UdfDescription annotation) {
     try {
@@ -461,17 +492,31 @@ public class UdfLoader {
         sensor.add(metrics.metricName(sensorName + "-max", UDF_METRIC_GROUP,
             "Max time for an invocation of " + udfName + " udf"),
             new Max());
-        sensor.add(metrics.metricName(sensorName + "-count", UDF_METRIC_GROUP,
+        sensor.add(new Percentiles(
+            PERCENTILES_SIZE_IN_BYTES,
+            PERCENTILES_MAX_NS,
+            BucketSizing.LINEAR,
+            new Percentile(metrics.metricName(sensorName + "-p50", UDF_METRIC_GROUP,
+                "Median time for an invocation of " + udfName + " udf"), 50),
+            new Percentile(metrics.metricName(sensorName + "-p99", UDF_METRIC_GROUP,
+                "99th percentile time for an invocation of " + udfName + " udf"), 99)));
+
+        final Sensor invocationSensor = metrics.sensor(invocationSensorName(sensorName));
+        invocationSensor.add(metrics.metricName(sensorName + "-count", UDF_METRIC_GROUP,
             "Total number of invocations of " + udfName + " udf"),
-            new WindowedCount());
-        sensor.add(metrics.metricName(sensorName + "-rate", UDF_METRIC_GROUP,
+            new WindowedSum());
+        invocationSensor.add(metrics.metricName(sensorName + "-rate", UDF_METRIC_GROUP,
             "The average number of occurrence of " + udfName + " operation per second "
                 + udfName + " udf"),
-            new Rate(TimeUnit.SECONDS, new WindowedCount()));
+            new Rate(TimeUnit.SECONDS, new WindowedSum()));
       }
     });
   }
 
+  private static String invocationSensorName(final String sensorName) {
+    return sensorName + "-invocations";
+  }
+
   public static UdfLoader newInstance(final KsqlConfig config,
                                       final MutableFunctionRegistry metaStore,
                                       final String ksqlInstallDir) {
@@ -493,6 +538,7 @@ public class UdfLoader {
         pluginDir,
         Thread.currentThread().getContextClassLoader(),
         new Blacklist(new File(pluginDir, "resource-blacklist.txt")),
+        ImmutableSet.copyOf(config.getList(KsqlConfig.KSQL_UDF_TRUSTED_JARS)),
         new UdfCompiler(metrics),
         metrics,
         loadCustomerUdfs
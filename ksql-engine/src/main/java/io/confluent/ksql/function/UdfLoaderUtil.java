@@ -17,6 +17,7 @@ package io.confluent.ksql.function;
 
 import io.confluent.ksql.function.udf.UdfMetadata;
 import java.io.File;
+import java.util.Collections;
 import java.util.Optional;
 
 public final class UdfLoaderUtil {
@@ -26,7 +27,11 @@ public final class UdfLoaderUtil {
     new UdfLoader(functionRegistry,
         new File("src/test/resources/udf-example.jar"),
         UdfLoaderUtil.class.getClassLoader(),
-        value -> false, new UdfCompiler(Optional.empty()), Optional.empty(), true
+        value -> false,
+        Collections.emptySet(),
+        new UdfCompiler(Optional.empty()),
+        Optional.empty(),
+        true
     )
         .load();
 
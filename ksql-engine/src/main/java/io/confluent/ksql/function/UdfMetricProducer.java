@@ -15,35 +15,71 @@
 
 package io.confluent.ksql.function;
 
+import com.google.common.annotations.VisibleForTesting;
 import io.confluent.ksql.function.udf.Kudf;
 import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
 import org.apache.kafka.common.metrics.Sensor;
 import org.apache.kafka.common.utils.Time;
 
 /**
- * Capture metrics for a given Kudf
+ * Capture metrics for a given Kudf.
+ *
+ * <p>On average only one in every {@code sampleRate} invocations is timed and recorded into the
+ * latency sensor. Every invocation is counted by the lock-free {@link UdfInvocationCounter}
+ * shared by all instances of the udf.
  */
 class UdfMetricProducer implements Kudf {
 
-  private final Sensor sensor;
+  private final Sensor latencySensor;
+  private final UdfInvocationCounter invocations;
   private final Kudf kudf;
   private final Time time;
+  private final BooleanSupplier sampler;
+
+  UdfMetricProducer(final Sensor latencySensor,
+                    final UdfInvocationCounter invocations,
+                    final Kudf kudf,
+                    final Time time,
+                    final int sampleRate) {
+    this(latencySensor, invocations, kudf, time, sampler(sampleRate));
+  }
 
-  UdfMetricProducer(final Sensor sensor,
+  @VisibleForTesting
+  UdfMetricProducer(final Sensor latencySensor,
+                    final UdfInvocationCounter invocations,
                     final Kudf kudf,
-                    final Time time) {
-    this.sensor = Objects.requireNonNull(sensor, "sensor can't be null");
+                    final Time time,
+                    final BooleanSupplier sampler) {
+    this.latencySensor = Objects.requireNonNull(latencySensor, "latencySensor can't be null");
+    this.invocations = Objects.requireNonNull(invocations, "invocations can't be null");
     this.kudf = Objects.requireNonNull(kudf, "kudf can't be null");
     this.time = Objects.requireNonNull(time, "time can't be null");
+    this.sampler = Objects.requireNonNull(sampler, "sampler can't be null");
   }
 
   @Override
   public Object evaluate(final Object... args) {
+    invocations.increment();
+
+    if (!sampler.getAsBoolean()) {
+      return kudf.evaluate(args);
+    }
+
     final long start = time.nanoseconds();
     try {
       return kudf.evaluate(args);
     } finally {
-      sensor.record(time.nanoseconds() - start);
+      latencySensor.record(time.nanoseconds() - start);
+    }
+  }
+
+  private static BooleanSupplier sampler(final int sampleRate) {
+    if (sampleRate == 1) {
+      return () -> true;
     }
+
+    return () -> ThreadLocalRandom.current().nextInt(sampleRate) == 0;
   }
 }
@@ -26,25 +26,43 @@ import java.util.Objects;
  * This may change if we ever get rid of Kudf. As it stands we need
  * to do a conversion from custom UDF -> Kudf so we can support stong
  * typing etc.
+ *
+ * <p>UDFs that are not sandboxed, i.e. those shipped with KSQL or loaded from explicitly trusted
+ * jars, are invoked directly without the {@link ExtensionSecurityManager} bookkeeping.
  */
 public class PluggableUdf implements Kudf {
 
   private final UdfInvoker udf;
   private final Object actualUdf;
   private final Method method;
+  private final boolean sandboxed;
 
   public PluggableUdf(
       final UdfInvoker udfInvoker,
       final Object actualUdf,
       final Method method
+  ) {
+    this(udfInvoker, actualUdf, method, true);
+  }
+
+  public PluggableUdf(
+      final UdfInvoker udfInvoker,
+      final Object actualUdf,
+      final Method method,
+      final boolean sandboxed
   ) {
     this.udf = Objects.requireNonNull(udfInvoker, "udfInvoker");
     this.actualUdf = Objects.requireNonNull(actualUdf, "actualUdf");
     this.method = Objects.requireNonNull(method, "method");
+    this.sandboxed = sandboxed;
   }
 
   @Override
   public Object evaluate(final Object... args) {
+    if (!sandboxed) {
+      return udf.eval(actualUdf, extractArgs(args));
+    }
+
     try {
       ExtensionSecurityManager.INSTANCE.pushInUdf();
       return udf.eval(actualUdf, extractArgs(args));
@@ -22,9 +22,11 @@ import io.confluent.ksql.analyzer.Analysis.Into;
 import io.confluent.ksql.analyzer.Analysis.JoinInfo;
 import io.confluent.ksql.execution.expression.tree.ColumnReferenceExp;
 import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.TraversalExpressionVisitor;
 import io.confluent.ksql.execution.plan.SelectExpression;
 import io.confluent.ksql.execution.util.ExpressionTypeManager;
 import io.confluent.ksql.function.FunctionRegistry;
+import io.confluent.ksql.metastore.model.DataSource;
 import io.confluent.ksql.metastore.model.KeyField;
 import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.planner.plan.AggregateNode;
@@ -48,9 +50,12 @@ import io.confluent.ksql.util.KsqlException;
 import io.confluent.ksql.util.SchemaUtil;
 import io.confluent.ksql.util.timestamp.TimestampExtractionPolicy;
 import io.confluent.ksql.util.timestamp.TimestampExtractionPolicyFactory;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.stream.Collectors;
 
 // CHECKSTYLE_RULES.OFF: ClassDataAbstractionCoupling
 public class LogicalPlanner {
@@ -239,16 +244,20 @@ public class LogicalPlanner {
     final AliasedDataSource left = sources.get(0);
     final AliasedDataSource right = sources.get(1);
 
+    final Set<ColumnRef> referencedColumns = getReferencedColumns();
+
     final DataSourceNode leftSourceNode = new DataSourceNode(
         new PlanNodeId("KafkaTopic_Left"),
         left.getDataSource(),
-        left.getAlias()
+        left.getAlias(),
+        getRequiredColumns(left, referencedColumns)
     );
 
     final DataSourceNode rightSourceNode = new DataSourceNode(
         new PlanNodeId("KafkaTopic_Right"),
         right.getDataSource(),
-        right.getAlias()
+        right.getAlias(),
+        getRequiredColumns(right, referencedColumns)
     );
 
     return new JoinNode(
@@ -271,10 +280,87 @@ public class LogicalPlanner {
     return new DataSourceNode(
         new PlanNodeId("KsqlTopic"),
         dataSource.getDataSource(),
-        dataSource.getAlias()
+        dataSource.getAlias(),
+        getRequiredColumns(dataSource, getReferencedColumns())
     );
   }
 
+  /**
+   * Get the value columns of a source that the query uses, so that the others need not be
+   * deserialized.
+   *
+   * <p>As well as the columns referenced by the query, the source's timestamp and key columns
+   * are always required.
+   *
+   * @return the required columns, or {@code Optional.empty()} if all columns are required.
+   */
+  private static Optional<Set<ColumnName>> getRequiredColumns(
+      final AliasedDataSource source,
+      final Set<ColumnRef> referencedColumns
+  ) {
+    final DataSource<?> dataSource = source.getDataSource();
+
+    final Set<ColumnName> names = new HashSet<>();
+    referencedColumns.stream()
+        .filter(ref -> !ref.source().isPresent() || ref.source().get().equals(source.getAlias()))
+        .map(ColumnRef::name)
+        .forEach(names::add);
+
+    Optional.ofNullable(dataSource.getTimestampExtractionPolicy().timestampField())
+        .map(ColumnRef::name)
+        .ifPresent(names::add);
+
+    dataSource.getKeyField().ref()
+        .map(ColumnRef::name)
+        .ifPresent(names::add);
+
+    final List<Column> valueColumns = dataSource.getSchema().value();
+    final Set<ColumnName> required = valueColumns.stream()
+        .map(Column::name)
+        .filter(names::contains)
+        .collect(Collectors.toSet());
+
+    return required.size() == valueColumns.size()
+        ? Optional.empty()
+        : Optional.of(required);
+  }
+
+  private Set<ColumnRef> getReferencedColumns() {
+    final Set<ColumnRef> columnRefs = new HashSet<>();
+    final TraversalExpressionVisitor<Void> visitor = new TraversalExpressionVisitor<Void>() {
+      @Override
+      public Void visitColumnReference(
+          final ColumnReferenceExp node,
+          final Void context
+      ) {
+        columnRefs.add(node.getReference());
+        return null;
+      }
+    };
+
+    analysis.getSelectExpressions()
+        .forEach(select -> visitor.process(select.getExpression(), null));
+    analysis.getWhereExpression()
+        .ifPresent(where -> visitor.process(where, null));
+    analysis.getGroupByExpressions()
+        .forEach(groupBy -> visitor.process(groupBy, null));
+    aggregateAnalysis.getAggregateFunctionArguments()
+        .forEach(arg -> visitor.process(arg, null));
+    aggregateAnalysis.getRequiredColumns()
+        .forEach(column -> visitor.process(column, null));
+    if (aggregateAnalysis.getHavingExpression() != null) {
+      visitor.process(aggregateAnalysis.getHavingExpression(), null);
+    }
+
+    analysis.getPartitionBy().ifPresent(columnRefs::add);
+    analysis.getJoin().ifPresent(join -> {
+      columnRefs.add(join.getLeftJoinField());
+      columnRefs.add(join.getRightJoinField());
+    });
+
+    return columnRefs;
+  }
+
   private Optional<ColumnName> getSelectAliasMatching(
       final BiFunction<Expression, ColumnName, Boolean> matcher
   ) {
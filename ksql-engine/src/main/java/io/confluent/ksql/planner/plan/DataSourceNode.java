@@ -18,6 +18,7 @@ package io.confluent.ksql.planner.plan;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
 import io.confluent.ksql.execution.context.QueryContext;
 import io.confluent.ksql.execution.context.QueryContext.Stacker;
@@ -26,6 +27,7 @@ import io.confluent.ksql.execution.plan.StreamSource;
 import io.confluent.ksql.metastore.model.DataSource;
 import io.confluent.ksql.metastore.model.DataSource.DataSourceType;
 import io.confluent.ksql.metastore.model.KeyField;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.name.SourceName;
 import io.confluent.ksql.schema.ksql.ColumnRef;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
@@ -34,6 +36,7 @@ import io.confluent.ksql.structured.SchemaKStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import javax.annotation.concurrent.Immutable;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.config.ConfigException;
@@ -50,6 +53,7 @@ public class DataSourceNode extends PlanNode {
   private final SourceName alias;
   private final LogicalSchemaWithMetaAndKeyFields schema;
   private final KeyField keyField;
+  private final Optional<Set<ColumnName>> requiredColumns;
   private final SchemaKStreamFactory schemaKStreamFactory;
 
   public DataSourceNode(
@@ -57,13 +61,30 @@ public class DataSourceNode extends PlanNode {
       final DataSource<?> dataSource,
       final SourceName alias
   ) {
-    this(id, dataSource, alias, SchemaKStream::forSource);
+    this(id, dataSource, alias, Optional.empty());
+  }
+
+  /**
+   * @param id the id of the node.
+   * @param dataSource the source.
+   * @param alias the alias of the source in the query.
+   * @param requiredColumns the value columns of the source used by the query, or
+   *     {@code Optional.empty()} if all of them are. Other columns need not be deserialized.
+   */
+  public DataSourceNode(
+      final PlanNodeId id,
+      final DataSource<?> dataSource,
+      final SourceName alias,
+      final Optional<Set<ColumnName>> requiredColumns
+  ) {
+    this(id, dataSource, alias, requiredColumns, SchemaKStream::forSource);
   }
 
   DataSourceNode(
       final PlanNodeId id,
       final DataSource<?> dataSource,
       final SourceName alias,
+      final Optional<Set<ColumnName>> requiredColumns,
       final SchemaKStreamFactory schemaKStreamFactory
   ) {
     super(id, dataSource.getDataSourceType());
@@ -82,6 +103,8 @@ public class DataSourceNode extends PlanNode {
     this.keyField = KeyField.of(keyFieldName, dataSource.getKeyField().legacy())
         .validateKeyExistsIn(schema.getSchema());
 
+    this.requiredColumns = requireNonNull(requiredColumns, "requiredColumns")
+        .map(ImmutableSet::copyOf);
     this.schemaKStreamFactory = requireNonNull(schemaKStreamFactory, "schemaKStreamFactory");
   }
 
@@ -103,6 +126,10 @@ public class DataSourceNode extends PlanNode {
     return alias;
   }
 
+  public Optional<Set<ColumnName>> getRequiredColumns() {
+    return requiredColumns;
+  }
+
   public DataSourceType getDataSourceType() {
     return dataSource.getDataSourceType();
   }
@@ -136,7 +163,8 @@ public class DataSourceNode extends PlanNode {
         contextStacker.push(SOURCE_OP_NAME),
         timestampIndex(),
         getAutoOffsetReset(builder.getKsqlConfig().getKsqlStreamConfigProps()),
-        keyField
+        keyField,
+        requiredColumns
     );
     if (getDataSourceType() == DataSourceType.KSTREAM) {
       return schemaKStream;
@@ -157,7 +185,8 @@ public class DataSourceNode extends PlanNode {
         QueryContext.Stacker contextStacker,
         int timestampIndex,
         Optional<AutoOffsetReset> offsetReset,
-        KeyField keyField
+        KeyField keyField,
+        Optional<Set<ColumnName>> requiredColumns
     );
   }
 
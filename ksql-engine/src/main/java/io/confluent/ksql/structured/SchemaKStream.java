@@ -124,7 +124,8 @@ public class SchemaKStream<K> {
       final QueryContext.Stacker contextStacker,
       final int timestampIndex,
       final Optional<AutoOffsetReset> offsetReset,
-      final KeyField keyField
+      final KeyField keyField,
+      final Optional<Set<ColumnName>> requiredColumns
   ) {
     final KsqlTopic topic = dataSource.getKsqlTopic();
     if (topic.getKeyFormat().isWindowed()) {
@@ -135,7 +136,8 @@ public class SchemaKStream<K> {
           Formats.of(topic.getKeyFormat(), topic.getValueFormat(), dataSource.getSerdeOptions()),
           dataSource.getTimestampExtractionPolicy(),
           timestampIndex,
-          offsetReset
+          offsetReset,
+          requiredColumns
       );
       return forSource(
           builder,
@@ -151,7 +153,8 @@ public class SchemaKStream<K> {
           Formats.of(topic.getKeyFormat(), topic.getValueFormat(), dataSource.getSerdeOptions()),
           dataSource.getTimestampExtractionPolicy(),
           timestampIndex,
-          offsetReset
+          offsetReset,
+          requiredColumns
       );
       return forSource(
           builder,
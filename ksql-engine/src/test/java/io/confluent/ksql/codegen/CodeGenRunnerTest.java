@@ -36,7 +36,12 @@ import io.confluent.ksql.analyzer.Analysis;
 import io.confluent.ksql.execution.codegen.CodeGenRunner;
 import io.confluent.ksql.execution.codegen.ExpressionMetadata;
 import io.confluent.ksql.execution.ddl.commands.KsqlTopic;
+import io.confluent.ksql.execution.expression.tree.ColumnReferenceExp;
 import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.FunctionCall;
+import io.confluent.ksql.execution.expression.tree.StringLiteral;
+import io.confluent.ksql.execution.function.udf.structfieldextractor.FetchFieldFromStruct;
+import io.confluent.ksql.execution.plan.SelectExpression;
 import io.confluent.ksql.function.InternalFunctionRegistry;
 import io.confluent.ksql.function.KsqlFunction;
 import io.confluent.ksql.function.MutableFunctionRegistry;
@@ -101,6 +106,10 @@ public class CodeGenRunnerTest {
             .field("A", SqlTypes.STRING)
             .build())
         .valueColumn(ColumnName.of(COL_INVALID_JAVA), SqlTypes.BIGINT)
+        .valueColumn(ColumnName.of("COL17"), SqlTypes
+            .struct()
+            .field("B", SqlTypes.struct().field("C", SqlTypes.STRING).build())
+            .build())
         .build();
 
     private static final int INT64_INDEX1 = 0;
@@ -118,6 +127,7 @@ public class CodeGenRunnerTest {
     private static final int MAP_INDEX2 = 12;
     private static final int STRUCT_INDEX = 15;
     private static final int INVALID_JAVA_IDENTIFIER_INDEX = 16;
+    private static final int NESTED_STRUCT_INDEX = 17;
 
     private static final Schema STRUCT_SCHEMA = SchemaConverters.sqlToConnectConverter()
         .toConnectSchema(
@@ -125,6 +135,12 @@ public class CodeGenRunnerTest {
                 .get()
                 .type());
 
+    private static final Schema NESTED_STRUCT_SCHEMA = SchemaConverters.sqlToConnectConverter()
+        .toConnectSchema(
+            META_STORE_SCHEMA.findValueColumn(ColumnRef.withoutSource(ColumnName.of("COL17")))
+                .get()
+                .type());
+
     private static final List<Object> ONE_ROW = ImmutableList.of(
         0L, "S1", "S2", 3.1, 4.2, 5, true, false, 8L,
         ImmutableList.of(1, 2), ImmutableList.of(2, 4),
@@ -133,7 +149,9 @@ public class CodeGenRunnerTest {
         ImmutableList.of("one", "two"),
         ImmutableList.of(ImmutableList.of("1", "2"), ImmutableList.of("3")),
         new Struct(STRUCT_SCHEMA).put("A", "VALUE"),
-        (long) INVALID_JAVA_IDENTIFIER_INDEX);
+        (long) INVALID_JAVA_IDENTIFIER_INDEX,
+        new Struct(NESTED_STRUCT_SCHEMA).put("B",
+            new Struct(NESTED_STRUCT_SCHEMA.field("B").schema()).put("C", "NESTED")));
 
     @Rule
     public final ExpectedException expectedException = ExpectedException.none();
@@ -637,6 +655,112 @@ public class CodeGenRunnerTest {
         assertThat(columns, contains(" hello ", " HELLO ", "Hello", " Hello _test", "Hell"));
     }
 
+    @Test
+    public void shouldHandleComparisonsOfArithmeticExpressions() {
+        // Given:
+        final String query =
+            "SELECT col0 + col8 > col3, col0 * 2 = col8, col5 + 1 <> col0,"
+            + " col0 + 1 IS DISTINCT FROM col8, col0 + 1 > 1,"
+            + " CASE WHEN col0 + 1 > 5 THEN col0 * 2 ELSE col8 END"
+            + " FROM codegen_test EMIT CHANGES;";
+
+        final Map<Integer, Object> inputValues = ImmutableMap.of(0, 5L, 3, 14.0, 5, 4, 8, 10L);
+
+        // When:
+        final List<Object> columns = executeExpression(query, inputValues);
+
+        // Then:
+        assertThat(columns, contains(true, true, false, true, true, 10L));
+    }
+
+    @Test
+    public void shouldHandleInListOfLiterals() {
+        // Given:
+        final String query =
+            "SELECT col0 IN (1, 5, 3), col5 IN (1, 2), col1 IN ('x', 'S1'), col3 IN (3.1, 7),"
+            + " col0 + 1 IN (6)"
+            + " FROM codegen_test EMIT CHANGES;";
+
+        final Map<Integer, Object> inputValues = ImmutableMap.of(0, 5L, 1, "S1", 3, 3.1, 5, 3);
+
+        // When:
+        final List<Object> columns = executeExpression(query, inputValues);
+
+        // Then:
+        assertThat(columns, contains(true, false, true, true, true));
+    }
+
+    @Test
+    public void shouldHandleInListContainingColumns() {
+        // Given:
+        final String query =
+            "SELECT col0 IN (1, col8), col0 IN (col8) FROM codegen_test EMIT CHANGES;";
+
+        final Map<Integer, Object> inputValues = ImmutableMap.of(0, 1L, 8, 2L);
+
+        // When:
+        final List<Object> columns = executeExpression(query, inputValues);
+
+        // Then:
+        assertThat(columns, contains(true, false));
+    }
+
+    @Test
+    public void shouldHandleLikeWithWildcardsAnywhere() {
+        // Given:
+        final String query =
+            "SELECT col1 LIKE 'a%c%e', col1 LIKE 'a_c%', col1 LIKE '%b%d%', col1 LIKE 'a%x'"
+            + " FROM codegen_test EMIT CHANGES;";
+
+        final Map<Integer, Object> inputValues = ImmutableMap.of(1, "abcde");
+
+        // When:
+        final List<Object> columns = executeExpression(query, inputValues);
+
+        // Then:
+        assertThat(columns, contains(true, true, true, false));
+    }
+
+    @Test
+    public void shouldCompileMultipleExpressionsConcurrentlyInOrder() {
+        // Given:
+        final List<Expression> expressions = analyzeQuery(
+            "SELECT LCASE(col1), UCASE(col1), TRIM(col1), CONCAT(col1,'_test'), SUBSTRING(col1, 2, 4)"
+                + " FROM codegen_test EMIT CHANGES;", metaStore)
+            .getSelectExpressions().stream()
+            .map(SelectExpression::getExpression)
+            .collect(Collectors.toList());
+
+        final GenericRow input = buildRow(ImmutableMap.of(1, " Hello "));
+
+        // When:
+        final List<ExpressionMetadata> compiled = codeGenRunner
+            .buildCodeGenFromParseTrees(expressions, "Select");
+
+        // Then:
+        assertThat(
+            compiled.stream().map(md -> md.evaluate(input)).collect(Collectors.toList()),
+            contains(" hello ", " HELLO ", "Hello", " Hello _test", "Hell"));
+    }
+
+    @Test
+    public void shouldThrowCompileErrorFromConcurrentCompilation() {
+        // Given:
+        final List<Expression> expressions = analyzeQuery(
+            "SELECT col0, col9 = col10 FROM codegen_test EMIT CHANGES;", metaStore)
+            .getSelectExpressions().stream()
+            .map(SelectExpression::getExpression)
+            .collect(Collectors.toList());
+
+        // Expect:
+        expectedException.expect(KsqlException.class);
+        expectedException.expectMessage("Code generation failed for Select: "
+            + "Cannot compare ARRAY values.");
+
+        // When:
+        codeGenRunner.buildCodeGenFromParseTrees(expressions, "Select");
+    }
+
     @Test
     public void shouldHandleNestedUdfs() {
         final String query =
@@ -800,6 +924,31 @@ public class CodeGenRunnerTest {
     }
 
 
+    @Test
+    public void shouldReturnNullFromCaseBranch() {
+        // Given:
+        final Expression expression = analyzeQuery(
+            "SELECT CASE "
+                + "     WHEN col0 < 10 THEN col1 "
+                + "     ELSE 'large' "
+                + "END "
+                + "FROM codegen_test EMIT CHANGES;", metaStore)
+            .getSelectExpressions()
+            .get(0)
+            .getExpression();
+
+        final List<Object> row = new ArrayList<>(ONE_ROW);
+        row.set(STRING_INDEX1, null);
+
+        // When:
+        final Object result = codeGenRunner
+            .buildCodeGenFromParseTree(expression, "Case")
+            .evaluate(genericRow(row));
+
+        // Then:
+        assertThat(result, is(nullValue()));
+    }
+
     @Test
     public void shouldHandleUdfsExtractingFromMaps() {
         // Given:
@@ -854,6 +1003,53 @@ public class CodeGenRunnerTest {
         assertThat(columns, equalTo(Collections.singletonList("VALUE")));
     }
 
+    @Test
+    public void shouldHandleStructFieldAccess() {
+        // Given:
+        final Expression expression = fetchField(column(STRUCT_INDEX), "A");
+
+        // When:
+        final ExpressionMetadata metadata = codeGenRunner
+            .buildCodeGenFromParseTree(expression, "Select");
+
+        // Then:
+        assertThat(metadata.evaluate(genericRow(ONE_ROW)), is("VALUE"));
+        assertThat(metadata.arguments(), hasSize(2));
+    }
+
+    @Test
+    public void shouldHandleChainedStructFieldAccess() {
+        // Given:
+        final Expression expression =
+            fetchField(fetchField(column(NESTED_STRUCT_INDEX), "B"), "C");
+
+        // When:
+        final Object result = codeGenRunner
+            .buildCodeGenFromParseTree(expression, "Select")
+            .evaluate(genericRow(ONE_ROW));
+
+        // Then:
+        assertThat(result, is("NESTED"));
+    }
+
+    @Test
+    public void shouldHandleStructFieldAccessOnNullStruct() {
+        // Given:
+        final Expression expression =
+            fetchField(fetchField(column(NESTED_STRUCT_INDEX), "B"), "C");
+
+        final List<Object> row = new ArrayList<>(ONE_ROW);
+        row.set(NESTED_STRUCT_INDEX, null);
+
+        // When:
+        final Object result = codeGenRunner
+            .buildCodeGenFromParseTree(expression, "Select")
+            .evaluate(genericRow(row));
+
+        // Then:
+        assertThat(result, is(nullValue()));
+    }
+
     @Test
     public void shouldChoseFunctionWithCorrectNumberOfArgsWhenNullArgument() {
         final String query =
@@ -967,6 +1163,18 @@ public class CodeGenRunnerTest {
         return (Boolean)result0;
     }
 
+    private static Expression column(final int index) {
+        return new ColumnReferenceExp(ColumnRef.of(
+            SourceName.of("CODEGEN_TEST"),
+            META_STORE_SCHEMA.value().get(index).name()));
+    }
+
+    private static Expression fetchField(final Expression struct, final String fieldName) {
+        return new FunctionCall(
+            FunctionName.of(FetchFieldFromStruct.FUNCTION_NAME),
+            ImmutableList.of(struct, new StringLiteral(fieldName)));
+    }
+
     private static GenericRow buildRow(final Map<Integer, Object> overrides) {
         final List<Object> columns = new ArrayList<>(ONE_ROW);
         overrides.forEach(columns::set);
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.function;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.metrics.Metrics;
+import org.apache.kafka.common.metrics.Sensor;
+import org.apache.kafka.common.metrics.stats.WindowedSum;
+import org.apache.kafka.common.utils.MockTime;
+import org.apache.kafka.common.utils.Time;
+import org.junit.Before;
+import org.junit.Test;
+
+public class UdfInvocationCounterTest {
+
+  private final Time time = new MockTime();
+  private final Metrics metrics = new Metrics(time);
+  private final Sensor sensor = metrics.sensor("invocations");
+  private final UdfInvocationCounter counter = new UdfInvocationCounter(sensor);
+  private final MetricName countName = metrics.metricName("count", "blah");
+
+  @Before
+  public void before() {
+    sensor.add(countName, new WindowedSum());
+  }
+
+  @Test
+  public void shouldNotRecordUntilFlushed() {
+    // When:
+    counter.increment();
+
+    // Then:
+    assertThat(count(), equalTo(0L));
+  }
+
+  @Test
+  public void shouldRecordInvocationsSinceLastFlush() {
+    // Given:
+    counter.increment();
+    counter.increment();
+    counter.flush();
+    assertThat(count(), equalTo(2L));
+
+    // When:
+    counter.increment();
+    counter.flush();
+
+    // Then:
+    assertThat(count(), equalTo(3L));
+  }
+
+  @Test
+  public void shouldNotRecordTwiceIfFlushedTwice() {
+    // Given:
+    counter.increment();
+    counter.flush();
+
+    // When:
+    counter.flush();
+
+    // Then:
+    assertThat(count(), equalTo(1L));
+  }
+
+  @Test
+  public void shouldShareCounterBetweenUsersOfSameSensor() {
+    // When:
+    final UdfInvocationCounter first = UdfInvocationCounter.forSensor(sensor);
+    final UdfInvocationCounter second = UdfInvocationCounter.forSensor(sensor);
+
+    // Then:
+    assertThat(first, sameInstance(second));
+  }
+
+  private long count() {
+    return ((Double) metrics.metric(countName).metricValue()).longValue();
+  }
+}
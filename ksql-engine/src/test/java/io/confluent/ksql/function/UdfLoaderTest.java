@@ -29,6 +29,7 @@ import static org.junit.Assert.fail;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.confluent.ksql.function.udf.Kudf;
 import io.confluent.ksql.function.udf.PluggableUdf;
@@ -268,6 +269,7 @@ public class UdfLoaderTest {
                                               new File("src/test/resources/udf-failing-tests.jar"),
                                               udfClassLoader,
                                               value -> false,
+                                              Collections.emptySet(),
                                               COMPILER,
                                               Optional.empty(),
                                               true);
@@ -295,6 +297,7 @@ public class UdfLoaderTest {
                                               new File("src/test/resources/udf-failing-tests.jar"),
                                               udfClassLoader,
                                               value -> false,
+                                              Collections.emptySet(),
                                               COMPILER,
                                               Optional.empty(),
                                               true);
@@ -323,6 +326,7 @@ public class UdfLoaderTest {
                                               new File("src/test/resources/udf-failing-tests.jar"),
                                               udfClassLoader,
                                               value -> false,
+                                              Collections.emptySet(),
                                               COMPILER,
                                               Optional.empty(),
                                               true);
@@ -396,6 +400,46 @@ public class UdfLoaderTest {
     assertThat(getActualUdfClassLoader(kudf), equalTo(PARENT_CLASS_LOADER));
   }
 
+  @Test
+  public void shouldNotSandboxKsqlFunctions() throws Exception {
+    final UdfFactory substring = FUNC_REG.getUdfFactory("substring");
+    final Kudf kudf = substring.getFunction(
+        Arrays.asList(Schema.STRING_SCHEMA, Schema.INT32_SCHEMA))
+        .newInstance(ksqlConfig);
+    assertThat(isSandboxed(kudf), is(false));
+  }
+
+  @Test
+  public void shouldSandboxUntrustedJarUdfs() throws Exception {
+    final UdfFactory toString = FUNC_REG.getUdfFactory("tostring");
+    final Kudf kudf = toString.getFunction(ImmutableList.of(Schema.STRING_SCHEMA))
+        .newInstance(ksqlConfig);
+    assertThat(isSandboxed(kudf), is(true));
+  }
+
+  @Test
+  public void shouldNotSandboxTrustedJarUdfs() throws Exception {
+    // Given:
+    final MutableFunctionRegistry functionRegistry = new InternalFunctionRegistry();
+    new UdfLoader(functionRegistry,
+        new File("src/test/resources/udf-example.jar"),
+        PARENT_CLASS_LOADER,
+        value -> false,
+        ImmutableSet.of("udf-example.jar"),
+        COMPILER,
+        Optional.empty(),
+        true
+    ).load();
+
+    // When:
+    final Kudf kudf = functionRegistry.getUdfFactory("tostring")
+        .getFunction(ImmutableList.of(Schema.STRING_SCHEMA))
+        .newInstance(ksqlConfig);
+
+    // Then:
+    assertThat(isSandboxed(kudf), is(false));
+  }
+
   @Test
   public void shouldLoadUdfsInKSQLIfLoadCustomerUdfsFalse() {
     // udf in ksql-engine will throw if not found
@@ -421,6 +465,7 @@ public class UdfLoaderTest {
                                               new File("src/test/resources"),
                                               PARENT_CLASS_LOADER,
                                               value -> false,
+                                              Collections.emptySet(),
                                               COMPILER,
                                               Optional.empty(),
                                               false);
@@ -442,6 +487,7 @@ public class UdfLoaderTest {
                                               new File("src/test/resources"),
                                               PARENT_CLASS_LOADER,
                                               value -> false,
+                                              Collections.emptySet(),
                                               COMPILER,
                                               Optional.empty(),
                                               false);
@@ -483,6 +529,10 @@ public class UdfLoaderTest {
         not(nullValue()));
     assertThat(METRICS.metric(METRICS.metricName("ksql-udf-substring-rate", "ksql-udf")),
         not(nullValue()));
+    assertThat(METRICS.metric(METRICS.metricName("ksql-udf-substring-p50", "ksql-udf")),
+        not(nullValue()));
+    assertThat(METRICS.metric(METRICS.metricName("ksql-udf-substring-p99", "ksql-udf")),
+        not(nullValue()));
   }
 
   @Test
@@ -594,6 +644,7 @@ public class UdfLoaderTest {
         new File("src/test/resources/udf-example.jar"),
         PARENT_CLASS_LOADER,
         value -> false,
+        Collections.emptySet(),
         COMPILER,
         metrics,
         loadCustomerUdfs
@@ -606,6 +657,12 @@ public class UdfLoaderTest {
     return actualUdf.get(udf).getClass().getClassLoader();
   }
 
+  private static boolean isSandboxed(final Kudf udf) throws Exception {
+    final Field sandboxed = PluggableUdf.class.getDeclaredField("sandboxed");
+    sandboxed.setAccessible(true);
+    return (boolean) sandboxed.get(udf);
+  }
+
   @SuppressWarnings({"unused", "MethodMayBeStatic"}) // Invoked via reflection in test.
   public static class UdfWithMissingDescriptionAnnotation {
     @Udf(description = "This invalid UDF is here to test that the loader does not blow up if badly"
@@ -18,12 +18,16 @@ package io.confluent.ksql.function;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import java.util.Iterator;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 import org.apache.kafka.common.MetricName;
 import org.apache.kafka.common.metrics.KafkaMetric;
 import org.apache.kafka.common.metrics.Metrics;
 import org.apache.kafka.common.metrics.Sensor;
 import org.apache.kafka.common.metrics.stats.Avg;
+import org.apache.kafka.common.metrics.stats.WindowedSum;
 import org.apache.kafka.common.utils.MockTime;
 import org.apache.kafka.common.utils.Time;
 import org.junit.Before;
@@ -34,20 +38,24 @@ public class UdfMetricProducerTest {
   private final Time time = new MockTime();
   private final Metrics metrics = new Metrics(time);
   private final Sensor sensor = metrics.sensor("my-udf");
+  private final Sensor invocationSensor = metrics.sensor("my-udf-invocations");
+  private final UdfInvocationCounter invocations = new UdfInvocationCounter(invocationSensor);
   private final MetricName metricName = metrics.metricName("avg", "blah");
+  private final MetricName countName = metrics.metricName("count", "blah");
 
   @Before
   public void before() {
     sensor.add(metricName, new Avg());
+    invocationSensor.add(countName, new WindowedSum());
   }
 
   @Test
   public void shouldRecordMetrics() {
     final UdfMetricProducer metricProducer
-        = new UdfMetricProducer(sensor, args -> {
+        = new UdfMetricProducer(sensor, invocations, args -> {
       time.sleep(100);
       return null;
-    }, time);
+    }, time, 1);
 
     metricProducer.evaluate("foo");
 
@@ -59,10 +67,10 @@ public class UdfMetricProducerTest {
   @Test
   public void shouldRecordEvenIfExceptionThrown(){
     final UdfMetricProducer metricProducer
-        = new UdfMetricProducer(sensor, args -> {
+        = new UdfMetricProducer(sensor, invocations, args -> {
           time.sleep(10);
      throw new RuntimeException("boom");
-    }, time);
+    }, time, 1);
 
     try {
       metricProducer.evaluate("foo");
@@ -74,4 +82,63 @@ public class UdfMetricProducerTest {
     final Double actual = (Double) metric.metricValue();
     assertThat(actual.longValue(), equalTo(TimeUnit.MILLISECONDS.toNanos(10)));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void shouldOnlyTimeSampledInvocations() {
+    // Given:
+    final AtomicLong sleep = new AtomicLong(10);
+    final Iterator<Boolean> samples = Stream.of(false, false, true).iterator();
+    final UdfMetricProducer metricProducer
+        = new UdfMetricProducer(sensor, invocations, args -> {
+      time.sleep(sleep.getAndAdd(10));
+      return null;
+    }, time, samples::next);
+
+    // When:
+    metricProducer.evaluate("foo");
+    metricProducer.evaluate("foo");
+    metricProducer.evaluate("foo");
+
+    // Then:
+    final KafkaMetric metric = metrics.metric(metricName);
+    final Double actual = (Double) metric.metricValue();
+    assertThat(actual.longValue(), equalTo(TimeUnit.MILLISECONDS.toNanos(30)));
+  }
+
+  @Test
+  public void shouldCountEveryInvocation() {
+    // Given:
+    final UdfMetricProducer metricProducer
+        = new UdfMetricProducer(sensor, invocations, args -> null, time, () -> false);
+
+    // When:
+    metricProducer.evaluate("foo");
+    metricProducer.evaluate("foo");
+    metricProducer.evaluate("foo");
+
+    // Then:
+    invocations.flush();
+    final KafkaMetric metric = metrics.metric(countName);
+    final Double actual = (Double) metric.metricValue();
+    assertThat(actual.longValue(), equalTo(3L));
+  }
+
+  @Test
+  public void shouldCountInvocationsOfAllInstances() {
+    // Given:
+    final UdfMetricProducer first
+        = new UdfMetricProducer(sensor, invocations, args -> null, time, 1);
+    final UdfMetricProducer second
+        = new UdfMetricProducer(sensor, invocations, args -> null, time, 1);
+
+    // When:
+    first.evaluate("foo");
+    second.evaluate("foo");
+
+    // Then:
+    invocations.flush();
+    final KafkaMetric metric = metrics.metric(countName);
+    final Double actual = (Double) metric.metricValue();
+    assertThat(actual.longValue(), equalTo(2L));
+  }
+}
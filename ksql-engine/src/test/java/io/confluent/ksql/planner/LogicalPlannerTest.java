@@ -23,6 +23,7 @@ import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 
+import com.google.common.collect.ImmutableSet;
 import io.confluent.ksql.function.TestFunctionRegistry;
 import io.confluent.ksql.metastore.MetaStore;
 import io.confluent.ksql.metastore.model.DataSource;
@@ -88,6 +89,36 @@ public class LogicalPlannerTest {
     Assert.assertNotNull(((FilterNode) logicalPlan.getSources().get(0).getSources().get(0)).getPredicate());
   }
 
+  @Test
+  public void shouldOnlyRequireReferencedSourceColumns() {
+    // When:
+    final PlanNode logicalPlan = buildLogicalPlan(
+        "SELECT col2 FROM test1 WHERE col3 > 100 EMIT CHANGES;");
+
+    // Then:
+    final DataSourceNode sourceNode = (DataSourceNode) logicalPlan.getSources().get(0)
+        .getSources().get(0)
+        .getSources().get(0);
+
+    assertThat(sourceNode.getRequiredColumns(), is(Optional.of(ImmutableSet.of(
+        ColumnName.of("COL0"),  // key field
+        ColumnName.of("COL2"),
+        ColumnName.of("COL3")
+    ))));
+  }
+
+  @Test
+  public void shouldRequireAllSourceColumnsIfAllAreReferenced() {
+    // When:
+    final PlanNode logicalPlan = buildLogicalPlan("SELECT * FROM test1 EMIT CHANGES;");
+
+    // Then:
+    final DataSourceNode sourceNode = (DataSourceNode) logicalPlan.getSources().get(0)
+        .getSources().get(0);
+
+    assertThat(sourceNode.getRequiredColumns(), is(Optional.empty()));
+  }
+
   @Test
   public void testSimpleLeftJoinLogicalPlan() {
     final String simpleQuery = "SELECT t1.col1, t2.col1, t1.col4, t2.col2 FROM test1 t1 LEFT JOIN test2 t2 ON t1.col1 = t2.col1 EMIT CHANGES;";
@@ -347,7 +347,12 @@ public class AggregateNodeTest {
     buildQuery(node, KSQL_CONFIG);
 
     // Then:
-    verify(ksqlStreamBuilder, times(3)).buildValueSerde(
+    verify(ksqlStreamBuilder).buildValueSerde(
+        any(),
+        any(),
+        queryContextCaptor.capture()
+    );
+    verify(ksqlStreamBuilder, times(2)).buildInternalValueSerde(
         any(),
         any(),
         queryContextCaptor.capture()
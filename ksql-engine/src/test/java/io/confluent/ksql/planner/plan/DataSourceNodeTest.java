@@ -228,7 +228,7 @@ public class DataSourceNodeTest {
     when(kStream.mapValues(any(ValueMapper.class))).thenReturn(kStream);
     when(kStream.groupByKey()).thenReturn(kGroupedStream);
     when(kGroupedStream.aggregate(any(), any(), any())).thenReturn(kTable);
-    when(schemaKStreamFactory.create(any(), any(), any(), any(), anyInt(), any(), any()))
+    when(schemaKStreamFactory.create(any(), any(), any(), any(), anyInt(), any(), any(), any()))
         .thenReturn(stream);
     when(stream.toTable(any(), any(), any(), any())).thenReturn(table);
   }
@@ -470,7 +470,7 @@ public class DataSourceNodeTest {
     node.buildStream(ksqlStreamBuilder);
 
     // Then:
-    verify(schemaKStreamFactory).create(any(), any(), any(), any(), eq(1), any(), any());
+    verify(schemaKStreamFactory).create(any(), any(), any(), any(), eq(1), any(), any(), any());
   }
 
   // should this even be possible? if you are using a timestamp extractor then shouldn't the name
@@ -486,7 +486,7 @@ public class DataSourceNodeTest {
     node.buildStream(ksqlStreamBuilder);
 
     // Then:
-    verify(schemaKStreamFactory).create(any(), any(), any(), any(), eq(1), any(), any());
+    verify(schemaKStreamFactory).create(any(), any(), any(), any(), eq(1), any(), any(), any());
   }
 
   @Test
@@ -508,7 +508,8 @@ public class DataSourceNodeTest {
         stackerCaptor.capture(),
         eq(3),
         eq(OFFSET_RESET),
-        same(node.getKeyField())
+        same(node.getKeyField()),
+        eq(Optional.empty())
     );
     assertThat(
         stackerCaptor.getValue().getQueryContext().getContext(),
@@ -516,6 +517,20 @@ public class DataSourceNodeTest {
     );
   }
 
+  @Test
+  public void shouldPassRequiredColumnsToSourceStream() {
+    // Given:
+    final Optional<Set<ColumnName>> required = Optional.of(ImmutableSet.of(FIELD2));
+    final DataSourceNode node = buildNodeWithMockSource(required);
+
+    // When:
+    node.buildStream(ksqlStreamBuilder);
+
+    // Then:
+    verify(schemaKStreamFactory)
+        .create(any(), any(), any(), any(), anyInt(), any(), any(), eq(required));
+  }
+
   @Test
   @SuppressWarnings("unchecked")
   public void shouldBuildSourceStreamWithCorrectParamsWhenBuildingTable() {
@@ -533,7 +548,8 @@ public class DataSourceNodeTest {
         stackerCaptor.capture(),
         eq(3),
         eq(OFFSET_RESET),
-        same(node.getKeyField())
+        same(node.getKeyField()),
+        eq(Optional.empty())
     );
     assertThat(
         stackerCaptor.getValue().getQueryContext().getContext(),
@@ -602,12 +618,19 @@ public class DataSourceNodeTest {
   }
 
   private DataSourceNode buildNodeWithMockSource() {
+    return buildNodeWithMockSource(Optional.empty());
+  }
+
+  private DataSourceNode buildNodeWithMockSource(
+      final Optional<Set<ColumnName>> requiredColumns
+  ) {
     when(dataSource.getSchema()).thenReturn(REAL_SCHEMA);
     when(dataSource.getKeyField()).thenReturn(KEY_FIELD);
     return new DataSourceNode(
         PLAN_NODE_ID,
         dataSource,
         SourceName.of("name"),
+        requiredColumns,
         schemaKStreamFactory
     );
   }
@@ -69,6 +69,16 @@ public class ExtensionSecurityManagerTest {
         .evaluate();
   }
 
+  @Test
+  public void shouldAllowExecWhenPluggableUDFIsNotSandboxed() throws NoSuchMethodException {
+    new PluggableUdf(
+        (thiz,args) -> exec(),
+        new Object(),
+        ExtensionSecurityManagerTest.class.getMethod("exec"),
+        false)
+        .evaluate();
+  }
+
   @SuppressWarnings("WeakerAccess")
   public static Process exec() {
     try {
@@ -749,7 +749,7 @@ public class SchemaKStreamTest {
     final List<Expression> groupByExpressions = Collections.singletonList(keyExpression);
     givenInitialSchemaKStreamUsesMocks();
     when(queryBuilder.buildKeySerde(any(), any(), any())).thenReturn(keySerde);
-    when(queryBuilder.buildValueSerde(any(), any(), any())).thenReturn(leftSerde);
+    when(queryBuilder.buildInternalValueSerde(any(), any(), any())).thenReturn(leftSerde);
 
     // When:
     SchemaKGroupedStream result = initialSchemaKStream.groupBy(
@@ -772,7 +772,7 @@ public class SchemaKStreamTest {
         PhysicalSchema.from(logicalSchema, SerdeOption.none()),
         childContextStacker.getQueryContext()
     );
-    verify(queryBuilder).buildValueSerde(
+    verify(queryBuilder).buildInternalValueSerde(
         valueFormat.getFormatInfo(),
         PhysicalSchema.from(logicalSchema, SerdeOption.none()),
         childContextStacker.getQueryContext()
@@ -793,7 +793,7 @@ public class SchemaKStreamTest {
     final List<Expression> groupByExpressions = Arrays.asList(col1Expression, col0Expression);
     givenInitialSchemaKStreamUsesMocks();
     when(queryBuilder.buildKeySerde(any(), any(), any())).thenReturn(reboundKeySerde);
-    when(queryBuilder.buildValueSerde(any(), any(), any())).thenReturn(leftSerde);
+    when(queryBuilder.buildInternalValueSerde(any(), any(), any())).thenReturn(leftSerde);
 
     // When:
     final SchemaKGroupedStream result = initialSchemaKStream.groupBy(
@@ -815,7 +815,7 @@ public class SchemaKStreamTest {
         PhysicalSchema.from(logicalSchema, SerdeOption.none()),
         childContextStacker.getQueryContext()
     );
-    verify(queryBuilder).buildValueSerde(
+    verify(queryBuilder).buildInternalValueSerde(
         valueFormat.getFormatInfo(),
         PhysicalSchema.from(logicalSchema, SerdeOption.none()),
         childContextStacker.getQueryContext()
@@ -880,7 +880,7 @@ public class SchemaKStreamTest {
             any(JoinWindows.class),
             any(Joined.class))
     ).thenReturn(mockKStream);
-    when(queryBuilder.buildValueSerde(any(), any(), any()))
+    when(queryBuilder.buildInternalValueSerde(any(), any(), any()))
         .thenReturn(leftSerde)
         .thenReturn(rightSerde);
 
@@ -984,7 +984,7 @@ public class SchemaKStreamTest {
             any(JoinWindows.class),
             any(Joined.class))
     ).thenReturn(mockKStream);
-    when(queryBuilder.buildValueSerde(any(), any(), any()))
+    when(queryBuilder.buildInternalValueSerde(any(), any(), any()))
         .thenReturn(leftSerde)
         .thenReturn(rightSerde);
 
@@ -1032,7 +1032,7 @@ public class SchemaKStreamTest {
             any(JoinWindows.class),
             any(Joined.class))
     ).thenReturn(mockKStream);
-    when(queryBuilder.buildValueSerde(any(), any(), any()))
+    when(queryBuilder.buildInternalValueSerde(any(), any(), any()))
         .thenReturn(leftSerde)
         .thenReturn(rightSerde);
 
@@ -1077,7 +1077,7 @@ public class SchemaKStreamTest {
             any(KsqlValueJoiner.class),
             any(Joined.class))
     ).thenReturn(mockKStream);
-    when(queryBuilder.buildValueSerde(any(), any(), any())).thenReturn(leftSerde);
+    when(queryBuilder.buildInternalValueSerde(any(), any(), any())).thenReturn(leftSerde);
 
     // When:
     final SchemaKStream joinedKStream = initialSchemaKStream
@@ -1116,7 +1116,7 @@ public class SchemaKStreamTest {
             any(KsqlValueJoiner.class),
             any(Joined.class))
     ).thenReturn(mockKStream);
-    when(queryBuilder.buildValueSerde(any(), any(), any())).thenReturn(leftSerde);
+    when(queryBuilder.buildInternalValueSerde(any(), any(), any())).thenReturn(leftSerde);
 
     // When:
     final SchemaKStream joinedKStream = initialSchemaKStream
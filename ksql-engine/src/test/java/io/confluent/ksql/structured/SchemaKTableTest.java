@@ -503,7 +503,7 @@ public class SchemaKTableTest {
     // Given:
     final Serde<GenericRow> valSerde =
         getRowSerde(ksqlTable.getKsqlTopic(), ksqlTable.getSchema().valueConnectSchema());
-    when(queryBuilder.buildValueSerde(any(), any(), any())).thenReturn(valSerde);
+    when(queryBuilder.buildInternalValueSerde(any(), any(), any())).thenReturn(valSerde);
     expect(
         groupedFactory.create(
             eq(StreamsUtil.buildOpName(childContextStacker.getQueryContext())),
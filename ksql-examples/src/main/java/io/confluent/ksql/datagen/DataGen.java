@@ -20,6 +20,7 @@ import com.google.common.util.concurrent.RateLimiter;
 import io.confluent.avro.random.generator.Generator;
 import io.confluent.ksql.serde.Format;
 import io.confluent.ksql.util.KsqlConfig;
+import io.confluent.ksql.util.KsqlException;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -462,8 +463,8 @@ public final class DataGen {
 
       private static Format parseFormat(final String formatString) {
         try {
-          return Format.valueOf(formatString.toUpperCase());
-        } catch (final IllegalArgumentException exception) {
+          return Format.of(formatString);
+        } catch (final KsqlException exception) {
           throw new ArgumentParseException(String.format(
               "Invalid format in '%s'; was expecting one of AVRO, JSON, KAFKA or DELIMITED "
               + "(case-insensitive)",
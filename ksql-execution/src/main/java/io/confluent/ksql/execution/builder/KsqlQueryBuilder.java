@@ -23,9 +23,11 @@ import io.confluent.ksql.execution.context.QueryContext;
 import io.confluent.ksql.execution.context.QueryLoggerUtil;
 import io.confluent.ksql.function.FunctionRegistry;
 import io.confluent.ksql.logging.processing.ProcessingLogContext;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.query.QueryId;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.schema.ksql.PhysicalSchema;
+import io.confluent.ksql.serde.Format;
 import io.confluent.ksql.serde.FormatInfo;
 import io.confluent.ksql.serde.GenericKeySerDe;
 import io.confluent.ksql.serde.GenericRowSerDe;
@@ -37,6 +39,7 @@ import io.confluent.ksql.services.ServiceContext;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.QuerySchemas;
 import java.util.LinkedHashMap;
+import java.util.Set;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.StreamsBuilder;
@@ -190,6 +193,52 @@ public final class KsqlQueryBuilder {
     );
   }
 
+  /**
+   * Build a value serde whose deserializer need only deserialize the {@code requiredColumns}.
+   *
+   * <p>Other columns may be {@code null} in deserialized rows.
+   */
+  public Serde<GenericRow> buildValueSerde(
+      final FormatInfo format,
+      final PhysicalSchema schema,
+      final QueryContext queryContext,
+      final Set<ColumnName> requiredColumns
+  ) {
+    final String loggerNamePrefix = QueryLoggerUtil.queryLoggerName(queryContext);
+
+    track(loggerNamePrefix, schema.valueSchema());
+
+    return valueSerdeFactory.create(
+        format,
+        schema.valueSchema(),
+        ksqlConfig,
+        serviceContext.getSchemaRegistryClientFactory(),
+        loggerNamePrefix,
+        processingLogContext,
+        requiredColumns
+    );
+  }
+
+  /**
+   * Build a value serde for one of the query's internal topics, e.g. a repartition or changelog
+   * topic.
+   *
+   * <p>Unless disabled for the query, values are serialized in the compact
+   * {@link Format#INTERNAL} format, rather than the supplied {@code format}.
+   */
+  public Serde<GenericRow> buildInternalValueSerde(
+      final FormatInfo format,
+      final PhysicalSchema schema,
+      final QueryContext queryContext
+  ) {
+    final FormatInfo internalFormat =
+        ksqlConfig.getBoolean(KsqlConfig.KSQL_INTERNAL_TOPICS_COMPACT_FORMAT)
+            ? FormatInfo.of(Format.INTERNAL)
+            : format;
+
+    return buildValueSerde(internalFormat, schema, queryContext);
+  }
+
   private void track(final String loggerNamePrefix, final PersistenceSchema schema) {
     if (schemas.containsKey(loggerNamePrefix)) {
       throw new IllegalStateException("Schema with tracked:" + loggerNamePrefix);
@@ -15,12 +15,19 @@
 
 package io.confluent.ksql.execution.codegen;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.confluent.ksql.execution.codegen.helpers.InListMatcher;
+import io.confluent.ksql.execution.codegen.helpers.LikeMatcher;
+import io.confluent.ksql.execution.codegen.helpers.StructFieldAccessor;
 import io.confluent.ksql.execution.expression.tree.ColumnReferenceExp;
 import io.confluent.ksql.execution.expression.tree.Expression;
 import io.confluent.ksql.execution.expression.tree.FunctionCall;
+import io.confluent.ksql.execution.expression.tree.InPredicate;
 import io.confluent.ksql.execution.expression.tree.LikePredicate;
+import io.confluent.ksql.execution.expression.tree.StringLiteral;
 import io.confluent.ksql.execution.expression.tree.SubscriptExpression;
 import io.confluent.ksql.execution.expression.tree.TraversalExpressionVisitor;
+import io.confluent.ksql.execution.function.udf.structfieldextractor.FetchFieldFromStruct;
 import io.confluent.ksql.execution.util.ExpressionTypeManager;
 import io.confluent.ksql.execution.util.GenericRowValueTypeEnforcer;
 import io.confluent.ksql.function.FunctionRegistry;
@@ -38,6 +45,12 @@ import io.confluent.ksql.util.KsqlException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.kafka.connect.data.Schema;
@@ -50,6 +63,10 @@ public class CodeGenRunner {
   private static final SqlToJavaTypeConverter SQL_TO_JAVA_TYPE_CONVERTER =
       SchemaConverters.sqlToJavaConverter();
 
+  // Janino compilation is CPU bound, so there is no benefit in more threads than cores.
+  // Threads are daemons and exit once idle, so the pool never needs shutting down:
+  private static final ExecutorService COMPILATION_EXECUTOR = compilationExecutor();
+
   private final LogicalSchema schema;
   private final FunctionRegistry functionRegistry;
   private final ExpressionTypeManager expressionTypeManager;
@@ -64,9 +81,10 @@ public class CodeGenRunner {
   ) {
     final CodeGenRunner codeGen = new CodeGenRunner(schema, ksqlConfig, functionRegistry);
 
-    return expressions
-        .map(exp -> codeGen.buildCodeGenFromParseTree(exp, type))
-        .collect(Collectors.toList());
+    return codeGen.buildCodeGenFromParseTrees(
+        expressions.collect(Collectors.toList()),
+        type
+    );
   }
 
   public CodeGenRunner(
@@ -88,9 +106,59 @@ public class CodeGenRunner {
     return visitor.spec;
   }
 
+  /**
+   * Compile independent expressions concurrently on a bounded compilation pool.
+   *
+   * @param expressions the expressions to compile.
+   * @param type the type of the expressions, used in error messages.
+   * @return the compiled expressions, in the same order as {@code expressions}.
+   */
+  public List<ExpressionMetadata> buildCodeGenFromParseTrees(
+      final List<? extends Expression> expressions,
+      final String type
+  ) {
+    if (expressions.size() <= 1) {
+      return expressions.stream()
+          .map(exp -> buildCodeGenFromParseTree(exp, type))
+          .collect(Collectors.toList());
+    }
+
+    // Janino defaults to the context class loader of the compiling thread, so use the caller's:
+    final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+    final List<CompletableFuture<ExpressionMetadata>> futures = expressions.stream()
+        .map(exp -> CompletableFuture.supplyAsync(
+            () -> buildCodeGenFromParseTree(exp, type, classLoader),
+            COMPILATION_EXECUTOR))
+        .collect(Collectors.toList());
+
+    try {
+      return futures.stream()
+          .map(CompletableFuture::join)
+          .collect(Collectors.toList());
+    } catch (final CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
   public ExpressionMetadata buildCodeGenFromParseTree(
       final Expression expression,
       final String type
+  ) {
+    return buildCodeGenFromParseTree(
+        expression,
+        type,
+        Thread.currentThread().getContextClassLoader()
+    );
+  }
+
+  private ExpressionMetadata buildCodeGenFromParseTree(
+      final Expression expression,
+      final String type,
+      final ClassLoader classLoader
   ) {
     try {
       final CodeGenSpec spec = getCodeGenSpec(expression);
@@ -102,6 +170,7 @@ public class CodeGenRunner {
 
       final IExpressionEvaluator ee =
           CompilerFactoryFactory.getDefaultCompilerFactory().newExpressionEvaluator();
+      ee.setParentClassLoader(classLoader);
       ee.setDefaultImports(SqlToJavaVisitor.JAVA_IMPORTS.toArray(new String[0]));
       ee.setParameters(spec.argumentNames(), spec.argumentTypes());
 
@@ -128,6 +197,23 @@ public class CodeGenRunner {
     }
   }
 
+  private static ExecutorService compilationExecutor() {
+    final int threads = Runtime.getRuntime().availableProcessors();
+    final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+        threads,
+        threads,
+        30,
+        TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(),
+        new ThreadFactoryBuilder()
+            .setNameFormat("ksql-codegen-%d")
+            .setDaemon(true)
+            .build()
+    );
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
   private static final class Visitor extends TraversalExpressionVisitor<Void> {
 
     private final CodeGenSpec spec;
@@ -161,6 +247,26 @@ public class CodeGenRunner {
 
     public Void visitLikePredicate(final LikePredicate node, final Void context) {
       process(node.getValue(), null);
+
+      if (node.getPattern() instanceof StringLiteral) {
+        final String pattern = ((StringLiteral) node.getPattern()).getValue();
+        if (!LikeMatcher.isSimple(pattern)) {
+          spec.addConstant(node, LikeMatcher.of(pattern));
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public Void visitInPredicate(final InPredicate node, final Void context) {
+      process(node.getValue(), context);
+      process(node.getValueList(), context);
+
+      final SqlType valueType = expressionTypeManager.getExpressionSqlType(node.getValue());
+      if (valueType != null) {
+        InListMatcher.of(valueType.baseType(), node.getValueList().getValues())
+            .ifPresent(matcher -> spec.addConstant(node, matcher));
+      }
       return null;
     }
 
@@ -173,6 +279,12 @@ public class CodeGenRunner {
         argumentTypes.add(expressionTypeManager.getExpressionSchema(argExpr));
       }
 
+      if (functionName.name().equalsIgnoreCase(FetchFieldFromStruct.FUNCTION_NAME)) {
+        final String fieldName = ((StringLiteral) node.getArguments().get(1)).getValue();
+        spec.addConstant(node, StructFieldAccessor.of(argumentTypes.get(0), fieldName));
+        return null;
+      }
+
       final UdfFactory holder = functionRegistry.getUdfFactory(functionName.name());
       final KsqlFunction function = holder.getFunction(argumentTypes);
       spec.addFunction(
@@ -20,6 +20,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ListMultimap;
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.expression.tree.Expression;
 import io.confluent.ksql.execution.util.GenericRowValueTypeEnforcer;
 import io.confluent.ksql.function.udf.Kudf;
 import io.confluent.ksql.name.FunctionName;
@@ -37,6 +38,7 @@ public class CodeGenSpec {
   private List<ArgumentSpec> arguments = new ArrayList<>();
   private Map<ColumnRef, String> columnToCodeName = new HashMap<>();
   private ListMultimap<FunctionName, String> functionToCodeName = ArrayListMultimap.create();
+  private Map<Expression, String> constantToCodeName = new HashMap<>();
 
   public void addParameter(final ColumnRef columnRef, final Class<?> type, final int colIndex) {
     final String codeName = CodeGenUtil.paramName(arguments.size());
@@ -44,6 +46,7 @@ public class CodeGenSpec {
         codeName,
         type,
         OptionalInt.of(colIndex),
+        Optional.empty(),
         Optional.empty()
     ));
     columnToCodeName.put(columnRef, codeName);
@@ -55,11 +58,35 @@ public class CodeGenSpec {
         codeName,
         function.getClass(),
         OptionalInt.empty(),
-        Optional.of(function)
+        Optional.of(function),
+        Optional.empty()
     ));
     functionToCodeName.put(functionName, codeName);
   }
 
+  /**
+   * Add a value that is built once at code generation time and passed to every evaluation,
+   * e.g. the prebuilt set of an {@code IN} list.
+   *
+   * @param expression the expression the constant was built from.
+   * @param constant the constant.
+   */
+  public void addConstant(final Expression expression, final Object constant) {
+    if (constantToCodeName.containsKey(expression)) {
+      return;
+    }
+
+    final String codeName = CodeGenUtil.constantName(arguments.size());
+    arguments.add(new ArgumentSpec(
+        codeName,
+        constant.getClass(),
+        OptionalInt.empty(),
+        Optional.empty(),
+        Optional.of(constant)
+    ));
+    constantToCodeName.put(expression, codeName);
+  }
+
   public String[] argumentNames() {
     return arguments.stream().map(ArgumentSpec::name).toArray(String[]::new);
   }
@@ -76,6 +103,10 @@ public class CodeGenSpec {
     return columnToCodeName.get(columnRef);
   }
 
+  public Optional<String> getConstantCodeName(final Expression expression) {
+    return Optional.ofNullable(constantToCodeName.get(expression));
+  }
+
   public String reserveFunctionName(final FunctionName functionName) {
     final List<String> names = functionToCodeName.get(functionName);
     if (names.isEmpty()) {
@@ -95,6 +126,8 @@ public class CodeGenSpec {
         final int colIndex = spec.colIndex().getAsInt();
         parameters[paramIdx] = typeEnforcer
             .enforceColumnType(colIndex, row.getColumns().get(colIndex));
+      } else if (spec.constant().isPresent()) {
+        parameters[paramIdx] = spec.constant().get();
       } else {
         final int copyOfParamIdxForLambda = paramIdx;
         parameters[paramIdx] = spec.kudf()
@@ -108,8 +141,8 @@ public class CodeGenSpec {
   }
 
   /**
-   * Represents either a named reference to a column in a generic row, or
-   * a function wrapped in a {@code Kudf}.
+   * Represents either a named reference to a column in a generic row,
+   * a function wrapped in a {@code Kudf}, or a constant built during code generation.
    */
   @Immutable
   public static class ArgumentSpec {
@@ -118,17 +151,20 @@ public class CodeGenSpec {
     private final Class<?> type;
     private final OptionalInt columnIndex;
     private final Optional<Kudf> kudf;
+    private final Optional<Object> constant;
 
     ArgumentSpec(
         final String name,
         final Class<?> type,
         final OptionalInt columnIndex,
-        final Optional<Kudf> kudf
+        final Optional<Kudf> kudf,
+        final Optional<Object> constant
     ) {
       this.name = name;
       this.type = type;
       this.columnIndex = columnIndex;
       this.kudf = kudf;
+      this.constant = constant;
     }
 
     public String name() {
@@ -147,6 +183,10 @@ public class CodeGenSpec {
       return kudf;
     }
 
+    public Optional<Object> constant() {
+      return constant;
+    }
+
     @Override
     public String toString() {
       return "ArgumentSpec{"
@@ -154,6 +194,7 @@ public class CodeGenSpec {
           + ", type=" + type
           + ", columnIndex=" + columnIndex
           + ", kudf=" + kudf
+          + ", constant=" + constant
           + '}';
     }
   }
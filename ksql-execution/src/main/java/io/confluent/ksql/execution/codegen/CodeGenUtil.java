@@ -20,6 +20,7 @@ import io.confluent.ksql.name.FunctionName;
 public final class CodeGenUtil {
 
   private static final String PARAM_NAME_PREFIX = "var";
+  private static final String CONSTANT_NAME_PREFIX = "constant";
 
   private CodeGenUtil() {
   }
@@ -28,6 +29,10 @@ public final class CodeGenUtil {
     return PARAM_NAME_PREFIX + index;
   }
 
+  public static String constantName(final int index) {
+    return CONSTANT_NAME_PREFIX + index;
+  }
+
   public static String functionName(final FunctionName fun, final int index) {
     return fun.name() + "_" + index;
   }
@@ -25,6 +25,7 @@ import io.confluent.ksql.util.KsqlException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.ObjIntConsumer;
 import java.util.stream.Collectors;
 import org.codehaus.commons.compiler.IExpressionEvaluator;
 
@@ -36,6 +37,7 @@ public class ExpressionMetadata {
   private final ThreadLocal<Object[]> threadLocalParameters;
   private final Expression expression;
   private final CodeGenSpec spec;
+  private final int argumentCount;
 
   public ExpressionMetadata(
       final IExpressionEvaluator expressionEvaluator,
@@ -49,7 +51,8 @@ public class ExpressionMetadata {
     this.typeEnforcer = Objects.requireNonNull(typeEnforcer, "typeEnforcer");
     this.expression = Objects.requireNonNull(expression, "expression");
     this.spec = Objects.requireNonNull(spec, "spec");
-    this.threadLocalParameters = ThreadLocal.withInitial(() -> new Object[spec.arguments().size()]);
+    this.argumentCount = spec.arguments().size();
+    this.threadLocalParameters = ThreadLocal.withInitial(this::newParameterBuffer);
   }
 
   @VisibleForTesting
@@ -74,16 +77,71 @@ public class ExpressionMetadata {
   }
 
   public Object evaluate(final GenericRow row) {
+    return evaluate(row, threadLocalParameters.get());
+  }
+
+  /**
+   * Evaluate the expression using a caller owned parameter buffer.
+   *
+   * <p>Avoids the per-thread buffer lookup of {@link #evaluate(GenericRow)} for callers, such as
+   * a single processor instance, that can guarantee the buffer is not used concurrently.
+   *
+   * @param row the row to evaluate.
+   * @param parameters the parameter buffer, as returned by {@link #newParameterBuffer()}.
+   * @return the result.
+   */
+  public Object evaluate(final GenericRow row, final Object[] parameters) {
     try {
-      return expressionEvaluator.evaluate(getParameters(row));
+      spec.resolve(row, typeEnforcer, parameters);
+      return expressionEvaluator.evaluate(parameters);
     } catch (InvocationTargetException e) {
       throw new KsqlException(e.getCause().getMessage(), e.getCause());
     }
   }
 
-  private Object[] getParameters(final GenericRow row) {
+  /**
+   * @return a new parameter buffer for use with {@link #evaluate(GenericRow, Object[])}.
+   */
+  public Object[] newParameterBuffer() {
+    return new Object[argumentCount];
+  }
+
+  /**
+   * Evaluate the expression against a batch of rows.
+   *
+   * <p>Evaluating a batch one expression at a time keeps a single compiled expression hot for
+   * the whole batch, and resolves the parameter buffer once per batch rather than once per row.
+   * It is intended for callers that already hold a batch of rows, such as pull queries.
+   *
+   * @param rows the rows to evaluate. Results for {@code null} rows are {@code null}.
+   * @param results the array to write results into, at the same index as their row.
+   * @param errorHandler called with the error and row index of any row that fails to evaluate.
+   *                     The result for such rows is {@code null}.
+   */
+  public void evaluate(
+      final List<GenericRow> rows,
+      final Object[] results,
+      final ObjIntConsumer<Exception> errorHandler
+  ) {
     final Object[] parameters = this.threadLocalParameters.get();
-    spec.resolve(row, typeEnforcer, parameters);
-    return parameters;
+
+    for (int i = 0; i < rows.size(); i++) {
+      final GenericRow row = rows.get(i);
+      if (row == null) {
+        results[i] = null;
+        continue;
+      }
+
+      try {
+        spec.resolve(row, typeEnforcer, parameters);
+        results[i] = expressionEvaluator.evaluate(parameters);
+      } catch (final InvocationTargetException e) {
+        results[i] = null;
+        errorHandler.accept(new KsqlException(e.getCause().getMessage(), e.getCause()), i);
+      } catch (final Exception e) {
+        results[i] = null;
+        errorHandler.accept(e, i);
+      }
+    }
   }
 }
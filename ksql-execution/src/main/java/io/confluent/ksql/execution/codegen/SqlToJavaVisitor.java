@@ -19,7 +19,8 @@ import static java.lang.String.format;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
-import io.confluent.ksql.execution.codegen.helpers.SearchedCaseFunction;
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.execution.codegen.helpers.ScaledDecimal;
 import io.confluent.ksql.execution.expression.tree.ArithmeticBinaryExpression;
 import io.confluent.ksql.execution.expression.tree.ArithmeticUnaryExpression;
 import io.confluent.ksql.execution.expression.tree.BetweenPredicate;
@@ -78,11 +79,12 @@ import java.math.RoundingMode;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
 import java.util.function.Function;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringEscapeUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.text.StrSubstitutor;
 import org.apache.kafka.connect.data.Schema;
 
@@ -93,8 +95,9 @@ public class SqlToJavaVisitor {
 
   public static final List<String> JAVA_IMPORTS = ImmutableList.of(
       "org.apache.kafka.connect.data.Struct",
-      "io.confluent.ksql.execution.codegen.helpers.SearchedCaseFunction",
-      "io.confluent.ksql.execution.codegen.helpers.SearchedCaseFunction.LazyWhenClause",
+      "io.confluent.ksql.execution.codegen.helpers.InListMatcher",
+      "io.confluent.ksql.execution.codegen.helpers.LikeMatcher",
+      "io.confluent.ksql.execution.codegen.helpers.ScaledDecimal",
       "java.util.HashMap",
       "java.util.Map",
       "java.util.List",
@@ -115,6 +118,19 @@ public class SqlToJavaVisitor {
       .put(Operator.MODULUS, "remainder")
       .build();
 
+  private static final Map<Operator, String> UNSCALED_OPERATOR_NAME = ImmutableMap
+      .<Operator, String>builder()
+      .put(Operator.ADD, "addExact")
+      .put(Operator.SUBTRACT, "subtractExact")
+      .put(Operator.MULTIPLY, "multiplyExact")
+      .build();
+
+  private static final Set<Schema.Type> PRIMITIVE_NUMERIC_TYPES = ImmutableSet.of(
+      Schema.Type.INT32,
+      Schema.Type.INT64,
+      Schema.Type.FLOAT64
+  );
+
   private static final Map<ComparisonExpression.Type, String> SQL_COMPARE_TO_JAVA = ImmutableMap
       .<ComparisonExpression.Type, String>builder()
       .put(ComparisonExpression.Type.EQUAL, "==")
@@ -132,6 +148,7 @@ public class SqlToJavaVisitor {
   private final ExpressionTypeManager expressionTypeManager;
   private final Function<FunctionName, String> funNameToCodeName;
   private final Function<ColumnRef, String> colRefToCodeName;
+  private final Function<Expression, Optional<String>> constantToCodeName;
 
   public SqlToJavaVisitor(
       final LogicalSchema schema,
@@ -142,7 +159,8 @@ public class SqlToJavaVisitor {
         schema,
         functionRegistry,
         spec::getCodeName,
-        spec::reserveFunctionName
+        spec::reserveFunctionName,
+        spec::getConstantCodeName
     );
   }
 
@@ -151,6 +169,22 @@ public class SqlToJavaVisitor {
       final FunctionRegistry functionRegistry,
       final Function<ColumnRef, String> colRefToCodeName,
       final Function<FunctionName, String> funNameToCodeName
+  ) {
+    this(
+        schema,
+        functionRegistry,
+        colRefToCodeName,
+        funNameToCodeName,
+        exp -> Optional.empty()
+    );
+  }
+
+  public SqlToJavaVisitor(
+      final LogicalSchema schema,
+      final FunctionRegistry functionRegistry,
+      final Function<ColumnRef, String> colRefToCodeName,
+      final Function<FunctionName, String> funNameToCodeName,
+      final Function<Expression, Optional<String>> constantToCodeName
   ) {
     this.expressionTypeManager =
         new ExpressionTypeManager(schema, functionRegistry);
@@ -158,6 +192,7 @@ public class SqlToJavaVisitor {
     this.functionRegistry = Objects.requireNonNull(functionRegistry, "functionRegistry");
     this.colRefToCodeName = Objects.requireNonNull(colRefToCodeName, "colRefToCodeName");
     this.funNameToCodeName = Objects.requireNonNull(funNameToCodeName, "funNameToCodeName");
+    this.constantToCodeName = Objects.requireNonNull(constantToCodeName, "constantToCodeName");
   }
 
   public String process(final Expression expression) {
@@ -212,7 +247,30 @@ public class SqlToJavaVisitor {
         final InPredicate inPredicate,
         final Void context
     ) {
-      return visitUnsupported(inPredicate);
+      final Pair<String, Schema> value = process(inPredicate.getValue(), context);
+
+      final Optional<String> matcher = constantToCodeName.apply(inPredicate);
+      if (matcher.isPresent()) {
+        return new Pair<>(
+            "(" + matcher.get() + ".matches(" + value.getLeft() + "))",
+            Schema.OPTIONAL_BOOLEAN_SCHEMA
+        );
+      }
+
+      // Lists that could not be prebuilt, e.g. containing columns, are a chain of equalities:
+      final String disjunction = inPredicate.getValueList().getValues().stream()
+          .map(listValue -> {
+            final Pair<String, Schema> item = process(listValue, context);
+            return formatComparison(
+                ComparisonExpression.Type.EQUAL,
+                value,
+                !isPrimitive(inPredicate.getValue(), value.getRight()),
+                item,
+                !isPrimitive(listValue, item.getRight()));
+          })
+          .collect(Collectors.joining(" || "));
+
+      return new Pair<>("(" + disjunction + ")", Schema.OPTIONAL_BOOLEAN_SCHEMA);
     }
 
     @Override
@@ -333,10 +391,20 @@ public class SqlToJavaVisitor {
         final Void context) {
       final FunctionName functionName = node.getName();
 
-      final String instanceName = funNameToCodeName.apply(functionName);
-
       final Schema functionReturnSchema = getFunctionReturnSchema(node, functionName.name());
       final String javaReturnType = SchemaUtil.getJavaType(functionReturnSchema).getSimpleName();
+
+      // Struct field access, i.e. '->', is resolved to a positional accessor where prebuilt:
+      final Optional<String> accessor = constantToCodeName.apply(node);
+      if (accessor.isPresent()) {
+        final String struct = process(node.getArguments().get(0), context).getLeft();
+        return new Pair<>(
+            "((" + javaReturnType + ") " + accessor.get() + ".get(" + struct + "))",
+            functionReturnSchema
+        );
+      }
+
+      final String instanceName = funNameToCodeName.apply(functionName);
       final String arguments = node.getArguments().stream()
           .map(arg -> process(arg, context).getLeft())
           .collect(Collectors.joining(", "));
@@ -390,14 +458,32 @@ public class SqlToJavaVisitor {
       return new Pair<>("(!" + exprString + ")", Schema.OPTIONAL_BOOLEAN_SCHEMA);
     }
 
-    private String nullCheckPrefix(final ComparisonExpression.Type type) {
-      switch (type) {
-        case IS_DISTINCT_FROM:
-          return "(((Object)(%1$s)) == null || ((Object)(%2$s)) == null) ? "
-              + "((((Object)(%1$s)) == null ) ^ (((Object)(%2$s)) == null )) : ";
-        default:
-          return "(((Object)(%1$s)) == null || ((Object)(%2$s)) == null) ? false : ";
+    private String nullCheckPrefix(
+        final ComparisonExpression.Type type,
+        final boolean leftNullable,
+        final boolean rightNullable
+    ) {
+      if (!leftNullable && !rightNullable) {
+        return "";
       }
+
+      if (leftNullable && rightNullable) {
+        switch (type) {
+          case IS_DISTINCT_FROM:
+            return "(((Object)(%1$s)) == null || ((Object)(%2$s)) == null) ? "
+                + "((((Object)(%1$s)) == null ) ^ (((Object)(%2$s)) == null )) : ";
+          default:
+            return "(((Object)(%1$s)) == null || ((Object)(%2$s)) == null) ? false : ";
+        }
+      }
+
+      final String nullCheck = leftNullable
+          ? "(((Object)(%1$s)) == null) ? "
+          : "(((Object)(%2$s)) == null) ? ";
+
+      return type == ComparisonExpression.Type.IS_DISTINCT_FROM
+          ? nullCheck + "true : "
+          : nullCheck + "false : ";
     }
 
     private String visitStringComparisonExpression(final ComparisonExpression.Type type) {
@@ -417,13 +503,21 @@ public class SqlToJavaVisitor {
       }
     }
 
-    private String visitScalarComparisonExpression(final ComparisonExpression.Type type) {
+    private String visitScalarComparisonExpression(
+        final ComparisonExpression.Type type,
+        final boolean boxed
+    ) {
       switch (type) {
         case EQUAL:
-          return "((%1$s <= %2$s) && (%1$s >= %2$s))";
+          // == on two boxed values would compare references:
+          return boxed
+              ? "((%1$s <= %2$s) && (%1$s >= %2$s))"
+              : "(%1$s == %2$s)";
         case NOT_EQUAL:
         case IS_DISTINCT_FROM:
-          return "((%1$s < %2$s) || (%1$s > %2$s))";
+          return boxed
+              ? "((%1$s < %2$s) || (%1$s > %2$s))"
+              : "(%1$s != %2$s)";
         case GREATER_THAN_OR_EQUAL:
         case GREATER_THAN:
         case LESS_THAN_OR_EQUAL:
@@ -479,30 +573,73 @@ public class SqlToJavaVisitor {
       final Pair<String, Schema> left = process(node.getLeft(), context);
       final Pair<String, Schema> right = process(node.getRight(), context);
 
-      String exprFormat = nullCheckPrefix(node.getType());
+      return new Pair<>(
+          formatComparison(
+              node.getType(),
+              left,
+              !isPrimitive(node.getLeft(), left.getRight()),
+              right,
+              !isPrimitive(node.getRight(), right.getRight())
+          ),
+          Schema.OPTIONAL_BOOLEAN_SCHEMA
+      );
+    }
+
+    private String formatComparison(
+        final ComparisonExpression.Type type,
+        final Pair<String, Schema> left,
+        final boolean leftNullable,
+        final Pair<String, Schema> right,
+        final boolean rightNullable
+    ) {
+      String exprFormat = nullCheckPrefix(type, leftNullable, rightNullable);
 
       if (DecimalUtil.isDecimal(left.getRight()) || DecimalUtil.isDecimal(right.getRight())) {
         exprFormat += visitBytesComparisonExpression(
-            node.getType(), left.getRight(), right.getRight());
+            type, left.getRight(), right.getRight());
       } else {
         switch (left.getRight().type()) {
           case STRING:
-            exprFormat += visitStringComparisonExpression(node.getType());
+            exprFormat += visitStringComparisonExpression(type);
             break;
           case MAP:
             throw new KsqlException("Cannot compare MAP values");
           case ARRAY:
             throw new KsqlException("Cannot compare ARRAY values");
           case BOOLEAN:
-            exprFormat += visitBooleanComparisonExpression(node.getType());
+            exprFormat += visitBooleanComparisonExpression(type);
             break;
           default:
-            exprFormat += visitScalarComparisonExpression(node.getType());
+            exprFormat += visitScalarComparisonExpression(type, leftNullable && rightNullable);
             break;
         }
       }
-      final String expr = "(" + String.format(exprFormat, left.getLeft(), right.getLeft()) + ")";
-      return new Pair<>(expr, Schema.OPTIONAL_BOOLEAN_SCHEMA);
+      return "(" + String.format(exprFormat, left.getLeft(), right.getLeft()) + ")";
+    }
+
+    /**
+     * The code generated for some expressions has a primitive Java type, e.g. arithmetic on
+     * numeric columns unboxes its operands, and so can never be null. Such code needs no null
+     * check, which would box the value and evaluate it a second time, before it is compared.
+     */
+    private boolean isPrimitive(final Expression node, final Schema schema) {
+      if (node instanceof ArithmeticBinaryExpression
+          || node instanceof ArithmeticUnaryExpression) {
+        return schema != null
+            && !DecimalUtil.isDecimal(schema)
+            && PRIMITIVE_NUMERIC_TYPES.contains(schema.type());
+      }
+
+      return node instanceof IntegerLiteral
+          || node instanceof LongLiteral
+          || node instanceof DoubleLiteral
+          || node instanceof BooleanLiteral
+          || node instanceof ComparisonExpression
+          || node instanceof LogicalBinaryExpression
+          || node instanceof NotExpression
+          || node instanceof IsNullPredicate
+          || node instanceof IsNotNullPredicate
+          || node instanceof BetweenPredicate;
     }
 
     @Override
@@ -579,6 +716,19 @@ public class SqlToJavaVisitor {
         final ArithmeticBinaryExpression node,
         final Void context
     ) {
+      final Optional<String> unscaled = formatUnscaledDecimal(node, context);
+      if (unscaled.isPresent()) {
+        final Schema schema = expressionTypeManager.getExpressionSchema(node);
+        return new Pair<>(
+            String.format(
+                "(ScaledDecimal.toDecimal(%s, %d, %d))",
+                unscaled.get(),
+                DecimalUtil.precision(schema),
+                DecimalUtil.scale(schema)),
+            schema
+        );
+      }
+
       final Pair<String, Schema> left = process(node.getLeft(), context);
       final Pair<String, Schema> right = process(node.getRight(), context);
 
@@ -625,11 +775,73 @@ public class SqlToJavaVisitor {
       }
     }
 
+    /**
+     * Decimal addition, subtraction and multiplication whose result fits in a {@code long} are
+     * performed on unscaled values. Nested arithmetic stays unscaled, so a {@code BigDecimal} is
+     * only created for the leaf operands and the final result.
+     *
+     * @return the code computing the unscaled result, or empty if not supported.
+     */
+    private Optional<String> formatUnscaledDecimal(
+        final ArithmeticBinaryExpression node,
+        final Void context
+    ) {
+      final String method = UNSCALED_OPERATOR_NAME.get(node.getOperator());
+      final Schema schema = expressionTypeManager.getExpressionSchema(node);
+      if (method == null
+          || !DecimalUtil.isDecimal(schema)
+          || DecimalUtil.precision(schema) > ScaledDecimal.MAX_RESULT_PRECISION) {
+        return Optional.empty();
+      }
+
+      // The product of unscaled values has the sum of their scales; other operands are aligned:
+      final OptionalInt scale = node.getOperator() == Operator.MULTIPLY
+          ? OptionalInt.empty()
+          : OptionalInt.of(DecimalUtil.scale(schema));
+
+      return Optional.of(String.format(
+          "Math.%s(%s, %s)",
+          method,
+          formatUnscaledOperand(node.getLeft(), scale, context),
+          formatUnscaledOperand(node.getRight(), scale, context)));
+    }
+
+    private String formatUnscaledOperand(
+        final Expression operand,
+        final OptionalInt requiredScale,
+        final Void context
+    ) {
+      final Schema schema = expressionTypeManager.getExpressionSchema(operand);
+      if (!DecimalUtil.isDecimal(schema)) {
+        return String.format(
+            "ScaledDecimal.fromLong(%s, %d)",
+            process(operand, context).getLeft(),
+            requiredScale.orElse(0));
+      }
+
+      final int scale = DecimalUtil.scale(schema);
+      final int targetScale = requiredScale.orElse(scale);
+
+      if (operand instanceof ArithmeticBinaryExpression) {
+        final Optional<String> nested =
+            formatUnscaledDecimal((ArithmeticBinaryExpression) operand, context);
+        if (nested.isPresent()) {
+          return targetScale == scale
+              ? nested.get()
+              : String.format("ScaledDecimal.rescale(%s, %d)", nested.get(), targetScale - scale);
+        }
+      }
+
+      return String.format(
+          "ScaledDecimal.unscaled(%s, %d)",
+          process(operand, context).getLeft(),
+          targetScale);
+    }
+
     @Override
     public Pair<String, Schema> visitSearchedCaseExpression(
         final SearchedCaseExpression node,
         final Void context) {
-      final String functionClassName = SearchedCaseFunction.class.getSimpleName();
       final List<CaseWhenProcessed> whenClauses = node
           .getWhenClauses()
           .stream()
@@ -641,32 +853,22 @@ public class SqlToJavaVisitor {
       final Schema resultSchema = whenClauses.get(0).thenProcessResult.getRight();
       final String resultSchemaString = SchemaUtil.getJavaType(resultSchema).getCanonicalName();
 
-      final List<String> lazyWhenClause = whenClauses
-          .stream()
-          .map(processedWhenClause -> functionClassName + ".whenClause("
-              + buildSupplierCode(
-              "Boolean", processedWhenClause.whenProcessResult.getLeft())
-              + ", "
-              + buildSupplierCode(
-              resultSchemaString, processedWhenClause.thenProcessResult.getLeft())
-              + ")")
-          .collect(Collectors.toList());
-
       final String defaultValue = node.getDefaultValue().isPresent()
           ? process(node.getDefaultValue().get(), context).getLeft()
           : "null";
 
-      final String codeString = "((" + resultSchemaString + ")"
-          + functionClassName + ".searchedCaseFunction(ImmutableList.of( "
-          + StringUtils.join(lazyWhenClause, ", ") + "),"
-          + buildSupplierCode(resultSchemaString, defaultValue)
-          + "))";
-      return new Pair<>(codeString, resultSchema);
-    }
+      // A chain of conditionals evaluates lazily without allocating a supplier per branch.
+      // Each branch is cast to the boxed result type, so that a primitive branch is not
+      // unboxed to match its neighbours, which would throw for a null result:
+      String codeString = "((" + resultSchemaString + ")(" + defaultValue + "))";
+      for (int i = whenClauses.size() - 1; i >= 0; i--) {
+        final CaseWhenProcessed whenClause = whenClauses.get(i);
+        codeString = "((" + whenClause.whenProcessResult.getLeft() + ")"
+            + " ? ((" + resultSchemaString + ")(" + whenClause.thenProcessResult.getLeft() + "))"
+            + " : " + codeString + ")";
+      }
 
-    private String buildSupplierCode(final String typeString, final String code) {
-      return " new " + Supplier.class.getSimpleName() + "<" + typeString + ">() {"
-          + " @Override public " + typeString + " get() { return " + code + "; }}";
+      return new Pair<>("((" + resultSchemaString + ")" + codeString + ")", resultSchema);
     }
 
     @Override
@@ -675,9 +877,18 @@ public class SqlToJavaVisitor {
         final Void context
     ) {
 
-      // For now we just support simple prefix/suffix cases only.
-      final String patternString = trimQuotes(process(node.getPattern(), context).getLeft());
       final String valueString = process(node.getValue(), context).getLeft();
+
+      final Optional<String> matcher = constantToCodeName.apply(node);
+      if (matcher.isPresent()) {
+        return new Pair<>(
+            "(" + matcher.get() + ".matches(" + valueString + "))",
+            Schema.OPTIONAL_BOOLEAN_SCHEMA
+        );
+      }
+
+      // Simple prefix/suffix cases are generated inline, other patterns need a LikeMatcher.
+      final String patternString = trimQuotes(process(node.getPattern(), context).getLeft());
       if (patternString.startsWith("%")) {
         if (patternString.endsWith("%")) {
           return new Pair<>(
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.codegen.helpers;
+
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.execution.expression.tree.DoubleLiteral;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.IntegerLiteral;
+import io.confluent.ksql.execution.expression.tree.LongLiteral;
+import io.confluent.ksql.execution.expression.tree.StringLiteral;
+import io.confluent.ksql.schema.ksql.SqlBaseType;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Membership test for an {@code IN} list made up entirely of literals.
+ *
+ * <p>The list is built once, at code generation time, into a sorted primitive array for
+ * numeric values or a hash set for strings, so that each evaluation is a single lookup
+ * rather than a chain of comparisons.
+ */
+public abstract class InListMatcher {
+
+  InListMatcher() {
+  }
+
+  /**
+   * Build a matcher for the supplied list.
+   *
+   * @param valueType the type of the value being tested for membership.
+   * @param values the values in the {@code IN} list.
+   * @return the matcher, or empty if the list can not be prebuilt, e.g. because it
+   *         contains non-literal values.
+   */
+  public static Optional<InListMatcher> of(
+      final SqlBaseType valueType,
+      final List<Expression> values
+  ) {
+    switch (valueType) {
+      case INTEGER:
+      case BIGINT:
+        return toLongs(values).map(LongMatcher::new);
+      case DOUBLE:
+        return toDoubles(values).map(DoubleMatcher::new);
+      case STRING:
+        return toStrings(values).map(StringMatcher::new);
+      default:
+        return Optional.empty();
+    }
+  }
+
+  /**
+   * @param value the value to test, which may be {@code null}.
+   * @return {@code true} if the value is in the list.
+   */
+  public abstract boolean matches(Object value);
+
+  private static Optional<long[]> toLongs(final List<Expression> values) {
+    final long[] longs = new long[values.size()];
+    for (int i = 0; i < longs.length; i++) {
+      final Expression value = values.get(i);
+      if (value instanceof IntegerLiteral) {
+        longs[i] = ((IntegerLiteral) value).getValue();
+      } else if (value instanceof LongLiteral) {
+        longs[i] = ((LongLiteral) value).getValue();
+      } else {
+        return Optional.empty();
+      }
+    }
+    Arrays.sort(longs);
+    return Optional.of(longs);
+  }
+
+  private static Optional<double[]> toDoubles(final List<Expression> values) {
+    final double[] doubles = new double[values.size()];
+    for (int i = 0; i < doubles.length; i++) {
+      final Expression value = values.get(i);
+      if (value instanceof IntegerLiteral) {
+        doubles[i] = ((IntegerLiteral) value).getValue();
+      } else if (value instanceof LongLiteral) {
+        doubles[i] = ((LongLiteral) value).getValue();
+      } else if (value instanceof DoubleLiteral) {
+        doubles[i] = normalize(((DoubleLiteral) value).getValue());
+      } else {
+        return Optional.empty();
+      }
+    }
+    Arrays.sort(doubles);
+    return Optional.of(doubles);
+  }
+
+  private static Optional<Set<String>> toStrings(final List<Expression> values) {
+    final ImmutableSet.Builder<String> strings = ImmutableSet.builder();
+    for (final Expression value : values) {
+      if (!(value instanceof StringLiteral)) {
+        return Optional.empty();
+      }
+      strings.add(((StringLiteral) value).getValue());
+    }
+    return Optional.of(strings.build());
+  }
+
+  // Arrays.binarySearch distinguishes -0.0 from 0.0, where SQL equality does not:
+  private static double normalize(final double value) {
+    return value + 0.0;
+  }
+
+  public static final class LongMatcher extends InListMatcher {
+
+    private final long[] values;
+
+    private LongMatcher(final long[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public boolean matches(final Object value) {
+      return value != null
+          && Arrays.binarySearch(values, ((Number) value).longValue()) >= 0;
+    }
+  }
+
+  public static final class DoubleMatcher extends InListMatcher {
+
+    private final double[] values;
+
+    private DoubleMatcher(final double[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public boolean matches(final Object value) {
+      return value != null
+          && Arrays.binarySearch(values, normalize(((Number) value).doubleValue())) >= 0;
+    }
+  }
+
+  public static final class StringMatcher extends InListMatcher {
+
+    private final Set<String> values;
+
+    private StringMatcher(final Set<String> values) {
+      this.values = values;
+    }
+
+    @Override
+    public boolean matches(final Object value) {
+      return value != null && values.contains(value);
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.codegen.helpers;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Matcher for {@code LIKE} patterns with wildcards anywhere in the pattern.
+ *
+ * <p>The pattern is compiled once, at code generation time. Patterns using only {@code %}
+ * are matched by scanning for the literal segments between the wildcards in order. Patterns
+ * using {@code _} are compiled to a regular expression.
+ */
+public final class LikeMatcher {
+
+  private static final char MULTI_CHAR_WILDCARD = '%';
+  private static final char SINGLE_CHAR_WILDCARD = '_';
+
+  private final String pattern;
+  private final Predicate<String> matcher;
+
+  private LikeMatcher(final String pattern, final Predicate<String> matcher) {
+    this.pattern = Objects.requireNonNull(pattern, "pattern");
+    this.matcher = Objects.requireNonNull(matcher, "matcher");
+  }
+
+  public static LikeMatcher of(final String pattern) {
+    if (pattern.indexOf(SINGLE_CHAR_WILDCARD) < 0) {
+      return new LikeMatcher(pattern, segmentMatcher(pattern));
+    }
+    return new LikeMatcher(pattern, regexMatcher(pattern));
+  }
+
+  /**
+   * Simple patterns, i.e. those with no wildcards or with {@code %} only at the start and/or
+   * end, are cheaper to generate inline as {@code equals}, {@code startsWith},
+   * {@code endsWith} or {@code contains} calls.
+   *
+   * @param pattern the {@code LIKE} pattern.
+   * @return {@code true} if the pattern is simple.
+   */
+  public static boolean isSimple(final String pattern) {
+    if (pattern.indexOf(SINGLE_CHAR_WILDCARD) >= 0) {
+      return false;
+    }
+
+    if (pattern.length() < 2) {
+      return pattern.indexOf(MULTI_CHAR_WILDCARD) < 0;
+    }
+
+    final int start = pattern.startsWith("%") ? 1 : 0;
+    final int end = pattern.endsWith("%") ? pattern.length() - 1 : pattern.length();
+
+    return pattern.substring(start, end).indexOf(MULTI_CHAR_WILDCARD) < 0;
+  }
+
+  /**
+   * @param value the value to match, which may be {@code null}.
+   * @return {@code true} if the value matches the pattern.
+   */
+  public boolean matches(final String value) {
+    return value != null && matcher.test(value);
+  }
+
+  @Override
+  public String toString() {
+    return "LikeMatcher{pattern='" + pattern + "'}";
+  }
+
+  private static Predicate<String> segmentMatcher(final String pattern) {
+    final String[] segments = pattern.split(String.valueOf(MULTI_CHAR_WILDCARD), -1);
+    if (segments.length == 1) {
+      return pattern::equals;
+    }
+
+    final String first = segments[0];
+    final String last = segments[segments.length - 1];
+    final int minLength = first.length() + last.length();
+
+    return value -> {
+      if (value.length() < minLength
+          || !value.startsWith(first)
+          || !value.endsWith(last)) {
+        return false;
+      }
+
+      int pos = first.length();
+      final int limit = value.length() - last.length();
+      for (int i = 1; i < segments.length - 1; i++) {
+        final String segment = segments[i];
+        final int idx = value.indexOf(segment, pos);
+        if (idx < 0 || idx + segment.length() > limit) {
+          return false;
+        }
+        pos = idx + segment.length();
+      }
+      return true;
+    };
+  }
+
+  private static Predicate<String> regexMatcher(final String pattern) {
+    final StringBuilder regex = new StringBuilder();
+    final StringBuilder literal = new StringBuilder();
+    for (final char c : pattern.toCharArray()) {
+      if (c == MULTI_CHAR_WILDCARD || c == SINGLE_CHAR_WILDCARD) {
+        if (literal.length() > 0) {
+          regex.append(Pattern.quote(literal.toString()));
+          literal.setLength(0);
+        }
+        regex.append(c == MULTI_CHAR_WILDCARD ? ".*" : ".");
+      } else {
+        literal.append(c);
+      }
+    }
+    if (literal.length() > 0) {
+      regex.append(Pattern.quote(literal.toString()));
+    }
+
+    final Pattern compiled = Pattern.compile(regex.toString(), Pattern.DOTALL);
+    return value -> compiled.matcher(value).matches();
+  }
+}
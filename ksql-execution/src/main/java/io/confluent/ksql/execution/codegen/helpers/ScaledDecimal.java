@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.codegen.helpers;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Helpers for decimal arithmetic on unscaled {@code long} values.
+ *
+ * <p>A decimal of precision {@code p} and scale {@code s} is held as its unscaled value, i.e. the
+ * value multiplied by {@code 10^s}. Any decimal of precision up to 18 fits in a {@code long}, as
+ * does the sum, difference or product of two such decimals whose result has a precision of at
+ * most 19. Arithmetic uses the {@code Math.*Exact} methods, so that values that do not conform to
+ * their declared precision fail with an {@link ArithmeticException}, as the equivalent
+ * {@code BigDecimal} arithmetic would.
+ */
+public final class ScaledDecimal {
+
+  /**
+   * The maximum precision of the result of an unscaled addition, subtraction or multiplication.
+   */
+  public static final int MAX_RESULT_PRECISION = 19;
+
+  private static final long[] POWERS_OF_TEN = new long[19];
+
+  static {
+    POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+  }
+
+  private ScaledDecimal() {
+  }
+
+  /**
+   * @param value the decimal value.
+   * @param scale the required scale.
+   * @return the unscaled value of {@code value} at the required scale.
+   */
+  public static long unscaled(final BigDecimal value, final int scale) {
+    final int shift = scale - value.scale();
+    if (shift < 0 || shift >= POWERS_OF_TEN.length) {
+      return value.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+    return Math.multiplyExact(value.unscaledValue().longValueExact(), POWERS_OF_TEN[shift]);
+  }
+
+  /**
+   * @param value the integral value.
+   * @param scale the required scale.
+   * @return the unscaled value of {@code value} at the required scale.
+   */
+  public static long fromLong(final long value, final int scale) {
+    return Math.multiplyExact(value, POWERS_OF_TEN[scale]);
+  }
+
+  /**
+   * @param unscaled an unscaled value.
+   * @param shift the number of decimal places to increase its scale by.
+   * @return the unscaled value at the increased scale.
+   */
+  public static long rescale(final long unscaled, final int shift) {
+    return Math.multiplyExact(unscaled, POWERS_OF_TEN[shift]);
+  }
+
+  /**
+   * @param unscaled the unscaled value.
+   * @param precision the precision of the result.
+   * @param scale the scale of the result.
+   * @return the decimal.
+   * @throws ArithmeticException if the value does not fit the precision.
+   */
+  public static BigDecimal toDecimal(final long unscaled, final int precision, final int scale) {
+    if (precision < POWERS_OF_TEN.length
+        && (unscaled >= POWERS_OF_TEN[precision] || unscaled <= -POWERS_OF_TEN[precision])) {
+      throw new ArithmeticException("Rounding necessary");
+    }
+    return BigDecimal.valueOf(unscaled, scale);
+  }
+}
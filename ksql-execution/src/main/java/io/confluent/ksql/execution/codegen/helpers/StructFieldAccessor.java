@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.codegen.helpers;
+
+import io.confluent.ksql.util.KsqlException;
+import java.util.Objects;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+
+/**
+ * Accessor for a single field of a struct, i.e. the {@code ->} operator.
+ *
+ * <p>The field is resolved against the struct's schema once, at code generation time, so that
+ * each evaluation reads the field by position rather than looking it up by name. Structs with a
+ * different schema instance, which may order their fields differently, are resolved by name and
+ * the result cached until the schema changes again.
+ */
+public final class StructFieldAccessor {
+
+  private final String fieldName;
+  private ResolvedField resolved;
+
+  private StructFieldAccessor(final Schema schema, final Field field) {
+    this.fieldName = field.name();
+    this.resolved = new ResolvedField(schema, field);
+  }
+
+  /**
+   * Create an accessor.
+   *
+   * @param schema the expected schema of the struct.
+   * @param fieldName the name of the field to access.
+   * @return the accessor.
+   */
+  public static StructFieldAccessor of(final Schema schema, final String fieldName) {
+    final Field field = schema.field(fieldName);
+    if (field == null) {
+      throw new KsqlException("Could not find field " + fieldName + " in " + schema);
+    }
+    return new StructFieldAccessor(schema, field);
+  }
+
+  /**
+   * @param struct the struct, which may be {@code null}.
+   * @return the value of the field, or {@code null} if the struct is {@code null}.
+   */
+  public Object get(final Object struct) {
+    if (struct == null) {
+      return null;
+    }
+
+    final Struct s = (Struct) struct;
+    ResolvedField current = resolved;
+    if (current.schema != s.schema()) {
+      // Instances are immutable, so a racy update only costs a repeated lookup:
+      current = new ResolvedField(s.schema(), s.schema().field(fieldName));
+      resolved = current;
+    }
+
+    return current.field == null
+        ? s.get(fieldName) // throws, as the field does not exist
+        : s.get(current.field);
+  }
+
+  @Override
+  public String toString() {
+    return "StructFieldAccessor{fieldName='" + fieldName + "'}";
+  }
+
+  private static final class ResolvedField {
+
+    private final Schema schema;
+    private final Field field;
+
+    ResolvedField(final Schema schema, final Field field) {
+      this.schema = Objects.requireNonNull(schema, "schema");
+      this.field = field;
+    }
+  }
+}
@@ -21,7 +21,6 @@ import com.google.common.collect.ImmutableList;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.function.KsqlAggregateFunction;
 import io.confluent.ksql.function.UdafAggregator;
-import java.util.ArrayList;
 import java.util.List;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.kstream.Merger;
@@ -72,17 +71,17 @@ public class KudafAggregator implements UdafAggregator {
   public ValueMapper<GenericRow, GenericRow> getResultMapper() {
 
     return aggRow -> {
-      final List<Object> columns = new ArrayList<>(columnCount);
+      final Object[] columns = new Object[columnCount];
 
       for (int idx = 0; idx < initialUdafIndex; idx++) {
-        columns.add(idx, aggRow.getColumns().get(idx));
+        columns[idx] = aggRow.getColumns().get(idx);
       }
 
       for (int idx = initialUdafIndex; idx < columnCount; idx++) {
         final KsqlAggregateFunction function = aggregateFunctionForColumn(idx);
         final Object agg = aggRow.getColumns().get(idx);
         final Object reduced = function.getResultMapper().apply(agg);
-        columns.add(idx, reduced);
+        columns[idx] = reduced;
       }
 
       return new GenericRow(columns);
@@ -94,13 +93,13 @@ public class KudafAggregator implements UdafAggregator {
   public Merger<Struct, GenericRow> getMerger() {
 
     return (key, aggRowOne, aggRowTwo) -> {
-      final List<Object> columns = new ArrayList<>(columnCount);
+      final Object[] columns = new Object[columnCount];
 
       for (int idx = 0; idx < initialUdafIndex; idx++) {
         if (aggRowOne.getColumns().get(idx) == null) {
-          columns.add(idx, aggRowTwo.getColumns().get(idx));
+          columns[idx] = aggRowTwo.getColumns().get(idx);
         } else {
-          columns.add(idx, aggRowOne.getColumns().get(idx));
+          columns[idx] = aggRowOne.getColumns().get(idx);
         }
       }
 
@@ -109,7 +108,7 @@ public class KudafAggregator implements UdafAggregator {
         final Object aggOne = aggRowOne.getColumns().get(idx);
         final Object aggTwo = aggRowTwo.getColumns().get(idx);
         final Object merged = function.getMerger().apply(key, aggOne, aggTwo);
-        columns.add(idx, merged);
+        columns[idx] = merged;
       }
 
       return new GenericRow(columns);
@@ -20,8 +20,6 @@ import io.confluent.ksql.GenericRow;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import org.apache.kafka.streams.kstream.Initializer;
 
 public class KudafInitializer implements Initializer<GenericRow> {
@@ -38,11 +36,12 @@ public class KudafInitializer implements Initializer<GenericRow> {
 
   @Override
   public GenericRow apply() {
-    final List<Object> values = IntStream.range(0, nonAggValSize)
-        .mapToObj(value -> null)
-        .collect(Collectors.toList());
+    final Object[] values = new Object[nonAggValSize + initialValueSuppliers.size()];
+
+    for (int i = 0; i < initialValueSuppliers.size(); i++) {
+      values[nonAggValSize + i] = initialValueSuppliers.get(i).get();
+    }
 
-    initialValueSuppliers.forEach(supplier -> values.add(supplier.get()));
     return new GenericRow(values);
   }
 }
@@ -15,7 +15,9 @@
 package io.confluent.ksql.execution.plan;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.annotations.Immutable;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.name.SourceName;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.util.timestamp.TimestampExtractionPolicy;
@@ -23,6 +25,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.apache.kafka.streams.Topology.AutoOffsetReset;
 
 @Immutable
@@ -34,6 +37,7 @@ public class StreamSource<K> implements ExecutionStep<KStreamHolder<K>> {
   private final int timestampIndex;
   private final Optional<AutoOffsetReset> offsetReset;
   private final LogicalSchema sourceSchema;
+  private final Optional<Set<ColumnName>> requiredColumns;
 
   public static LogicalSchemaWithMetaAndKeyFields getSchemaWithMetaAndKeyFields(
       final SourceName alias,
@@ -50,6 +54,27 @@ public class StreamSource<K> implements ExecutionStep<KStreamHolder<K>> {
       final int timestampIndex,
       final Optional<AutoOffsetReset> offsetReset,
       final LogicalSchema sourceSchema) {
+    this(
+        properties,
+        topicName,
+        formats,
+        timestampPolicy,
+        timestampIndex,
+        offsetReset,
+        sourceSchema,
+        Optional.empty()
+    );
+  }
+
+  public StreamSource(
+      final ExecutionStepProperties properties,
+      final String topicName,
+      final Formats formats,
+      final TimestampExtractionPolicy timestampPolicy,
+      final int timestampIndex,
+      final Optional<AutoOffsetReset> offsetReset,
+      final LogicalSchema sourceSchema,
+      final Optional<Set<ColumnName>> requiredColumns) {
     this.properties = Objects.requireNonNull(properties, "properties");
     this.topicName = Objects.requireNonNull(topicName, "topicName");
     this.formats = Objects.requireNonNull(formats, "formats");
@@ -57,6 +82,8 @@ public class StreamSource<K> implements ExecutionStep<KStreamHolder<K>> {
     this.timestampIndex = timestampIndex;
     this.offsetReset = Objects.requireNonNull(offsetReset, "offsetReset");
     this.sourceSchema = Objects.requireNonNull(sourceSchema, "sourceSchema");
+    this.requiredColumns = Objects.requireNonNull(requiredColumns, "requiredColumns")
+        .map(ImmutableSet::copyOf);
   }
 
   @Override
@@ -73,6 +100,18 @@ public class StreamSource<K> implements ExecutionStep<KStreamHolder<K>> {
     return sourceSchema;
   }
 
+  /**
+   * The value columns of the source that are used downstream, if not all of them are.
+   *
+   * <p>Columns not in the set need not be deserialized, and may be {@code null} in the rows the
+   * source produces.
+   *
+   * @return the required value columns, or {@code Optional.empty()} if all columns are required.
+   */
+  public Optional<Set<ColumnName>> getRequiredColumns() {
+    return requiredColumns;
+  }
+
   public Optional<AutoOffsetReset> getOffsetReset() {
     return offsetReset;
   }
@@ -110,7 +149,8 @@ public class StreamSource<K> implements ExecutionStep<KStreamHolder<K>> {
     return Objects.equals(properties, that.properties)
         && Objects.equals(topicName, that.topicName)
         && Objects.equals(formats, that.formats)
-        && Objects.equals(timestampPolicy, that.timestampPolicy);
+        && Objects.equals(timestampPolicy, that.timestampPolicy)
+        && Objects.equals(requiredColumns, that.requiredColumns);
   }
 
   @Override
@@ -119,7 +159,8 @@ public class StreamSource<K> implements ExecutionStep<KStreamHolder<K>> {
         properties,
         topicName,
         formats,
-        timestampPolicy
+        timestampPolicy,
+        requiredColumns
     );
   }
 }
@@ -20,27 +20,23 @@ import static java.util.Objects.requireNonNull;
 import com.google.common.annotations.VisibleForTesting;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.codegen.CodeGenRunner;
-import io.confluent.ksql.execution.codegen.CodeGenSpec;
 import io.confluent.ksql.execution.codegen.CodeGenSpec.ArgumentSpec;
-import io.confluent.ksql.execution.codegen.SqlToJavaVisitor;
+import io.confluent.ksql.execution.codegen.ExpressionMetadata;
 import io.confluent.ksql.execution.expression.tree.Expression;
 import io.confluent.ksql.execution.util.EngineProcessingLogMessageFactory;
-import io.confluent.ksql.execution.util.GenericRowValueTypeEnforcer;
 import io.confluent.ksql.function.FunctionRegistry;
 import io.confluent.ksql.logging.processing.ProcessingLogger;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.KsqlException;
 import org.apache.kafka.streams.kstream.Predicate;
-import org.codehaus.commons.compiler.CompilerFactoryFactory;
-import org.codehaus.commons.compiler.IExpressionEvaluator;
 
 public final class SqlPredicate {
   private final Expression filterExpression;
-  private final IExpressionEvaluator ee;
-  private final GenericRowValueTypeEnforcer genericRowValueTypeEnforcer;
+  private final ExpressionMetadata evaluator;
   private final ProcessingLogger processingLogger;
-  private final CodeGenSpec spec;
+  private final ThreadLocal<Object[]> threadLocalParameters;
 
   public SqlPredicate(
       final Expression filterExpression,
@@ -50,26 +46,12 @@ public final class SqlPredicate {
       final ProcessingLogger processingLogger
   ) {
     this.filterExpression = requireNonNull(filterExpression, "filterExpression");
-    this.genericRowValueTypeEnforcer = new GenericRowValueTypeEnforcer(schema);
     this.processingLogger = requireNonNull(processingLogger);
 
     final CodeGenRunner codeGenRunner = new CodeGenRunner(schema, ksqlConfig, functionRegistry);
-    spec = codeGenRunner.getCodeGenSpec(this.filterExpression);
 
     try {
-      ee = CompilerFactoryFactory.getDefaultCompilerFactory().newExpressionEvaluator();
-      ee.setDefaultImports(SqlToJavaVisitor.JAVA_IMPORTS.toArray(new String[0]));
-      ee.setParameters(spec.argumentNames(), spec.argumentTypes());
-
-      ee.setExpressionType(boolean.class);
-
-      final String expressionStr = new SqlToJavaVisitor(
-          schema,
-          functionRegistry,
-          spec
-      ).process(this.filterExpression);
-
-      ee.cook(expressionStr);
+      evaluator = codeGenRunner.buildCodeGenFromParseTree(this.filterExpression, "Filter");
     } catch (final Exception e) {
       throw new KsqlException(
           "Failed to generate code for SqlPredicate."
@@ -78,23 +60,50 @@ public final class SqlPredicate {
           e
       );
     }
+
+    if (!evaluator.getExpressionType().equals(SqlTypes.BOOLEAN)) {
+      throw new KsqlException(
+          "Failed to generate code for SqlPredicate."
+          + " filterExpression: " + filterExpression
+          + " is of type " + evaluator.getExpressionType() + ", not BOOLEAN"
+          + ", schema:" + schema
+      );
+    }
+
+    threadLocalParameters = ThreadLocal.withInitial(evaluator::newParameterBuffer);
   }
 
+  /**
+   * @return a thread safe predicate, which may be shared between processors.
+   */
   public <K> Predicate<K, GenericRow> getPredicate() {
-    return (key, row) -> {
-      if (row == null) {
-        return false;
-      }
-
-      try {
-        final Object[] values = new Object[spec.arguments().size()];
-        spec.resolve(row, genericRowValueTypeEnforcer, values);
-        return (Boolean) ee.evaluate(values);
-      } catch (final Exception e) {
-        logProcessingError(e, row);
-      }
+    return (key, row) -> test(row, threadLocalParameters.get());
+  }
+
+  /**
+   * Get a predicate for use by a single processor instance.
+   *
+   * <p>The returned predicate owns its parameter buffer, so avoids any per-record allocation or
+   * thread local lookup, but is <i>not</i> thread safe.
+   *
+   * @return the predicate.
+   */
+  public <K> Predicate<K, GenericRow> getProcessorPredicate() {
+    final Object[] parameters = evaluator.newParameterBuffer();
+    return (key, row) -> test(row, parameters);
+  }
+
+  private boolean test(final GenericRow row, final Object[] parameters) {
+    if (row == null) {
       return false;
-    };
+    }
+
+    try {
+      return (Boolean) evaluator.evaluate(row, parameters);
+    } catch (final Exception e) {
+      logProcessingError(e, row);
+    }
+    return false;
   }
 
   private void logProcessingError(final Exception e, final GenericRow row) {
@@ -119,7 +128,7 @@ public final class SqlPredicate {
   int[] getColumnIndexes() {
     // As this is only used for testing it is ok to do the array copy.
     // We need to revisit the tests for this class and remove this.
-    return spec.arguments()
+    return evaluator.arguments()
         .stream()
         .map(ArgumentSpec::colIndex)
         .mapToInt(idx -> idx.orElse(-1))
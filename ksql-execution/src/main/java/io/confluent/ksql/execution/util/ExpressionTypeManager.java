@@ -450,7 +450,18 @@ public class ExpressionTypeManager {
         final InPredicate inPredicate,
         final ExpressionTypeContext expressionTypeContext
     ) {
-      throw VisitorUtil.unsupportedOperation(this, inPredicate);
+      process(inPredicate.getValue(), expressionTypeContext);
+      final Schema valueSchema = expressionTypeContext.getSchema();
+      for (final Expression item : inPredicate.getValueList().getValues()) {
+        process(item, expressionTypeContext);
+        final Schema itemSchema = expressionTypeContext.getSchema();
+        if (valueSchema != null && itemSchema != null) {
+          ComparisonUtil.isValidComparison(
+              valueSchema, ComparisonExpression.Type.EQUAL, itemSchema);
+        }
+      }
+      expressionTypeContext.setSchema(SqlTypes.BOOLEAN, Schema.OPTIONAL_BOOLEAN_SCHEMA);
+      return null;
     }
 
     @Override
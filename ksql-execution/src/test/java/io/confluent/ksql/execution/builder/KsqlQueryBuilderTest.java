@@ -226,6 +226,70 @@ public class KsqlQueryBuilderTest {
     );
   }
 
+  @Test
+  public void shouldBuildInternalValueSerdeInInternalFormat() {
+    // Given:
+    when(ksqlConfig.getBoolean(KsqlConfig.KSQL_INTERNAL_TOPICS_COMPACT_FORMAT)).thenReturn(true);
+
+    // When:
+    ksqlQueryBuilder.buildInternalValueSerde(
+        FORMAT_INFO,
+        SOME_SCHEMA,
+        queryContext
+    );
+
+    // Then:
+    verify(valueSerdeFactory).create(
+        FormatInfo.of(Format.INTERNAL),
+        SOME_SCHEMA.valueSchema(),
+        ksqlConfig,
+        srClientFactory,
+        QueryLoggerUtil.queryLoggerName(queryContext),
+        processingLogContext
+    );
+  }
+
+  @Test
+  public void shouldBuildInternalValueSerdeInSuppliedFormatIfCompactFormatDisabled() {
+    // Given:
+    when(ksqlConfig.getBoolean(KsqlConfig.KSQL_INTERNAL_TOPICS_COMPACT_FORMAT)).thenReturn(false);
+
+    // When:
+    ksqlQueryBuilder.buildInternalValueSerde(
+        FORMAT_INFO,
+        SOME_SCHEMA,
+        queryContext
+    );
+
+    // Then:
+    verify(valueSerdeFactory).create(
+        FORMAT_INFO,
+        SOME_SCHEMA.valueSchema(),
+        ksqlConfig,
+        srClientFactory,
+        QueryLoggerUtil.queryLoggerName(queryContext),
+        processingLogContext
+    );
+  }
+
+  @Test
+  public void shouldTrackInternalSchemasUsed() {
+    // Given:
+    when(ksqlConfig.getBoolean(KsqlConfig.KSQL_INTERNAL_TOPICS_COMPACT_FORMAT)).thenReturn(true);
+
+    // When:
+    ksqlQueryBuilder.buildInternalValueSerde(
+        FORMAT_INFO,
+        SOME_SCHEMA,
+        queryContext
+    );
+
+    // Then:
+    assertThat(
+        ksqlQueryBuilder.getSchemas().toString(),
+        is("fred.context = STRUCT<f0 BOOLEAN> NOT NULL"));
+  }
+
   @Test
   public void shouldTrackSchemasUsed() {
     // When:
@@ -1,8 +1,10 @@
 package io.confluent.ksql.execution.codegen;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.reset;
@@ -21,6 +23,8 @@ import io.confluent.ksql.schema.ksql.ColumnRef;
 import io.confluent.ksql.schema.ksql.types.SqlType;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
@@ -128,6 +132,32 @@ public class ExpressionMetadataTest {
     verify(expressionEvaluator).evaluate(new Object[]{udf, parameter1});
   }
 
+  @Test
+  public void shouldEvaluateUsingSuppliedParameterBuffer() throws InvocationTargetException {
+    // Given:
+    spec.addParameter(
+        ColumnRef.withoutSource(ColumnName.of("foo1")),
+        Integer.class,
+        0
+    );
+    expressionMetadata = new ExpressionMetadata(
+        expressionEvaluator,
+        spec,
+        expressionType,
+        typeEnforcer,
+        expression
+    );
+    final Object[] parameters = expressionMetadata.newParameterBuffer();
+
+    // When:
+    final Object result = expressionMetadata.evaluate(new GenericRow(123), parameters);
+
+    // Then:
+    assertThat(result, equalTo(RETURN_VALUE));
+    assertThat(parameters, equalTo(new Object[]{parameter1}));
+    verify(expressionEvaluator).evaluate(parameters);
+  }
+
   @Test
   public void shouldPerformThreadSafeParameterEvaluation()
       throws InterruptedException, InvocationTargetException {
@@ -187,4 +217,81 @@ public class ExpressionMetadataTest {
     verify(expressionEvaluator, times(1))
         .evaluate(new Object[]{thread2Param1, thread2Param2});
   }
-}
\ No newline at end of file
+
+  @Test
+  public void shouldEvaluateBatchOfRows() throws InvocationTargetException {
+    // Given:
+    spec.addParameter(
+        ColumnRef.withoutSource(ColumnName.of("foo1")),
+        Integer.class,
+        0
+    );
+    reset(typeEnforcer, expressionEvaluator);
+    when(typeEnforcer.enforceColumnType(0, 1)).thenReturn(parameter1);
+    when(typeEnforcer.enforceColumnType(0, 2)).thenReturn(parameter2);
+    when(expressionEvaluator.evaluate(new Object[]{parameter1})).thenReturn(10L);
+    when(expressionEvaluator.evaluate(new Object[]{parameter2})).thenReturn(20L);
+
+    expressionMetadata = new ExpressionMetadata(
+        expressionEvaluator,
+        spec,
+        expressionType,
+        typeEnforcer,
+        expression
+    );
+
+    final Object[] results = new Object[3];
+
+    // When:
+    expressionMetadata.evaluate(
+        Arrays.asList(new GenericRow(1), null, new GenericRow(2)),
+        results,
+        (e, idx) -> fail("unexpected error at row " + idx)
+    );
+
+    // Then:
+    assertThat(results, equalTo(new Object[]{10L, null, 20L}));
+  }
+
+  @Test
+  public void shouldReportBatchRowsThatFailToEvaluate() throws InvocationTargetException {
+    // Given:
+    spec.addParameter(
+        ColumnRef.withoutSource(ColumnName.of("foo1")),
+        Integer.class,
+        0
+    );
+    final RuntimeException cause = new RuntimeException("boom");
+    reset(typeEnforcer, expressionEvaluator);
+    when(typeEnforcer.enforceColumnType(0, 1)).thenReturn(parameter1);
+    when(typeEnforcer.enforceColumnType(0, 2)).thenReturn(parameter2);
+    when(expressionEvaluator.evaluate(new Object[]{parameter1}))
+        .thenThrow(new InvocationTargetException(cause));
+    when(expressionEvaluator.evaluate(new Object[]{parameter2})).thenReturn(20L);
+
+    expressionMetadata = new ExpressionMetadata(
+        expressionEvaluator,
+        spec,
+        expressionType,
+        typeEnforcer,
+        expression
+    );
+
+    final Object[] results = new Object[2];
+    final List<Integer> failed = new ArrayList<>();
+
+    // When:
+    expressionMetadata.evaluate(
+        ImmutableList.of(new GenericRow(1), new GenericRow(2)),
+        results,
+        (e, idx) -> {
+          assertThat(e.getCause(), is(cause));
+          failed.add(idx);
+        }
+    );
+
+    // Then:
+    assertThat(failed, contains(0));
+    assertThat(results, equalTo(new Object[]{null, 20L}));
+  }
+}
@@ -15,6 +15,7 @@
 
 package io.confluent.ksql.execution.codegen;
 
+import static io.confluent.ksql.execution.testutil.TestExpressions.ADDRESS;
 import static io.confluent.ksql.execution.testutil.TestExpressions.ARRAYCOL;
 import static io.confluent.ksql.execution.testutil.TestExpressions.COL0;
 import static io.confluent.ksql.execution.testutil.TestExpressions.COL1;
@@ -53,6 +54,7 @@ import io.confluent.ksql.execution.expression.tree.TimeLiteral;
 import io.confluent.ksql.execution.expression.tree.TimestampLiteral;
 import io.confluent.ksql.execution.expression.tree.Type;
 import io.confluent.ksql.execution.expression.tree.WhenClause;
+import io.confluent.ksql.execution.function.udf.structfieldextractor.FetchFieldFromStruct;
 import io.confluent.ksql.function.FunctionRegistry;
 import io.confluent.ksql.function.KsqlFunction;
 import io.confluent.ksql.function.UdfFactory;
@@ -258,7 +260,39 @@ public class SqlToJavaVisitorTest {
     final String javaExpression = sqlToJavaVisitor.process(expression);
 
     // Then:
-    assertThat(javaExpression, equalTo("((((Object)(TEST1_COL3)) == null || ((Object)(-10.0)) == null) ? false : (TEST1_COL3 > -10.0))"));
+    assertThat(javaExpression, equalTo("((((Object)(TEST1_COL3)) == null) ? false : (TEST1_COL3 > -10.0))"));
+  }
+
+  @Test
+  public void shouldNotNullCheckOrBoxArithmeticInComparison() {
+    // Given:
+    final Expression expression = new ComparisonExpression(
+        ComparisonExpression.Type.EQUAL,
+        new ArithmeticBinaryExpression(Operator.ADD, COL0, new IntegerLiteral(1)),
+        new ArithmeticBinaryExpression(Operator.MULTIPLY, COL3, new IntegerLiteral(2))
+    );
+
+    // When:
+    final String javaExpression = sqlToJavaVisitor.process(expression);
+
+    // Then:
+    assertThat(javaExpression, equalTo("(((TEST1_COL0 + 1) == (TEST1_COL3 * 2)))"));
+  }
+
+  @Test
+  public void shouldNullCheckBothColumnsInComparison() {
+    // Given:
+    final Expression expression = new ComparisonExpression(
+        ComparisonExpression.Type.EQUAL,
+        COL0,
+        COL3
+    );
+
+    // When:
+    final String javaExpression = sqlToJavaVisitor.process(expression);
+
+    // Then:
+    assertThat(javaExpression, equalTo("((((Object)(TEST1_COL0)) == null || ((Object)(TEST1_COL3)) == null) ? false : ((TEST1_COL0 <= TEST1_COL3) && (TEST1_COL0 >= TEST1_COL3)))"));
   }
 
   @Test
@@ -309,6 +343,37 @@ public class SqlToJavaVisitorTest {
     assertThat(javaExpression, equalTo("(TEST1_COL1).equals(\"foo\")"));
   }
 
+  @Test
+  public void shouldGenerateCorrectCodeForLikePatternWithPrebuiltMatcher() {
+    // Given:
+    final Expression expression = new LikePredicate(COL1, new StringLiteral("f%o_"));
+
+    givenConstant(expression, "constant0");
+
+    // When:
+    final String javaExpression = sqlToJavaVisitor.process(expression);
+
+    // Then:
+    assertThat(javaExpression, equalTo("(constant0.matches(TEST1_COL1))"));
+  }
+
+  @Test
+  public void shouldGenerateCorrectCodeForStructFieldAccessor() {
+    // Given:
+    final Expression expression = new FunctionCall(
+        FunctionName.of(FetchFieldFromStruct.FUNCTION_NAME),
+        ImmutableList.of(ADDRESS, new StringLiteral("CITY"))
+    );
+
+    givenConstant(expression, "constant0");
+
+    // When:
+    final String javaExpression = sqlToJavaVisitor.process(expression);
+
+    // Then:
+    assertThat(javaExpression, equalTo("((String) constant0.get(TEST1_COL6))"));
+  }
+
   @Test
   public void shouldGenerateCorrectCodeForCaseStatement() {
     // Given:
@@ -329,7 +394,7 @@ public class SqlToJavaVisitorTest {
     final String javaExpression = sqlToJavaVisitor.process(expression);
 
     // ThenL
-    assertThat(javaExpression, equalTo("((java.lang.String)SearchedCaseFunction.searchedCaseFunction(ImmutableList.of( SearchedCaseFunction.whenClause( new Supplier<Boolean>() { @Override public Boolean get() { return ((((Object)(TEST1_COL7)) == null || ((Object)(10)) == null) ? false : (TEST1_COL7 < 10)); }},  new Supplier<java.lang.String>() { @Override public java.lang.String get() { return \"small\"; }}), SearchedCaseFunction.whenClause( new Supplier<Boolean>() { @Override public Boolean get() { return ((((Object)(TEST1_COL7)) == null || ((Object)(100)) == null) ? false : (TEST1_COL7 < 100)); }},  new Supplier<java.lang.String>() { @Override public java.lang.String get() { return \"medium\"; }})), new Supplier<java.lang.String>() { @Override public java.lang.String get() { return \"large\"; }}))"));
+    assertThat(javaExpression, equalTo("((java.lang.String)((((((Object)(TEST1_COL7)) == null) ? false : (TEST1_COL7 < 10))) ? ((java.lang.String)(\"small\")) : ((((((Object)(TEST1_COL7)) == null) ? false : (TEST1_COL7 < 100))) ? ((java.lang.String)(\"medium\")) : ((java.lang.String)(\"large\")))))"));
   }
 
   @Test
@@ -352,7 +417,7 @@ public class SqlToJavaVisitorTest {
     final String javaExpression = sqlToJavaVisitor.process(expression);
 
     // ThenL
-    assertThat(javaExpression, equalTo("((java.lang.String)SearchedCaseFunction.searchedCaseFunction(ImmutableList.of( SearchedCaseFunction.whenClause( new Supplier<Boolean>() { @Override public Boolean get() { return ((((Object)(TEST1_COL7)) == null || ((Object)(10)) == null) ? false : (TEST1_COL7 < 10)); }},  new Supplier<java.lang.String>() { @Override public java.lang.String get() { return \"small\"; }}), SearchedCaseFunction.whenClause( new Supplier<Boolean>() { @Override public Boolean get() { return ((((Object)(TEST1_COL7)) == null || ((Object)(100)) == null) ? false : (TEST1_COL7 < 100)); }},  new Supplier<java.lang.String>() { @Override public java.lang.String get() { return \"medium\"; }})), new Supplier<java.lang.String>() { @Override public java.lang.String get() { return null; }}))"));
+    assertThat(javaExpression, equalTo("((java.lang.String)((((((Object)(TEST1_COL7)) == null) ? false : (TEST1_COL7 < 10))) ? ((java.lang.String)(\"small\")) : ((((((Object)(TEST1_COL7)) == null) ? false : (TEST1_COL7 < 100))) ? ((java.lang.String)(\"medium\")) : ((java.lang.String)(null)))))"));
   }
 
   @Test
@@ -368,7 +433,46 @@ public class SqlToJavaVisitorTest {
     final String java = sqlToJavaVisitor.process(binExp);
 
     // Then:
-    assertThat(java, is("(TEST1_COL8.add(TEST1_COL8, new MathContext(3, RoundingMode.UNNECESSARY)).setScale(1))"));
+    assertThat(java, is("(ScaledDecimal.toDecimal(Math.addExact(ScaledDecimal.unscaled(TEST1_COL8, 1), ScaledDecimal.unscaled(TEST1_COL8, 1)), 3, 1))"));
+  }
+
+  @Test
+  public void shouldKeepNestedDecimalArithmeticUnscaled() {
+    // Given:
+    final ArithmeticBinaryExpression binExp = new ArithmeticBinaryExpression(
+        Operator.ADD,
+        new ArithmeticBinaryExpression(
+            Operator.MULTIPLY,
+            new ColumnReferenceExp(ColumnRef.of(TEST1, ColumnName.of("COL8"))),
+            new ColumnReferenceExp(ColumnRef.of(TEST1, ColumnName.of("COL8")))
+        ),
+        new ColumnReferenceExp(ColumnRef.of(TEST1, ColumnName.of("COL8")))
+    );
+
+    // When:
+    final String java = sqlToJavaVisitor.process(binExp);
+
+    // Then:
+    assertThat(java, is("(ScaledDecimal.toDecimal(Math.addExact("
+        + "Math.multiplyExact(ScaledDecimal.unscaled(TEST1_COL8, 1), ScaledDecimal.unscaled(TEST1_COL8, 1)), "
+        + "ScaledDecimal.unscaled(TEST1_COL8, 2)), 6, 2))"));
+  }
+
+  @Test
+  public void shouldGenerateUnscaledIntegerInDecimalArithmetic() {
+    // Given:
+    final ArithmeticBinaryExpression binExp = new ArithmeticBinaryExpression(
+        Operator.ADD,
+        new ColumnReferenceExp(ColumnRef.of(TEST1, ColumnName.of("COL8"))),
+        COL7
+    );
+
+    // When:
+    final String java = sqlToJavaVisitor.process(binExp);
+
+    // Then:
+    assertThat(java, is("(ScaledDecimal.toDecimal(Math.addExact("
+        + "ScaledDecimal.unscaled(TEST1_COL8, 1), ScaledDecimal.fromLong(TEST1_COL7, 1)), 12, 1))"));
   }
 
   @Test
@@ -416,7 +520,7 @@ public class SqlToJavaVisitorTest {
     final String java = sqlToJavaVisitor.process(binExp);
 
     // Then:
-    assertThat(java, is("(TEST1_COL8.subtract(TEST1_COL8, new MathContext(3, RoundingMode.UNNECESSARY)).setScale(1))"));
+    assertThat(java, is("(ScaledDecimal.toDecimal(Math.subtractExact(ScaledDecimal.unscaled(TEST1_COL8, 1), ScaledDecimal.unscaled(TEST1_COL8, 1)), 3, 1))"));
   }
 
   @Test
@@ -432,7 +536,7 @@ public class SqlToJavaVisitorTest {
     final String java = sqlToJavaVisitor.process(binExp);
 
     // Then:
-    assertThat(java, is("(TEST1_COL8.multiply(TEST1_COL8, new MathContext(5, RoundingMode.UNNECESSARY)).setScale(2))"));
+    assertThat(java, is("(ScaledDecimal.toDecimal(Math.multiplyExact(ScaledDecimal.unscaled(TEST1_COL8, 1), ScaledDecimal.unscaled(TEST1_COL8, 1)), 5, 2))"));
   }
 
   @Test
@@ -717,18 +821,39 @@ public class SqlToJavaVisitorTest {
   }
 
   @Test
-  public void shouldThrowOnIn() {
+  public void shouldGenerateCorrectCodeForInListWithoutPrebuiltMatcher() {
     // Given:
     final Expression expression = new InPredicate(
         COL0,
         new InListExpression(ImmutableList.of(new IntegerLiteral(1), new IntegerLiteral(2)))
     );
 
+    // When:
+    final String javaExpression = sqlToJavaVisitor.process(expression);
+
     // Then:
-    expectedException.expect(UnsupportedOperationException.class);
+    assertThat(javaExpression, equalTo("("
+        + "((((Object)(TEST1_COL0)) == null) ? false : (TEST1_COL0 == 1))"
+        + " || "
+        + "((((Object)(TEST1_COL0)) == null) ? false : (TEST1_COL0 == 2))"
+        + ")"));
+  }
+
+  @Test
+  public void shouldGenerateCorrectCodeForInListWithPrebuiltMatcher() {
+    // Given:
+    final Expression expression = new InPredicate(
+        COL0,
+        new InListExpression(ImmutableList.of(new IntegerLiteral(1), new IntegerLiteral(2)))
+    );
+
+    givenConstant(expression, "constant0");
 
     // When:
-    sqlToJavaVisitor.process(expression);
+    final String javaExpression = sqlToJavaVisitor.process(expression);
+
+    // Then:
+    assertThat(javaExpression, equalTo("(constant0.matches(TEST1_COL0))"));
   }
 
   @Test
@@ -775,4 +900,15 @@ public class SqlToJavaVisitorTest {
     when(factory.getFunction(anyList())).thenReturn(function);
     when(function.getReturnType(anyList())).thenReturn(returnType);
   }
+
+  private void givenConstant(final Expression expression, final String codeName) {
+    final AtomicInteger funCounter = new AtomicInteger();
+    sqlToJavaVisitor = new SqlToJavaVisitor(
+        SCHEMA,
+        functionRegistry,
+        ref -> ref.aliasedFieldName().replace(".", "_"),
+        name -> name.name() + "_" + funCounter.getAndIncrement(),
+        exp -> exp.equals(expression) ? Optional.of(codeName) : Optional.empty()
+    );
+  }
 }
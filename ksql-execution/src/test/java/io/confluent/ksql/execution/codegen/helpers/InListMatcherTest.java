@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.codegen.helpers;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.execution.codegen.helpers.InListMatcher.DoubleMatcher;
+import io.confluent.ksql.execution.codegen.helpers.InListMatcher.LongMatcher;
+import io.confluent.ksql.execution.codegen.helpers.InListMatcher.StringMatcher;
+import io.confluent.ksql.execution.expression.tree.ColumnReferenceExp;
+import io.confluent.ksql.execution.expression.tree.DoubleLiteral;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.IntegerLiteral;
+import io.confluent.ksql.execution.expression.tree.LongLiteral;
+import io.confluent.ksql.execution.expression.tree.NullLiteral;
+import io.confluent.ksql.execution.expression.tree.StringLiteral;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.ColumnRef;
+import io.confluent.ksql.schema.ksql.SqlBaseType;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Test;
+
+public class InListMatcherTest {
+
+  @Test
+  public void shouldBuildLongMatcherForIntegralValues() {
+    // Given:
+    final List<Expression> values = ImmutableList.of(
+        new IntegerLiteral(3), new LongLiteral(10_000_000_000L), new IntegerLiteral(-1));
+
+    // When:
+    final InListMatcher matcher = InListMatcher.of(SqlBaseType.BIGINT, values).get();
+
+    // Then:
+    assertThat(matcher, instanceOf(LongMatcher.class));
+    assertThat(matcher.matches(3L), is(true));
+    assertThat(matcher.matches(3), is(true));
+    assertThat(matcher.matches(-1L), is(true));
+    assertThat(matcher.matches(10_000_000_000L), is(true));
+    assertThat(matcher.matches(2L), is(false));
+    assertThat(matcher.matches(null), is(false));
+  }
+
+  @Test
+  public void shouldBuildDoubleMatcherForNumericValues() {
+    // Given:
+    final List<Expression> values = ImmutableList.of(
+        new DoubleLiteral(1.5), new IntegerLiteral(2), new DoubleLiteral(0.0));
+
+    // When:
+    final InListMatcher matcher = InListMatcher.of(SqlBaseType.DOUBLE, values).get();
+
+    // Then:
+    assertThat(matcher, instanceOf(DoubleMatcher.class));
+    assertThat(matcher.matches(1.5), is(true));
+    assertThat(matcher.matches(2.0), is(true));
+    assertThat(matcher.matches(-0.0), is(true));
+    assertThat(matcher.matches(2.5), is(false));
+    assertThat(matcher.matches(null), is(false));
+  }
+
+  @Test
+  public void shouldBuildStringMatcherForStringValues() {
+    // Given:
+    final List<Expression> values = ImmutableList.of(
+        new StringLiteral("a"), new StringLiteral("b"));
+
+    // When:
+    final InListMatcher matcher = InListMatcher.of(SqlBaseType.STRING, values).get();
+
+    // Then:
+    assertThat(matcher, instanceOf(StringMatcher.class));
+    assertThat(matcher.matches("a"), is(true));
+    assertThat(matcher.matches("c"), is(false));
+    assertThat(matcher.matches(null), is(false));
+  }
+
+  @Test
+  public void shouldNotBuildMatcherForNonLiteralValues() {
+    // Given:
+    final List<Expression> values = ImmutableList.of(
+        new IntegerLiteral(1),
+        new ColumnReferenceExp(ColumnRef.withoutSource(ColumnName.of("COL0"))));
+
+    // When:
+    final Optional<InListMatcher> matcher = InListMatcher.of(SqlBaseType.BIGINT, values);
+
+    // Then:
+    assertThat(matcher, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldNotBuildMatcherForNullValues() {
+    // Given:
+    final List<Expression> values = ImmutableList.of(new StringLiteral("a"), new NullLiteral());
+
+    // When:
+    final Optional<InListMatcher> matcher = InListMatcher.of(SqlBaseType.STRING, values);
+
+    // Then:
+    assertThat(matcher, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldNotBuildMatcherForMismatchedLiteralTypes() {
+    // Given:
+    final List<Expression> values = ImmutableList.of(new DoubleLiteral(1.5));
+
+    // When:
+    final Optional<InListMatcher> matcher = InListMatcher.of(SqlBaseType.INTEGER, values);
+
+    // Then:
+    assertThat(matcher, is(Optional.empty()));
+  }
+
+  @Test
+  public void shouldNotBuildMatcherForUnsupportedTypes() {
+    // Given:
+    final List<Expression> values = ImmutableList.of(new IntegerLiteral(1));
+
+    // When:
+    final Optional<InListMatcher> matcher = InListMatcher.of(SqlBaseType.DECIMAL, values);
+
+    // Then:
+    assertThat(matcher, is(Optional.empty()));
+  }
+}
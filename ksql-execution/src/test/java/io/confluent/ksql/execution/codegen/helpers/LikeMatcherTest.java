@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.codegen.helpers;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Test;
+
+public class LikeMatcherTest {
+
+  @Test
+  public void shouldTreatPrefixSuffixAndNoWildcardPatternsAsSimple() {
+    assertThat(LikeMatcher.isSimple("foo"), is(true));
+    assertThat(LikeMatcher.isSimple("foo%"), is(true));
+    assertThat(LikeMatcher.isSimple("%foo"), is(true));
+    assertThat(LikeMatcher.isSimple("%foo%"), is(true));
+    assertThat(LikeMatcher.isSimple(""), is(true));
+  }
+
+  @Test
+  public void shouldNotTreatInnerOrSingleCharWildcardPatternsAsSimple() {
+    assertThat(LikeMatcher.isSimple("f%o"), is(false));
+    assertThat(LikeMatcher.isSimple("%f%o%"), is(false));
+    assertThat(LikeMatcher.isSimple("f_o"), is(false));
+    assertThat(LikeMatcher.isSimple("_"), is(false));
+    assertThat(LikeMatcher.isSimple("%"), is(false));
+  }
+
+  @Test
+  public void shouldMatchMultiCharWildcardsAnywhere() {
+    // Given:
+    final LikeMatcher matcher = LikeMatcher.of("a%c%e");
+
+    // Then:
+    assertThat(matcher.matches("ace"), is(true));
+    assertThat(matcher.matches("abcde"), is(true));
+    assertThat(matcher.matches("acce"), is(true));
+    assertThat(matcher.matches("abde"), is(false));
+    assertThat(matcher.matches("abcd"), is(false));
+    assertThat(matcher.matches("ae"), is(false));
+  }
+
+  @Test
+  public void shouldNotMatchOverlappingSegments() {
+    // Given:
+    final LikeMatcher matcher = LikeMatcher.of("ab%ba");
+
+    // Then:
+    assertThat(matcher.matches("aba"), is(false));
+    assertThat(matcher.matches("abba"), is(true));
+  }
+
+  @Test
+  public void shouldMatchSingleCharWildcards() {
+    // Given:
+    final LikeMatcher matcher = LikeMatcher.of("a_c%");
+
+    // Then:
+    assertThat(matcher.matches("abc"), is(true));
+    assertThat(matcher.matches("abcdef"), is(true));
+    assertThat(matcher.matches("ac"), is(false));
+    assertThat(matcher.matches("abbc"), is(false));
+  }
+
+  @Test
+  public void shouldTreatRegexCharactersLiterally() {
+    // Given:
+    final LikeMatcher matcher = LikeMatcher.of("a.*_");
+
+    // Then:
+    assertThat(matcher.matches("a.*b"), is(true));
+    assertThat(matcher.matches("abcb"), is(false));
+  }
+
+  @Test
+  public void shouldMatchAnythingWithSingleMultiCharWildcard() {
+    // Given:
+    final LikeMatcher matcher = LikeMatcher.of("%");
+
+    // Then:
+    assertThat(matcher.matches(""), is(true));
+    assertThat(matcher.matches("anything"), is(true));
+  }
+
+  @Test
+  public void shouldNotMatchNull() {
+    assertThat(LikeMatcher.of("a%b").matches(null), is(false));
+    assertThat(LikeMatcher.of("a_b").matches(null), is(false));
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.codegen.helpers;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.math.BigDecimal;
+import org.junit.Test;
+
+public class ScaledDecimalTest {
+
+  @Test
+  public void shouldGetUnscaledValueAtSameScale() {
+    assertThat(ScaledDecimal.unscaled(new BigDecimal("12.34"), 2), is(1234L));
+  }
+
+  @Test
+  public void shouldGetUnscaledValueAtLargerScale() {
+    assertThat(ScaledDecimal.unscaled(new BigDecimal("-12.34"), 4), is(-123400L));
+  }
+
+  @Test
+  public void shouldRoundUnscaledValueAtSmallerScale() {
+    assertThat(ScaledDecimal.unscaled(new BigDecimal("12.35"), 1), is(124L));
+  }
+
+  @Test
+  public void shouldGetUnscaledValueOfLong() {
+    assertThat(ScaledDecimal.fromLong(-7, 3), is(-7000L));
+  }
+
+  @Test
+  public void shouldRescale() {
+    assertThat(ScaledDecimal.rescale(15, 2), is(1500L));
+  }
+
+  @Test
+  public void shouldConvertToDecimal() {
+    assertThat(ScaledDecimal.toDecimal(-123456, 18, 4), is(new BigDecimal("-12.3456")));
+  }
+
+  @Test
+  public void shouldConvertToDecimalOfMaxPrecision() {
+    assertThat(
+        ScaledDecimal.toDecimal(Long.MAX_VALUE, 19, 4),
+        is(new BigDecimal("922337203685477.5807")));
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void shouldThrowIfValueExceedsPrecision() {
+    ScaledDecimal.toDecimal(1000, 3, 1);
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void shouldThrowOnOverflow() {
+    ScaledDecimal.fromLong(Long.MAX_VALUE / 10, 2);
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.codegen.helpers;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import io.confluent.ksql.util.KsqlException;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.DataException;
+import org.junit.Test;
+
+public class StructFieldAccessorTest {
+
+  private static final Schema SCHEMA = SchemaBuilder.struct()
+      .field("A", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("B", Schema.OPTIONAL_INT64_SCHEMA)
+      .optional()
+      .build();
+
+  @Test
+  public void shouldGetField() {
+    // Given:
+    final StructFieldAccessor accessor = StructFieldAccessor.of(SCHEMA, "B");
+
+    // When:
+    final Object result = accessor.get(new Struct(SCHEMA).put("A", "a").put("B", 10L));
+
+    // Then:
+    assertThat(result, is(10L));
+  }
+
+  @Test
+  public void shouldReturnNullForNullStruct() {
+    // Given:
+    final StructFieldAccessor accessor = StructFieldAccessor.of(SCHEMA, "B");
+
+    // When:
+    final Object result = accessor.get(null);
+
+    // Then:
+    assertThat(result, is(nullValue()));
+  }
+
+  @Test
+  public void shouldGetFieldFromStructWithDifferentFieldOrder() {
+    // Given:
+    final Schema reordered = SchemaBuilder.struct()
+        .field("B", Schema.OPTIONAL_INT64_SCHEMA)
+        .field("A", Schema.OPTIONAL_STRING_SCHEMA)
+        .optional()
+        .build();
+
+    final StructFieldAccessor accessor = StructFieldAccessor.of(SCHEMA, "B");
+
+    // When:
+    final Object result = accessor.get(new Struct(reordered).put("A", "a").put("B", 10L));
+
+    // Then:
+    assertThat(result, is(10L));
+  }
+
+  @Test(expected = KsqlException.class)
+  public void shouldThrowOnUnknownField() {
+    StructFieldAccessor.of(SCHEMA, "C");
+  }
+
+  @Test(expected = DataException.class)
+  public void shouldThrowIfStructDoesNotHaveField() {
+    // Given:
+    final Schema other = SchemaBuilder.struct()
+        .field("A", Schema.OPTIONAL_STRING_SCHEMA)
+        .optional()
+        .build();
+
+    final StructFieldAccessor accessor = StructFieldAccessor.of(SCHEMA, "B");
+
+    // When:
+    accessor.get(new Struct(other).put("A", "a"));
+  }
+}
@@ -46,14 +46,17 @@ import io.confluent.ksql.logging.processing.ProcessingLogger;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.types.SqlTypes;
 import io.confluent.ksql.util.KsqlConfig;
+import io.confluent.ksql.util.KsqlException;
 import java.util.Collections;
 import java.util.function.Function;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.SchemaAndValue;
 import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.kstream.Predicate;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
@@ -99,6 +102,9 @@ public class SqlPredicateTest {
   @Rule
   public final MockitoRule mockitoRule = MockitoJUnit.rule();
 
+  @Rule
+  public final ExpectedException expectedException = ExpectedException.none();
+
   @Before
   public void init() {
     when(functionRegistry.getUdfFactory("LEN")).thenReturn(lenFactory);
@@ -141,6 +147,16 @@ public class SqlPredicateTest {
     assertThat(predicate.getColumnIndexes().length, equalTo(3));
   }
 
+  @Test
+  public void shouldThrowIfFilterIsNotBoolean() {
+    // Then:
+    expectedException.expect(KsqlException.class);
+    expectedException.expectMessage("is of type STRING, not BOOLEAN");
+
+    // When:
+    givenSqlPredicateFor(COL2);
+  }
+
   @Test
   public void shouldIgnoreNullRows() {
     // Given:
@@ -151,6 +167,21 @@ public class SqlPredicateTest {
     assertThat(sqlPredicate.getPredicate().test("key", null), is(false));
   }
 
+  @Test
+  public void shouldEvaluateProcessorPredicate() {
+    // Given:
+    final SqlPredicate sqlPredicate = givenSqlPredicateFor(
+        new ComparisonExpression(Type.GREATER_THAN, COL0, new IntegerLiteral(100)));
+
+    // When:
+    final Predicate<String, GenericRow> predicate = sqlPredicate.getProcessorPredicate();
+
+    // Then:
+    assertThat(predicate.test("key", new GenericRow(0L, "key", 101L, 1.0, "a")), is(true));
+    assertThat(predicate.test("key", new GenericRow(0L, "key", 99L, 1.0, "a")), is(false));
+    assertThat(predicate.test("key", null), is(false));
+  }
+
   @Test
   public void shouldWriteProcessingLogOnError() {
     // Given:
@@ -488,20 +488,63 @@ public class ExpressionTypeManagerTest {
   }
 
   @Test
-  public void shouldThrowOnIn() {
+  public void shouldEvaluateTypeForIn() {
     // Given:
     final Expression expression = new InPredicate(
         TestExpressions.COL0,
         new InListExpression(ImmutableList.of(new IntegerLiteral(1), new IntegerLiteral(2)))
     );
 
+    // When:
+    final SqlType type = expressionTypeManager.getExpressionSqlType(expression);
+
     // Then:
-    expectedException.expect(UnsupportedOperationException.class);
+    assertThat(type, is(SqlTypes.BOOLEAN));
+  }
+
+  @Test
+  public void shouldFailIfInListItemIsIncompatibleWithNumericValue() {
+    // Given:
+    final Expression expression = new InPredicate(
+        TestExpressions.COL0,
+        new InListExpression(ImmutableList.of(new IntegerLiteral(1), new StringLiteral("x")))
+    );
+    expectedException.expect(KsqlException.class);
+    expectedException.expectMessage("Operator EQUAL cannot be used to compare BIGINT and STRING");
 
     // When:
     expressionTypeManager.getExpressionSqlType(expression);
   }
 
+  @Test
+  public void shouldFailIfInListItemIsIncompatibleWithStringValue() {
+    // Given:
+    final Expression expression = new InPredicate(
+        COL1,
+        new InListExpression(ImmutableList.of(new StringLiteral("a"), new IntegerLiteral(1)))
+    );
+    expectedException.expect(KsqlException.class);
+    expectedException.expectMessage("Operator EQUAL cannot be used to compare STRING and INTEGER");
+
+    // When:
+    expressionTypeManager.getExpressionSqlType(expression);
+  }
+
+  @Test
+  public void shouldEvaluateTypeForInWithStringItems() {
+    // Given:
+    final Expression expression = new InPredicate(
+        COL1,
+        new InListExpression(ImmutableList.of(new StringLiteral("a"), new StringLiteral("b")))
+    );
+
+    // When:
+    final SqlType type = expressionTypeManager.getExpressionSqlType(expression);
+
+    // Then:
+    assertThat(type, is(SqlTypes.BOOLEAN));
+  }
+
   @Test
   public void shouldThrowOnSimpleCase() {
     final Expression expression = new SimpleCaseExpression(
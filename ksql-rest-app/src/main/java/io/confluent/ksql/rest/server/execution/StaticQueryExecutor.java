@@ -554,10 +554,12 @@ public final class StaticQueryExecutor {
         NoopProcessingLogContext.INSTANCE.getLoggerFactory().getLogger("any")
     );
 
+    final List<GenericRow> intermediates = input.rows.stream()
+        .map(r -> preSelectTransform.apply(r.key(), r.value()))
+        .collect(Collectors.toList());
+
     final ImmutableList.Builder<List<?>> output = ImmutableList.builder();
-    input.rows.forEach(r -> {
-      final GenericRow intermediate = preSelectTransform.apply(r.key(), r.value());
-      final GenericRow mapped = select.apply(intermediate);
+    select.applyBatch(intermediates).forEach(mapped -> {
       validateProjection(mapped, outputSchema);
       output.add(mapped.getColumns());
     });
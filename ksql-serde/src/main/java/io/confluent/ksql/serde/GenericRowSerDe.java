@@ -24,14 +24,16 @@ import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.logging.processing.LoggingDeserializer;
 import io.confluent.ksql.logging.processing.ProcessingLogContext;
 import io.confluent.ksql.logging.processing.ProcessingLogger;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.SchemaUtil;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.serialization.Deserializer;
@@ -71,7 +73,30 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
         schemaRegistryClientFactory,
         loggerNamePrefix,
         processingLogContext,
-        getTargetType(schema)
+        getTargetType(schema),
+        Optional.empty()
+    );
+  }
+
+  @Override
+  public Serde<GenericRow> create(
+      final FormatInfo format,
+      final PersistenceSchema schema,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
+      final String loggerNamePrefix,
+      final ProcessingLogContext processingLogContext,
+      final Set<ColumnName> requiredColumns
+  ) {
+    return from(
+        format,
+        schema,
+        ksqlConfig,
+        schemaRegistryClientFactory,
+        loggerNamePrefix,
+        processingLogContext,
+        getTargetType(schema),
+        Optional.of(requiredColumns)
     );
   }
 
@@ -100,7 +125,8 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
       final Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
       final String loggerNamePrefix,
       final ProcessingLogContext processingLogContext,
-      final Class<T> targetType
+      final Class<T> targetType,
+      final Optional<Set<ColumnName>> requiredColumns
   ) {
     final Serde<T> serde = serdeFactories
         .create(format, schema, ksqlConfig, schemaRegistryClientFactory, targetType);
@@ -110,7 +136,15 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
 
     final Serde<GenericRow> genericRowSerde = schema.isUnwrapped()
           ? unwrapped(serde)
-          : wrapped(serde, schema, targetType);
+          : wrapped(
+              serde,
+              schema,
+              targetType,
+              serdeFactories.createRowSerializer(
+                  format, schema, ksqlConfig, schemaRegistryClientFactory),
+              serdeFactories.createRowDeserializer(
+                  format, schema, ksqlConfig, schemaRegistryClientFactory, requiredColumns)
+          );
 
     final Serde<GenericRow> result = Serdes.serdeFrom(
         genericRowSerde.serializer(),
@@ -139,7 +173,9 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
   private static <T> Serde<GenericRow> wrapped(
       final Serde<T> innerSerde,
       final PersistenceSchema schema,
-      final Class<T> type
+      final Class<T> type,
+      final Optional<Serializer<GenericRow>> rowSerializer,
+      final Optional<Deserializer<GenericRow>> rowDeserializer
   ) {
     if (type != Struct.class) {
       throw new IllegalArgumentException("Unwrapped must be of type Struct");
@@ -147,11 +183,11 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
 
     @SuppressWarnings("unchecked") final Serde<Struct> structSerde = (Serde<Struct>) innerSerde;
 
-    final Serializer<GenericRow> serializer =
-        new GenericRowSerializer(structSerde.serializer(), schema);
+    final Serializer<GenericRow> serializer = rowSerializer
+        .orElseGet(() -> new GenericRowSerializer(structSerde.serializer(), schema));
 
-    final Deserializer<GenericRow> deserializer =
-        new GenericRowDeserializer(structSerde.deserializer());
+    final Deserializer<GenericRow> deserializer = rowDeserializer
+        .orElseGet(() -> new GenericRowDeserializer(structSerde.deserializer()));
 
     return Serdes.serdeFrom(serializer, deserializer);
   }
@@ -270,14 +306,13 @@ public final class GenericRowSerDe implements ValueSerdeFactory {
       }
 
       final List<Field> fields = struct.schema().fields();
-      final List<Object> columns = new ArrayList<>(fields.size());
+      final GenericRow.Builder row = GenericRow.builder(fields.size());
 
       for (final Field field : fields) {
-        final Object columnVal = struct.get(field);
-        columns.add(columnVal);
+        row.append(struct.get(field));
       }
 
-      return new GenericRow(columns);
+      return row.build();
     }
   }
 }
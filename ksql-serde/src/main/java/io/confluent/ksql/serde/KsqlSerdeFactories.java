@@ -17,18 +17,25 @@ package io.confluent.ksql.serde;
 
 import com.google.common.annotations.VisibleForTesting;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.serde.avro.KsqlAvroSerdeFactory;
 import io.confluent.ksql.serde.delimited.KsqlDelimitedSerdeFactory;
+import io.confluent.ksql.serde.internal.KsqlInternalSerdeFactory;
 import io.confluent.ksql.serde.json.KsqlJsonSerdeFactory;
 import io.confluent.ksql.serde.kafka.KafkaSerdeFactory;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.KsqlConstants;
 import io.confluent.ksql.util.KsqlException;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
 
 final class KsqlSerdeFactories implements SerdeFactories {
 
@@ -58,6 +65,44 @@ final class KsqlSerdeFactories implements SerdeFactories {
     return ksqlSerdeFactory.createSerde(schema, ksqlConfig, schemaRegistryClientFactory, type);
   }
 
+  @Override
+  public Optional<Deserializer<GenericRow>> createRowDeserializer(
+      final FormatInfo format,
+      final PersistenceSchema schema,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
+      final Optional<Set<ColumnName>> requiredColumns
+  ) {
+    final KsqlSerdeFactory ksqlSerdeFactory = factoryMethod.apply(format);
+
+    ksqlSerdeFactory.validate(schema);
+
+    return ksqlSerdeFactory.createRowDeserializer(
+        schema,
+        ksqlConfig,
+        schemaRegistryClientFactory,
+        requiredColumns
+    );
+  }
+
+  @Override
+  public Optional<Serializer<GenericRow>> createRowSerializer(
+      final FormatInfo format,
+      final PersistenceSchema schema,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory
+  ) {
+    final KsqlSerdeFactory ksqlSerdeFactory = factoryMethod.apply(format);
+
+    ksqlSerdeFactory.validate(schema);
+
+    return ksqlSerdeFactory.createRowSerializer(
+        schema,
+        ksqlConfig,
+        schemaRegistryClientFactory
+    );
+  }
+
   @VisibleForTesting
   static KsqlSerdeFactory create(final FormatInfo format) {
     switch (format.getFormat()) {
@@ -76,6 +121,9 @@ final class KsqlSerdeFactories implements SerdeFactories {
       case KAFKA:
         return new KafkaSerdeFactory();
 
+      case INTERNAL:
+        return new KsqlInternalSerdeFactory();
+
       default:
         throw new KsqlException(
             String.format("Unsupported format: %s", format.getFormat()));
@@ -17,11 +17,17 @@ package io.confluent.ksql.serde;
 
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.SchemaUtil;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
 
 @Immutable
 public interface KsqlSerdeFactory {
@@ -65,4 +71,43 @@ public interface KsqlSerdeFactory {
 
     return (Serde) createSerde(schema, ksqlConfig, schemaRegistryClientFactory);
   }
+
+  /**
+   * Create a deserializer that reads values directly into rows, if the format supports it.
+   *
+   * <p>Only called for schemas that are not unwrapped. Formats that do not support it return
+   * {@code Optional.empty()}, and rows are built from the {@code Struct} returned by the serde.
+   *
+   * @param schema the persistence schema, i.e. the physical schema of the data on-disk.
+   * @param ksqlConfig the config to use.
+   * @param schemaRegistryClientFactory the schema registry client to use.
+   * @param requiredColumns the columns that must be deserialized, if not all of them. Other
+   *     columns may be left {@code null}.
+   */
+  default Optional<Deserializer<GenericRow>> createRowDeserializer(
+      PersistenceSchema schema,
+      KsqlConfig ksqlConfig,
+      Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
+      Optional<Set<ColumnName>> requiredColumns
+  ) {
+    return Optional.empty();
+  }
+
+  /**
+   * Create a serializer that writes rows directly, if the format supports it.
+   *
+   * <p>Only called for schemas that are not unwrapped. Formats that do not support it return
+   * {@code Optional.empty()}, and rows are copied into a {@code Struct} for the serde to write.
+   *
+   * @param schema the persistence schema, i.e. the physical schema of the data on-disk.
+   * @param ksqlConfig the config to use.
+   * @param schemaRegistryClientFactory the schema registry client to use.
+   */
+  default Optional<Serializer<GenericRow>> createRowSerializer(
+      PersistenceSchema schema,
+      KsqlConfig ksqlConfig,
+      Supplier<SchemaRegistryClient> schemaRegistryClientFactory
+  ) {
+    return Optional.empty();
+  }
 }
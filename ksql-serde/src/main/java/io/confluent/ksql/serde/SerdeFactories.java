@@ -16,10 +16,16 @@
 package io.confluent.ksql.serde;
 
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.util.KsqlConfig;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
 
 interface SerdeFactories {
 
@@ -40,4 +46,41 @@ interface SerdeFactories {
       Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
       Class<T> type
   );
+
+  /**
+   * Create a {@link Deserializer} that reads values directly into rows, if the format supports
+   * it.
+   *
+   * @param format required format.
+   * @param schema persitence schema
+   * @param ksqlConfig system config.
+   * @param schemaRegistryClientFactory the sr client factory.
+   * @param requiredColumns the columns that must be deserialized, if not all of them.
+   */
+  default Optional<Deserializer<GenericRow>> createRowDeserializer(
+      FormatInfo format,
+      PersistenceSchema schema,
+      KsqlConfig ksqlConfig,
+      Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
+      Optional<Set<ColumnName>> requiredColumns
+  ) {
+    return Optional.empty();
+  }
+
+  /**
+   * Create a {@link Serializer} that writes rows directly, if the format supports it.
+   *
+   * @param format required format.
+   * @param schema persitence schema
+   * @param ksqlConfig system config.
+   * @param schemaRegistryClientFactory the sr client factory.
+   */
+  default Optional<Serializer<GenericRow>> createRowSerializer(
+      FormatInfo format,
+      PersistenceSchema schema,
+      KsqlConfig ksqlConfig,
+      Supplier<SchemaRegistryClient> schemaRegistryClientFactory
+  ) {
+    return Optional.empty();
+  }
 }
@@ -18,8 +18,10 @@ package io.confluent.ksql.serde;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.logging.processing.ProcessingLogContext;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.util.KsqlConfig;
+import java.util.Set;
 import java.util.function.Supplier;
 import org.apache.kafka.common.serialization.Serde;
 
@@ -47,4 +49,38 @@ public interface ValueSerdeFactory {
       String loggerNamePrefix,
       ProcessingLogContext processingLogContext
   );
+
+  /**
+   * Create a value serde whose deserializer need only deserialize the required columns.
+   *
+   * <p>Columns not in {@code requiredColumns} may be {@code null} in deserialized rows, though
+   * every column keeps its position. The default implementation deserializes all columns.
+   *
+   * @param format the format required.
+   * @param schema the schema of the serialized form.
+   * @param ksqlConfig the system config.
+   * @param schemaRegistryClientFactory supplier of SR client.
+   * @param loggerNamePrefix processing logger name prefix
+   * @param processingLogContext processing logger context.
+   * @param requiredColumns the names of the columns that must be deserialized.
+   * @return the value serde.
+   */
+  default Serde<GenericRow> create(
+      FormatInfo format,
+      PersistenceSchema schema,
+      KsqlConfig ksqlConfig,
+      Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
+      String loggerNamePrefix,
+      ProcessingLogContext processingLogContext,
+      Set<ColumnName> requiredColumns
+  ) {
+    return create(
+        format,
+        schema,
+        ksqlConfig,
+        schemaRegistryClientFactory,
+        loggerNamePrefix,
+        processingLogContext
+    );
+  }
 }
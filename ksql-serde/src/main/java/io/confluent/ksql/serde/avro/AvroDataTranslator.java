@@ -28,7 +28,6 @@ import io.confluent.ksql.util.DecimalUtil;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -49,9 +48,13 @@ import org.apache.kafka.connect.data.Struct;
  */
 public class AvroDataTranslator implements DataTranslator {
 
+  private static final SchemaReplacer NO_OP = object -> object;
+
   private final DataTranslator innerTranslator;
   private final Schema ksqlSchema;
   private final Schema avroCompatibleSchema;
+  private final SchemaReplacer toKsql;
+  private final SchemaReplacer toAvroCompatible;
 
   AvroDataTranslator(
       final Schema schema,
@@ -66,6 +69,8 @@ public class AvroDataTranslator implements DataTranslator {
     );
 
     this.innerTranslator = new ConnectDataTranslator(avroCompatibleSchema);
+    this.toKsql = replacer(avroCompatibleSchema, ksqlSchema);
+    this.toAvroCompatible = replacer(ksqlSchema, avroCompatibleSchema);
   }
 
   Schema getAvroCompatibleSchema() {
@@ -79,33 +84,15 @@ public class AvroDataTranslator implements DataTranslator {
       return null;
     }
 
-    return replaceSchema(ksqlSchema, avroCompatibleRow);
+    return toKsql.replace(avroCompatibleRow);
   }
 
   @Override
   public Object toConnectRow(final Object ksqlData) {
-    final Object compatible = replaceSchema(avroCompatibleSchema, ksqlData);
+    final Object compatible = toAvroCompatible.replace(ksqlData);
     return innerTranslator.toConnectRow(compatible);
   }
 
-  private static Struct convertStruct(
-      final Struct source,
-      final Schema targetSchema
-  ) {
-    final Struct struct = new Struct(targetSchema);
-
-    final Iterator<Field> sourceIt = source.schema().fields().iterator();
-
-    for (final Field targetField : targetSchema.fields()) {
-      final Field sourceField = sourceIt.next();
-      final Object value = source.get(sourceField);
-      final Object adjusted = replaceSchema(targetField.schema(), value);
-      struct.put(targetField, adjusted);
-    }
-
-    return struct;
-  }
-
   private static final class Context {
     private static final String DELIMITER = "_";
 
@@ -229,35 +216,100 @@ public class AvroDataTranslator implements DataTranslator {
     return schemaBuilder;
   }
 
-  @SuppressWarnings("unchecked")
-  private static Object replaceSchema(final Schema schema, final Object object) {
-    if (object == null) {
-      return null;
+  /**
+   * Build a replacer that swaps the schema of values of {@code sourceSchema} for the
+   * structurally identical {@code targetSchema}.
+   *
+   * <p>Struct fields are mapped by position. Values containing no struct whose schema changes
+   * are returned as-is.
+   */
+  private static SchemaReplacer replacer(final Schema sourceSchema, final Schema targetSchema) {
+    if (sourceSchema.equals(targetSchema)) {
+      return NO_OP;
     }
-    switch (schema.type()) {
+
+    switch (targetSchema.type()) {
       case ARRAY:
-        final List<Object> ksqlArray = new ArrayList<>(((List) object).size());
-        ((List) object).forEach(
-            e -> ksqlArray.add(replaceSchema(schema.valueSchema(), e)));
-        return ksqlArray;
+        final SchemaReplacer elementReplacer =
+            replacer(sourceSchema.valueSchema(), targetSchema.valueSchema());
+
+        if (elementReplacer == NO_OP) {
+          return NO_OP;
+        }
+
+        return object -> {
+          if (object == null) {
+            return null;
+          }
+
+          final List<?> array = (List<?>) object;
+          final List<Object> ksqlArray = new ArrayList<>(array.size());
+          for (final Object e : array) {
+            ksqlArray.add(elementReplacer.replace(e));
+          }
+          return ksqlArray;
+        };
 
       case MAP:
-        final Map<Object, Object> ksqlMap = new HashMap<>();
-        ((Map<Object, Object>) object).forEach(
-            (key, value) -> ksqlMap.put(
-                replaceSchema(schema.keySchema(), key),
-                replaceSchema(schema.valueSchema(), value)
-            ));
-        return ksqlMap;
+        final SchemaReplacer keyReplacer =
+            replacer(sourceSchema.keySchema(), targetSchema.keySchema());
+        final SchemaReplacer valueReplacer =
+            replacer(sourceSchema.valueSchema(), targetSchema.valueSchema());
+
+        if (keyReplacer == NO_OP && valueReplacer == NO_OP) {
+          return NO_OP;
+        }
+
+        return object -> {
+          if (object == null) {
+            return null;
+          }
+
+          final Map<Object, Object> ksqlMap = new HashMap<>();
+          for (final Map.Entry<?, ?> e : ((Map<?, ?>) object).entrySet()) {
+            ksqlMap.put(keyReplacer.replace(e.getKey()), valueReplacer.replace(e.getValue()));
+          }
+          return ksqlMap;
+        };
 
       case STRUCT:
-        return convertStruct((Struct) object, schema);
+        return structReplacer(sourceSchema, targetSchema);
 
       default:
-        return object;
+        return NO_OP;
     }
   }
 
+  private static SchemaReplacer structReplacer(
+      final Schema sourceSchema,
+      final Schema targetSchema
+  ) {
+    final List<Field> sourceFields = sourceSchema.fields();
+    final List<Field> targetFields = targetSchema.fields();
+    final Field[] fields = targetFields.toArray(new Field[0]);
+    final SchemaReplacer[] fieldReplacers = new SchemaReplacer[fields.length];
+
+    for (int i = 0; i < fields.length; i++) {
+      fieldReplacers[i] = replacer(sourceFields.get(i).schema(), targetFields.get(i).schema());
+    }
+
+    return object -> {
+      if (object == null) {
+        return null;
+      }
+
+      final Struct source = (Struct) object;
+      final List<Field> valueFields = source.schema().fields();
+      final Struct struct = new Struct(targetSchema);
+
+      for (int i = 0; i < fields.length; i++) {
+        final Object value = source.get(valueFields.get(i));
+        struct.put(fields[i], fieldReplacers[i].replace(value));
+      }
+
+      return struct;
+    };
+  }
 
   private static Schema throwOnInvalidSchema(final Schema schema) {
 
@@ -288,4 +340,10 @@ public class AvroDataTranslator implements DataTranslator {
     SchemaWalker.visit(schema, new SchemaValidator());
     return schema;
   }
+
+  @FunctionalInterface
+  private interface SchemaReplacer {
+
+    Object replace(Object object);
+  }
 }
@@ -0,0 +1,730 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.avro;
+
+import io.confluent.ksql.GenericRow;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.LogicalType;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema.Type;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.Decoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+
+/**
+ * Reads binary Avro written with one specific writer schema directly into a {@link GenericRow}.
+ *
+ * <p>The mapping of writer fields to columns and the coercion of each writer type to its KSQL
+ * type are resolved once, when the reader is compiled, rather than per record. The coercions
+ * match those applied by {@link io.confluent.ksql.serde.connect.ConnectDataTranslator} to the
+ * output of the {@code AvroConverter}. Writer fields with no matching column, or whose column is
+ * not required, are skipped without being decoded.
+ *
+ * <p>Writer schemas that the {@code AvroConverter} maps to Connect types in ways this reader does
+ * not replicate, e.g. general unions, maps encoded as arrays of entries, or writer types that
+ * can not be coerced to their column type, can not be compiled. Such data must be read via the
+ * Connect path, which also produces the same errors as it always has.
+ *
+ * <p>Rows can also be read lazily, see {@link #readLazily}.
+ */
+final class AvroRowReader {
+
+  private static final String CONNECT_TYPE_PROP = "connect.type";
+  private static final String CONNECT_NAME_PROP = "connect.name";
+  private static final String CONNECT_INTERNAL_TYPE_PROP = "connect.internal.type";
+  private static final String MAP_ENTRY_TYPE_NAME = "MapEntry";
+
+  private final RecordReader reader;
+
+  private AvroRowReader(final RecordReader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * Compile a reader for data written with the supplied writer schema.
+   *
+   * @param writerSchema the schema the data was written with.
+   * @param avroCompatibleSchema the avro compatible version of the row schema.
+   * @param ksqlSchema the row schema.
+   * @param required an element per column, {@code true} if the column should be read.
+   * @return the reader, or {@code Optional.empty()} if the writer schema is not supported.
+   */
+  static Optional<AvroRowReader> compile(
+      final org.apache.avro.Schema writerSchema,
+      final Schema avroCompatibleSchema,
+      final Schema ksqlSchema,
+      final boolean[] required
+  ) {
+    try {
+      final org.apache.avro.Schema recordSchema;
+      final int nullIndex;
+      if (writerSchema.getType() == Type.UNION) {
+        nullIndex = nullBranch(writerSchema);
+        recordSchema = writerSchema.getTypes().get(1 - nullIndex);
+      } else {
+        nullIndex = -1;
+        recordSchema = writerSchema;
+      }
+
+      validateType(recordSchema, avroCompatibleSchema);
+
+      return Optional.of(new AvroRowReader(new RecordReader(
+          recordSchema,
+          avroCompatibleSchema,
+          ksqlSchema,
+          required,
+          nullIndex
+      )));
+    } catch (final UnsupportedSchemaException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Read a row.
+   *
+   * @param decoder the decoder, positioned at the start of the Avro data.
+   * @return the row, or {@code null} if the value was {@code null}.
+   */
+  GenericRow read(final Decoder decoder) throws IOException {
+    final Object[] values = reader.readValues(decoder);
+    return values == null ? null : new GenericRow(values);
+  }
+
+  /**
+   * Read a row lazily.
+   *
+   * <p>String, array and map columns, whose values only contain strings, are not decoded until
+   * first accessed. Instead, they are stepped over by making the same calls to the decoder as
+   * reading them would, so that malformed data is rejected exactly as by {@link #read}. Any other
+   * column is decoded immediately.
+   *
+   * @param bytes the serialized data the decoder is reading.
+   * @param decoder the decoder, positioned at the start of the Avro data within {@code bytes}.
+   * @param topic the topic the data came from, used in error messages.
+   * @return the row, or {@code null} if the value was {@code null}.
+   */
+  GenericRow readLazily(
+      final byte[] bytes,
+      final BinaryDecoder decoder,
+      final String topic
+  ) throws IOException {
+    return reader.readLazily(bytes, decoder, topic);
+  }
+
+  @FunctionalInterface
+  private interface ValueReader {
+
+    Object read(Decoder decoder) throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface ValueSkipper {
+
+    void skip(Decoder decoder) throws IOException;
+  }
+
+  private static final class RecordReader {
+
+    private final int[] slots;
+    private final ValueReader[] readers;
+    private final ValueSkipper[] skippers;
+    private final ValueSkipper[] deferrers;
+    private final ValueReader[] slotReaders;
+    private final int fieldCount;
+    private final int nullIndex;
+
+    RecordReader(
+        final org.apache.avro.Schema writerSchema,
+        final Schema avroCompatibleSchema,
+        final Schema ksqlSchema,
+        final boolean[] required,
+        final int nullIndex
+    ) {
+      final List<org.apache.avro.Schema.Field> writerFields = writerSchema.getFields();
+      final List<Field> compatibleFields = avroCompatibleSchema.fields();
+      final List<Field> ksqlFields = ksqlSchema.fields();
+
+      // Match as ConnectDataTranslator does, i.e. the last writer field with the same
+      // case-insensitive name as the column wins:
+      final Map<String, Integer> writerIndexByName = new HashMap<>();
+      for (int i = 0; i < writerFields.size(); i++) {
+        writerIndexByName.put(writerFields.get(i).name().toUpperCase(), i);
+      }
+
+      this.slots = new int[writerFields.size()];
+      this.readers = new ValueReader[writerFields.size()];
+      this.skippers = new ValueSkipper[writerFields.size()];
+      this.deferrers = new ValueSkipper[writerFields.size()];
+      this.slotReaders = new ValueReader[compatibleFields.size()];
+      this.fieldCount = compatibleFields.size();
+      this.nullIndex = nullIndex;
+
+      for (int i = 0; i < slots.length; i++) {
+        slots[i] = -1;
+        skippers[i] = skipper(writerFields.get(i).schema());
+      }
+
+      for (int slot = 0; slot < compatibleFields.size(); slot++) {
+        final Field field = compatibleFields.get(slot);
+        final Integer writerIndex = writerIndexByName.get(field.name().toUpperCase());
+        if (writerIndex == null || !required[slot]) {
+          continue;
+        }
+
+        if (slots[writerIndex] != -1) {
+          // Two columns reading the same writer field:
+          throw new UnsupportedSchemaException();
+        }
+
+        slots[writerIndex] = slot;
+        readers[writerIndex] = reader(
+            writerFields.get(writerIndex).schema(),
+            field.schema(),
+            ksqlFields.get(slot).schema()
+        );
+        slotReaders[slot] = readers[writerIndex];
+        deferrers[writerIndex] = deferrer(writerFields.get(writerIndex).schema(), field.schema())
+            .orElse(null);
+      }
+    }
+
+    Object[] readValues(final Decoder decoder) throws IOException {
+      if (nullIndex != -1 && decoder.readIndex() == nullIndex) {
+        decoder.readNull();
+        return null;
+      }
+
+      final Object[] values = new Object[fieldCount];
+      for (int i = 0; i < slots.length; i++) {
+        final int slot = slots[i];
+        if (slot == -1) {
+          skippers[i].skip(decoder);
+        } else {
+          values[slot] = readers[i].read(decoder);
+        }
+      }
+      return values;
+    }
+
+    GenericRow readLazily(
+        final byte[] bytes,
+        final BinaryDecoder decoder,
+        final String topic
+    ) throws IOException {
+      if (nullIndex != -1 && decoder.readIndex() == nullIndex) {
+        decoder.readNull();
+        return null;
+      }
+
+      final Object[] values = new Object[fieldCount];
+      int[] offsets = null;
+      for (int i = 0; i < slots.length; i++) {
+        final int slot = slots[i];
+        if (slot == -1) {
+          skippers[i].skip(decoder);
+        } else if (deferrers[i] == null) {
+          values[slot] = readers[i].read(decoder);
+        } else {
+          if (offsets == null) {
+            offsets = new int[fieldCount];
+            Arrays.fill(offsets, -1);
+          }
+          offsets[slot] = bytes.length - decoder.inputStream().available();
+          deferrers[i].skip(decoder);
+        }
+      }
+
+      if (offsets == null) {
+        return new GenericRow(values);
+      }
+
+      return GenericRow.lazy(
+          fieldCount,
+          new LazyColumns(slotReaders, topic, bytes, values, offsets)
+      );
+    }
+  }
+
+  /**
+   * Decodes the columns of a single record, from the offsets recorded when it was read lazily.
+   */
+  private static final class LazyColumns implements GenericRow.ColumnDecoder {
+
+    private final ValueReader[] readers;
+    private final String topic;
+    private final byte[] bytes;
+    private final Object[] values;
+    private final int[] offsets;
+    private BinaryDecoder decoder;
+
+    LazyColumns(
+        final ValueReader[] readers,
+        final String topic,
+        final byte[] bytes,
+        final Object[] values,
+        final int[] offsets
+    ) {
+      this.readers = readers;
+      this.topic = topic;
+      this.bytes = bytes;
+      this.values = values;
+      this.offsets = offsets;
+    }
+
+    @Override
+    public Object decode(final int index) {
+      final int offset = offsets[index];
+      if (offset < 0) {
+        return values[index];
+      }
+
+      try {
+        decoder = DecoderFactory.get()
+            .binaryDecoder(bytes, offset, bytes.length - offset, decoder);
+
+        return readers[index].read(decoder);
+      } catch (final Exception e) {
+        throw new SerializationException(
+            "Error deserializing message from topic: " + topic, e);
+      }
+    }
+  }
+
+  private static ValueReader reader(
+      final org.apache.avro.Schema writerSchema,
+      final Schema avroCompatibleSchema,
+      final Schema ksqlSchema
+  ) {
+    if (writerSchema.getType() == Type.UNION) {
+      final int nullIndex = nullBranch(writerSchema);
+      final ValueReader inner = reader(
+          writerSchema.getTypes().get(1 - nullIndex), avroCompatibleSchema, ksqlSchema);
+
+      return decoder -> {
+        if (decoder.readIndex() == nullIndex) {
+          decoder.readNull();
+          return null;
+        }
+        return inner.read(decoder);
+      };
+    }
+
+    final Schema.Type sourceType = validateType(writerSchema, avroCompatibleSchema);
+
+    switch (avroCompatibleSchema.type()) {
+      case BOOLEAN:
+        return Decoder::readBoolean;
+      case INT32:
+        return Decoder::readInt;
+      case INT64:
+        return sourceType == Schema.Type.INT64
+            ? Decoder::readLong
+            : decoder -> (long) decoder.readInt();
+      case FLOAT64:
+        return sourceType == Schema.Type.FLOAT64
+            ? Decoder::readDouble
+            : decoder -> (double) decoder.readFloat();
+      case STRING:
+        return stringReader(writerSchema, sourceType);
+      case BYTES:
+        return decimalReader(writerSchema);
+      case ARRAY:
+        return arrayReader(writerSchema, avroCompatibleSchema, ksqlSchema);
+      case MAP:
+        return mapReader(writerSchema, avroCompatibleSchema, ksqlSchema);
+      case STRUCT:
+        return structReader(writerSchema, avroCompatibleSchema, ksqlSchema);
+      default:
+        throw new UnsupportedSchemaException();
+    }
+  }
+
+  private static ValueReader stringReader(
+      final org.apache.avro.Schema writerSchema,
+      final Schema.Type sourceType
+  ) {
+    switch (sourceType) {
+      case INT8:
+      case INT16:
+      case INT32:
+        return decoder -> String.valueOf(decoder.readInt());
+      case INT64:
+        return decoder -> String.valueOf(decoder.readLong());
+      case FLOAT32:
+        return decoder -> String.valueOf(decoder.readFloat());
+      case FLOAT64:
+        return decoder -> String.valueOf(decoder.readDouble());
+      case BOOLEAN:
+        return decoder -> String.valueOf(decoder.readBoolean());
+      default:
+        if (writerSchema.getType() == Type.ENUM) {
+          final List<String> symbols = writerSchema.getEnumSymbols();
+          return decoder -> symbols.get(decoder.readEnum());
+        }
+        return Decoder::readString;
+    }
+  }
+
+  private static ValueReader decimalReader(final org.apache.avro.Schema writerSchema) {
+    final int scale = ((LogicalTypes.Decimal) writerSchema.getLogicalType()).getScale();
+
+    return decoder -> {
+      final ByteBuffer buffer = decoder.readBytes(null);
+      final byte[] unscaled = new byte[buffer.remaining()];
+      buffer.get(unscaled);
+      return new BigDecimal(new BigInteger(unscaled), scale);
+    };
+  }
+
+  private static ValueReader arrayReader(
+      final org.apache.avro.Schema writerSchema,
+      final Schema avroCompatibleSchema,
+      final Schema ksqlSchema
+  ) {
+    final ValueReader elementReader = reader(
+        writerSchema.getElementType(),
+        avroCompatibleSchema.valueSchema(),
+        ksqlSchema.valueSchema()
+    );
+
+    return decoder -> {
+      long count = decoder.readArrayStart();
+      final List<Object> list = new ArrayList<>((int) count);
+      while (count > 0) {
+        for (long i = 0; i < count; i++) {
+          list.add(elementReader.read(decoder));
+        }
+        count = decoder.arrayNext();
+      }
+      return list;
+    };
+  }
+
+  private static ValueReader mapReader(
+      final org.apache.avro.Schema writerSchema,
+      final Schema avroCompatibleSchema,
+      final Schema ksqlSchema
+  ) {
+    final ValueReader valueReader = reader(
+        writerSchema.getValueType(),
+        avroCompatibleSchema.valueSchema(),
+        ksqlSchema.valueSchema()
+    );
+
+    return decoder -> {
+      final Map<Object, Object> map = new HashMap<>();
+      for (long count = decoder.readMapStart(); count > 0; count = decoder.mapNext()) {
+        for (long i = 0; i < count; i++) {
+          final String key = decoder.readString();
+          map.put(key, valueReader.read(decoder));
+        }
+      }
+      return map;
+    };
+  }
+
+  private static ValueReader structReader(
+      final org.apache.avro.Schema writerSchema,
+      final Schema avroCompatibleSchema,
+      final Schema ksqlSchema
+  ) {
+    final boolean[] required = new boolean[ksqlSchema.fields().size()];
+    Arrays.fill(required, true);
+
+    final RecordReader recordReader =
+        new RecordReader(writerSchema, avroCompatibleSchema, ksqlSchema, required, -1);
+
+    final List<Field> fields = ksqlSchema.fields();
+
+    return decoder -> {
+      final Object[] values = recordReader.readValues(decoder);
+      final Struct struct = new Struct(ksqlSchema);
+      for (int i = 0; i < values.length; i++) {
+        if (values[i] != null) {
+          struct.put(fields.get(i), values[i]);
+        }
+      }
+      return struct;
+    };
+  }
+
+  /**
+   * Build a skipper that steps over a value by making the same calls to the decoder as the
+   * value's reader, but without building the value, so that it can be read later.
+   *
+   * @return the skipper, or {@code Optional.empty()} if the value is not worth deferring, or
+   *     can not be validated without building it.
+   */
+  private static Optional<ValueSkipper> deferrer(
+      final org.apache.avro.Schema writerSchema,
+      final Schema avroCompatibleSchema
+  ) {
+    switch (writerSchema.getType()) {
+      case UNION:
+        final int nullIndex = nullBranch(writerSchema);
+        return deferrer(writerSchema.getTypes().get(1 - nullIndex), avroCompatibleSchema)
+            .<ValueSkipper>map(inner -> decoder -> {
+              if (decoder.readIndex() == nullIndex) {
+                decoder.readNull();
+              } else {
+                inner.skip(decoder);
+              }
+            });
+      case STRING:
+        return avroCompatibleSchema.type() == Schema.Type.STRING
+            ? Optional.of(AvroRowReader::skipString)
+            : Optional.empty();
+      case ARRAY:
+        return deferrer(writerSchema.getElementType(), avroCompatibleSchema.valueSchema())
+            .<ValueSkipper>map(element -> decoder -> {
+              for (long count = decoder.readArrayStart(); count > 0; count = decoder.arrayNext()) {
+                for (long i = 0; i < count; i++) {
+                  element.skip(decoder);
+                }
+              }
+            });
+      case MAP:
+        return deferrer(writerSchema.getValueType(), avroCompatibleSchema.valueSchema())
+            .<ValueSkipper>map(value -> decoder -> {
+              for (long count = decoder.readMapStart(); count > 0; count = decoder.mapNext()) {
+                for (long i = 0; i < count; i++) {
+                  skipString(decoder);
+                  value.skip(decoder);
+                }
+              }
+            });
+      default:
+        return Optional.empty();
+    }
+  }
+
+  /**
+   * Skip a string, validating its length as {@link Decoder#readString()} does.
+   */
+  private static void skipString(final Decoder decoder) throws IOException {
+    final int length = decoder.readInt();
+    if (length < 0) {
+      throw new AvroRuntimeException("Malformed data. Length is negative: " + length);
+    }
+    decoder.skipFixed(length);
+  }
+
+  private static ValueSkipper skipper(final org.apache.avro.Schema writerSchema) {
+    switch (writerSchema.getType()) {
+      case NULL:
+        return Decoder::readNull;
+      case BOOLEAN:
+        return Decoder::readBoolean;
+      case INT:
+        return Decoder::readInt;
+      case LONG:
+        return Decoder::readLong;
+      case FLOAT:
+        return Decoder::readFloat;
+      case DOUBLE:
+        return Decoder::readDouble;
+      case STRING:
+        return Decoder::skipString;
+      case BYTES:
+        return Decoder::skipBytes;
+      case ENUM:
+        return Decoder::readEnum;
+      case FIXED:
+        final int size = writerSchema.getFixedSize();
+        return decoder -> decoder.skipFixed(size);
+      case ARRAY:
+        final ValueSkipper element = skipper(writerSchema.getElementType());
+        return decoder -> {
+          for (long count = decoder.skipArray(); count > 0; count = decoder.skipArray()) {
+            for (long i = 0; i < count; i++) {
+              element.skip(decoder);
+            }
+          }
+        };
+      case MAP:
+        final ValueSkipper value = skipper(writerSchema.getValueType());
+        return decoder -> {
+          for (long count = decoder.skipMap(); count > 0; count = decoder.skipMap()) {
+            for (long i = 0; i < count; i++) {
+              decoder.skipString();
+              value.skip(decoder);
+            }
+          }
+        };
+      case RECORD:
+        final List<org.apache.avro.Schema.Field> fields = writerSchema.getFields();
+        final ValueSkipper[] fieldSkippers = new ValueSkipper[fields.size()];
+        for (int i = 0; i < fieldSkippers.length; i++) {
+          fieldSkippers[i] = skipper(fields.get(i).schema());
+        }
+        return decoder -> {
+          for (final ValueSkipper fieldSkipper : fieldSkippers) {
+            fieldSkipper.skip(decoder);
+          }
+        };
+      case UNION:
+        final List<org.apache.avro.Schema> branches = writerSchema.getTypes();
+        final ValueSkipper[] branchSkippers = new ValueSkipper[branches.size()];
+        for (int i = 0; i < branchSkippers.length; i++) {
+          branchSkippers[i] = skipper(branches.get(i));
+        }
+        return decoder -> branchSkippers[decoder.readIndex()].skip(decoder);
+      default:
+        throw new UnsupportedSchemaException();
+    }
+  }
+
+  /**
+   * Validate the writer type can be coerced to the column type.
+   *
+   * @return the Connect type the {@code AvroConverter} would convert the writer type to.
+   */
+  private static Schema.Type validateType(
+      final org.apache.avro.Schema writerSchema,
+      final Schema avroCompatibleSchema
+  ) {
+    final Schema.Type sourceType = connectType(writerSchema);
+    final Schema.Type targetType = avroCompatibleSchema.type();
+
+    switch (targetType) {
+      case INT64:
+        if (sourceType == Schema.Type.INT64) {
+          break;
+        }
+        // fall through
+      case INT32:
+        if (sourceType == Schema.Type.INT32
+            || sourceType == Schema.Type.INT16
+            || sourceType == Schema.Type.INT8) {
+          break;
+        }
+        throw new UnsupportedSchemaException();
+      case FLOAT64:
+        if (sourceType == Schema.Type.FLOAT64 || sourceType == Schema.Type.FLOAT32) {
+          break;
+        }
+        throw new UnsupportedSchemaException();
+      case STRING:
+        if (sourceType.isPrimitive() && sourceType != Schema.Type.BYTES) {
+          break;
+        }
+        throw new UnsupportedSchemaException();
+      case BYTES:
+        if (sourceType == Schema.Type.BYTES
+            && writerSchema.getLogicalType() instanceof LogicalTypes.Decimal) {
+          break;
+        }
+        throw new UnsupportedSchemaException();
+      default:
+        if (sourceType == targetType) {
+          break;
+        }
+        throw new UnsupportedSchemaException();
+    }
+
+    return sourceType;
+  }
+
+  private static Schema.Type connectType(final org.apache.avro.Schema writerSchema) {
+    switch (writerSchema.getType()) {
+      case BOOLEAN:
+        return Schema.Type.BOOLEAN;
+      case INT:
+        final Object connectType = writerSchema.getObjectProp(CONNECT_TYPE_PROP);
+        if ("int8".equals(connectType)) {
+          return Schema.Type.INT8;
+        }
+        if ("int16".equals(connectType)) {
+          return Schema.Type.INT16;
+        }
+        return Schema.Type.INT32;
+      case LONG:
+        return Schema.Type.INT64;
+      case FLOAT:
+        return Schema.Type.FLOAT32;
+      case DOUBLE:
+        return Schema.Type.FLOAT64;
+      case STRING:
+      case ENUM:
+        return Schema.Type.STRING;
+      case BYTES:
+        final LogicalType logicalType = writerSchema.getLogicalType();
+        if (logicalType != null && !(logicalType instanceof LogicalTypes.Decimal)
+            || Decimal.LOGICAL_NAME.equals(writerSchema.getObjectProp(CONNECT_NAME_PROP))) {
+          throw new UnsupportedSchemaException();
+        }
+        return Schema.Type.BYTES;
+      case ARRAY:
+        if (isMapEntry(writerSchema.getElementType())) {
+          throw new UnsupportedSchemaException();
+        }
+        return Schema.Type.ARRAY;
+      case MAP:
+        return Schema.Type.MAP;
+      case RECORD:
+        return Schema.Type.STRUCT;
+      default:
+        // NULL, FIXED and UNION:
+        throw new UnsupportedSchemaException();
+    }
+  }
+
+  private static boolean isMapEntry(final org.apache.avro.Schema elementSchema) {
+    return elementSchema.getType() == Type.RECORD
+        && (MAP_ENTRY_TYPE_NAME.equals(elementSchema.getObjectProp(CONNECT_INTERNAL_TYPE_PROP))
+        || elementSchema.getName().equals(MAP_ENTRY_TYPE_NAME));
+  }
+
+  private static int nullBranch(final org.apache.avro.Schema unionSchema) {
+    final List<org.apache.avro.Schema> branches = unionSchema.getTypes();
+    if (branches.size() != 2) {
+      throw new UnsupportedSchemaException();
+    }
+
+    if (branches.get(0).getType() == Type.NULL) {
+      return 0;
+    }
+
+    if (branches.get(1).getType() == Type.NULL) {
+      return 1;
+    }
+
+    throw new UnsupportedSchemaException();
+  }
+
+  private static final class UnsupportedSchemaException extends RuntimeException {
+
+    UnsupportedSchemaException() {
+      super(null, null, false, false);
+    }
+  }
+}
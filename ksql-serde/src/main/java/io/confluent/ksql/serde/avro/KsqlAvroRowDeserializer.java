@@ -0,0 +1,163 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.avro;
+
+import static java.util.Objects.requireNonNull;
+
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.serde.util.SerdeUtils;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+
+/**
+ * Deserializes a schema registry framed Avro record directly into a {@link GenericRow}.
+ *
+ * <p>A reader is compiled for each writer schema id the first time it is seen, and cached. Data
+ * is then decoded straight into the row, without first being converted to an Avro
+ * {@code GenericRecord} and then to Connect {@code Struct}s.
+ *
+ * <p>Data written with a schema the reader can not handle, or that is not framed as expected,
+ * is passed to the Connect based deserializer, so that it is handled exactly as it always was.
+ *
+ * <p>If lazy, rows read directly are {@link AvroRowReader#readLazily read lazily}.
+ *
+ * <p>Instances are not thread-safe.
+ */
+public class KsqlAvroRowDeserializer implements Deserializer<GenericRow> {
+
+  private static final byte MAGIC_BYTE = 0x0;
+  private static final int HEADER_SIZE = 1 + Integer.BYTES;
+
+  private final SchemaRegistryClient srClient;
+  private final Schema avroCompatibleSchema;
+  private final Schema ksqlSchema;
+  private final boolean[] required;
+  private final Deserializer<Object> fallback;
+  private final boolean lazy;
+  private final Map<Integer, Optional<AvroRowReader>> readers = new HashMap<>();
+  private BinaryDecoder decoder;
+
+  KsqlAvroRowDeserializer(
+      final PersistenceSchema schema,
+      final AvroDataTranslator translator,
+      final SchemaRegistryClient srClient,
+      final Deserializer<Object> fallback,
+      final Optional<Set<ColumnName>> requiredColumns,
+      final boolean lazy
+  ) {
+    if (schema.isUnwrapped()) {
+      throw new IllegalArgumentException("Unwrapped schemas are not supported");
+    }
+
+    this.ksqlSchema = schema.serializedSchema();
+    this.avroCompatibleSchema = translator.getAvroCompatibleSchema();
+    this.srClient = requireNonNull(srClient, "srClient");
+    this.fallback = requireNonNull(fallback, "fallback");
+    this.required = SerdeUtils.requiredFields(ksqlSchema, requiredColumns);
+    this.lazy = lazy;
+  }
+
+  @Override
+  public void configure(final Map<String, ?> map, final boolean isKey) {
+    fallback.configure(map, isKey);
+  }
+
+  @Override
+  public GenericRow deserialize(final String topic, final byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+
+    final Optional<AvroRowReader> reader = getReader(bytes);
+    if (!reader.isPresent()) {
+      return fallback(topic, bytes);
+    }
+
+    try {
+      decoder = DecoderFactory.get()
+          .binaryDecoder(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE, decoder);
+
+      return lazy
+          ? reader.get().readLazily(bytes, decoder, topic)
+          : reader.get().read(decoder);
+    } catch (final Exception e) {
+      throw new SerializationException(
+          "Error deserializing message from topic: " + topic, e);
+    }
+  }
+
+  @Override
+  public void close() {
+    fallback.close();
+  }
+
+  private Optional<AvroRowReader> getReader(final byte[] bytes) {
+    if (bytes.length < HEADER_SIZE || bytes[0] != MAGIC_BYTE) {
+      return Optional.empty();
+    }
+
+    final int schemaId = ByteBuffer.wrap(bytes, 1, Integer.BYTES).getInt();
+
+    final Optional<AvroRowReader> cached = readers.get(schemaId);
+    if (cached != null) {
+      return cached;
+    }
+
+    final org.apache.avro.Schema writerSchema;
+    try {
+      writerSchema = srClient.getById(schemaId);
+    } catch (final Exception e) {
+      // Leave the fallback to report the failure:
+      return Optional.empty();
+    }
+
+    final Optional<AvroRowReader> reader =
+        AvroRowReader.compile(writerSchema, avroCompatibleSchema, ksqlSchema, required);
+
+    readers.put(schemaId, reader);
+    return reader;
+  }
+
+  private GenericRow fallback(final String topic, final byte[] bytes) {
+    final Struct struct = (Struct) fallback.deserialize(topic, bytes);
+    if (struct == null) {
+      return null;
+    }
+
+    final List<Field> fields = struct.schema().fields();
+    final GenericRow.Builder row = GenericRow.builder(fields.size());
+
+    for (final Field field : fields) {
+      row.append(struct.get(field));
+    }
+
+    return row.build();
+  }
+}
@@ -17,9 +17,12 @@ package io.confluent.ksql.serde.avro;
 
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.connect.avro.AvroConverter;
+import io.confluent.connect.avro.AvroData;
 import io.confluent.connect.avro.AvroDataConfig;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.kafka.serializers.AbstractKafkaAvroSerDeConfig;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.serde.KsqlSerdeFactory;
 import io.confluent.ksql.serde.connect.KsqlConnectDeserializer;
@@ -29,6 +32,8 @@ import io.confluent.ksql.serde.tls.ThreadLocalSerializer;
 import io.confluent.ksql.util.KsqlConfig;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
@@ -58,7 +63,7 @@ public class KsqlAvroSerdeFactory implements KsqlSerdeFactory {
       final KsqlConfig ksqlConfig,
       final Supplier<SchemaRegistryClient> schemaRegistryClientFactory
   ) {
-    final Supplier<Serializer<Object>> serializerSupplier = () -> createConnectSerializer(
+    final Supplier<Serializer<Object>> serializerSupplier = () -> createAvroSerializer(
         schema,
         ksqlConfig,
         schemaRegistryClientFactory
@@ -79,6 +84,27 @@ public class KsqlAvroSerdeFactory implements KsqlSerdeFactory {
     );
   }
 
+  @Override
+  public Optional<Deserializer<GenericRow>> createRowDeserializer(
+      final PersistenceSchema schema,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
+      final Optional<Set<ColumnName>> requiredColumns
+  ) {
+    final Supplier<Deserializer<GenericRow>> deserializerSupplier =
+        () -> createAvroRowDeserializer(
+            schema,
+            ksqlConfig,
+            schemaRegistryClientFactory.get(),
+            requiredColumns
+        );
+
+    // Sanity check:
+    deserializerSupplier.get();
+
+    return Optional.of(new ThreadLocalDeserializer<>(deserializerSupplier));
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (this == o) {
@@ -96,7 +122,7 @@ public class KsqlAvroSerdeFactory implements KsqlSerdeFactory {
     return Objects.hash(fullSchemaName);
   }
 
-  private KsqlConnectSerializer createConnectSerializer(
+  private KsqlAvroSerializer createAvroSerializer(
       final PersistenceSchema schema,
       final KsqlConfig ksqlConfig,
       final Supplier<SchemaRegistryClient> schemaRegistryClientFactory
@@ -106,11 +132,17 @@ public class KsqlAvroSerdeFactory implements KsqlSerdeFactory {
     final AvroConverter avroConverter =
         getAvroConverter(schemaRegistryClientFactory.get(), ksqlConfig);
 
-    return new KsqlConnectSerializer(
+    final KsqlConnectSerializer connectSerializer = new KsqlConnectSerializer(
         translator.getAvroCompatibleSchema(),
         translator,
         avroConverter
     );
+
+    return new KsqlAvroSerializer(
+        translator,
+        new AvroData(new AvroDataConfig(getAvroConfig(ksqlConfig))),
+        connectSerializer
+    );
   }
 
   private KsqlConnectDeserializer createConnectDeserializer(
@@ -126,6 +158,26 @@ public class KsqlAvroSerdeFactory implements KsqlSerdeFactory {
     return new KsqlConnectDeserializer(avroConverter, translator);
   }
 
+  private KsqlAvroRowDeserializer createAvroRowDeserializer(
+      final PersistenceSchema schema,
+      final KsqlConfig ksqlConfig,
+      final SchemaRegistryClient schemaRegistryClient,
+      final Optional<Set<ColumnName>> requiredColumns
+  ) {
+    final AvroDataTranslator translator = createAvroTranslator(schema, ksqlConfig);
+
+    final AvroConverter avroConverter = getAvroConverter(schemaRegistryClient, ksqlConfig);
+
+    return new KsqlAvroRowDeserializer(
+        schema,
+        translator,
+        schemaRegistryClient,
+        new KsqlConnectDeserializer(avroConverter, translator),
+        requiredColumns,
+        ksqlConfig.getBoolean(KsqlConfig.KSQL_LAZY_DESERIALIZATION)
+    );
+  }
+
   private AvroDataTranslator createAvroTranslator(
       final PersistenceSchema schema,
       final KsqlConfig ksqlConfig
@@ -140,7 +192,11 @@ public class KsqlAvroSerdeFactory implements KsqlSerdeFactory {
       final KsqlConfig ksqlConfig
   ) {
     final AvroConverter avroConverter = new AvroConverter(schemaRegistryClient);
+    avroConverter.configure(getAvroConfig(ksqlConfig), false);
+    return avroConverter;
+  }
 
+  private static Map<String, Object> getAvroConfig(final KsqlConfig ksqlConfig) {
     final Map<String, Object> avroConfig = ksqlConfig
         .originalsWithPrefix(KsqlConfig.KSQL_SCHEMA_REGISTRY_PREFIX);
 
@@ -149,7 +205,6 @@ public class KsqlAvroSerdeFactory implements KsqlSerdeFactory {
 
     avroConfig.put(AvroDataConfig.CONNECT_META_DATA_CONFIG, false);
 
-    avroConverter.configure(avroConfig, false);
-    return avroConverter;
+    return avroConfig;
   }
 }
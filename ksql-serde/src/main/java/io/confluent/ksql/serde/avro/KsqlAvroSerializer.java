@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.avro;
+
+import static java.util.Objects.requireNonNull;
+
+import io.confluent.connect.avro.AvroData;
+import io.confluent.kafka.serializers.NonRecordContainer;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.avro.generic.GenericContainer;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.connect.data.Schema;
+
+/**
+ * Serializes values as schema registry framed Avro, encoding into a reused output buffer.
+ *
+ * <p>The first value written to each topic is passed to the Connect based serializer, which
+ * registers or looks up the schema exactly as it always has. The schema id that value is framed
+ * with is then cached, and later values are converted to Avro and encoded directly, reusing the
+ * output buffer, {@code BinaryEncoder} and {@code DatumWriter} between values.
+ *
+ * <p>Instances are not thread-safe.
+ */
+public class KsqlAvroSerializer implements Serializer<Object> {
+
+  private static final byte MAGIC_BYTE = 0x0;
+  private static final int HEADER_SIZE = 1 + Integer.BYTES;
+
+  private final Schema avroCompatibleSchema;
+  private final AvroDataTranslator translator;
+  private final AvroData avroData;
+  private final Serializer<Object> fallback;
+  private final Map<String, Integer> schemaIds = new HashMap<>();
+  private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+  private BinaryEncoder encoder;
+  private org.apache.avro.Schema writerSchema;
+  private DatumWriter<Object> writer;
+
+  KsqlAvroSerializer(
+      final AvroDataTranslator translator,
+      final AvroData avroData,
+      final Serializer<Object> fallback
+  ) {
+    this.translator = requireNonNull(translator, "translator");
+    this.avroData = requireNonNull(avroData, "avroData");
+    this.fallback = requireNonNull(fallback, "fallback");
+    this.avroCompatibleSchema = translator.getAvroCompatibleSchema();
+  }
+
+  @Override
+  public void configure(final Map<String, ?> map, final boolean isKey) {
+    fallback.configure(map, isKey);
+  }
+
+  @Override
+  public byte[] serialize(final String topic, final Object data) {
+    if (data == null) {
+      return null;
+    }
+
+    final Integer schemaId = schemaIds.get(topic);
+    if (schemaId == null) {
+      return fallback(topic, data);
+    }
+
+    try {
+      final GenericContainer avroValue = (GenericContainer) avroData
+          .fromConnectData(avroCompatibleSchema, translator.toConnectRow(data));
+
+      buffer.reset();
+      buffer.write(MAGIC_BYTE);
+      writeInt(buffer, schemaId);
+
+      encoder = EncoderFactory.get().directBinaryEncoder(buffer, encoder);
+      getWriter(avroValue.getSchema()).write(unwrap(avroValue), encoder);
+      encoder.flush();
+
+      return buffer.toByteArray();
+    } catch (final Exception e) {
+      throw new SerializationException(
+          "Error serializing message to topic: " + topic, e);
+    }
+  }
+
+  @Override
+  public void close() {
+    fallback.close();
+  }
+
+  private byte[] fallback(final String topic, final Object data) {
+    final byte[] bytes = fallback.serialize(topic, data);
+
+    if (bytes != null && bytes.length >= HEADER_SIZE && bytes[0] == MAGIC_BYTE) {
+      schemaIds.put(topic, ByteBuffer.wrap(bytes, 1, Integer.BYTES).getInt());
+    }
+
+    return bytes;
+  }
+
+  private DatumWriter<Object> getWriter(final org.apache.avro.Schema schema) {
+    // AvroData caches converted schemas, so the schema is normally the same instance each time:
+    if (schema != writerSchema) {
+      writerSchema = schema;
+      writer = new GenericDatumWriter<>(schema);
+    }
+    return writer;
+  }
+
+  private static void writeInt(final ByteArrayOutputStream out, final int value) {
+    out.write(value >>> 24);
+    out.write(value >>> 16);
+    out.write(value >>> 8);
+    out.write(value);
+  }
+
+  private static Object unwrap(final GenericContainer avroValue) {
+    return avroValue instanceof NonRecordContainer
+        ? ((NonRecordContainer) avroValue).getValue()
+        : avroValue;
+  }
+}
@@ -38,12 +38,18 @@ import org.apache.kafka.connect.errors.DataException;
  *
  * <p>Responsible for the coercion of connect types to the subset KSQL supports and handling
  * case-insensitivity of struct field names.
+ *
+ * <p>The conversion from a Connect schema is compiled into a tree of converters the first time
+ * the schema is seen, and reused while subsequent data has the same schema instance.
  */
 public class ConnectDataTranslator implements DataTranslator {
 
   private static final String PATH_SEPARATOR = "->";
 
+  private static final Converter IDENTITY = value -> value;
+
   private final Schema schema;
+  private volatile CompiledConverter compiled;
 
   public ConnectDataTranslator(final Schema schema) {
     this.schema = Objects.requireNonNull(schema, "schema");
@@ -55,7 +61,13 @@ public class ConnectDataTranslator implements DataTranslator {
       return null;
     }
 
-    return toKsqlValue(schema, connectSchema, connectData, "");
+    CompiledConverter current = compiled;
+    if (current == null || current.connectSchema != connectSchema) {
+      current = new CompiledConverter(connectSchema, compile(schema, connectSchema, ""));
+      compiled = current;
+    }
+
+    return current.converter.convert(connectData);
   }
 
   public Object toConnectRow(final Object ksqlData) {
@@ -198,11 +210,16 @@ public class ConnectDataTranslator implements DataTranslator {
   }
 
   // CHECKSTYLE_RULES.OFF: CyclomaticComplexity
-  @SuppressWarnings("unchecked")
-  private Object toKsqlValue(
+  /**
+   * Compile a converter from values of {@code connectSchema} to values of {@code schema}.
+   *
+   * <p>The converter applies exactly the same checks and coercions as a recursive walk of the
+   * schemas would for every value, but with all decisions that depend only on the schemas made
+   * up front.
+   */
+  private static Converter compile(
       final Schema schema,
       final Schema connectSchema,
-      final Object connectValue,
       final String pathStr
   ) {
     // CHECKSTYLE_RULES.ON: CyclomaticComplexity
@@ -210,40 +227,65 @@ public class ConnectDataTranslator implements DataTranslator {
     // - handling case insensitivity for struct field names
     // - setting missing values to null
     if (connectSchema == null) {
-      return null;
+      return value -> null;
     }
-    validateSchema(pathStr, schema, connectSchema);
-    if (connectValue == null) {
-      return null;
+
+    try {
+      validateSchema(pathStr, schema, connectSchema);
+    } catch (final RuntimeException e) {
+      // Invalid for every value, including null:
+      return value -> {
+        validateSchema(pathStr, schema, connectSchema);
+        return null;
+      };
     }
-    final Object convertedValue = maybeConvertLogicalType(connectSchema, connectValue);
+
+    if (schema.equals(connectSchema) && !hasTemporalType(schema)) {
+      return IDENTITY;
+    }
+
+    final Converter converter;
     switch (schema.type()) {
       case INT64:
-        return ((Number) convertedValue).longValue();
+        converter = value -> ((Number) value).longValue();
+        break;
       case INT32:
-        return ((Number) convertedValue).intValue();
+        converter = value -> ((Number) value).intValue();
+        break;
       case FLOAT64:
-        return ((Number) convertedValue).doubleValue();
+        converter = value -> ((Number) value).doubleValue();
+        break;
       case BYTES:
-        return toKsqlBytes(convertedValue, connectSchema);
+        converter = value -> toKsqlBytes(value, connectSchema);
+        break;
       case ARRAY:
-        return toKsqlArray(
-            schema.valueSchema(), connectSchema.valueSchema(), (List) convertedValue, pathStr);
+        converter = arrayConverter(schema, connectSchema, pathStr);
+        break;
       case MAP:
-        return toKsqlMap(
-            schema.keySchema(), connectSchema.keySchema(),
-            schema.valueSchema(), connectSchema.valueSchema(), (Map) convertedValue, pathStr);
+        converter = mapConverter(schema, connectSchema, pathStr);
+        break;
       case STRUCT:
-        return toKsqlStruct(schema, connectSchema, (Struct) convertedValue, pathStr);
+        converter = structConverter(schema, connectSchema, pathStr);
+        break;
       case STRING:
         // use String.valueOf to convert various int types and Boolean to string
-        return String.valueOf(convertedValue);
+        converter = value -> String.valueOf(value);
+        break;
       default:
-        return convertedValue;
+        converter = IDENTITY;
+        break;
     }
+
+    if (!isTemporalType(connectSchema)) {
+      return value -> value == null ? null : converter.convert(value);
+    }
+
+    return value -> value == null
+        ? null
+        : converter.convert(maybeConvertLogicalType(connectSchema, value));
   }
 
-  private Object toKsqlBytes(
+  private static Object toKsqlBytes(
       final Object convertedValue,
       final Schema schema
   ) {
@@ -254,77 +296,115 @@ public class ConnectDataTranslator implements DataTranslator {
     return convertedValue;
   }
 
-  private List<?> toKsqlArray(
-      final Schema valueSchema,
-      final Schema connectValueSchema,
-      final List<Object> connectArray,
+  private static Converter arrayConverter(
+      final Schema schema,
+      final Schema connectSchema,
       final String pathStr
   ) {
-    final List<Object> ksqlArray = new ArrayList<>(connectArray.size());
-    // streams are expensive, so we don't use them from serdes.
-    // build the array using forEach instead.
-    connectArray.forEach(
-        item -> ksqlArray.add(
-            toKsqlValue(
-                valueSchema, connectValueSchema, item, pathStr + PATH_SEPARATOR + "ARRAY")));
-    return ksqlArray;
+    final Converter elementConverter = compile(
+        schema.valueSchema(), connectSchema.valueSchema(), pathStr + PATH_SEPARATOR + "ARRAY");
+
+    return value -> {
+      final List<?> connectArray = (List<?>) value;
+      final List<Object> ksqlArray = new ArrayList<>(connectArray.size());
+      // streams are expensive, so we don't use them from serdes.
+      for (final Object item : connectArray) {
+        ksqlArray.add(elementConverter.convert(item));
+      }
+      return ksqlArray;
+    };
   }
 
-  private Map<?, ?> toKsqlMap(
-      final Schema keySchema,
-      final Schema connectKeySchema,
-      final Schema valueSchema,
-      final Schema connectValueSchema,
-      final Map<Object, Object> connectMap,
+  private static Converter mapConverter(
+      final Schema schema,
+      final Schema connectSchema,
       final String pathStr
   ) {
-    final Map<Object, Object> ksqlMap = new HashMap<>();
-    // streams are expensive, so we don't use them from serdes.
-    // build the map using forEach instead.
-    connectMap.forEach(
-        (key, value) -> ksqlMap.put(
-            toKsqlValue(
-                keySchema,
-                connectKeySchema,
-                key,
-                pathStr + PATH_SEPARATOR + "MAP_KEY"),
-            toKsqlValue(
-                valueSchema,
-                connectValueSchema,
-                value,
-                pathStr + PATH_SEPARATOR + "MAP_VAL")
-        )
-    );
-    return ksqlMap;
+    final Converter keyConverter = compile(
+        schema.keySchema(), connectSchema.keySchema(), pathStr + PATH_SEPARATOR + "MAP_KEY");
+
+    final Converter valueConverter = compile(
+        schema.valueSchema(), connectSchema.valueSchema(), pathStr + PATH_SEPARATOR + "MAP_VAL");
+
+    return value -> {
+      final Map<Object, Object> ksqlMap = new HashMap<>();
+      // streams are expensive, so we don't use them from serdes.
+      for (final Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+        ksqlMap.put(keyConverter.convert(e.getKey()), valueConverter.convert(e.getValue()));
+      }
+      return ksqlMap;
+    };
   }
 
-  private Struct toKsqlStruct(
+  private static Converter structConverter(
       final Schema schema,
       final Schema connectSchema,
-      final Struct connectStruct,
       final String pathStr
   ) {
-    final Struct ksqlStruct = new Struct(schema);
     final Map<String, Field> caseInsensitiveFieldMap =
         getCaseInsensitiveFieldMap(connectSchema);
 
-    schema.fields().forEach(field -> {
-      final String fieldNameUppercase = field.name().toUpperCase();
-      if (caseInsensitiveFieldMap.containsKey(fieldNameUppercase)) {
-        final Field connectField = caseInsensitiveFieldMap.get(fieldNameUppercase);
+    final List<Field> fields = new ArrayList<>();
+    final List<Field> connectFields = new ArrayList<>();
+    final List<Converter> converters = new ArrayList<>();
+
+    for (final Field field : schema.fields()) {
+      final Field connectField = caseInsensitiveFieldMap.get(field.name().toUpperCase());
+      if (connectField != null) {
+        fields.add(field);
+        connectFields.add(connectField);
+        converters.add(compile(
+            field.schema(),
+            connectField.schema(),
+            pathStr + PATH_SEPARATOR + field.name()
+        ));
+      }
+    }
+
+    final Field[] ksqlFieldArray = fields.toArray(new Field[0]);
+    final Field[] connectFieldArray = connectFields.toArray(new Field[0]);
+    final Converter[] converterArray = converters.toArray(new Converter[0]);
+
+    return value -> {
+      final Struct connectStruct = (Struct) value;
+      final Struct ksqlStruct = new Struct(schema);
+      for (int i = 0; i < ksqlFieldArray.length; i++) {
         // make sure to get/put the field using the Field object to avoid a lookup in Struct
-        final Object fieldValue = connectStruct.get(connectField);
-        final Schema fieldSchema = connectField.schema();
         ksqlStruct.put(
-            field,
-            toKsqlValue(
-                field.schema(),
-                fieldSchema,
-                fieldValue,
-                pathStr + PATH_SEPARATOR + field.name()));
+            ksqlFieldArray[i],
+            converterArray[i].convert(connectStruct.get(connectFieldArray[i])));
       }
-    });
-    return ksqlStruct;
+      return ksqlStruct;
+    };
+  }
+
+  private static boolean isTemporalType(final Schema schema) {
+    final String name = schema.name();
+    return Date.LOGICAL_NAME.equals(name)
+        || Time.LOGICAL_NAME.equals(name)
+        || Timestamp.LOGICAL_NAME.equals(name);
+  }
+
+  private static boolean hasTemporalType(final Schema schema) {
+    if (isTemporalType(schema)) {
+      return true;
+    }
+
+    switch (schema.type()) {
+      case ARRAY:
+        return hasTemporalType(schema.valueSchema());
+      case MAP:
+        return hasTemporalType(schema.keySchema()) || hasTemporalType(schema.valueSchema());
+      case STRUCT:
+        for (final Field field : schema.fields()) {
+          if (hasTemporalType(field.schema())) {
+            return true;
+          }
+        }
+        return false;
+      default:
+        return false;
+    }
   }
 
   private static Map<String, Field> getCaseInsensitiveFieldMap(final Schema schema) {
@@ -334,4 +414,21 @@ public class ConnectDataTranslator implements DataTranslator {
     );
     return fieldsByName;
   }
+
+  @FunctionalInterface
+  private interface Converter {
+
+    Object convert(Object connectValue);
+  }
+
+  private static final class CompiledConverter {
+
+    private final Schema connectSchema;
+    private final Converter converter;
+
+    CompiledConverter(final Schema connectSchema, final Converter converter) {
+      this.connectSchema = connectSchema;
+      this.converter = converter;
+    }
+  }
 }
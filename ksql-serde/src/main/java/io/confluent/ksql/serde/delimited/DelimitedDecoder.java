@@ -0,0 +1,371 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.delimited;
+
+import java.io.IOException;
+import java.util.Arrays;
+import org.apache.commons.csv.CSVFormat;
+
+/**
+ * Splits a UTF-8 encoded delimited record into its fields, without decoding it to a string.
+ *
+ * <p>Quoting and escaping follow the rules of Commons CSV's parser for the supplied format. The
+ * content of a field that contains no escaped characters is referenced in place. The content of
+ * any other field is unescaped into a reusable scratch buffer.
+ *
+ * <p>Only formats for which {@link #supports} returns {@code true} can be decoded. The delimiter,
+ * quote and escape characters are all single byte in UTF-8 for such formats, so can not be
+ * confused with part of a multi-byte character.
+ *
+ * <p>Instances are not thread-safe.
+ */
+final class DelimitedDecoder {
+
+  private static final byte CR = '\r';
+  private static final byte LF = '\n';
+
+  private final byte delimiter;
+  private final boolean hasQuote;
+  private final byte quote;
+  private final boolean hasEscape;
+  private final byte escape;
+
+  private int fieldCount;
+  private byte[][] buffers = new byte[8][];
+  private int[] offsets = new int[8];
+  private int[] lengths = new int[8];
+  private byte[] scratch = new byte[64];
+  private int scratchLength;
+
+  DelimitedDecoder(final CSVFormat csvFormat) {
+    if (!supports(csvFormat)) {
+      throw new IllegalArgumentException("Unsupported format: " + csvFormat);
+    }
+
+    this.delimiter = (byte) csvFormat.getDelimiter();
+    this.hasQuote = csvFormat.isQuoteCharacterSet();
+    this.quote = hasQuote ? (byte) csvFormat.getQuoteCharacter().charValue() : 0;
+    this.hasEscape = csvFormat.isEscapeCharacterSet();
+    this.escape = hasEscape ? (byte) csvFormat.getEscapeCharacter().charValue() : 0;
+  }
+
+  /**
+   * @param csvFormat the format.
+   * @return {@code true} if records in the supplied format can be decoded.
+   */
+  static boolean supports(final CSVFormat csvFormat) {
+    return isSingleByte(csvFormat.getDelimiter())
+        && (!csvFormat.isQuoteCharacterSet() || isSingleByte(csvFormat.getQuoteCharacter()))
+        && (!csvFormat.isEscapeCharacterSet() || isSingleByte(csvFormat.getEscapeCharacter()))
+        && !csvFormat.isCommentMarkerSet()
+        && !csvFormat.isNullStringSet()
+        && csvFormat.getIgnoreEmptyLines()
+        && !csvFormat.getIgnoreSurroundingSpaces()
+        && !csvFormat.getTrim()
+        && !csvFormat.getTrailingDelimiter()
+        && csvFormat.getHeader() == null
+        && !csvFormat.getSkipHeaderRecord();
+  }
+
+  /**
+   * Decode the first record in {@code bytes}.
+   *
+   * <p>Returns {@code false} if the bytes can not be decoded without a full CSV parser, e.g.
+   * because they contain more than one record. Any field boundaries are then undefined.
+   *
+   * @param bytes the UTF-8 encoded record.
+   * @return {@code true} if the record was decoded.
+   * @throws IOException on malformed input, e.g. an unterminated quoted field.
+   */
+  boolean decode(final byte[] bytes) throws IOException {
+    fieldCount = 0;
+    scratchLength = 0;
+
+    int pos = skipLineBreaks(bytes, 0);
+    if (pos == bytes.length) {
+      return true;
+    }
+
+    while (true) {
+      if (hasQuote && pos < bytes.length && bytes[pos] == quote) {
+        pos = readQuoted(bytes, pos + 1);
+      } else {
+        pos = readSimple(bytes, pos);
+      }
+
+      if (pos < 0) {
+        return false;
+      }
+
+      if (pos == bytes.length) {
+        return true;
+      }
+
+      if (bytes[pos] != delimiter) {
+        // End of line. Anything other than empty lines must be a further record:
+        return skipLineBreaks(bytes, pos) == bytes.length;
+      }
+
+      pos++;
+    }
+  }
+
+  /**
+   * @return the number of fields in the last decoded record.
+   */
+  int fieldCount() {
+    return fieldCount;
+  }
+
+  /**
+   * @param field the index of the field.
+   * @return the buffer holding the field's content.
+   */
+  byte[] buffer(final int field) {
+    return buffers[field];
+  }
+
+  /**
+   * @param field the index of the field.
+   * @return the offset of the field's content within its {@link #buffer}.
+   */
+  int offset(final int field) {
+    return offsets[field];
+  }
+
+  /**
+   * @param field the index of the field.
+   * @return the length, in bytes, of the field's content.
+   */
+  int length(final int field) {
+    return lengths[field];
+  }
+
+  private int readSimple(final byte[] bytes, final int start) throws IOException {
+    int pos = start;
+    while (pos < bytes.length) {
+      final byte b = bytes[pos];
+      if (b == delimiter || b == CR || b == LF) {
+        break;
+      }
+
+      if (hasEscape && b == escape) {
+        return readSimpleUnescaping(bytes, start, pos);
+      }
+
+      pos++;
+    }
+
+    addField(bytes, start, pos - start);
+    return pos;
+  }
+
+  private int readSimpleUnescaping(
+      final byte[] bytes,
+      final int start,
+      final int escapePos
+  ) throws IOException {
+    final int contentStart = scratchLength;
+    append(bytes, start, escapePos - start);
+
+    int pos = escapePos;
+    while (pos < bytes.length) {
+      final byte b = bytes[pos];
+      if (b == delimiter || b == CR || b == LF) {
+        break;
+      }
+
+      if (hasEscape && b == escape) {
+        pos = readEscape(bytes, pos + 1);
+      } else {
+        append(b);
+        pos++;
+      }
+    }
+
+    addField(scratch, contentStart, scratchLength - contentStart);
+    return pos;
+  }
+
+  private int readQuoted(final byte[] bytes, final int start) throws IOException {
+    int pos = start;
+    while (pos < bytes.length) {
+      final byte b = bytes[pos];
+      if (hasEscape && b == escape) {
+        return readQuotedUnescaping(bytes, start, pos);
+      }
+
+      if (b == quote) {
+        if (pos + 1 < bytes.length && bytes[pos + 1] == quote) {
+          return readQuotedUnescaping(bytes, start, pos);
+        }
+
+        addField(bytes, start, pos - start);
+        return skipToDelimiter(bytes, pos + 1);
+      }
+
+      pos++;
+    }
+
+    throw new IOException("EOF reached before encapsulated token finished");
+  }
+
+  private int readQuotedUnescaping(
+      final byte[] bytes,
+      final int start,
+      final int escapePos
+  ) throws IOException {
+    final int contentStart = scratchLength;
+    append(bytes, start, escapePos - start);
+
+    int pos = escapePos;
+    while (pos < bytes.length) {
+      final byte b = bytes[pos];
+      if (hasEscape && b == escape) {
+        pos = readEscape(bytes, pos + 1);
+      } else if (b != quote) {
+        append(b);
+        pos++;
+      } else if (pos + 1 < bytes.length && bytes[pos + 1] == quote) {
+        append(quote);
+        pos += 2;
+      } else {
+        addField(scratch, contentStart, scratchLength - contentStart);
+        return skipToDelimiter(bytes, pos + 1);
+      }
+    }
+
+    throw new IOException("EOF reached before encapsulated token finished");
+  }
+
+  /**
+   * Append the character escaped by the escape character that precedes {@code pos}.
+   *
+   * @return the position after the escaped character.
+   */
+  private int readEscape(final byte[] bytes, final int pos) throws IOException {
+    if (pos == bytes.length) {
+      throw new IOException("EOF whilst processing escape sequence");
+    }
+
+    final byte b = bytes[pos];
+    switch (b) {
+      case 'r':
+        append(CR);
+        break;
+      case 'n':
+        append(LF);
+        break;
+      case 't':
+        append((byte) '\t');
+        break;
+      case 'b':
+        append((byte) '\b');
+        break;
+      case 'f':
+        append((byte) '\f');
+        break;
+      case CR:
+      case LF:
+      case '\t':
+      case '\b':
+      case '\f':
+        append(b);
+        break;
+      default:
+        if (b == delimiter || b == escape || (hasQuote && b == quote)) {
+          append(b);
+        } else {
+          // Not an escape sequence, so the escape character is part of the content:
+          append(escape);
+          append(b);
+        }
+    }
+
+    return pos + 1;
+  }
+
+  /**
+   * Skip any whitespace between a closing quote and the end of the field.
+   *
+   * @return the position of the delimiter or line break ending the field, or {@code -1} if there
+   *     is a non-ASCII character that may, or may not, be whitespace.
+   */
+  private int skipToDelimiter(final byte[] bytes, final int start) throws IOException {
+    int pos = start;
+    while (pos < bytes.length) {
+      final byte b = bytes[pos];
+      if (b == delimiter || b == CR || b == LF) {
+        return pos;
+      }
+
+      if (b < 0) {
+        return -1;
+      }
+
+      if (!Character.isWhitespace((char) b)) {
+        throw new IOException("invalid char between encapsulated token and delimiter");
+      }
+
+      pos++;
+    }
+    return pos;
+  }
+
+  private static int skipLineBreaks(final byte[] bytes, final int start) {
+    int pos = start;
+    while (pos < bytes.length && (bytes[pos] == CR || bytes[pos] == LF)) {
+      pos++;
+    }
+    return pos;
+  }
+
+  private void addField(final byte[] buffer, final int offset, final int length) {
+    if (fieldCount == buffers.length) {
+      final int newSize = fieldCount * 2;
+      buffers = Arrays.copyOf(buffers, newSize);
+      offsets = Arrays.copyOf(offsets, newSize);
+      lengths = Arrays.copyOf(lengths, newSize);
+    }
+
+    buffers[fieldCount] = buffer;
+    offsets[fieldCount] = offset;
+    lengths[fieldCount] = length;
+    fieldCount++;
+  }
+
+  private void append(final byte b) {
+    ensureScratchCapacity(1);
+    scratch[scratchLength++] = b;
+  }
+
+  private void append(final byte[] bytes, final int offset, final int length) {
+    ensureScratchCapacity(length);
+    System.arraycopy(bytes, offset, scratch, scratchLength, length);
+    scratchLength += length;
+  }
+
+  private void ensureScratchCapacity(final int required) {
+    if (scratchLength + required > scratch.length) {
+      // Fields already decoded keep referencing the old buffer, which is left unchanged:
+      scratch = Arrays.copyOf(scratch, Math.max(scratch.length * 2, scratchLength + required));
+    }
+  }
+
+  private static boolean isSingleByte(final char c) {
+    return c < 0x80 && c != CR && c != LF;
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.delimited;
+
+import java.util.Arrays;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.QuoteMode;
+
+/**
+ * Writes a delimited record straight into a reusable UTF-8 byte buffer.
+ *
+ * <p>Fields are quoted exactly as Commons CSV's printer quotes them for the supplied format,
+ * i.e. using its minimal quoting rules, but without the intermediate {@code StringWriter}, string
+ * copies and line separator of the printer.
+ *
+ * <p>Only formats for which {@link #supports} returns {@code true} can be encoded.
+ *
+ * <p>Instances are not thread-safe.
+ */
+final class DelimitedEncoder {
+
+  private static final char CR = '\r';
+  private static final char LF = '\n';
+  private static final char SP = ' ';
+  private static final char COMMENT = '#';
+
+  private final byte delimiter;
+  private final boolean hasQuote;
+  private final char quote;
+
+  private byte[] buffer = new byte[128];
+  private int length;
+  private boolean newRecord;
+
+  DelimitedEncoder(final CSVFormat csvFormat) {
+    if (!supports(csvFormat)) {
+      throw new IllegalArgumentException("Unsupported format: " + csvFormat);
+    }
+
+    this.delimiter = (byte) csvFormat.getDelimiter();
+    this.hasQuote = csvFormat.isQuoteCharacterSet();
+    this.quote = hasQuote ? csvFormat.getQuoteCharacter() : 0;
+  }
+
+  /**
+   * @param csvFormat the format.
+   * @return {@code true} if records in the supplied format can be encoded.
+   */
+  static boolean supports(final CSVFormat csvFormat) {
+    final QuoteMode quoteMode = csvFormat.getQuoteMode();
+
+    return isSingleByte(csvFormat.getDelimiter())
+        && (!csvFormat.isQuoteCharacterSet() || isSingleByte(csvFormat.getQuoteCharacter()))
+        && !csvFormat.isEscapeCharacterSet()
+        && (quoteMode == null || quoteMode == QuoteMode.MINIMAL)
+        && !csvFormat.isNullStringSet()
+        && !csvFormat.getTrim()
+        && !csvFormat.getTrailingDelimiter();
+  }
+
+  /**
+   * Start a new record, discarding any previous one.
+   */
+  void startRecord() {
+    length = 0;
+    newRecord = true;
+  }
+
+  /**
+   * Append a {@code null} field, which is written as an empty field.
+   */
+  void writeNull() {
+    startField();
+  }
+
+  /**
+   * Append a field.
+   *
+   * @param value the field's content.
+   */
+  void writeValue(final String value) {
+    final boolean first = newRecord;
+    startField();
+
+    if (!hasQuote || !requiresQuoting(value, first)) {
+      writeUtf8(value, 0, value.length());
+      return;
+    }
+
+    writeAscii(quote);
+
+    int start = 0;
+    for (int pos = 0; pos < value.length(); pos++) {
+      if (value.charAt(pos) == quote) {
+        // Write up to and including the quote, which is then doubled by starting the next chunk
+        // from it:
+        writeUtf8(value, start, pos + 1);
+        start = pos;
+      }
+    }
+
+    writeUtf8(value, start, value.length());
+    writeAscii(quote);
+  }
+
+  /**
+   * @return a copy of the current record.
+   */
+  byte[] toByteArray() {
+    return Arrays.copyOf(buffer, length);
+  }
+
+  private void startField() {
+    if (newRecord) {
+      newRecord = false;
+    } else {
+      ensureCapacity(1);
+      buffer[length++] = delimiter;
+    }
+  }
+
+  // CHECKSTYLE_RULES.OFF: CyclomaticComplexity
+  private boolean requiresQuoting(final String value, final boolean first) {
+    // CHECKSTYLE_RULES.ON: CyclomaticComplexity
+    final int end = value.length();
+    if (end == 0) {
+      // An empty first field is quoted, as it may be the only thing on the line:
+      return first;
+    }
+
+    final char c = value.charAt(0);
+    if (first && !isAsciiLetterOrDigit(c)) {
+      return true;
+    }
+
+    if (c <= COMMENT) {
+      return true;
+    }
+
+    for (int pos = 0; pos < end; pos++) {
+      final char ch = value.charAt(pos);
+      if (ch == LF || ch == CR || ch == quote || ch == delimiter) {
+        return true;
+      }
+    }
+
+    return value.charAt(end - 1) <= SP;
+  }
+
+  private void writeAscii(final char c) {
+    ensureCapacity(1);
+    buffer[length++] = (byte) c;
+  }
+
+  private void writeUtf8(final String value, final int start, final int end) {
+    // Worst case is three bytes per UTF-16 char:
+    ensureCapacity((end - start) * 3);
+
+    final byte[] buf = buffer;
+    int pos = length;
+
+    for (int i = start; i < end; i++) {
+      final char c = value.charAt(i);
+      if (c < 0x80) {
+        buf[pos++] = (byte) c;
+      } else if (c < 0x800) {
+        buf[pos++] = (byte) (0xC0 | (c >> 6));
+        buf[pos++] = (byte) (0x80 | (c & 0x3F));
+      } else if (!Character.isSurrogate(c)) {
+        buf[pos++] = (byte) (0xE0 | (c >> 12));
+        buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        buf[pos++] = (byte) (0x80 | (c & 0x3F));
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < end
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        final int cp = Character.toCodePoint(c, value.charAt(++i));
+        buf[pos++] = (byte) (0xF0 | (cp >> 18));
+        buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+        buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+        buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+      } else {
+        // Unpaired surrogate, replaced as String.getBytes does:
+        buf[pos++] = '?';
+      }
+    }
+
+    length = pos;
+  }
+
+  private void ensureCapacity(final int required) {
+    if (length + required > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + required));
+    }
+  }
+
+  private static boolean isAsciiLetterOrDigit(final char c) {
+    return (c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+  }
+
+  private static boolean isSingleByte(final char c) {
+    return c < 0x80;
+  }
+}
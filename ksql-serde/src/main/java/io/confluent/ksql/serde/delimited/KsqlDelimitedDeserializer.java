@@ -16,16 +16,19 @@
 package io.confluent.ksql.serde.delimited;
 
 import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.serde.util.SerdeUtils;
 import io.confluent.ksql.util.DecimalUtil;
 import io.confluent.ksql.util.KsqlException;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.Set;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
@@ -37,26 +40,56 @@ import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.Schema.Type;
 import org.apache.kafka.connect.data.Struct;
 
+/**
+ * Deserializes a delimited record into a {@code Struct}.
+ *
+ * <p>Records are split into fields by a {@link DelimitedDecoder}, which works directly on the
+ * UTF-8 bytes, and integral and boolean fields are parsed straight from those bytes. Formats the
+ * decoder does not support, and records it can not decode on its own, are parsed with Commons
+ * CSV's {@code CSVParser}.
+ *
+ * <p>Instances are not thread-safe.
+ */
 public class KsqlDelimitedDeserializer implements Deserializer<Object> {
 
-  private static final Map<Type, Function<String, Object>> PARSERS = ImmutableMap.of(
-      Type.BOOLEAN, Boolean::parseBoolean,
-      Type.INT32, Integer::parseInt,
-      Type.INT64, Long::parseLong,
-      Type.FLOAT64, Double::parseDouble,
-      Type.STRING, s -> s
+  private static final long NOT_PLAIN_DIGITS = Long.MIN_VALUE;
+
+  private static final Map<Type, FieldParser> PARSERS = ImmutableMap.of(
+      Type.BOOLEAN, KsqlDelimitedDeserializer::parseBoolean,
+      Type.INT32, KsqlDelimitedDeserializer::parseInt,
+      Type.INT64, KsqlDelimitedDeserializer::parseLong,
+      Type.FLOAT64, (bytes, offset, length) -> Double.parseDouble(string(bytes, offset, length)),
+      Type.STRING, KsqlDelimitedDeserializer::string
   );
 
   private final ConnectSchema schema;
   private final CSVFormat csvFormat;
+  private final boolean[] required;
+  private final FieldParser[] parsers;
+  private final Optional<DelimitedDecoder> decoder;
 
   KsqlDelimitedDeserializer(
       final PersistenceSchema schema,
       final CSVFormat csvFormat
+  ) {
+    this(schema, csvFormat, Optional.empty());
+  }
+
+  KsqlDelimitedDeserializer(
+      final PersistenceSchema schema,
+      final CSVFormat csvFormat,
+      final Optional<Set<ColumnName>> requiredColumns
   ) {
     this.schema = Objects.requireNonNull(schema, "schema").serializedSchema();
     throwOnUnsupported(this.schema);
     this.csvFormat = Objects.requireNonNull(csvFormat, "csvFormat");
+    this.required = SerdeUtils.requiredFields(this.schema, requiredColumns);
+    this.parsers = this.schema.fields().stream()
+        .map(field -> parser(field.schema()))
+        .toArray(FieldParser[]::new);
+    this.decoder = DelimitedDecoder.supports(csvFormat)
+        ? Optional.of(new DelimitedDecoder(csvFormat))
+        : Optional.empty();
   }
 
   @Override
@@ -70,71 +103,176 @@ public class KsqlDelimitedDeserializer implements Deserializer<Object> {
     }
 
     try {
-      final String recordCsvString = new String(bytes, StandardCharsets.UTF_8);
-      final List<CSVRecord> csvRecords = CSVParser.parse(recordCsvString, csvFormat)
-          .getRecords();
+      final Object[] values = parseFields(bytes);
 
-      if (csvRecords.isEmpty()) {
-        throw new KsqlException("No fields in record");
+      final Struct struct = new Struct(schema);
+      final List<Field> fields = schema.fields();
+      for (int i = 0; i < values.length; i++) {
+        struct.put(fields.get(i), values[i]);
       }
+      return struct;
+    } catch (final Exception e) {
+      throw new SerializationException("Error deserializing delimited row", e);
+    }
+  }
 
-      final CSVRecord csvRecord = csvRecords.get(0);
-      if (csvRecord == null || csvRecord.size() == 0) {
-        throw new KsqlException("No fields in record.");
-      }
+  /**
+   * Parse a delimited record into the values of its fields.
+   *
+   * <p>Fields that are not required are not converted, and are left {@code null}.
+   *
+   * @param bytes the serialized record.
+   * @return the field values, in schema order.
+   */
+  Object[] parseFields(final byte[] bytes) throws IOException {
+    if (!decoder.isPresent() || !decoder.get().decode(bytes)) {
+      return parseFieldsWithCsvParser(bytes);
+    }
 
-      if (csvRecord.size() != schema.fields().size()) {
-        throw new KsqlException(
-            String.format(
-                "Unexpected field count, csvFields:%d schemaFields:%d",
-              csvRecord.size(),
-                schema.fields().size()
-          )
-        );
+    final DelimitedDecoder record = decoder.get();
+    if (record.fieldCount() == 0) {
+      throw new KsqlException("No fields in record");
+    }
+
+    throwOnFieldCountMismatch(record.fieldCount());
+
+    final Object[] values = new Object[parsers.length];
+    for (int i = 0; i < values.length; i++) {
+      if (required[i]) {
+        values[i] = parse(i, record.buffer(i), record.offset(i), record.length(i));
       }
+    }
+    return values;
+  }
 
-      final Struct struct = new Struct(schema);
+  @Override
+  public void close() {
+  }
+
+  private Object[] parseFieldsWithCsvParser(final byte[] bytes) throws IOException {
+    final String recordCsvString = new String(bytes, StandardCharsets.UTF_8);
+    final List<CSVRecord> csvRecords = CSVParser.parse(recordCsvString, csvFormat)
+        .getRecords();
 
-      final Iterator<Field> it = schema.fields().iterator();
+    if (csvRecords.isEmpty()) {
+      throw new KsqlException("No fields in record");
+    }
+
+    final CSVRecord csvRecord = csvRecords.get(0);
+    if (csvRecord == null || csvRecord.size() == 0) {
+      throw new KsqlException("No fields in record.");
+    }
 
-      for (int i = 0; i < csvRecord.size(); i++) {
-        final Field field = it.next();
-        if (csvRecord.get(i) == null) {
-          struct.put(field, null);
-        } else {
-          final Object coerced = enforceFieldType(field.schema(), csvRecord.get(i));
-          struct.put(field, coerced);
-        }
+    throwOnFieldCountMismatch(csvRecord.size());
 
+    final Object[] values = new Object[parsers.length];
+    for (int i = 0; i < values.length; i++) {
+      final String value = csvRecord.get(i);
+      if (required[i] && value != null) {
+        final byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+        values[i] = parse(i, valueBytes, 0, valueBytes.length);
       }
-      return struct;
-    } catch (final Exception e) {
-      throw new SerializationException("Error deserializing delimited row", e);
     }
+    return values;
   }
 
-  @Override
-  public void close() {
+  private void throwOnFieldCountMismatch(final int csvFieldCount) {
+    if (csvFieldCount != parsers.length) {
+      throw new KsqlException(
+          String.format(
+              "Unexpected field count, csvFields:%d schemaFields:%d",
+              csvFieldCount,
+              parsers.length
+          )
+      );
+    }
   }
 
-  private static Object enforceFieldType(
-      final Schema fieldSchema,
-      final String delimitedField
-  ) {
-    if (delimitedField.isEmpty()) {
+  private Object parse(final int field, final byte[] bytes, final int offset, final int length) {
+    if (length == 0) {
       return null;
     }
 
+    return parsers[field].parse(bytes, offset, length);
+  }
+
+  private static FieldParser parser(final Schema fieldSchema) {
     if (DecimalUtil.isDecimal(fieldSchema)) {
-      return DecimalUtil.ensureFit(new BigDecimal(delimitedField),fieldSchema);
+      return (bytes, offset, length) -> DecimalUtil.ensureFit(
+          new BigDecimal(string(bytes, offset, length)),
+          fieldSchema
+      );
     }
 
-    final Function<String, Object> parser = PARSERS.get(fieldSchema.type());
+    final FieldParser parser = PARSERS.get(fieldSchema.type());
     if (parser == null) {
       throw new KsqlException("Type is not supported: " + fieldSchema.type());
     }
 
-    return parser.apply(delimitedField);
+    return parser;
+  }
+
+  private static String string(final byte[] bytes, final int offset, final int length) {
+    return new String(bytes, offset, length, StandardCharsets.UTF_8);
+  }
+
+  private static Boolean parseBoolean(final byte[] bytes, final int offset, final int length) {
+    // Same as Boolean.parseBoolean, i.e. anything other than a case-insensitive 'true' is false:
+    return length == 4
+        && (bytes[offset] | 0x20) == 't'
+        && (bytes[offset + 1] | 0x20) == 'r'
+        && (bytes[offset + 2] | 0x20) == 'u'
+        && (bytes[offset + 3] | 0x20) == 'e';
+  }
+
+  private static Integer parseInt(final byte[] bytes, final int offset, final int length) {
+    // Nine digits can not overflow an int:
+    final long value = parseDigits(bytes, offset, length, 9);
+    if (value == NOT_PLAIN_DIGITS) {
+      return Integer.parseInt(string(bytes, offset, length));
+    }
+    return (int) value;
+  }
+
+  private static Long parseLong(final byte[] bytes, final int offset, final int length) {
+    // Eighteen digits can not overflow a long:
+    final long value = parseDigits(bytes, offset, length, 18);
+    if (value == NOT_PLAIN_DIGITS) {
+      return Long.parseLong(string(bytes, offset, length));
+    }
+    return value;
+  }
+
+  /**
+   * Parse an optionally signed run of ASCII digits.
+   *
+   * <p>Anything else, including runs of more than {@code maxDigits}, returns {@link
+   * #NOT_PLAIN_DIGITS}, leaving the caller to fall back to the JDK's parsing, and its errors.
+   */
+  private static long parseDigits(
+      final byte[] bytes,
+      final int offset,
+      final int length,
+      final int maxDigits
+  ) {
+    final int end = offset + length;
+    final boolean negative = bytes[offset] == '-';
+
+    int pos = negative || bytes[offset] == '+' ? offset + 1 : offset;
+    if (pos == end || end - pos > maxDigits) {
+      return NOT_PLAIN_DIGITS;
+    }
+
+    long value = 0;
+    for (; pos < end; pos++) {
+      final int digit = bytes[pos] - '0';
+      if (digit < 0 || digit > 9) {
+        return NOT_PLAIN_DIGITS;
+      }
+      value = value * 10 + digit;
+    }
+
+    return negative ? -value : value;
   }
 
   private static void throwOnUnsupported(final Schema schema) {
@@ -150,4 +288,10 @@ public class KsqlDelimitedDeserializer implements Deserializer<Object> {
       }
     });
   }
+
+  @FunctionalInterface
+  private interface FieldParser {
+
+    Object parse(byte[] bytes, int offset, int length);
+  }
 }
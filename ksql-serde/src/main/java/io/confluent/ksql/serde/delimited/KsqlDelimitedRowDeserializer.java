@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.delimited;
+
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Deserializes a delimited record directly into a {@link GenericRow}.
+ *
+ * <p>If only some of the columns are required, the others are not converted, and are left
+ * {@code null} in the row.
+ *
+ * <p>Instances are not thread-safe.
+ */
+public class KsqlDelimitedRowDeserializer implements Deserializer<GenericRow> {
+
+  private final KsqlDelimitedDeserializer inner;
+
+  KsqlDelimitedRowDeserializer(
+      final PersistenceSchema schema,
+      final CSVFormat csvFormat,
+      final Optional<Set<ColumnName>> requiredColumns
+  ) {
+    this.inner = new KsqlDelimitedDeserializer(schema, csvFormat, requiredColumns);
+  }
+
+  @Override
+  public void configure(final Map<String, ?> map, final boolean isKey) {
+  }
+
+  @Override
+  public GenericRow deserialize(final String topic, final byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+
+    try {
+      return new GenericRow(inner.parseFields(bytes));
+    } catch (final Exception e) {
+      throw new SerializationException("Error deserializing delimited row", e);
+    }
+  }
+
+  @Override
+  public void close() {
+  }
+}
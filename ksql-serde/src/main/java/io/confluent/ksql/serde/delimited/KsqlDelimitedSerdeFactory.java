@@ -17,19 +17,26 @@ package io.confluent.ksql.serde.delimited;
 
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.connect.SchemaWalker;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.serde.Delimiter;
 import io.confluent.ksql.serde.Format;
 import io.confluent.ksql.serde.KsqlSerdeFactory;
+import io.confluent.ksql.serde.tls.ThreadLocalDeserializer;
+import io.confluent.ksql.serde.tls.ThreadLocalSerializer;
 import io.confluent.ksql.util.DecimalUtil;
 import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.KsqlException;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 import org.apache.commons.csv.CSVFormat;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.connect.data.ConnectSchema;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.Schema.Type;
@@ -65,12 +72,38 @@ public class KsqlDelimitedSerdeFactory implements KsqlSerdeFactory {
   ) {
     validate(schema);
 
+    final Supplier<Serializer<Object>> serializerSupplier =
+        () -> new KsqlDelimitedSerializer(csvFormat);
+
+    final Supplier<Deserializer<Object>> deserializerSupplier =
+        () -> new KsqlDelimitedDeserializer(schema, csvFormat);
+
+    // Sanity check:
+    serializerSupplier.get();
+    deserializerSupplier.get();
+
     return Serdes.serdeFrom(
-        new KsqlDelimitedSerializer(csvFormat),
-        new KsqlDelimitedDeserializer(schema, csvFormat)
+        new ThreadLocalSerializer<>(serializerSupplier),
+        new ThreadLocalDeserializer<>(deserializerSupplier)
     );
   }
 
+  @Override
+  public Optional<Deserializer<GenericRow>> createRowDeserializer(
+      final PersistenceSchema schema,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
+      final Optional<Set<ColumnName>> requiredColumns
+  ) {
+    final Supplier<Deserializer<GenericRow>> deserializerSupplier =
+        () -> new KsqlDelimitedRowDeserializer(schema, csvFormat, requiredColumns);
+
+    // Sanity check:
+    deserializerSupplier.get();
+
+    return Optional.of(new ThreadLocalDeserializer<>(deserializerSupplier));
+  }
+
   private static class SchemaValidator implements SchemaWalker.Visitor<Void, Void> {
 
     public Void visitPrimitive(final Schema schema) {
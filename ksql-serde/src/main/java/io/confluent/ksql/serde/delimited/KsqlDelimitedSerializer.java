@@ -21,8 +21,10 @@ import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 import org.apache.kafka.common.errors.SerializationException;
@@ -31,13 +33,24 @@ import org.apache.kafka.connect.data.Field;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.Struct;
 
-
+/**
+ * Serializes a {@code Struct} as a delimited record.
+ *
+ * <p>Fields are written straight to a reusable buffer by a {@link DelimitedEncoder}. Formats the
+ * encoder does not support are printed with Commons CSV's {@code CSVPrinter}.
+ *
+ * <p>Instances are not thread-safe.
+ */
 public class KsqlDelimitedSerializer implements Serializer<Object> {
 
   private final CSVFormat csvFormat;
+  private final Optional<DelimitedEncoder> encoder;
 
   public KsqlDelimitedSerializer(final CSVFormat csvFormat) {
-    this.csvFormat = csvFormat;
+    this.csvFormat = Objects.requireNonNull(csvFormat, "csvFormat");
+    this.encoder = DelimitedEncoder.supports(csvFormat)
+        ? Optional.of(new DelimitedEncoder(csvFormat))
+        : Optional.empty();
   }
 
   @Override
@@ -55,6 +68,10 @@ public class KsqlDelimitedSerializer implements Serializer<Object> {
         throw new SerializationException("DELIMITED does not support anonymous fields");
       }
 
+      if (encoder.isPresent()) {
+        return encode(encoder.get(), (Struct) data);
+      }
+
       final StringWriter stringWriter = new StringWriter();
       final CSVPrinter csvPrinter = new CSVPrinter(stringWriter, csvFormat);
       csvPrinter.printRecord(() -> new FieldIterator((Struct)data));
@@ -69,6 +86,49 @@ public class KsqlDelimitedSerializer implements Serializer<Object> {
   public void close() {
   }
 
+  private static byte[] encode(final DelimitedEncoder encoder, final Struct data) {
+    encoder.startRecord();
+
+    final List<Field> fields = data.schema().fields();
+    for (int i = 0; i < fields.size(); i++) {
+      final Object value = value(data, fields.get(i));
+      if (value == null) {
+        encoder.writeNull();
+      } else {
+        encoder.writeValue(value.toString());
+      }
+    }
+
+    return encoder.toByteArray();
+  }
+
+  private static Object value(final Struct data, final Field field) {
+    throwOnUnsupportedType(field.schema());
+    if (DecimalUtil.isDecimal(field.schema())) {
+      return getDecimal(data, field);
+    }
+    return data.get(field);
+  }
+
+  private static String getDecimal(final Struct data, final Field field) {
+    final BigDecimal value = (BigDecimal) data.get(field);
+    final int precision = DecimalUtil.precision(field.schema());
+    final int scale = DecimalUtil.scale(field.schema());
+
+    return DecimalUtil.format(precision, scale, value);
+  }
+
+  private static void throwOnUnsupportedType(final Schema schema) {
+    switch (schema.type()) {
+      case ARRAY:
+      case MAP:
+      case STRUCT:
+        throw new KsqlException("DELIMITED does not support type: " + schema.type());
+
+      default:
+    }
+  }
+
   private static class FieldIterator implements Iterator<Object> {
 
     private final Struct data;
@@ -86,31 +146,7 @@ public class KsqlDelimitedSerializer implements Serializer<Object> {
 
     @Override
     public Object next() {
-      final Field field = fieldIt.next();
-      throwOnUnsupportedType(field.schema());
-      if (DecimalUtil.isDecimal(field.schema())) {
-        return getDecimal(field);
-      }
-      return data.get(field);
-    }
-
-    private String getDecimal(final Field field) {
-      final BigDecimal value = (BigDecimal) data.get(field);
-      final int precision = DecimalUtil.precision(field.schema());
-      final int scale = DecimalUtil.scale(field.schema());
-
-      return DecimalUtil.format(precision, scale, value);
-    }
-
-    private static void throwOnUnsupportedType(final Schema schema) {
-      switch (schema.type()) {
-        case ARRAY:
-        case MAP:
-        case STRUCT:
-          throw new KsqlException("DELIMITED does not support type: " + schema.type());
-
-        default:
-      }
+      return value(data, fieldIt.next());
     }
   }
 }
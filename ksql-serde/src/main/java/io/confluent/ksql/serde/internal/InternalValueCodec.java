@@ -0,0 +1,631 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.internal;
+
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.util.DecimalUtil;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.DataException;
+
+/**
+ * Encodes values in the compact, internal, binary format.
+ *
+ * <p>The format is positional: as both ends of an internal topic know the schema from the query
+ * plan, no field names, type information or schema ids are written:
+ * <ul>
+ *   <li>{@code BOOLEAN}: a single byte.</li>
+ *   <li>{@code INT} and {@code BIGINT}: a zig-zag encoded varint.</li>
+ *   <li>{@code DOUBLE}: eight bytes.</li>
+ *   <li>{@code STRING}: a varint byte count, followed by the UTF-8 bytes.</li>
+ *   <li>{@code DECIMAL}: a varint byte count, followed by the unscaled value's two's
+ *   complement bytes. The scale comes from the schema.</li>
+ *   <li>{@code ARRAY}: a varint element count, a bitmap of the non-null elements and then the
+ *   non-null elements.</li>
+ *   <li>{@code MAP}: a varint entry count, bitmaps of the non-null keys and values and then
+ *   the non-null keys and values, in entry order.</li>
+ *   <li>{@code STRUCT}, including a row: a bitmap of the non-null fields and then the non-null
+ *   fields.</li>
+ * </ul>
+ *
+ * <p>A codec is compiled for every schema in the value's schema on construction. Instances are
+ * thread safe.
+ */
+final class InternalValueCodec {
+
+  private final ValueCodec codec;
+
+  InternalValueCodec(final Schema schema) {
+    this.codec = codec(schema);
+  }
+
+  /**
+   * Write a non-null value.
+   *
+   * @param out the output to write to.
+   * @param value the value, which must match the schema.
+   */
+  void write(final Output out, final Object value) {
+    codec.write(out, value);
+  }
+
+  /**
+   * Write a row, which must have a value for each field in the struct schema.
+   *
+   * @param out the output to write to.
+   * @param row the row.
+   */
+  void writeRow(final Output out, final GenericRow row) {
+    ((StructCodec) codec).writeFields(out, row::get);
+  }
+
+  /**
+   * Read a non-null value.
+   *
+   * @param in the input to read from.
+   * @return the value.
+   */
+  Object read(final Input in) {
+    return codec.read(in);
+  }
+
+  /**
+   * Read a row, converting only the required fields of the struct schema.
+   *
+   * @param in the input to read from.
+   * @param required the fields to convert. Others are skipped, and left {@code null}.
+   * @return the row.
+   */
+  GenericRow readRow(final Input in, final boolean[] required) {
+    return new GenericRow(((StructCodec) codec).readFields(in, required));
+  }
+
+  // CHECKSTYLE_RULES.OFF: CyclomaticComplexity
+  private static ValueCodec codec(final Schema schema) {
+    // CHECKSTYLE_RULES.ON: CyclomaticComplexity
+    switch (schema.type()) {
+      case BOOLEAN:
+        return new BooleanCodec();
+      case INT32:
+        return new IntCodec();
+      case INT64:
+        return new LongCodec();
+      case FLOAT64:
+        return new DoubleCodec();
+      case STRING:
+        return new StringCodec();
+      case BYTES:
+        if (DecimalUtil.isDecimal(schema)) {
+          return new DecimalCodec(schema);
+        }
+        break;
+      case ARRAY:
+        return new ArrayCodec(codec(schema.valueSchema()));
+      case MAP:
+        return new MapCodec(codec(schema.keySchema()), codec(schema.valueSchema()));
+      case STRUCT:
+        return new StructCodec(schema);
+      default:
+        break;
+    }
+
+    throw new IllegalArgumentException("Type is not supported: " + schema.type());
+  }
+
+  private interface ValueCodec {
+
+    void write(Output out, Object value);
+
+    Object read(Input in);
+
+    void skip(Input in);
+  }
+
+  private static final class BooleanCodec implements ValueCodec {
+
+    @Override
+    public void write(final Output out, final Object value) {
+      out.writeByte((Boolean) value ? 1 : 0);
+    }
+
+    @Override
+    public Object read(final Input in) {
+      return in.readByte() != 0;
+    }
+
+    @Override
+    public void skip(final Input in) {
+      in.skip(1);
+    }
+  }
+
+  private static final class IntCodec implements ValueCodec {
+
+    @Override
+    public void write(final Output out, final Object value) {
+      final int v = (Integer) value;
+      out.writeVarLong(((v << 1) ^ (v >> 31)) & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public Object read(final Input in) {
+      final int v = (int) in.readVarLong();
+      return (v >>> 1) ^ -(v & 1);
+    }
+
+    @Override
+    public void skip(final Input in) {
+      in.readVarLong();
+    }
+  }
+
+  private static final class LongCodec implements ValueCodec {
+
+    @Override
+    public void write(final Output out, final Object value) {
+      final long v = (Long) value;
+      out.writeVarLong((v << 1) ^ (v >> 63));
+    }
+
+    @Override
+    public Object read(final Input in) {
+      final long v = in.readVarLong();
+      return (v >>> 1) ^ -(v & 1);
+    }
+
+    @Override
+    public void skip(final Input in) {
+      in.readVarLong();
+    }
+  }
+
+  private static final class DoubleCodec implements ValueCodec {
+
+    @Override
+    public void write(final Output out, final Object value) {
+      out.writeLong(Double.doubleToLongBits((Double) value));
+    }
+
+    @Override
+    public Object read(final Input in) {
+      return Double.longBitsToDouble(in.readLong());
+    }
+
+    @Override
+    public void skip(final Input in) {
+      in.skip(Long.BYTES);
+    }
+  }
+
+  private static final class StringCodec implements ValueCodec {
+
+    @Override
+    public void write(final Output out, final Object value) {
+      out.writeString((String) value);
+    }
+
+    @Override
+    public Object read(final Input in) {
+      final int length = in.readLength();
+      final String value = new String(in.buffer, in.pos, length, StandardCharsets.UTF_8);
+      in.pos += length;
+      return value;
+    }
+
+    @Override
+    public void skip(final Input in) {
+      in.skip(in.readLength());
+    }
+  }
+
+  private static final class DecimalCodec implements ValueCodec {
+
+    private final int scale;
+
+    DecimalCodec(final Schema schema) {
+      this.scale = DecimalUtil.scale(schema);
+    }
+
+    @Override
+    public void write(final Output out, final Object value) {
+      final BigDecimal decimal = (BigDecimal) value;
+      if (decimal.scale() != scale) {
+        throw new DataException("BigDecimal has mismatching scale value for given Decimal schema");
+      }
+
+      final byte[] unscaled = decimal.unscaledValue().toByteArray();
+      out.writeVarLong(unscaled.length);
+      out.writeBytes(unscaled, 0, unscaled.length);
+    }
+
+    @Override
+    public Object read(final Input in) {
+      final int length = in.readLength();
+      final BigInteger unscaled = new BigInteger(
+          Arrays.copyOfRange(in.buffer, in.pos, in.pos + length));
+      in.pos += length;
+      return new BigDecimal(unscaled, scale);
+    }
+
+    @Override
+    public void skip(final Input in) {
+      in.skip(in.readLength());
+    }
+  }
+
+  private static final class ArrayCodec implements ValueCodec {
+
+    private final ValueCodec elementCodec;
+
+    ArrayCodec(final ValueCodec elementCodec) {
+      this.elementCodec = elementCodec;
+    }
+
+    @Override
+    public void write(final Output out, final Object value) {
+      final Collection<?> elements = (Collection<?>) value;
+      out.writeVarLong(elements.size());
+
+      final int bitmap = out.reserveBitmap(elements.size());
+      int i = 0;
+      for (final Object element : elements) {
+        if (element != null) {
+          out.setBit(bitmap, i);
+          elementCodec.write(out, element);
+        }
+        i++;
+      }
+    }
+
+    @Override
+    public Object read(final Input in) {
+      final int size = in.readLength();
+      final int bitmap = in.readBitmap(size);
+
+      // Mutable, as aggregates such as COLLECT_LIST add to arrays read back from the store:
+      final List<Object> elements = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        elements.add(in.isSet(bitmap, i) ? elementCodec.read(in) : null);
+      }
+      return elements;
+    }
+
+    @Override
+    public void skip(final Input in) {
+      final int size = in.readLength();
+      final int bitmap = in.readBitmap(size);
+      for (int i = 0; i < size; i++) {
+        if (in.isSet(bitmap, i)) {
+          elementCodec.skip(in);
+        }
+      }
+    }
+  }
+
+  private static final class MapCodec implements ValueCodec {
+
+    private final ValueCodec keyCodec;
+    private final ValueCodec valueCodec;
+
+    MapCodec(final ValueCodec keyCodec, final ValueCodec valueCodec) {
+      this.keyCodec = keyCodec;
+      this.valueCodec = valueCodec;
+    }
+
+    @Override
+    public void write(final Output out, final Object value) {
+      final Map<?, ?> map = (Map<?, ?>) value;
+      out.writeVarLong(map.size());
+
+      final int keyBitmap = out.reserveBitmap(map.size());
+      final int valueBitmap = out.reserveBitmap(map.size());
+      int i = 0;
+      for (final Map.Entry<?, ?> entry : map.entrySet()) {
+        if (entry.getKey() != null) {
+          out.setBit(keyBitmap, i);
+          keyCodec.write(out, entry.getKey());
+        }
+        if (entry.getValue() != null) {
+          out.setBit(valueBitmap, i);
+          valueCodec.write(out, entry.getValue());
+        }
+        i++;
+      }
+    }
+
+    @Override
+    public Object read(final Input in) {
+      final int size = in.readLength();
+      final int keyBitmap = in.readBitmap(size);
+      final int valueBitmap = in.readBitmap(size);
+
+      final Map<Object, Object> map = new LinkedHashMap<>(size * 4 / 3 + 1);
+      for (int i = 0; i < size; i++) {
+        final Object key = in.isSet(keyBitmap, i) ? keyCodec.read(in) : null;
+        final Object value = in.isSet(valueBitmap, i) ? valueCodec.read(in) : null;
+        map.put(key, value);
+      }
+      return map;
+    }
+
+    @Override
+    public void skip(final Input in) {
+      final int size = in.readLength();
+      final int keyBitmap = in.readBitmap(size);
+      final int valueBitmap = in.readBitmap(size);
+      for (int i = 0; i < size; i++) {
+        if (in.isSet(keyBitmap, i)) {
+          keyCodec.skip(in);
+        }
+        if (in.isSet(valueBitmap, i)) {
+          valueCodec.skip(in);
+        }
+      }
+    }
+  }
+
+  private static final class StructCodec implements ValueCodec {
+
+    private final Schema schema;
+    private final List<Field> fields;
+    private final ValueCodec[] fieldCodecs;
+    private final boolean[] allFields;
+
+    StructCodec(final Schema schema) {
+      this.schema = schema;
+      this.fields = schema.fields();
+      this.fieldCodecs = fields.stream()
+          .map(field -> codec(field.schema()))
+          .toArray(ValueCodec[]::new);
+      this.allFields = new boolean[fieldCodecs.length];
+      Arrays.fill(allFields, true);
+    }
+
+    @Override
+    public void write(final Output out, final Object value) {
+      final Struct struct = (Struct) value;
+      writeFields(out, i -> struct.get(fields.get(i)));
+    }
+
+    void writeFields(final Output out, final IntFunction<Object> values) {
+      final int bitmap = out.reserveBitmap(fieldCodecs.length);
+      for (int i = 0; i < fieldCodecs.length; i++) {
+        final Object fieldValue = values.apply(i);
+        if (fieldValue != null) {
+          out.setBit(bitmap, i);
+          fieldCodecs[i].write(out, fieldValue);
+        }
+      }
+    }
+
+    @Override
+    public Object read(final Input in) {
+      final Object[] values = readFields(in, allFields);
+
+      final Struct struct = new Struct(schema);
+      for (int i = 0; i < values.length; i++) {
+        struct.put(fields.get(i), values[i]);
+      }
+      return struct;
+    }
+
+    Object[] readFields(final Input in, final boolean[] required) {
+      final int bitmap = in.readBitmap(fieldCodecs.length);
+
+      final Object[] values = new Object[fieldCodecs.length];
+      for (int i = 0; i < fieldCodecs.length; i++) {
+        if (!in.isSet(bitmap, i)) {
+          continue;
+        }
+
+        if (required[i]) {
+          values[i] = fieldCodecs[i].read(in);
+        } else {
+          fieldCodecs[i].skip(in);
+        }
+      }
+      return values;
+    }
+
+    @Override
+    public void skip(final Input in) {
+      final int bitmap = in.readBitmap(fieldCodecs.length);
+      for (int i = 0; i < fieldCodecs.length; i++) {
+        if (in.isSet(bitmap, i)) {
+          fieldCodecs[i].skip(in);
+        }
+      }
+    }
+  }
+
+  /**
+   * A growable, reusable output buffer.
+   */
+  static final class Output {
+
+    private byte[] buffer = new byte[256];
+    private int length;
+
+    void reset() {
+      length = 0;
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(buffer, length);
+    }
+
+    void writeByte(final int b) {
+      ensureCapacity(1);
+      buffer[length++] = (byte) b;
+    }
+
+    void writeBytes(final byte[] bytes, final int offset, final int count) {
+      ensureCapacity(count);
+      System.arraycopy(bytes, offset, buffer, length, count);
+      length += count;
+    }
+
+    void writeVarLong(final long value) {
+      ensureCapacity(10);
+
+      long v = value;
+      while ((v & ~0x7FL) != 0) {
+        buffer[length++] = (byte) ((v & 0x7F) | 0x80);
+        v >>>= 7;
+      }
+      buffer[length++] = (byte) v;
+    }
+
+    void writeLong(final long value) {
+      ensureCapacity(Long.BYTES);
+      for (int shift = 56; shift >= 0; shift -= 8) {
+        buffer[length++] = (byte) (value >>> shift);
+      }
+    }
+
+    void writeString(final String value) {
+      final int chars = value.length();
+      for (int i = 0; i < chars; i++) {
+        if (value.charAt(i) >= 0x80) {
+          // Non-ASCII, so let the JDK do the encoding:
+          final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+          writeVarLong(bytes.length);
+          writeBytes(bytes, 0, bytes.length);
+          return;
+        }
+      }
+
+      // ASCII, so one byte per char:
+      writeVarLong(chars);
+      ensureCapacity(chars);
+      for (int i = 0; i < chars; i++) {
+        buffer[length++] = (byte) value.charAt(i);
+      }
+    }
+
+    /**
+     * Reserve a zeroed bitmap with a bit per item.
+     *
+     * @return the offset of the bitmap.
+     */
+    int reserveBitmap(final int items) {
+      final int bytes = (items + 7) >>> 3;
+      ensureCapacity(bytes);
+      Arrays.fill(buffer, length, length + bytes, (byte) 0);
+
+      final int offset = length;
+      length += bytes;
+      return offset;
+    }
+
+    void setBit(final int bitmap, final int item) {
+      buffer[bitmap + (item >>> 3)] |= (byte) (1 << (item & 7));
+    }
+
+    private void ensureCapacity(final int required) {
+      if (length + required > buffer.length) {
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + required));
+      }
+    }
+  }
+
+  /**
+   * A cursor over serialized bytes.
+   */
+  static final class Input {
+
+    private final byte[] buffer;
+    private int pos;
+
+    Input(final byte[] buffer, final int offset) {
+      this.buffer = buffer;
+      this.pos = offset;
+    }
+
+    boolean isExhausted() {
+      return pos == buffer.length;
+    }
+
+    byte readByte() {
+      checkAvailable(1);
+      return buffer[pos++];
+    }
+
+    long readVarLong() {
+      long value = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        final byte b = readByte();
+        value |= (long) (b & 0x7F) << shift;
+        if (b >= 0) {
+          return value;
+        }
+      }
+      throw new DataException("Malformed varint");
+    }
+
+    int readLength() {
+      final long length = readVarLong();
+      if (length < 0 || length > buffer.length - pos) {
+        throw new DataException("Invalid length: " + length);
+      }
+      return (int) length;
+    }
+
+    long readLong() {
+      checkAvailable(Long.BYTES);
+      long value = 0;
+      for (int i = 0; i < Long.BYTES; i++) {
+        value = (value << 8) | (buffer[pos++] & 0xFF);
+      }
+      return value;
+    }
+
+    void skip(final int count) {
+      checkAvailable(count);
+      pos += count;
+    }
+
+    /**
+     * @return the offset of the bitmap.
+     */
+    int readBitmap(final int items) {
+      final int offset = pos;
+      skip((items + 7) >>> 3);
+      return offset;
+    }
+
+    boolean isSet(final int bitmap, final int item) {
+      return (buffer[bitmap + (item >>> 3)] & (1 << (item & 7))) != 0;
+    }
+
+    private void checkAvailable(final int count) {
+      if (count > buffer.length - pos) {
+        throw new DataException("Unexpected end of data");
+      }
+    }
+  }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.internal;
+
+import com.google.errorprone.annotations.Immutable;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.connect.SchemaWalker;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.serde.Format;
+import io.confluent.ksql.serde.KsqlSerdeFactory;
+import io.confluent.ksql.serde.internal.InternalValueCodec.Input;
+import io.confluent.ksql.serde.internal.InternalValueCodec.Output;
+import io.confluent.ksql.serde.tls.ThreadLocalSerializer;
+import io.confluent.ksql.serde.util.SerdeUtils;
+import io.confluent.ksql.util.DecimalUtil;
+import io.confluent.ksql.util.KsqlConfig;
+import io.confluent.ksql.util.KsqlException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.connect.data.Schema;
+
+/**
+ * Factory for serdes of the compact binary format KSQL uses for its internal topics.
+ *
+ * <p>See {@link InternalValueCodec} for details of the format. Serialized values are prefixed
+ * with a single version byte, allowing the format to evolve.
+ */
+@Immutable
+public class KsqlInternalSerdeFactory implements KsqlSerdeFactory {
+
+  private static final byte VERSION = 1;
+
+  @Override
+  public void validate(final PersistenceSchema schema) {
+    SchemaWalker.visit(schema.serializedSchema(), new SchemaValidator());
+  }
+
+  @Override
+  public Serde<Object> createSerde(
+      final PersistenceSchema schema,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory
+  ) {
+    final InternalValueCodec codec = new InternalValueCodec(schema.serializedSchema());
+
+    return Serdes.serdeFrom(
+        new ThreadLocalSerializer<>(() -> new ValueSerializer(codec)),
+        new ValueDeserializer(codec)
+    );
+  }
+
+  @Override
+  public Optional<Deserializer<GenericRow>> createRowDeserializer(
+      final PersistenceSchema schema,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
+      final Optional<Set<ColumnName>> requiredColumns
+  ) {
+    final InternalValueCodec codec = new InternalValueCodec(schema.serializedSchema());
+    final boolean[] required =
+        SerdeUtils.requiredFields(schema.serializedSchema(), requiredColumns);
+
+    return Optional.of(new RowDeserializer(codec, required));
+  }
+
+  @Override
+  public Optional<Serializer<GenericRow>> createRowSerializer(
+      final PersistenceSchema schema,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory
+  ) {
+    final InternalValueCodec codec = new InternalValueCodec(schema.serializedSchema());
+    final int fieldCount = schema.serializedSchema().fields().size();
+
+    return Optional.of(new ThreadLocalSerializer<>(() -> new RowSerializer(codec, fieldCount)));
+  }
+
+  private static Input input(final byte[] bytes) {
+    if (bytes.length == 0 || bytes[0] != VERSION) {
+      throw new SerializationException("Unsupported version of the "
+          + Format.INTERNAL + " format: " + (bytes.length == 0 ? "none" : bytes[0]));
+    }
+
+    return new Input(bytes, 1);
+  }
+
+  private static void throwIfTrailingBytes(final Input in) {
+    if (!in.isExhausted()) {
+      throw new SerializationException("Unexpected trailing bytes");
+    }
+  }
+
+  private static final class ValueSerializer implements Serializer<Object> {
+
+    private final InternalValueCodec codec;
+    private final Output out = new Output();
+
+    ValueSerializer(final InternalValueCodec codec) {
+      this.codec = codec;
+    }
+
+    @Override
+    public void configure(final Map<String, ?> configs, final boolean isKey) {
+    }
+
+    @Override
+    public byte[] serialize(final String topic, final Object value) {
+      if (value == null) {
+        return null;
+      }
+
+      try {
+        out.reset();
+        out.writeByte(VERSION);
+        codec.write(out, value);
+        return out.toByteArray();
+      } catch (final Exception e) {
+        throw new SerializationException("Error serializing message to topic: " + topic, e);
+      }
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  private static final class ValueDeserializer implements Deserializer<Object> {
+
+    private final InternalValueCodec codec;
+
+    ValueDeserializer(final InternalValueCodec codec) {
+      this.codec = codec;
+    }
+
+    @Override
+    public void configure(final Map<String, ?> configs, final boolean isKey) {
+    }
+
+    @Override
+    public Object deserialize(final String topic, final byte[] bytes) {
+      if (bytes == null) {
+        return null;
+      }
+
+      try {
+        final Input in = input(bytes);
+        final Object value = codec.read(in);
+        throwIfTrailingBytes(in);
+        return value;
+      } catch (final Exception e) {
+        throw new SerializationException("Error deserializing message from topic: " + topic, e);
+      }
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  private static final class RowSerializer implements Serializer<GenericRow> {
+
+    private final InternalValueCodec codec;
+    private final int fieldCount;
+    private final Output out = new Output();
+
+    RowSerializer(final InternalValueCodec codec, final int fieldCount) {
+      this.codec = codec;
+      this.fieldCount = fieldCount;
+    }
+
+    @Override
+    public void configure(final Map<String, ?> configs, final boolean isKey) {
+    }
+
+    @Override
+    public byte[] serialize(final String topic, final GenericRow row) {
+      if (row == null) {
+        return null;
+      }
+
+      if (row.size() != fieldCount) {
+        throw new SerializationException("Field count mismatch."
+            + " expected: " + fieldCount
+            + ", got: " + row.size()
+        );
+      }
+
+      try {
+        out.reset();
+        out.writeByte(VERSION);
+        codec.writeRow(out, row);
+        return out.toByteArray();
+      } catch (final Exception e) {
+        throw new SerializationException("Error serializing message to topic: " + topic, e);
+      }
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  private static final class RowDeserializer implements Deserializer<GenericRow> {
+
+    private final InternalValueCodec codec;
+    private final boolean[] required;
+
+    RowDeserializer(final InternalValueCodec codec, final boolean[] required) {
+      this.codec = codec;
+      this.required = required;
+    }
+
+    @Override
+    public void configure(final Map<String, ?> configs, final boolean isKey) {
+    }
+
+    @Override
+    public GenericRow deserialize(final String topic, final byte[] bytes) {
+      if (bytes == null) {
+        return null;
+      }
+
+      try {
+        final Input in = input(bytes);
+        final GenericRow row = codec.readRow(in, required);
+        throwIfTrailingBytes(in);
+        return row;
+      } catch (final Exception e) {
+        throw new SerializationException("Error deserializing message from topic: " + topic, e);
+      }
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  private static class SchemaValidator implements SchemaWalker.Visitor<Void, Void> {
+
+    public Void visitBoolean(final Schema schema) {
+      return null;
+    }
+
+    public Void visitInt32(final Schema schema) {
+      return null;
+    }
+
+    public Void visitInt64(final Schema schema) {
+      return null;
+    }
+
+    public Void visitFloat64(final Schema schema) {
+      return null;
+    }
+
+    public Void visitString(final Schema schema) {
+      return null;
+    }
+
+    public Void visitBytes(final Schema schema) {
+      if (!DecimalUtil.isDecimal(schema)) {
+        visitSchema(schema);
+      }
+      return null;
+    }
+
+    public Void visitArray(final Schema schema, final Void element) {
+      return null;
+    }
+
+    public Void visitMap(final Schema schema, final Void key, final Void value) {
+      return null;
+    }
+
+    public Void visitStruct(final Schema schema, final List<? extends Void> fields) {
+      return null;
+    }
+
+    public Void visitSchema(final Schema schema) {
+      throw new KsqlException("The '" + Format.INTERNAL
+          + "' format does not support type '" + schema.type().toString() + "'");
+    }
+  }
+}
@@ -0,0 +1,549 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonParser.NumberType;
+import com.fasterxml.jackson.core.JsonToken;
+import com.google.gson.Gson;
+import io.confluent.ksql.schema.connect.SqlSchemaFormatter;
+import io.confluent.ksql.util.KsqlException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+
+/**
+ * Reads JSON values from a streaming parser, coercing them to a schema as they are read.
+ *
+ * <p>Values are coerced exactly as they would be if the JSON were first converted by Connect's
+ * schemaless {@code JsonConverter}, i.e. JSON integers are treated as {@code Long}, other JSON
+ * numbers as {@code Double}, arrays as lists and objects as maps, but without building those
+ * intermediate values unless the coercion needs them.
+ *
+ * <p>Struct field names are matched case-insensitively, via field tables built for every struct
+ * in the schema on construction. At the top level, a leading {@code @} is dropped from a field
+ * name before matching.
+ *
+ * <p>Instances are thread safe.
+ */
+final class JsonValueReader {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  private static final SqlSchemaFormatter FORMATTER = new SqlSchemaFormatter(word -> false);
+
+  private final Gson gson = new Gson();
+  private final Map<Schema, Map<String, Field>> structFields;
+  private final Set<Schema> lenientContainers;
+
+  JsonValueReader(final Schema schema) {
+    final Map<Schema, Map<String, Field>> fields = new IdentityHashMap<>();
+    buildFieldTables(schema, fields);
+    this.structFields = fields;
+
+    final Set<Schema> lenient = Collections.newSetFromMap(new IdentityHashMap<>());
+    findLenientContainers(schema, lenient);
+    this.lenientContainers = lenient;
+  }
+
+  /**
+   * Create a parser positioned at the first token of {@code bytes}.
+   *
+   * @param bytes the serialized JSON.
+   * @return the parser, or {@code null} if the bytes contain no JSON value.
+   */
+  static JsonParser parse(final byte[] bytes) throws IOException {
+    final JsonParser parser = JSON_FACTORY.createParser(bytes);
+    if (parser.nextToken() == null) {
+      parser.close();
+      return null;
+    }
+    return parser;
+  }
+
+  /**
+   * Read the value at the parser's current token.
+   *
+   * @param parser the parser.
+   * @param schema the schema to coerce the value to.
+   * @param topLevel whether the value is the top level value of the message.
+   * @return the coerced value.
+   */
+  Object read(
+      final JsonParser parser,
+      final Schema schema,
+      final boolean topLevel
+  ) throws IOException {
+    final JsonToken token = parser.currentToken();
+    if (token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+
+    switch (schema.type()) {
+      case BOOLEAN:
+        return readBoolean(parser, token);
+      case INT32:
+        return readInt(parser, token);
+      case INT64:
+        return readLong(parser, token);
+      case FLOAT64:
+        return readDouble(parser, token);
+      case STRING:
+        return readString(parser, token);
+      case ARRAY:
+        return readArray(parser, token, schema);
+      case MAP:
+        return readMap(parser, token, schema);
+      case STRUCT:
+        return readStruct(parser, token, schema, topLevel);
+      case BYTES:
+        // before we implement JSON Decimal support, we need to update Connect
+        throw invalidConversionException(readGeneric(parser), schema);
+      default:
+        throw new KsqlException("Type is not supported: " + schema.type());
+    }
+  }
+
+  /**
+   * Read the fields of the JSON object at the parser's current token into {@code values}, at the
+   * index of each field in {@code schema}. Fields not in the schema are skipped.
+   *
+   * @param parser the parser.
+   * @param schema the struct schema.
+   * @param topLevel whether the object is the top level value of the message.
+   * @param values the array to write the coerced values to.
+   */
+  void readFields(
+      final JsonParser parser,
+      final Schema schema,
+      final boolean topLevel,
+      final Object[] values
+  ) throws IOException {
+    readFields(parser, schema, structFields.get(schema), topLevel, values);
+  }
+
+  /**
+   * Read the fields of the JSON object at the parser's current token into {@code values}, at the
+   * index of each field in {@code schema}. Fields not in {@code fields} are skipped without
+   * being coerced.
+   *
+   * @param parser the parser.
+   * @param schema the struct schema.
+   * @param fields the field table to read, as built by {@link #fieldTable}.
+   * @param topLevel whether the object is the top level value of the message.
+   * @param values the array to write the coerced values to.
+   */
+  void readFields(
+      final JsonParser parser,
+      final Schema schema,
+      final Map<String, Field> fields,
+      final boolean topLevel,
+      final Object[] values
+  ) throws IOException {
+    final JsonToken token = parser.currentToken();
+    if (token != JsonToken.START_OBJECT) {
+      throw invalidConversionException(readGeneric(parser), schema);
+    }
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final Field field = fields.get(fieldName(parser.getCurrentName(), topLevel));
+      parser.nextToken();
+
+      if (field == null) {
+        parser.skipChildren();
+      } else {
+        values[field.index()] = read(parser, field.schema(), false);
+      }
+    }
+  }
+
+  /**
+   * Scan the fields of the JSON object at the parser's current token, deferring the coercion of
+   * those fields whose coercion can not fail.
+   *
+   * <p>The byte offset of each deferred field's value is written to {@code offsets}, from where
+   * it can later be read by {@link #readAt}. Other fields are coerced as they are scanned and
+   * written to {@code values}, with an offset of {@code -1}. Hence, any coercion error is thrown
+   * by the scan, just as it would be by {@link #readFields}. Fields not in {@code fields} are
+   * skipped, leaving their offset unchanged.
+   *
+   * <p>The parser must have been created by {@link #parse}, so that token offsets are relative
+   * to the start of the serialized bytes.
+   *
+   * @param parser the parser.
+   * @param schema the struct schema.
+   * @param fields the field table to read, as built by {@link #fieldTable}.
+   * @param topLevel whether the object is the top level value of the message.
+   * @param values the array to write the coerced values to.
+   * @param offsets the array to write the offsets of the deferred values to.
+   * @return the number of deferred fields.
+   */
+  int scanFields(
+      final JsonParser parser,
+      final Schema schema,
+      final Map<String, Field> fields,
+      final boolean topLevel,
+      final Object[] values,
+      final int[] offsets
+  ) throws IOException {
+    final JsonToken token = parser.currentToken();
+    if (token != JsonToken.START_OBJECT) {
+      throw invalidConversionException(readGeneric(parser), schema);
+    }
+
+    int deferred = 0;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final Field field = fields.get(fieldName(parser.getCurrentName(), topLevel));
+      final JsonToken valueToken = parser.nextToken();
+
+      if (field == null) {
+        parser.skipChildren();
+        continue;
+      }
+
+      final int index = field.index();
+      if (canDefer(valueToken, field.schema())) {
+        if (offsets[index] < 0) {
+          deferred++;
+        }
+        offsets[index] = (int) parser.getTokenLocation().getByteOffset();
+        values[index] = null;
+        parser.skipChildren();
+      } else {
+        if (offsets[index] >= 0) {
+          deferred--;
+        }
+        offsets[index] = -1;
+        values[index] = read(parser, field.schema(), false);
+      }
+    }
+    return deferred;
+  }
+
+  /**
+   * Read the value starting at {@code offset} in {@code bytes}, as recorded by
+   * {@link #scanFields}.
+   *
+   * @param bytes the serialized JSON.
+   * @param offset the offset of the value.
+   * @param schema the schema to coerce the value to.
+   * @return the coerced value.
+   */
+  Object readAt(final byte[] bytes, final int offset, final Schema schema) throws IOException {
+    try (JsonParser parser = JSON_FACTORY.createParser(bytes, offset, bytes.length - offset)) {
+      parser.nextToken();
+      return read(parser, schema, false);
+    }
+  }
+
+  /**
+   * Build a field table for a struct schema, containing only the required fields.
+   *
+   * @param schema the struct schema.
+   * @param required an element per field, {@code true} if the field should be in the table.
+   * @return the field table.
+   */
+  static Map<String, Field> fieldTable(final Schema schema, final boolean[] required) {
+    final Map<String, Field> fields = new HashMap<>();
+    for (final Field field : schema.fields()) {
+      if (required[field.index()]) {
+        fields.put(field.name().toUpperCase(), field);
+      }
+    }
+    return fields;
+  }
+
+  /**
+   * Only strings and containers are worth deferring, as it is their decoding that allocates.
+   * Numbers are never deferred, as the parser does not accept a number at the root level
+   * unless followed by whitespace.
+   *
+   * @return {@code true} if the value at {@code token} can be coerced to {@code schema} without
+   *     error, and is worth deferring.
+   */
+  private boolean canDefer(final JsonToken token, final Schema schema) {
+    switch (schema.type()) {
+      case STRING:
+        return token == JsonToken.VALUE_STRING
+            || token == JsonToken.START_ARRAY
+            || token == JsonToken.START_OBJECT;
+      case ARRAY:
+        return token == JsonToken.START_ARRAY && lenientContainers.contains(schema);
+      case MAP:
+      case STRUCT:
+        return token == JsonToken.START_OBJECT && lenientContainers.contains(schema);
+      default:
+        return false;
+    }
+  }
+
+  private static Boolean readBoolean(
+      final JsonParser parser,
+      final JsonToken token
+  ) throws IOException {
+    switch (token) {
+      case VALUE_TRUE:
+        return true;
+      case VALUE_FALSE:
+        return false;
+      default:
+        return JsonSerdeUtils.toBoolean(readGeneric(parser));
+    }
+  }
+
+  private static Integer readInt(
+      final JsonParser parser,
+      final JsonToken token
+  ) throws IOException {
+    switch (token) {
+      case VALUE_NUMBER_INT:
+        return (int) readIntegral(parser);
+      case VALUE_NUMBER_FLOAT:
+        return (int) parser.getDoubleValue();
+      default:
+        return JsonSerdeUtils.toInteger(readGeneric(parser));
+    }
+  }
+
+  private static Long readLong(
+      final JsonParser parser,
+      final JsonToken token
+  ) throws IOException {
+    switch (token) {
+      case VALUE_NUMBER_INT:
+        return readIntegral(parser);
+      case VALUE_NUMBER_FLOAT:
+        return (long) parser.getDoubleValue();
+      default:
+        return JsonSerdeUtils.toLong(readGeneric(parser));
+    }
+  }
+
+  private static Double readDouble(
+      final JsonParser parser,
+      final JsonToken token
+  ) throws IOException {
+    switch (token) {
+      case VALUE_NUMBER_INT:
+        return (double) readIntegral(parser);
+      case VALUE_NUMBER_FLOAT:
+        return parser.getDoubleValue();
+      default:
+        return JsonSerdeUtils.toDouble(readGeneric(parser));
+    }
+  }
+
+  private String readString(
+      final JsonParser parser,
+      final JsonToken token
+  ) throws IOException {
+    switch (token) {
+      case VALUE_STRING:
+        return parser.getText();
+      case START_OBJECT:
+        return gson.toJson(readGeneric(parser));
+      default:
+        return readGeneric(parser).toString();
+    }
+  }
+
+  private List<?> readArray(
+      final JsonParser parser,
+      final JsonToken token,
+      final Schema schema
+  ) throws IOException {
+    if (token != JsonToken.START_ARRAY) {
+      throw invalidConversionException(readGeneric(parser), schema);
+    }
+
+    final Schema elementSchema = schema.valueSchema();
+    final List<Object> array = new ArrayList<>();
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      array.add(read(parser, elementSchema, false));
+    }
+    return array;
+  }
+
+  private Map<String, Object> readMap(
+      final JsonParser parser,
+      final JsonToken token,
+      final Schema schema
+  ) throws IOException {
+    if (token != JsonToken.START_OBJECT) {
+      throw invalidConversionException(readGeneric(parser), schema);
+    }
+
+    final Schema valueSchema = schema.valueSchema();
+    final Map<String, Object> map = new HashMap<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String key = parser.getCurrentName();
+      parser.nextToken();
+      map.put(key, read(parser, valueSchema, false));
+    }
+    return map;
+  }
+
+  private Struct readStruct(
+      final JsonParser parser,
+      final JsonToken token,
+      final Schema schema,
+      final boolean topLevel
+  ) throws IOException {
+    if (token != JsonToken.START_OBJECT) {
+      throw invalidConversionException(readGeneric(parser), schema);
+    }
+
+    final List<Field> fields = schema.fields();
+    final Object[] values = new Object[fields.size()];
+    readFields(parser, schema, topLevel, values);
+
+    final Struct struct = new Struct(schema);
+    for (int i = 0; i < values.length; i++) {
+      struct.put(fields.get(i), values[i]);
+    }
+    return struct;
+  }
+
+  /**
+   * Read the value at the current token as Connect's schemaless {@code JsonConverter} would.
+   */
+  private static Object readGeneric(final JsonParser parser) throws IOException {
+    switch (parser.currentToken()) {
+      case VALUE_NULL:
+        return null;
+      case VALUE_TRUE:
+        return Boolean.TRUE;
+      case VALUE_FALSE:
+        return Boolean.FALSE;
+      case VALUE_NUMBER_INT:
+        return readIntegral(parser);
+      case VALUE_NUMBER_FLOAT:
+        return parser.getDoubleValue();
+      case VALUE_STRING:
+        return parser.getText();
+      case START_ARRAY:
+        final List<Object> list = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+          list.add(readGeneric(parser));
+        }
+        return list;
+      case START_OBJECT:
+        final Map<String, Object> map = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          final String key = parser.getCurrentName();
+          parser.nextToken();
+          map.put(key, readGeneric(parser));
+        }
+        return map;
+      default:
+        throw new KsqlException("Unexpected JSON token: " + parser.currentToken());
+    }
+  }
+
+  private static long readIntegral(final JsonParser parser) throws IOException {
+    return parser.getNumberType() == NumberType.BIG_INTEGER
+        ? parser.getBigIntegerValue().longValue()
+        : parser.getLongValue();
+  }
+
+  private static String fieldName(final String name, final boolean omitAt) {
+    if (omitAt && name.startsWith("@")) {
+      if (name.length() == 1) {
+        throw new KsqlException("Field name cannot be '@'.");
+      }
+      return name.substring(1).toUpperCase();
+    }
+    return name.toUpperCase();
+  }
+
+  private static void buildFieldTables(
+      final Schema schema,
+      final Map<Schema, Map<String, Field>> tables
+  ) {
+    switch (schema.type()) {
+      case STRUCT:
+        if (tables.containsKey(schema)) {
+          return;
+        }
+        final Map<String, Field> fields = new HashMap<>();
+        tables.put(schema, fields);
+        for (final Field field : schema.fields()) {
+          fields.put(field.name().toUpperCase(), field);
+          buildFieldTables(field.schema(), tables);
+        }
+        break;
+      case ARRAY:
+      case MAP:
+        buildFieldTables(schema.valueSchema(), tables);
+        break;
+      default:
+        break;
+    }
+  }
+
+  private static void findLenientContainers(final Schema schema, final Set<Schema> lenient) {
+    if (isLenientContainer(schema)) {
+      lenient.add(schema);
+    }
+
+    switch (schema.type()) {
+      case ARRAY:
+      case MAP:
+        findLenientContainers(schema.valueSchema(), lenient);
+        break;
+      case STRUCT:
+        schema.fields().forEach(field -> findLenientContainers(field.schema(), lenient));
+        break;
+      default:
+        break;
+    }
+  }
+
+  /**
+   * A container is lenient if it only contains strings, as any JSON value can be coerced to a
+   * string.
+   */
+  private static boolean isLenientContainer(final Schema schema) {
+    switch (schema.type()) {
+      case ARRAY:
+      case MAP:
+        return schema.valueSchema().type() == Schema.Type.STRING;
+      case STRUCT:
+        return schema.fields().stream()
+            .allMatch(field -> field.schema().type() == Schema.Type.STRING);
+      default:
+        return false;
+    }
+  }
+
+  private static IllegalArgumentException invalidConversionException(
+      final Object value,
+      final Schema schema
+  ) {
+    throw JsonSerdeUtils.invalidConversionException(
+        value,
+        FORMATTER.format(schema)
+    );
+  }
+}
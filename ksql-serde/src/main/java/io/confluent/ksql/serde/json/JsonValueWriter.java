@@ -0,0 +1,263 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import io.confluent.ksql.GenericRow;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Schema.Type;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.DataException;
+
+/**
+ * Writes values to a streaming generator as JSON.
+ *
+ * <p>The output, and any errors, are the same as Connect's schemaless {@code JsonConverter}
+ * produces for the same values, but without building an intermediate {@code JsonNode} tree.
+ *
+ * <p>A writer is compiled for every schema in the schema on construction, with struct field
+ * names encoded once, so that writing a value or row requires no per-value type dispatch.
+ *
+ * <p>Instances are thread safe.
+ */
+final class JsonValueWriter {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private final ValueWriter valueWriter;
+  private final SerializedString[] fieldNames;
+  private final ValueWriter[] fieldWriters;
+
+  JsonValueWriter(final Schema schema) {
+    this.valueWriter = writer(schema);
+
+    final List<Field> fields = schema.type() == Type.STRUCT
+        ? schema.fields()
+        : Collections.emptyList();
+
+    this.fieldNames = new SerializedString[fields.size()];
+    this.fieldWriters = new ValueWriter[fields.size()];
+
+    for (int i = 0; i < fields.size(); i++) {
+      fieldNames[i] = new SerializedString(fields.get(i).name());
+      fieldWriters[i] = writer(fields.get(i).schema());
+    }
+  }
+
+  /**
+   * Create a generator that writes to {@code out}.
+   *
+   * @param out the stream to write to.
+   * @return the generator.
+   */
+  static JsonGenerator generator(final OutputStream out) throws IOException {
+    return JSON_FACTORY.createGenerator(out);
+  }
+
+  /**
+   * Write a value of the writer's schema.
+   *
+   * @param generator the generator.
+   * @param value the value, which may be {@code null}.
+   */
+  void writeValue(final JsonGenerator generator, final Object value) throws IOException {
+    valueWriter.write(generator, value);
+  }
+
+  /**
+   * Write a row as a JSON object.
+   *
+   * @param generator the generator.
+   * @param row the row, which must have a value per field in the row schema.
+   */
+  void writeRow(final JsonGenerator generator, final GenericRow row) throws IOException {
+    generator.writeStartObject();
+    for (int i = 0; i < fieldWriters.length; i++) {
+      generator.writeFieldName(fieldNames[i]);
+      fieldWriters[i].write(generator, row.get(i));
+    }
+    generator.writeEndObject();
+  }
+
+  @FunctionalInterface
+  private interface NonNullWriter {
+
+    void write(JsonGenerator generator, Object value) throws IOException;
+  }
+
+  private static final class ValueWriter {
+
+    private final Schema schema;
+    private final NonNullWriter writer;
+
+    ValueWriter(final Schema schema, final NonNullWriter writer) {
+      this.schema = schema;
+      this.writer = writer;
+    }
+
+    void write(final JsonGenerator generator, final Object value) throws IOException {
+      if (value == null) {
+        if (schema.defaultValue() != null) {
+          write(generator, schema.defaultValue());
+          return;
+        }
+
+        if (!schema.isOptional()) {
+          throw new DataException(
+              "Conversion error: null value for field that is required and has no default value");
+        }
+
+        generator.writeNull();
+        return;
+      }
+
+      try {
+        writer.write(generator, value);
+      } catch (final ClassCastException e) {
+        throw new DataException("Invalid type for " + schema.type() + ": " + value.getClass());
+      }
+    }
+  }
+
+  // CHECKSTYLE_RULES.OFF: CyclomaticComplexity
+  private static ValueWriter writer(final Schema schema) {
+    // CHECKSTYLE_RULES.ON: CyclomaticComplexity
+    switch (schema.type()) {
+      case BOOLEAN:
+        return new ValueWriter(schema, (gen, value) -> gen.writeBoolean((Boolean) value));
+      case INT8:
+        return new ValueWriter(schema, (gen, value) -> gen.writeNumber((Byte) value));
+      case INT16:
+        return new ValueWriter(schema, (gen, value) -> gen.writeNumber((Short) value));
+      case INT32:
+        return new ValueWriter(schema, (gen, value) -> gen.writeNumber((Integer) value));
+      case INT64:
+        return new ValueWriter(schema, (gen, value) -> gen.writeNumber((Long) value));
+      case FLOAT32:
+        return new ValueWriter(schema, (gen, value) -> gen.writeNumber((Float) value));
+      case FLOAT64:
+        return new ValueWriter(schema, (gen, value) -> gen.writeNumber((Double) value));
+      case STRING:
+        return new ValueWriter(schema, (gen, value) -> gen.writeString((String) value));
+      case BYTES:
+        return bytesWriter(schema);
+      case ARRAY:
+        return arrayWriter(schema);
+      case MAP:
+        return mapWriter(schema);
+      case STRUCT:
+        return structWriter(schema);
+      default:
+        throw new IllegalArgumentException("Type is not supported: " + schema.type());
+    }
+  }
+
+  private static ValueWriter bytesWriter(final Schema schema) {
+    if (Decimal.LOGICAL_NAME.equals(schema.name())) {
+      return new ValueWriter(schema, (gen, value) ->
+          gen.writeBinary(Decimal.fromLogical(schema, (BigDecimal) value)));
+    }
+
+    return new ValueWriter(schema, (gen, value) -> {
+      if (value instanceof byte[]) {
+        gen.writeBinary((byte[]) value);
+      } else if (value instanceof ByteBuffer) {
+        gen.writeBinary(((ByteBuffer) value).array());
+      } else {
+        throw new DataException("Invalid type for bytes type: " + value.getClass());
+      }
+    });
+  }
+
+  private static ValueWriter arrayWriter(final Schema schema) {
+    final ValueWriter elementWriter = writer(schema.valueSchema());
+
+    return new ValueWriter(schema, (gen, value) -> {
+      gen.writeStartArray();
+      for (final Object element : (Collection<?>) value) {
+        elementWriter.write(gen, element);
+      }
+      gen.writeEndArray();
+    });
+  }
+
+  private static ValueWriter mapWriter(final Schema schema) {
+    final Schema keySchema = schema.keySchema();
+    final ValueWriter valueWriter = writer(schema.valueSchema());
+
+    return new ValueWriter(schema, (gen, value) -> {
+      gen.writeStartObject();
+      for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        gen.writeFieldName(fieldName(keySchema, entry.getKey()));
+        valueWriter.write(gen, entry.getValue());
+      }
+      gen.writeEndObject();
+    });
+  }
+
+  private static ValueWriter structWriter(final Schema schema) {
+    final List<Field> fields = schema.fields();
+    final SerializedString[] names = new SerializedString[fields.size()];
+    final ValueWriter[] writers = new ValueWriter[fields.size()];
+
+    for (int i = 0; i < fields.size(); i++) {
+      names[i] = new SerializedString(fields.get(i).name());
+      writers[i] = writer(fields.get(i).schema());
+    }
+
+    return new ValueWriter(schema, (gen, value) -> {
+      final Struct struct = (Struct) value;
+      if (struct.schema() != schema && !struct.schema().equals(schema)) {
+        throw new DataException("Mismatching schema.");
+      }
+
+      gen.writeStartObject();
+      for (int i = 0; i < writers.length; i++) {
+        gen.writeFieldName(names[i]);
+        writers[i].write(gen, struct.get(fields.get(i)));
+      }
+      gen.writeEndObject();
+    });
+  }
+
+  private static String fieldName(final Schema keySchema, final Object key) {
+    if (key == null) {
+      if (!keySchema.isOptional()) {
+        throw new DataException(
+            "Conversion error: null value for field that is required and has no default value");
+      }
+      return "null";
+    }
+
+    if (!(key instanceof String)) {
+      throw new DataException("Invalid type for STRING: " + key.getClass());
+    }
+
+    return (String) key;
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.serde.util.SerdeUtils;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deserializes a JSON object directly into a {@link GenericRow}.
+ *
+ * <p>Coerces values exactly as {@link KsqlJsonDeserializer} does, but writes each top level
+ * field straight into its slot in the row, rather than building a {@code Struct} that must then
+ * be copied into a row.
+ *
+ * <p>If only some of the columns are required, the others are skipped by the parser without
+ * being coerced, and left {@code null} in the row.
+ *
+ * <p>If lazy, the deserializer returns a {@link GenericRow#lazy lazy} row, deferring the
+ * coercion of each column whose coercion can not fail until it is first accessed. The message
+ * is still fully parsed, and any other column coerced, on deserialization. Hence, malformed
+ * messages are rejected just as they are when not lazy.
+ */
+public class KsqlJsonRowDeserializer implements Deserializer<GenericRow> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(KsqlJsonRowDeserializer.class);
+
+  private final Schema schema;
+  private final JsonValueReader reader;
+  private final Map<String, Field> fields;
+  private final boolean lazy;
+
+  KsqlJsonRowDeserializer(final PersistenceSchema physicalSchema) {
+    this(physicalSchema, Optional.empty(), false);
+  }
+
+  KsqlJsonRowDeserializer(
+      final PersistenceSchema physicalSchema,
+      final Optional<Set<ColumnName>> requiredColumns,
+      final boolean lazy
+  ) {
+    if (physicalSchema.isUnwrapped()) {
+      throw new IllegalArgumentException("Unwrapped schemas are not supported");
+    }
+
+    this.schema = JsonSerdeUtils.validateSchema(physicalSchema).serializedSchema();
+    this.reader = new JsonValueReader(schema);
+    this.fields = JsonValueReader.fieldTable(
+        schema,
+        SerdeUtils.requiredFields(schema, requiredColumns)
+    );
+    this.lazy = lazy;
+  }
+
+  @Override
+  public void configure(final Map<String, ?> map, final boolean isKey) {
+  }
+
+  @Override
+  public GenericRow deserialize(final String topic, final byte[] bytes) {
+    try {
+      final GenericRow row = doDeserialize(topic, bytes);
+      if (LOG.isTraceEnabled()) {
+        LOG.trace("Deserialized row. topic:{}, row:{}", topic, row);
+      }
+      return row;
+    } catch (final Exception e) {
+      throw new SerializationException(
+          "Error deserializing JSON message from topic: " + topic, e);
+    }
+  }
+
+  private GenericRow doDeserialize(final String topic, final byte[] bytes) throws IOException {
+    if (bytes == null) {
+      return null;
+    }
+
+    try (JsonParser parser = JsonValueReader.parse(bytes)) {
+      if (parser == null || parser.currentToken() == JsonToken.VALUE_NULL) {
+        return null;
+      }
+
+      final Object[] values = new Object[schema.fields().size()];
+      if (!lazy) {
+        reader.readFields(parser, schema, fields, true, values);
+        return new GenericRow(values);
+      }
+
+      final int[] offsets = new int[values.length];
+      Arrays.fill(offsets, -1);
+
+      if (reader.scanFields(parser, schema, fields, true, values, offsets) == 0) {
+        return new GenericRow(values);
+      }
+
+      return GenericRow.lazy(
+          values.length,
+          new LazyColumns(reader, schema.fields(), topic, bytes, values, offsets)
+      );
+    }
+  }
+
+  @Override
+  public void close() {
+  }
+
+  /**
+   * Decodes the columns of a single message, from the offsets recorded when it was scanned.
+   */
+  private static final class LazyColumns implements GenericRow.ColumnDecoder {
+
+    private final JsonValueReader reader;
+    private final List<Field> fields;
+    private final String topic;
+    private final byte[] bytes;
+    private final Object[] values;
+    private final int[] offsets;
+
+    LazyColumns(
+        final JsonValueReader reader,
+        final List<Field> fields,
+        final String topic,
+        final byte[] bytes,
+        final Object[] values,
+        final int[] offsets
+    ) {
+      this.reader = reader;
+      this.fields = fields;
+      this.topic = topic;
+      this.bytes = bytes;
+      this.values = values;
+      this.offsets = offsets;
+    }
+
+    @Override
+    public Object decode(final int index) {
+      final int offset = offsets[index];
+      if (offset < 0) {
+        return values[index];
+      }
+
+      try {
+        return reader.readAt(bytes, offset, fields.get(index).schema());
+      } catch (final Exception e) {
+        throw new SerializationException(
+            "Error deserializing JSON message from topic: " + topic, e);
+      }
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import java.util.Map;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.connect.data.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serializes a {@link GenericRow} directly as a JSON object.
+ *
+ * <p>Produces the same JSON as {@link KsqlJsonSerializer} does for the equivalent {@code Struct},
+ * but writes the row's columns straight to a streaming generator, rather than first copying them
+ * into a {@code Struct}.
+ *
+ * <p>Instances reuse an output buffer between rows, so are not thread safe.
+ */
+public class KsqlJsonRowSerializer implements Serializer<GenericRow> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(KsqlJsonRowSerializer.class);
+
+  private final int fieldCount;
+  private final JsonValueWriter writer;
+  private final ByteArrayBuilder buffer = new ByteArrayBuilder();
+
+  KsqlJsonRowSerializer(final PersistenceSchema physicalSchema) {
+    if (physicalSchema.isUnwrapped()) {
+      throw new IllegalArgumentException("Unwrapped schemas are not supported");
+    }
+
+    final Schema schema = JsonSerdeUtils.validateSchema(physicalSchema).serializedSchema();
+    this.fieldCount = schema.fields().size();
+    this.writer = new JsonValueWriter(schema);
+  }
+
+  @Override
+  public void configure(final Map<String, ?> props, final boolean isKey) {
+  }
+
+  @Override
+  public byte[] serialize(final String topic, final GenericRow row) {
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("Serializing row. topic:{}, row:{}", topic, row);
+    }
+
+    if (row == null) {
+      return null;
+    }
+
+    if (row.size() != fieldCount) {
+      throw new SerializationException("Field count mismatch."
+          + " expected: " + fieldCount
+          + ", got: " + row.size()
+      );
+    }
+
+    try {
+      buffer.reset();
+
+      try (JsonGenerator generator = JsonValueWriter.generator(buffer)) {
+        writer.writeRow(generator, row);
+      }
+
+      return buffer.toByteArray();
+    } catch (final Exception e) {
+      throw new SerializationException("Error serializing JSON message for topic: " + topic, e);
+    }
+  }
+
+  @Override
+  public void close() {
+  }
+}
@@ -17,12 +17,19 @@ package io.confluent.ksql.serde.json;
 
 import com.google.errorprone.annotations.Immutable;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.serde.KsqlSerdeFactory;
+import io.confluent.ksql.serde.tls.ThreadLocalSerializer;
 import io.confluent.ksql.util.KsqlConfig;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.Serializer;
 
 @Immutable
 public class KsqlJsonSerdeFactory implements KsqlSerdeFactory {
@@ -38,9 +45,43 @@ public class KsqlJsonSerdeFactory implements KsqlSerdeFactory {
       final KsqlConfig ksqlConfig,
       final Supplier<SchemaRegistryClient> schemaRegistryClientFactory
   ) {
+    final Supplier<Serializer<Object>> serializerSupplier = () -> new KsqlJsonSerializer(schema);
+
+    // Sanity check:
+    serializerSupplier.get();
+
     return Serdes.serdeFrom(
-        new KsqlJsonSerializer(schema),
+        new ThreadLocalSerializer<>(serializerSupplier),
         new KsqlJsonDeserializer(schema)
     );
   }
+
+  @Override
+  public Optional<Deserializer<GenericRow>> createRowDeserializer(
+      final PersistenceSchema schema,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory,
+      final Optional<Set<ColumnName>> requiredColumns
+  ) {
+    return Optional.of(new KsqlJsonRowDeserializer(
+        schema,
+        requiredColumns,
+        ksqlConfig.getBoolean(KsqlConfig.KSQL_LAZY_DESERIALIZATION)
+    ));
+  }
+
+  @Override
+  public Optional<Serializer<GenericRow>> createRowSerializer(
+      final PersistenceSchema schema,
+      final KsqlConfig ksqlConfig,
+      final Supplier<SchemaRegistryClient> schemaRegistryClientFactory
+  ) {
+    final Supplier<Serializer<GenericRow>> serializerSupplier =
+        () -> new KsqlJsonRowSerializer(schema);
+
+    // Sanity check:
+    serializerSupplier.get();
+
+    return Optional.of(new ThreadLocalSerializer<>(serializerSupplier));
+  }
 }
@@ -15,26 +15,33 @@
 
 package io.confluent.ksql.serde.json;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
-import java.util.Collections;
 import java.util.Map;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.serialization.Serializer;
-import org.apache.kafka.connect.json.JsonConverter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Serializes a value as JSON.
+ *
+ * <p>Produces the same JSON as Connect's schemaless {@code JsonConverter}, but writes the value
+ * straight to a streaming generator backed by a reused output buffer.
+ *
+ * <p>Instances reuse an output buffer between values, so are not thread safe.
+ */
 public class KsqlJsonSerializer implements Serializer<Object> {
 
   private static final Logger LOG = LoggerFactory.getLogger(KsqlJsonSerializer.class);
 
-  private final PersistenceSchema physicalSchema;
-  private final JsonConverter jsonConverter;
+  private final JsonValueWriter writer;
+  private final ByteArrayBuilder buffer = new ByteArrayBuilder();
 
   public KsqlJsonSerializer(final PersistenceSchema physicalSchema) {
-    this.jsonConverter = new JsonConverter();
-    this.jsonConverter.configure(Collections.singletonMap("schemas.enable", false), false);
-    this.physicalSchema = JsonSerdeUtils.validateSchema(physicalSchema);
+    this.writer = new JsonValueWriter(
+        JsonSerdeUtils.validateSchema(physicalSchema).serializedSchema());
   }
 
   @Override
@@ -52,7 +59,13 @@ public class KsqlJsonSerializer implements Serializer<Object> {
     }
 
     try {
-      return jsonConverter.fromConnectData(topic, physicalSchema.serializedSchema(), data);
+      buffer.reset();
+
+      try (JsonGenerator generator = JsonValueWriter.generator(buffer)) {
+        writer.writeValue(generator, data);
+      }
+
+      return buffer.toByteArray();
     } catch (final Exception e) {
       throw new SerializationException("Error serializing JSON message for topic: " + topic, e);
     }
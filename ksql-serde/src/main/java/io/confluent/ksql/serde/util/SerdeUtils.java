@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.util;
+
+import io.confluent.ksql.name.ColumnName;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+
+public final class SerdeUtils {
+
+  private SerdeUtils() {
+  }
+
+  /**
+   * Determine which fields of a row schema must be deserialized.
+   *
+   * @param schema the struct schema of the row.
+   * @param requiredColumns the required columns, or {@code Optional.empty()} if all are required.
+   * @return an array with an element per field, {@code true} if the field is required.
+   */
+  public static boolean[] requiredFields(
+      final Schema schema,
+      final Optional<Set<ColumnName>> requiredColumns
+  ) {
+    final List<Field> fields = schema.fields();
+    final boolean[] required = new boolean[fields.size()];
+    for (int i = 0; i < required.length; i++) {
+      required[i] = !requiredColumns.isPresent()
+          || requiredColumns.get().contains(ColumnName.of(fields.get(i).name()));
+    }
+    return required;
+  }
+}
@@ -19,21 +19,26 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.logging.processing.ProcessingLogContext;
 import io.confluent.ksql.logging.processing.ProcessingLogger;
 import io.confluent.ksql.logging.processing.ProcessingLoggerFactory;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.util.KsqlConfig;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.serialization.Deserializer;
@@ -100,6 +105,10 @@ public class GenericRowSerDeTest {
   @Mock
   private Deserializer<Object> delegateDeserializer;
   @Mock
+  private Deserializer<GenericRow> rowDeserializer;
+  @Mock
+  private Serializer<GenericRow> rowSerializer;
+  @Mock
   private SerdeFactories serdesFactories;
 
   private ValueSerdeFactory valueSerde;
@@ -282,6 +291,28 @@ public class GenericRowSerDeTest {
     assertThat(bytes, is(SOME_BYTES));
   }
 
+  @Test
+  public void shouldSerializeUsingRowSerializerIfFormatSupportsIt() {
+    // Given:
+    when(serdesFactories.createRowSerializer(any(), any(), any(), any()))
+        .thenReturn(Optional.of(rowSerializer));
+    when(rowSerializer.serialize(any(), any())).thenReturn(SOME_BYTES);
+
+    final Serializer<GenericRow> serializer = givenSerdeForSchema(MUTLI_FIELD_SCHEMA)
+        .serializer();
+
+    final GenericRow row = new GenericRow("str", 10);
+
+    // When:
+    final byte[] bytes = serializer.serialize(SOME_TOPIC, row);
+
+    // Then:
+    verify(rowSerializer).serialize(SOME_TOPIC, row);
+    verify(delegateSerializer, never()).serialize(any(), any());
+
+    assertThat(bytes, is(SOME_BYTES));
+  }
+
   @Test
   public void shouldSerializeNullMultiFieldGenericRow() {
     // Given:
@@ -422,6 +453,47 @@ public class GenericRowSerDeTest {
     assertThat(row, is(new GenericRow("str", 10)));
   }
 
+  @Test
+  public void shouldDeserializeUsingRowDeserializerIfFormatSupportsIt() {
+    // Given:
+    when(serdesFactories.createRowDeserializer(any(), any(), any(), any(), any()))
+        .thenReturn(Optional.of(rowDeserializer));
+    when(rowDeserializer.deserialize(any(), any())).thenReturn(new GenericRow("str", 10));
+
+    final Deserializer<GenericRow> deserializer = givenSerdeForSchema(MUTLI_FIELD_SCHEMA)
+        .deserializer();
+
+    // When:
+    final GenericRow row = deserializer.deserialize(SOME_TOPIC, SOME_BYTES);
+
+    // Then:
+    verify(rowDeserializer).deserialize(SOME_TOPIC, SOME_BYTES);
+    verify(delegateDeserializer, never()).deserialize(any(), any());
+
+    assertThat(row, is(new GenericRow("str", 10)));
+  }
+
+  @Test
+  public void shouldPassRequiredColumnsToRowDeserializerFactory() {
+    // Given:
+    final Set<ColumnName> required = ImmutableSet.of(ColumnName.of("f0"));
+
+    // When:
+    valueSerde.create(
+        FormatInfo.of(Format.JSON, Optional.empty(), Optional.empty()),
+        MUTLI_FIELD_SCHEMA,
+        ksqlConfig,
+        srClientFactory,
+        LOGGER_PREFIX,
+        processingContext,
+        required
+    );
+
+    // Then:
+    verify(serdesFactories).createRowDeserializer(
+        any(), any(), any(), any(), eq(Optional.of(required)));
+  }
+
   @Test
   public void shouldDeserializeNullMultiFieldGenericRow() {
     // Given:
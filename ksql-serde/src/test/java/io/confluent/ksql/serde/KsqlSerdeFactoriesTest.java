@@ -17,6 +17,7 @@ package io.confluent.ksql.serde;
 
 import static io.confluent.ksql.serde.Format.AVRO;
 import static io.confluent.ksql.serde.Format.DELIMITED;
+import static io.confluent.ksql.serde.Format.INTERNAL;
 import static io.confluent.ksql.serde.Format.JSON;
 import static io.confluent.ksql.serde.Format.KAFKA;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -30,6 +31,7 @@ import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.ksql.schema.ksql.PersistenceSchema;
 import io.confluent.ksql.serde.avro.KsqlAvroSerdeFactory;
 import io.confluent.ksql.serde.delimited.KsqlDelimitedSerdeFactory;
+import io.confluent.ksql.serde.internal.KsqlInternalSerdeFactory;
 import io.confluent.ksql.serde.json.KsqlJsonSerdeFactory;
 import io.confluent.ksql.serde.kafka.KafkaSerdeFactory;
 import io.confluent.ksql.util.KsqlConfig;
@@ -172,6 +174,16 @@ public class KsqlSerdeFactoriesTest {
     assertThat(result, instanceOf(KafkaSerdeFactory.class));
   }
 
+  @Test
+  public void shouldHandleInternal() {
+    // When:
+    final KsqlSerdeFactory result = KsqlSerdeFactories
+        .create(FormatInfo.of(INTERNAL, Optional.empty(), Optional.empty()));
+
+    // Then:
+    assertThat(result, instanceOf(KsqlInternalSerdeFactory.class));
+  }
+
   private static final class SomeType {
   }
 }
\ No newline at end of file
@@ -0,0 +1,385 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.avro;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.serializers.AbstractKafkaAvroSerDeConfig;
+import io.confluent.kafka.serializers.KafkaAvroSerializer;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.util.DecimalUtil;
+import io.confluent.ksql.util.KsqlConfig;
+import io.confluent.ksql.util.KsqlConstants;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericData.EnumSymbol;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class KsqlAvroRowDeserializerTest {
+
+  private static final String SOME_TOPIC = "bob";
+
+  private static final org.apache.avro.Schema ORDER_AVRO_SCHEMA = parseAvroSchema("{"
+      + "\"namespace\": \"kql\","
+      + "\"name\": \"orders\","
+      + "\"type\": \"record\","
+      + "\"fields\": ["
+      + " {\"name\": \"orderTime\", \"type\": \"long\"},"
+      + " {\"name\": \"orderId\",  \"type\": [\"null\",\"int\"]},"
+      + " {\"name\": \"unknown\", \"type\": {\"type\": \"map\", \"values\": \"string\"}},"
+      + " {\"name\": \"itemId\", \"type\": {"
+      + "   \"type\": \"enum\", \"name\": \"items\", \"symbols\": [\"Item_0\", \"Item_1\"]}},"
+      + " {\"name\": \"orderUnits\", \"type\": [\"null\",\"float\"]},"
+      + " {\"name\": \"arrayCol\", \"type\": {"
+      + "   \"type\": \"array\", \"items\": [\"null\",\"double\"]}},"
+      + " {\"name\": \"mapCol\", \"type\": {\"type\": \"map\", \"values\": [\"null\",\"double\"]}},"
+      + " {\"name\": \"address\", \"type\": [\"null\", {"
+      + "   \"type\": \"record\", \"name\": \"address\", \"fields\": ["
+      + "     {\"name\": \"number\", \"type\": \"int\"},"
+      + "     {\"name\": \"street\", \"type\": \"string\"}"
+      + "   ]}]},"
+      + " {\"name\": \"price\", \"type\": {"
+      + "   \"type\": \"bytes\", \"logicalType\": \"decimal\", \"precision\": 4, \"scale\": 2}}"
+      + " ]"
+      + "}");
+
+  private static final Schema ADDRESS_SCHEMA = SchemaBuilder.struct()
+      .field("STREET", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("NUMBER", Schema.OPTIONAL_INT64_SCHEMA)
+      .optional()
+      .build();
+
+  private static final ConnectSchema ORDER_SCHEMA = (ConnectSchema) SchemaBuilder.struct()
+      .field("ORDERTIME", Schema.OPTIONAL_INT64_SCHEMA)
+      .field("ORDERID", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("ITEMID", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("ORDERUNITS", Schema.OPTIONAL_FLOAT64_SCHEMA)
+      .field("ARRAYCOL", SchemaBuilder
+          .array(Schema.OPTIONAL_FLOAT64_SCHEMA)
+          .optional()
+          .build())
+      .field("MAPCOL", SchemaBuilder
+          .map(Schema.OPTIONAL_STRING_SCHEMA, Schema.OPTIONAL_FLOAT64_SCHEMA)
+          .optional()
+          .build())
+      .field("ADDRESS", ADDRESS_SCHEMA)
+      .field("PRICE", DecimalUtil.builder(4, 2).optional().build())
+      .field("MISSING", Schema.OPTIONAL_STRING_SCHEMA)
+      .build();
+
+  private static final org.apache.avro.Schema STRINGS_AVRO_SCHEMA = parseAvroSchema("{"
+      + "\"name\": \"strings\","
+      + "\"type\": \"record\","
+      + "\"fields\": ["
+      + " {\"name\": \"f0\", \"type\": [\"null\", \"string\"]},"
+      + " {\"name\": \"f1\", \"type\": {\"type\": \"array\", \"items\": \"string\"}},"
+      + " {\"name\": \"f2\", \"type\": {\"type\": \"map\", \"values\": [\"null\", \"string\"]}},"
+      + " {\"name\": \"f3\", \"type\": \"long\"}"
+      + " ]"
+      + "}");
+
+  private static final ConnectSchema STRINGS_SCHEMA = (ConnectSchema) SchemaBuilder.struct()
+      .field("F0", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("F1", SchemaBuilder
+          .array(Schema.OPTIONAL_STRING_SCHEMA)
+          .optional()
+          .build())
+      .field("F2", SchemaBuilder
+          .map(Schema.OPTIONAL_STRING_SCHEMA, Schema.OPTIONAL_STRING_SCHEMA)
+          .optional()
+          .build())
+      .field("F3", Schema.OPTIONAL_INT64_SCHEMA)
+      .build();
+
+  private static final KsqlConfig KSQL_CONFIG = new KsqlConfig(Collections.singletonMap(
+      KsqlConfig.SCHEMA_REGISTRY_URL_PROPERTY, "fake-schema-registry-url"));
+
+  private static final KsqlConfig EAGER_KSQL_CONFIG = new KsqlConfig(ImmutableMap.of(
+      KsqlConfig.SCHEMA_REGISTRY_URL_PROPERTY, "fake-schema-registry-url",
+      KsqlConfig.KSQL_LAZY_DESERIALIZATION, false
+  ));
+
+  @Rule
+  public final ExpectedException expectedException = ExpectedException.none();
+
+  private SchemaRegistryClient schemaRegistryClient;
+  private KafkaAvroSerializer serializer;
+
+  @Before
+  public void setUp() {
+    schemaRegistryClient = new MockSchemaRegistryClient();
+
+    serializer = new KafkaAvroSerializer(schemaRegistryClient, ImmutableMap.of(
+        AbstractKafkaAvroSerDeConfig.AUTO_REGISTER_SCHEMAS, true,
+        AbstractKafkaAvroSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG, ""
+    ));
+  }
+
+  @Test
+  public void shouldDeserializeAvroRecordIntoRow() {
+    // Given:
+    final Deserializer<GenericRow> deserializer = givenDeserializer(ORDER_SCHEMA, Optional.empty());
+
+    // When:
+    final GenericRow row = deserializer.deserialize(SOME_TOPIC, givenAnOrder());
+
+    // Then:
+    assertThat(row, is(new GenericRow(
+        1511897796092L,
+        "1",
+        "Item_1",
+        10.5,
+        ImmutableList.of(10.0, 20.0),
+        ImmutableMap.of("key1", 10.0),
+        new Struct(ADDRESS_SCHEMA).put("STREET", "Main St").put("NUMBER", 10L),
+        new BigDecimal("12.34"),
+        null
+    )));
+  }
+
+  @Test
+  public void shouldOnlyReadRequiredColumns() {
+    // Given:
+    final Deserializer<GenericRow> deserializer = givenDeserializer(
+        ORDER_SCHEMA,
+        Optional.of(ImmutableSet.of(ColumnName.of("ITEMID"), ColumnName.of("PRICE")))
+    );
+
+    // When:
+    final GenericRow row = deserializer.deserialize(SOME_TOPIC, givenAnOrder());
+
+    // Then:
+    assertThat(row, is(new GenericRow(
+        null, null, "Item_1", null, null, null, null, new BigDecimal("12.34"), null)));
+  }
+
+  @Test
+  public void shouldDeserializeNullAsNull() {
+    // Given:
+    final Deserializer<GenericRow> deserializer = givenDeserializer(ORDER_SCHEMA, Optional.empty());
+
+    // Then:
+    assertThat(deserializer.deserialize(SOME_TOPIC, null), is(nullValue()));
+  }
+
+  @Test
+  public void shouldFallBackToConnectForUnsupportedWriterSchema() {
+    // Given:
+    final org.apache.avro.Schema avroSchema = parseAvroSchema("{"
+        + "\"name\": \"test_row\","
+        + "\"type\": \"record\","
+        + "\"fields\": ["
+        + " {\"name\": \"f0\", \"type\": [\"int\", \"string\"]}"
+        + " ]"
+        + "}");
+
+    final Schema unionSchema = SchemaBuilder.struct()
+        .field("int", Schema.OPTIONAL_INT32_SCHEMA)
+        .field("string", Schema.OPTIONAL_STRING_SCHEMA)
+        .optional()
+        .build();
+
+    final ConnectSchema schema = (ConnectSchema) SchemaBuilder.struct()
+        .field("F0", unionSchema)
+        .build();
+
+    final GenericRecord record = new GenericData.Record(avroSchema);
+    record.put("f0", "foo");
+
+    final Deserializer<GenericRow> deserializer = givenDeserializer(schema, Optional.empty());
+
+    // When:
+    final GenericRow row = deserializer.deserialize(SOME_TOPIC, serialize(record));
+
+    // Then:
+    assertThat(row, is(new GenericRow(new Struct(unionSchema).put("string", "foo"))));
+  }
+
+  @Test
+  public void shouldThrowSameErrorAsConnectIfFieldCanNotBeCoerced() {
+    // Given:
+    final ConnectSchema schema = (ConnectSchema) SchemaBuilder.struct()
+        .field("ORDERTIME", Schema.OPTIONAL_BOOLEAN_SCHEMA)
+        .build();
+
+    final Deserializer<GenericRow> deserializer = givenDeserializer(schema, Optional.empty());
+
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException.expectMessage(SOME_TOPIC);
+    expectedException.expectCause(hasMessage(is(
+        "Cannot deserialize type int64 as type boolean for path: ->ORDERTIME")));
+
+    // When:
+    deserializer.deserialize(SOME_TOPIC, givenAnOrder());
+  }
+
+  @Test
+  public void shouldThrowIfDataIsTruncated() {
+    // Given:
+    final Deserializer<GenericRow> deserializer = givenDeserializer(ORDER_SCHEMA, Optional.empty());
+    final byte[] bytes = givenAnOrder();
+
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException.expectMessage(SOME_TOPIC);
+
+    // When:
+    deserializer.deserialize(SOME_TOPIC, Arrays.copyOf(bytes, 10));
+  }
+
+  @Test
+  public void shouldDeserializeLazilyIntoSameRow() {
+    // Given:
+    final byte[] bytes = givenStrings();
+
+    final Deserializer<GenericRow> lazy =
+        givenDeserializer(STRINGS_SCHEMA, Optional.empty(), KSQL_CONFIG);
+    final Deserializer<GenericRow> eager =
+        givenDeserializer(STRINGS_SCHEMA, Optional.empty(), EAGER_KSQL_CONFIG);
+
+    // When:
+    final GenericRow row = lazy.deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    assertThat(row, is(eager.deserialize(SOME_TOPIC, bytes)));
+    assertThat(row, is(new GenericRow(
+        "a",
+        ImmutableList.of("b", "c"),
+        Collections.singletonMap("d", null),
+        10L
+    )));
+  }
+
+  @Test
+  public void shouldDecodeLazyColumnsIndependently() {
+    // Given:
+    final Deserializer<GenericRow> deserializer =
+        givenDeserializer(STRINGS_SCHEMA, Optional.empty(), KSQL_CONFIG);
+
+    final GenericRow row = deserializer.deserialize(SOME_TOPIC, givenStrings());
+
+    // When:
+    final Object f2 = row.get(2);
+    final Object f0 = row.get(0);
+
+    // Then:
+    assertThat(f2, is(Collections.singletonMap("d", null)));
+    assertThat(f0, is("a"));
+  }
+
+  @Test
+  public void shouldThrowOnDeserializeIfLazyColumnIsTruncated() {
+    // Given:
+    final Deserializer<GenericRow> deserializer =
+        givenDeserializer(STRINGS_SCHEMA, Optional.empty(), KSQL_CONFIG);
+    final byte[] bytes = givenStrings();
+
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException.expectMessage(SOME_TOPIC);
+
+    // When:
+    deserializer.deserialize(SOME_TOPIC, Arrays.copyOf(bytes, 10));
+  }
+
+  private byte[] givenStrings() {
+    final GenericRecord record = new GenericData.Record(STRINGS_AVRO_SCHEMA);
+    record.put("f0", "a");
+    record.put("f1", ImmutableList.of("b", "c"));
+    record.put("f2", Collections.singletonMap("d", null));
+    record.put("f3", 10L);
+    return serialize(record);
+  }
+
+  private byte[] givenAnOrder() {
+    final GenericRecord address = new GenericData.Record(
+        ORDER_AVRO_SCHEMA.getField("address").schema().getTypes().get(1));
+    address.put("number", 10);
+    address.put("street", "Main St");
+
+    final GenericRecord order = new GenericData.Record(ORDER_AVRO_SCHEMA);
+    order.put("orderTime", 1511897796092L);
+    order.put("orderId", 1);
+    order.put("unknown", ImmutableMap.of("a", "b"));
+    order.put("itemId", new EnumSymbol(ORDER_AVRO_SCHEMA.getField("itemId").schema(), "Item_1"));
+    order.put("orderUnits", 10.5f);
+    order.put("arrayCol", ImmutableList.of(10.0, 20.0));
+    order.put("mapCol", ImmutableMap.of("key1", 10.0));
+    order.put("address", address);
+    order.put("price", ByteBuffer.wrap(new BigDecimal("12.34").unscaledValue().toByteArray()));
+
+    return serialize(order);
+  }
+
+  private byte[] serialize(final GenericRecord record) {
+    return serializer.serialize(SOME_TOPIC, record);
+  }
+
+  private Deserializer<GenericRow> givenDeserializer(
+      final ConnectSchema schema,
+      final Optional<Set<ColumnName>> requiredColumns
+  ) {
+    return givenDeserializer(schema, requiredColumns, KSQL_CONFIG);
+  }
+
+  private Deserializer<GenericRow> givenDeserializer(
+      final ConnectSchema schema,
+      final Optional<Set<ColumnName>> requiredColumns,
+      final KsqlConfig ksqlConfig
+  ) {
+    final Deserializer<GenericRow> deserializer = new KsqlAvroSerdeFactory(
+        KsqlConstants.DEFAULT_AVRO_SCHEMA_FULL_NAME
+    ).createRowDeserializer(
+        PersistenceSchema.from(schema, false),
+        ksqlConfig,
+        () -> schemaRegistryClient,
+        requiredColumns
+    ).get();
+
+    deserializer.configure(Collections.emptyMap(), false);
+    return deserializer;
+  }
+
+  private static org.apache.avro.Schema parseAvroSchema(final String avroSchema) {
+    return new org.apache.avro.Schema.Parser().parse(avroSchema);
+  }
+}
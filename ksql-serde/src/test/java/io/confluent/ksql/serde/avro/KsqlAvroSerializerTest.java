@@ -214,6 +214,49 @@ public class KsqlAvroSerializerTest {
     assertThat(avroSchemaStoredInSchemaRegistry(), is(ORDER_AVRO_SCHEMA));
   }
 
+  @Test
+  public void shouldSerializeSubsequentStructsIdentically() {
+    // Given:
+    givenSerializerForSchema(ORDER_SCHEMA);
+    final byte[] first = serializer.serialize(SOME_TOPIC, orderStruct);
+
+    // When:
+    final byte[] second = serializer.serialize(SOME_TOPIC, orderStruct);
+
+    // Then:
+    assertThat(second, is(first));
+    assertThat(deserialize(second), is(avroOrder));
+  }
+
+  @Test
+  public void shouldSerializeSubsequentValuesIndependently() {
+    // Given:
+    givenSerializerForSchema(Schema.OPTIONAL_STRING_SCHEMA);
+    serializer.serialize(SOME_TOPIC, "a much longer value");
+
+    // When:
+    final byte[] bytes = serializer.serialize(SOME_TOPIC, "short");
+
+    // Then:
+    assertThat(deserialize(bytes), is("short"));
+  }
+
+  @Test
+  public void shouldThrowIfSubsequentValueIsWrongType() {
+    // Given:
+    givenSerializerForSchema(Schema.OPTIONAL_INT32_SCHEMA);
+    serializer.serialize(SOME_TOPIC, 62);
+
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException.expectMessage(SOME_TOPIC);
+    expectedException.expectCause(hasMessage(CoreMatchers.is(
+        "Invalid type for INT32: class java.lang.Boolean")));
+
+    // When:
+    serializer.serialize(SOME_TOPIC, true);
+  }
+
   @Test
   public void shouldThrowIfNotStruct() {
     // Given:
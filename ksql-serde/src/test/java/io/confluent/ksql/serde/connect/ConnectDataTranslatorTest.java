@@ -314,4 +314,70 @@ public class ConnectDataTranslatorTest {
     assertThat(row.schema(), is(rowSchema));
     assertThat(row.get("STRUCT"), is(nullValue()));
   }
+
+  @Test
+  public void shouldThrowOnTypeMismatchEvenIfValueIsNull() {
+    // Given:
+    final Schema schema = SchemaBuilder.struct()
+        .field("FIELD", SchemaBuilder.OPTIONAL_INT32_SCHEMA)
+        .optional()
+        .build();
+
+    final Schema badSchema = SchemaBuilder.struct()
+        .field("FIELD", SchemaBuilder.OPTIONAL_BOOLEAN_SCHEMA)
+        .optional()
+        .build();
+
+    final ConnectDataTranslator connectToKsqlTranslator = new ConnectDataTranslator(schema);
+
+    // Then:
+    expectedException.expect(DataException.class);
+    expectedException.expectMessage(
+        "Cannot deserialize type boolean as type int32 for path: ->FIELD");
+
+    // When:
+    connectToKsqlTranslator.toKsqlRow(badSchema, new Struct(badSchema));
+  }
+
+  @Test
+  public void shouldTranslateDataWithDifferentConnectSchemas() {
+    // Given:
+    final Schema rowSchema = SchemaBuilder
+        .struct()
+        .field("BIGINT", SchemaBuilder.OPTIONAL_INT64_SCHEMA)
+        .optional()
+        .build();
+
+    final Schema intSchema = SchemaBuilder
+        .struct()
+        .field("bigint", SchemaBuilder.OPTIONAL_INT32_SCHEMA)
+        .optional()
+        .build();
+
+    final Schema stringSchema = SchemaBuilder
+        .struct()
+        .field("BIGINT", SchemaBuilder.OPTIONAL_STRING_SCHEMA)
+        .optional()
+        .build();
+
+    final ConnectDataTranslator connectToKsqlTranslator = new ConnectDataTranslator(rowSchema);
+
+    connectToKsqlTranslator.toKsqlRow(rowSchema, new Struct(rowSchema).put("BIGINT", 1L));
+
+    // When:
+    final Struct row = (Struct) connectToKsqlTranslator
+        .toKsqlRow(intSchema, new Struct(intSchema).put("bigint", 2));
+
+    // Then:
+    assertThat(row.schema(), is(rowSchema));
+    assertThat(row.get("BIGINT"), is(2L));
+
+    // Then:
+    expectedException.expect(DataException.class);
+    expectedException.expectMessage(
+        "Cannot deserialize type string as type int64 for path: ->BIGINT");
+
+    // When:
+    connectToKsqlTranslator.toKsqlRow(stringSchema, new Struct(stringSchema).put("BIGINT", "3"));
+  }
 }
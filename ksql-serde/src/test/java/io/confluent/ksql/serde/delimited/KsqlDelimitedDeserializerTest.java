@@ -125,6 +125,133 @@ public class KsqlDelimitedDeserializerTest {
     deserializer.deserialize("", bytes);
   }
 
+  @Test
+  public void shouldDeserializeQuotedFields() {
+    // Given:
+    final byte[] bytes = "1511897796092,\"1\",\"item, \"\"1\"\"\",\"10.0\" ,10.10"
+        .getBytes(StandardCharsets.UTF_8);
+
+    // When:
+    final Struct struct = deserializer.deserialize("", bytes);
+
+    // Then:
+    assertThat(struct.get("ORDERID"), is(1L));
+    assertThat(struct.get("ITEMID"), is("item, \"1\""));
+    assertThat(struct.get("ORDERUNITS"), is(10.0));
+  }
+
+  @Test
+  public void shouldDeserializeQuotedLineBreak() {
+    // Given:
+    final byte[] bytes = "1511897796092,1,\"item\r\n1\",10.0,10.10\n"
+        .getBytes(StandardCharsets.UTF_8);
+
+    // When:
+    final Struct struct = deserializer.deserialize("", bytes);
+
+    // Then:
+    assertThat(struct.get("ITEMID"), is("item\r\n1"));
+    assertThat(struct.get("COST"), is(new BigDecimal("10.10")));
+  }
+
+  @Test
+  public void shouldDeserializeEscapedCharacters() {
+    // Given:
+    final KsqlDelimitedDeserializer deserializer = new KsqlDelimitedDeserializer(
+        ORDER_SCHEMA, CSVFormat.DEFAULT.withEscape('\\'));
+
+    final byte[] bytes = "1511897796092,-1,item\\,\\t\\x,\"10.0\",10.10"
+        .getBytes(StandardCharsets.UTF_8);
+
+    // When:
+    final Struct struct = deserializer.deserialize("", bytes);
+
+    // Then:
+    assertThat(struct.get("ORDERID"), is(-1L));
+    assertThat(struct.get("ITEMID"), is("item,\t\\x"));
+  }
+
+  @Test
+  public void shouldDeserializeNonAsciiFields() {
+    // Given:
+    final byte[] bytes = "1511897796092,1,\u00e9\u20ac\ud83d\ude00,10.0,10.10"
+        .getBytes(StandardCharsets.UTF_8);
+
+    // When:
+    final Struct struct = deserializer.deserialize("", bytes);
+
+    // Then:
+    assertThat(struct.get("ITEMID"), is("\u00e9\u20ac\ud83d\ude00"));
+  }
+
+  @Test
+  public void shouldOnlyDeserializeFirstRecord() {
+    // Given:
+    final byte[] bytes = "\r\n1511897796092,1,item_1,10.0,10.10\r\n2,2,item_2,20.0,20.20\r\n"
+        .getBytes(StandardCharsets.UTF_8);
+
+    // When:
+    final Struct struct = deserializer.deserialize("", bytes);
+
+    // Then:
+    assertThat(struct.get("ORDERTIME"), is(1511897796092L));
+    assertThat(struct.get("ITEMID"), is("item_1"));
+  }
+
+  @Test
+  public void shouldThrowOnIntegralOverflow() {
+    // Given:
+    final byte[] bytes = "9223372036854775808,1,item_1,10.0,10.10"
+        .getBytes(StandardCharsets.UTF_8);
+
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException.expectCause(instanceOf(NumberFormatException.class));
+
+    // When:
+    deserializer.deserialize("", bytes);
+  }
+
+  @Test
+  public void shouldThrowOnUnterminatedQuote() {
+    // Given:
+    final byte[] bytes = "1511897796092,1,\"item_1,10.0,10.10"
+        .getBytes(StandardCharsets.UTF_8);
+
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException.expectCause(
+        hasMessage(is("EOF reached before encapsulated token finished")));
+
+    // When:
+    deserializer.deserialize("", bytes);
+  }
+
+  @Test
+  public void shouldThrowOnCharacterAfterClosingQuote() {
+    // Given:
+    final byte[] bytes = "1511897796092,1,\"item\"_1,10.0,10.10"
+        .getBytes(StandardCharsets.UTF_8);
+
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException.expectCause(
+        hasMessage(is("invalid char between encapsulated token and delimiter")));
+
+    // When:
+    deserializer.deserialize("", bytes);
+  }
+
+  @Test
+  public void shouldThrowOnEmptyRecord() {
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException.expectCause(hasMessage(is("No fields in record")));
+
+    // When:
+    deserializer.deserialize("", "\r\n".getBytes(StandardCharsets.UTF_8));
+  }
+
   @Test
   public void shouldThrowIfTopLevelNotStruct() {
     // Given:
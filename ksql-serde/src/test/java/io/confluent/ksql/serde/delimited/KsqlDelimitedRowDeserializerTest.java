@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.delimited;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
+
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class KsqlDelimitedRowDeserializerTest {
+
+  private static final String SOME_TOPIC = "bob";
+
+  private static final PersistenceSchema SCHEMA = PersistenceSchema.from(
+      (ConnectSchema) SchemaBuilder.struct()
+          .field("ORDERTIME", Schema.OPTIONAL_INT64_SCHEMA)
+          .field("ITEMID", Schema.OPTIONAL_STRING_SCHEMA)
+          .field("ORDERUNITS", Schema.OPTIONAL_FLOAT64_SCHEMA)
+          .build(),
+      false
+  );
+
+  @Rule
+  public final ExpectedException expectedException = ExpectedException.none();
+
+  @Test
+  public void shouldDeserializeIntoRow() {
+    // Given:
+    final KsqlDelimitedRowDeserializer deserializer = new KsqlDelimitedRowDeserializer(
+        SCHEMA, CSVFormat.DEFAULT, Optional.empty());
+
+    // When:
+    final GenericRow row = deserializer.deserialize(SOME_TOPIC, bytes("1511897796092,item_1,10.0"));
+
+    // Then:
+    assertThat(row, is(new GenericRow(1511897796092L, "item_1", 10.0)));
+  }
+
+  @Test
+  public void shouldOnlyConvertRequiredColumns() {
+    // Given:
+    final KsqlDelimitedRowDeserializer deserializer = new KsqlDelimitedRowDeserializer(
+        SCHEMA, CSVFormat.DEFAULT, Optional.of(ImmutableSet.of(ColumnName.of("ITEMID"))));
+
+    // When:
+    final GenericRow row = deserializer.deserialize(SOME_TOPIC, bytes("not-a-number,item_1,x"));
+
+    // Then:
+    assertThat(row, is(new GenericRow(null, "item_1", null)));
+  }
+
+  @Test
+  public void shouldStillValidateFieldCountWhenColumnsArePruned() {
+    // Given:
+    final KsqlDelimitedRowDeserializer deserializer = new KsqlDelimitedRowDeserializer(
+        SCHEMA, CSVFormat.DEFAULT, Optional.of(ImmutableSet.of(ColumnName.of("ITEMID"))));
+
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException
+        .expectCause(hasMessage(is("Unexpected field count, csvFields:2 schemaFields:3")));
+
+    // When:
+    deserializer.deserialize(SOME_TOPIC, bytes("1,item_1"));
+  }
+
+  @Test
+  public void shouldDeserializeNullAsNull() {
+    // Given:
+    final KsqlDelimitedRowDeserializer deserializer = new KsqlDelimitedRowDeserializer(
+        SCHEMA, CSVFormat.DEFAULT, Optional.empty());
+
+    // Then:
+    assertThat(deserializer.deserialize(SOME_TOPIC, null), is(nullValue()));
+  }
+
+  private static byte[] bytes(final String csv) {
+    return csv.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -97,6 +97,50 @@ public class KsqlDelimitedSerializerTest {
     assertThat(delimitedString, equalTo("1511897796092,1,item_1,"));
   }
 
+  @Test
+  public void shouldQuoteFieldsAsCsvPrinterDoes() {
+    // Given:
+    final Struct data = new Struct(SCHEMA)
+        .put("ORDERTIME", -1L)
+        .put("ORDERID", -2L)
+        .put("ITEMID", "item, \"1\"\r\n")
+        .put("ORDERUNITS", -0.5);
+
+    // When:
+    final byte[] bytes = serializer.serialize("t1", data);
+
+    // Then:
+    final String delimitedString = new String(bytes, StandardCharsets.UTF_8);
+    assertThat(delimitedString, equalTo("\"-1\",-2,\"item, \"\"1\"\"\r\n\",-0.5"));
+  }
+
+  @Test
+  public void shouldSerializeNonAsciiFields() {
+    // Given:
+    final Struct data = new Struct(SCHEMA)
+        .put("ITEMID", "\u00e9\u20ac\ud83d\ude00");
+
+    // When:
+    final byte[] bytes = serializer.serialize("t1", data);
+
+    // Then:
+    assertThat(bytes, is(",,\u00e9\u20ac\ud83d\ude00,".getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  public void shouldNotLeakPreviousRecordIntoNext() {
+    // Given:
+    serializer.serialize("t1", new Struct(SCHEMA)
+        .put("ITEMID", "a much longer item id than the next row"));
+
+    // When:
+    final byte[] bytes = serializer.serialize("t1", new Struct(SCHEMA)
+        .put("ORDERID", 2L));
+
+    // Then:
+    assertThat(new String(bytes, StandardCharsets.UTF_8), is(",2,,"));
+  }
+
   @Test
   public void shouldSerializedTopLevelPrimitiveIfValueHasOneField() {
     // Given:
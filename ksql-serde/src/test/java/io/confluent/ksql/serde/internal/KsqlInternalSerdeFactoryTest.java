@@ -0,0 +1,350 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
+
+import com.google.common.collect.ImmutableSet;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import io.confluent.ksql.util.KsqlConfig;
+import io.confluent.ksql.util.KsqlException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class KsqlInternalSerdeFactoryTest {
+
+  private static final String SOME_TOPIC = "bob";
+
+  private static final Schema ADDRESS_SCHEMA = SchemaBuilder.struct()
+      .field("STREET", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("NUMBER", Schema.OPTIONAL_INT32_SCHEMA)
+      .optional()
+      .build();
+
+  private static final Schema SCHEMA = SchemaBuilder.struct()
+      .field("ORDERTIME", Schema.OPTIONAL_INT64_SCHEMA)
+      .field("ITEMID", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("ORDERUNITS", Schema.OPTIONAL_FLOAT64_SCHEMA)
+      .field("ARRAYCOL", SchemaBuilder
+          .array(Schema.OPTIONAL_INT32_SCHEMA)
+          .optional()
+          .build())
+      .field("MAPCOL", SchemaBuilder
+          .map(Schema.OPTIONAL_STRING_SCHEMA, Schema.OPTIONAL_BOOLEAN_SCHEMA)
+          .optional()
+          .build())
+      .field("ADDRESS", ADDRESS_SCHEMA)
+      .field("DECIMALCOL", Decimal.builder(2).optional().build())
+      .build();
+
+  private static final PersistenceSchema PHYSICAL_SCHEMA =
+      PersistenceSchema.from((ConnectSchema) SCHEMA, false);
+
+  @Rule
+  public final ExpectedException expectedException = ExpectedException.none();
+
+  @Mock
+  private KsqlConfig ksqlConfig;
+  @Mock
+  private Supplier<SchemaRegistryClient> srClientFactory;
+
+  private final KsqlInternalSerdeFactory factory = new KsqlInternalSerdeFactory();
+
+  @Test
+  public void shouldRoundTripRow() {
+    // Given:
+    final Map<String, Boolean> map = new LinkedHashMap<>();
+    map.put("a", true);
+    map.put(null, false);
+    map.put("c", null);
+
+    final GenericRow row = new GenericRow(
+        -1511897796092L,
+        "item_\u00e9",
+        -0.5,
+        Arrays.asList(Integer.MIN_VALUE, null, Integer.MAX_VALUE),
+        map,
+        new Struct(ADDRESS_SCHEMA).put("STREET", "Main St").put("NUMBER", -10),
+        new BigDecimal("-123.45")
+    );
+
+    // When:
+    final GenericRow result = deserialize(serialize(row));
+
+    // Then:
+    assertThat(result, is(row));
+  }
+
+  @Test
+  public void shouldRoundTripNulls() {
+    // Given:
+    final GenericRow row = new GenericRow(null, null, null, null, null, null, null);
+
+    // When:
+    final GenericRow result = deserialize(serialize(row));
+
+    // Then:
+    assertThat(result, is(row));
+  }
+
+  @Test
+  public void shouldSerializePositionally() {
+    // Given:
+    final PersistenceSchema schema = PersistenceSchema.from(
+        (ConnectSchema) SchemaBuilder.struct()
+            .field("f0", Schema.OPTIONAL_INT32_SCHEMA)
+            .field("f1", Schema.OPTIONAL_STRING_SCHEMA)
+            .field("f2", Schema.OPTIONAL_BOOLEAN_SCHEMA)
+            .build(),
+        false
+    );
+
+    // When:
+    final byte[] bytes = rowSerializer(schema)
+        .serialize(SOME_TOPIC, new GenericRow(-2, "a", null));
+
+    // Then:
+    assertThat(bytes, is(new byte[]{
+        1,          // version
+        0b011,      // non-null fields
+        3,          // zig-zag encoded -2
+        1, 'a'      // length and UTF-8 bytes of "a"
+    }));
+  }
+
+  @Test
+  public void shouldOnlyDeserializeRequiredColumns() {
+    // Given:
+    final byte[] bytes = serialize(new GenericRow(
+        1L,
+        "item_1",
+        10.0,
+        Collections.singletonList(1),
+        Collections.singletonMap("k", true),
+        new Struct(ADDRESS_SCHEMA).put("STREET", "Main St"),
+        new BigDecimal("1.00")
+    ));
+
+    final Deserializer<GenericRow> deserializer = factory.createRowDeserializer(
+        PHYSICAL_SCHEMA,
+        ksqlConfig,
+        srClientFactory,
+        Optional.of(ImmutableSet.of(ColumnName.of("ITEMID"), ColumnName.of("DECIMALCOL")))
+    ).get();
+
+    // When:
+    final GenericRow result = deserializer.deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    assertThat(result, is(new GenericRow(
+        null, "item_1", null, null, null, null, new BigDecimal("1.00"))));
+  }
+
+  @Test
+  public void shouldRoundTripStruct() {
+    // Given:
+    final Serde<Object> serde = factory.createSerde(PHYSICAL_SCHEMA, ksqlConfig, srClientFactory);
+
+    final Struct struct = new Struct(SCHEMA)
+        .put("ORDERTIME", 1L)
+        .put("ADDRESS", new Struct(ADDRESS_SCHEMA).put("NUMBER", 2));
+
+    // When:
+    final Object result = serde.deserializer()
+        .deserialize(SOME_TOPIC, serde.serializer().serialize(SOME_TOPIC, struct));
+
+    // Then:
+    assertThat(result, is(struct));
+  }
+
+  @Test
+  public void shouldRoundTripUnwrappedValue() {
+    // Given:
+    final PersistenceSchema schema = PersistenceSchema.from(
+        (ConnectSchema) SchemaBuilder.struct()
+            .field("f0", Schema.OPTIONAL_STRING_SCHEMA)
+            .build(),
+        true
+    );
+
+    final Serde<Object> serde = factory.createSerde(schema, ksqlConfig, srClientFactory);
+
+    // When:
+    final Object result = serde.deserializer()
+        .deserialize(SOME_TOPIC, serde.serializer().serialize(SOME_TOPIC, "\u00e9t\u00e9"));
+
+    // Then:
+    assertThat(result, is("\u00e9t\u00e9"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldDeserializeMutableArrays() {
+    // Given:
+    final GenericRow row = new GenericRow(
+        null, null, null, Arrays.asList(1, null), null, null, null);
+
+    final List<Object> array = (List<Object>) deserialize(serialize(row)).getColumns().get(3);
+
+    // When:
+    array.add(3);
+
+    // Then:
+    assertThat(array, contains(1, null, 3));
+  }
+
+  @Test
+  public void shouldSerializeNullAsNull() {
+    assertThat(rowSerializer(PHYSICAL_SCHEMA).serialize(SOME_TOPIC, null), is(nullValue()));
+  }
+
+  @Test
+  public void shouldDeserializeNullAsNull() {
+    assertThat(deserialize(null), is(nullValue()));
+  }
+
+  @Test
+  public void shouldThrowOnFieldCountMismatch() {
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException.expectMessage("Field count mismatch. expected: 7, got: 1");
+
+    // When:
+    serialize(new GenericRow(1L));
+  }
+
+  @Test
+  public void shouldThrowIfValueWrongType() {
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException.expectMessage(SOME_TOPIC);
+
+    // When:
+    serialize(new GenericRow(true, null, null, null, null, null, null));
+  }
+
+  @Test
+  public void shouldThrowIfDecimalHasWrongScale() {
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException.expectCause(hasMessage(is(
+        "BigDecimal has mismatching scale value for given Decimal schema")));
+
+    // When:
+    serialize(new GenericRow(null, null, null, null, null, null, new BigDecimal("1.1")));
+  }
+
+  @Test
+  public void shouldThrowOnTruncatedData() {
+    // Given:
+    final byte[] bytes = serialize(new GenericRow(1L, "item_1", null, null, null, null, null));
+
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException.expectCause(hasMessage(is("Invalid length: 6")));
+
+    // When:
+    deserialize(Arrays.copyOf(bytes, bytes.length - 1));
+  }
+
+  @Test
+  public void shouldThrowOnTrailingData() {
+    // Given:
+    final byte[] bytes = serialize(new GenericRow(1L, null, null, null, null, null, null));
+
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException.expectCause(hasMessage(is("Unexpected trailing bytes")));
+
+    // When:
+    deserialize(Arrays.copyOf(bytes, bytes.length + 1));
+  }
+
+  @Test
+  public void shouldThrowOnUnknownVersion() {
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException.expectCause(hasMessage(is(
+        "Unsupported version of the INTERNAL format: 2")));
+
+    // When:
+    deserialize(new byte[]{2, 0});
+  }
+
+  @Test
+  public void shouldThrowOnValidateIfUnsupportedType() {
+    // Given:
+    final PersistenceSchema schema = PersistenceSchema.from(
+        (ConnectSchema) SchemaBuilder.struct()
+            .field("f0", Schema.OPTIONAL_BYTES_SCHEMA)
+            .build(),
+        false
+    );
+
+    // Then:
+    expectedException.expect(KsqlException.class);
+    expectedException.expectMessage("The 'INTERNAL' format does not support type 'BYTES'");
+
+    // When:
+    factory.validate(schema);
+  }
+
+  private byte[] serialize(final GenericRow row) {
+    return rowSerializer(PHYSICAL_SCHEMA).serialize(SOME_TOPIC, row);
+  }
+
+  private GenericRow deserialize(final byte[] bytes) {
+    return factory.createRowDeserializer(
+        PHYSICAL_SCHEMA,
+        ksqlConfig,
+        srClientFactory,
+        Optional.empty()
+    ).get().deserialize(SOME_TOPIC, bytes);
+  }
+
+  private Serializer<GenericRow> rowSerializer(final PersistenceSchema schema) {
+    return factory.createRowSerializer(schema, ksqlConfig, srClientFactory).get();
+  }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.json;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class KsqlJsonRowDeserializerTest {
+
+  private static final String SOME_TOPIC = "bob";
+
+  private static final Schema ADDRESS_SCHEMA = SchemaBuilder.struct()
+      .field("STREET", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("NUMBER", Schema.OPTIONAL_INT32_SCHEMA)
+      .optional()
+      .build();
+
+  private static final Schema SCHEMA = SchemaBuilder.struct()
+      .field("ORDERTIME", Schema.OPTIONAL_INT64_SCHEMA)
+      .field("ORDERID", Schema.OPTIONAL_INT64_SCHEMA)
+      .field("ITEMID", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("ORDERUNITS", Schema.OPTIONAL_FLOAT64_SCHEMA)
+      .field("ARRAYCOL", SchemaBuilder
+          .array(Schema.OPTIONAL_FLOAT64_SCHEMA)
+          .optional()
+          .build())
+      .field("MAPCOL", SchemaBuilder
+          .map(Schema.OPTIONAL_STRING_SCHEMA, Schema.OPTIONAL_FLOAT64_SCHEMA)
+          .optional()
+          .build())
+      .field("ADDRESS", ADDRESS_SCHEMA)
+      .build();
+
+  @Rule
+  public final ExpectedException expectedException = ExpectedException.none();
+
+  private final KsqlJsonRowDeserializer deserializer = new KsqlJsonRowDeserializer(
+      PersistenceSchema.from((ConnectSchema) SCHEMA, false));
+
+  private final KsqlJsonRowDeserializer lazyDeserializer = new KsqlJsonRowDeserializer(
+      PersistenceSchema.from((ConnectSchema) SCHEMA, false), Optional.empty(), true);
+
+  @Test
+  public void shouldDeserializeJsonObjectIntoRow() {
+    // Given:
+    final byte[] bytes = bytes("{"
+        + "\"ordertime\": 1511897796092,"
+        + "\"@orderid\": 1,"
+        + "\"itemid\": \"Item_1\","
+        + "\"orderunits\": 10,"
+        + "\"arraycol\": [10.0, \"20\"],"
+        + "\"mapcol\": {\"key1\": 10},"
+        + "\"address\": {\"street\": \"Main St\", \"Number\": \"10\"}"
+        + "}");
+
+    // When:
+    final GenericRow row = deserializer.deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    assertThat(row, is(new GenericRow(
+        1511897796092L,
+        1L,
+        "Item_1",
+        10.0,
+        ImmutableList.of(10.0, 20.0),
+        ImmutableMap.of("key1", 10.0),
+        new Struct(ADDRESS_SCHEMA).put("STREET", "Main St").put("NUMBER", 10)
+    )));
+  }
+
+  @Test
+  public void shouldSetMissingFieldsToNullAndSkipUnknownFields() {
+    // Given:
+    final byte[] bytes = bytes("{"
+        + "\"itemid\": \"Item_1\","
+        + "\"unknown\": {\"nested\": [1, {\"a\": 2}]}"
+        + "}");
+
+    // When:
+    final GenericRow row = deserializer.deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    assertThat(row, is(new GenericRow(null, null, "Item_1", null, null, null, null)));
+  }
+
+  @Test
+  public void shouldOnlyReadRequiredColumns() {
+    // Given:
+    final KsqlJsonRowDeserializer pruningDeserializer = new KsqlJsonRowDeserializer(
+        PersistenceSchema.from((ConnectSchema) SCHEMA, false),
+        Optional.of(ImmutableSet.of(ColumnName.of("ITEMID"), ColumnName.of("ORDERUNITS"))),
+        false
+    );
+
+    final byte[] bytes = bytes("{"
+        + "\"ordertime\": true,"
+        + "\"itemid\": \"Item_1\","
+        + "\"orderunits\": 10,"
+        + "\"address\": {\"street\": [1, 2]}"
+        + "}");
+
+    // When:
+    final GenericRow row = pruningDeserializer.deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    assertThat(row, is(new GenericRow(null, null, "Item_1", 10.0, null, null, null)));
+  }
+
+  @Test
+  public void shouldNotStripAtFromNestedFieldNames() {
+    // Given:
+    final byte[] bytes = bytes("{\"address\": {\"@street\": \"Main St\"}}");
+
+    // When:
+    final GenericRow row = deserializer.deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    assertThat(row.get(6), is(new Struct(ADDRESS_SCHEMA)));
+  }
+
+  @Test
+  public void shouldDeserializeNullAsNull() {
+    assertThat(deserializer.deserialize(SOME_TOPIC, null), is(nullValue()));
+    assertThat(deserializer.deserialize(SOME_TOPIC, bytes("null")), is(nullValue()));
+  }
+
+  @Test
+  public void shouldThrowIfNotAnObject() {
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException.expectMessage(SOME_TOPIC);
+    expectedException.expectCause(hasMessage(containsString(
+        "Can't convert type. sourceType: ArrayList, requiredType: STRUCT<ORDERTIME BIGINT")));
+
+    // When:
+    deserializer.deserialize(SOME_TOPIC, bytes("[1, 2]"));
+  }
+
+  @Test
+  public void shouldThrowIfFieldCanNotBeCoerced() {
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException.expectCause(hasMessage(is(
+        "Can't convert type. sourceType: Boolean, requiredType: BIGINT")));
+
+    // When:
+    deserializer.deserialize(SOME_TOPIC, bytes("{\"ordertime\": true}"));
+  }
+
+  @Test
+  public void shouldDeserializeLazilyIntoSameRow() {
+    // Given:
+    final byte[] bytes = bytes("{"
+        + "\"ordertime\": 1511897796092,"
+        + "\"@orderid\": \"1\","
+        + "\"itemid\": {\"id\": [1, true]},"
+        + "\"orderunits\": 10,"
+        + "\"arraycol\": [10.0, \"20\"],"
+        + "\"mapcol\": null,"
+        + "\"address\": {\"street\": \"Main St\", \"Number\": \"10\"}"
+        + "}");
+
+    // When:
+    final GenericRow row = lazyDeserializer.deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    assertThat(row, is(deserializer.deserialize(SOME_TOPIC, bytes)));
+  }
+
+  @Test
+  public void shouldUseLastOccurrenceOfDuplicateFieldWhenLazy() {
+    // Given:
+    final byte[] bytes = bytes("{"
+        + "\"itemid\": \"Item_1\","
+        + "\"orderunits\": 10,"
+        + "\"itemid\": null,"
+        + "\"orderunits\": \"11\""
+        + "}");
+
+    // When:
+    final GenericRow row = lazyDeserializer.deserialize(SOME_TOPIC, bytes);
+
+    // Then:
+    assertThat(row, is(new GenericRow(null, null, null, 11.0, null, null, null)));
+  }
+
+  @Test
+  public void shouldThrowOnDeserializeIfFieldCanNotBeCoercedWhenLazy() {
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException.expectCause(hasMessage(is(
+        "Can't convert type. sourceType: Boolean, requiredType: BIGINT")));
+
+    // When:
+    lazyDeserializer.deserialize(SOME_TOPIC, bytes("{\"itemid\": \"a\", \"ordertime\": true}"));
+  }
+
+  @Test
+  public void shouldThrowOnDeserializeIfMalformedWhenLazy() {
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException.expectMessage(SOME_TOPIC);
+
+    // When:
+    lazyDeserializer.deserialize(SOME_TOPIC, bytes("{\"itemid\": \"a\", \"orderunits\": 1."));
+  }
+
+  @Test
+  public void shouldThrowOnFieldNamedAt() {
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException.expectCause(hasMessage(is("Field name cannot be '@'.")));
+
+    // When:
+    deserializer.deserialize(SOME_TOPIC, bytes("{\"@\": 1}"));
+  }
+
+  @Test
+  public void shouldThrowOnUnwrappedSchema() {
+    // Then:
+    expectedException.expect(IllegalArgumentException.class);
+    expectedException.expectMessage("Unwrapped schemas are not supported");
+
+    // When:
+    new KsqlJsonRowDeserializer(PersistenceSchema.from(
+        (ConnectSchema) SchemaBuilder.struct()
+            .field("f0", Schema.OPTIONAL_STRING_SCHEMA)
+            .build(),
+        true
+    ));
+  }
+
+  private static byte[] bytes(final String json) {
+    return json.getBytes(StandardCharsets.UTF_8);
+  }
+}
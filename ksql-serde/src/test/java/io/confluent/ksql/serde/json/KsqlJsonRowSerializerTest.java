@@ -0,0 +1,199 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.serde.json;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.schema.ksql.PersistenceSchema;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.connect.data.ConnectSchema;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class KsqlJsonRowSerializerTest {
+
+  private static final String SOME_TOPIC = "bob";
+
+  private static final Schema ADDRESS_SCHEMA = SchemaBuilder.struct()
+      .field("STREET", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("NUMBER", Schema.OPTIONAL_INT32_SCHEMA)
+      .optional()
+      .build();
+
+  private static final Schema SCHEMA = SchemaBuilder.struct()
+      .field("ORDERTIME", Schema.OPTIONAL_INT64_SCHEMA)
+      .field("ITEMID", Schema.OPTIONAL_STRING_SCHEMA)
+      .field("ORDERUNITS", Schema.OPTIONAL_FLOAT64_SCHEMA)
+      .field("ARRAYCOL", SchemaBuilder
+          .array(Schema.OPTIONAL_FLOAT64_SCHEMA)
+          .optional()
+          .build())
+      .field("MAPCOL", SchemaBuilder
+          .map(Schema.OPTIONAL_STRING_SCHEMA, Schema.OPTIONAL_FLOAT64_SCHEMA)
+          .optional()
+          .build())
+      .field("ADDRESS", ADDRESS_SCHEMA)
+      .field("DECIMALCOL", Decimal.builder(5).optional().build())
+      .build();
+
+  private static final PersistenceSchema PHYSICAL_SCHEMA =
+      PersistenceSchema.from((ConnectSchema) SCHEMA, false);
+
+  @Rule
+  public final ExpectedException expectedException = ExpectedException.none();
+
+  private final KsqlJsonRowSerializer serializer = new KsqlJsonRowSerializer(PHYSICAL_SCHEMA);
+
+  @Test
+  public void shouldSerializeRowAsJsonObject() {
+    // Given:
+    final GenericRow row = new GenericRow(
+        1511897796092L,
+        "item_1",
+        10.0,
+        ImmutableList.of(100.0),
+        ImmutableMap.of("key1", 100.0),
+        new Struct(ADDRESS_SCHEMA).put("STREET", "Main \"St\"").put("NUMBER", 10),
+        new BigDecimal("1.12345")
+    );
+
+    // When:
+    final byte[] bytes = serializer.serialize(SOME_TOPIC, row);
+
+    // Then:
+    assertThat(asJsonString(bytes), is("{"
+        + "\"ORDERTIME\":1511897796092,"
+        + "\"ITEMID\":\"item_1\","
+        + "\"ORDERUNITS\":10.0,"
+        + "\"ARRAYCOL\":[100.0],"
+        + "\"MAPCOL\":{\"key1\":100.0},"
+        + "\"ADDRESS\":{\"STREET\":\"Main \\\"St\\\"\",\"NUMBER\":10},"
+        + "\"DECIMALCOL\":\"AbbZ\""
+        + "}"));
+  }
+
+  @Test
+  public void shouldProduceSameBytesAsStructSerializer() {
+    // Given:
+    final GenericRow row = new GenericRow(
+        1L, "\u00e9", -0.5, null, ImmutableMap.of("k", 1.0), null, null);
+
+    final Struct struct = new Struct(SCHEMA)
+        .put("ORDERTIME", 1L)
+        .put("ITEMID", "\u00e9")
+        .put("ORDERUNITS", -0.5)
+        .put("MAPCOL", ImmutableMap.of("k", 1.0));
+
+    // When:
+    final byte[] bytes = serializer.serialize(SOME_TOPIC, row);
+
+    // Then:
+    assertThat(bytes, is(new KsqlJsonSerializer(PHYSICAL_SCHEMA).serialize(SOME_TOPIC, struct)));
+  }
+
+  @Test
+  public void shouldReuseBufferBetweenRows() {
+    // Given:
+    serializer.serialize(SOME_TOPIC, new GenericRow(
+        1L, "a much longer item id than the next row", null, null, null, null, null));
+
+    // When:
+    final byte[] bytes = serializer.serialize(SOME_TOPIC, new GenericRow(
+        2L, "b", null, null, null, null, null));
+
+    // Then:
+    assertThat(asJsonString(bytes), is("{"
+        + "\"ORDERTIME\":2,"
+        + "\"ITEMID\":\"b\","
+        + "\"ORDERUNITS\":null,"
+        + "\"ARRAYCOL\":null,"
+        + "\"MAPCOL\":null,"
+        + "\"ADDRESS\":null,"
+        + "\"DECIMALCOL\":null"
+        + "}"));
+  }
+
+  @Test
+  public void shouldSerializeNullAsNull() {
+    assertThat(serializer.serialize(SOME_TOPIC, null), is(nullValue()));
+  }
+
+  @Test
+  public void shouldThrowOnFieldCountMismatch() {
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException.expectMessage("Field count mismatch. expected: 7, got: 1");
+
+    // When:
+    serializer.serialize(SOME_TOPIC, new GenericRow(1L));
+  }
+
+  @Test
+  public void shouldThrowIfValueWrongType() {
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException.expectMessage(SOME_TOPIC);
+    expectedException.expectCause(hasMessage(is(
+        "Invalid type for INT64: class java.lang.Boolean")));
+
+    // When:
+    serializer.serialize(SOME_TOPIC, new GenericRow(true, null, null, null, null, null, null));
+  }
+
+  @Test
+  public void shouldThrowIfMapKeyWrongType() {
+    // Then:
+    expectedException.expect(SerializationException.class);
+    expectedException.expectCause(hasMessage(is(
+        "Invalid type for STRING: class java.lang.Integer")));
+
+    // When:
+    serializer.serialize(SOME_TOPIC, new GenericRow(
+        null, null, null, null, ImmutableMap.of(1, 2.0), null, null));
+  }
+
+  @Test
+  public void shouldThrowOnUnwrappedSchema() {
+    // Then:
+    expectedException.expect(IllegalArgumentException.class);
+    expectedException.expectMessage("Unwrapped schemas are not supported");
+
+    // When:
+    new KsqlJsonRowSerializer(PersistenceSchema.from(
+        (ConnectSchema) SchemaBuilder.struct()
+            .field("f0", Schema.OPTIONAL_STRING_SCHEMA)
+            .build(),
+        true
+    ));
+  }
+
+  private static String asJsonString(final byte[] bytes) {
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -523,6 +523,19 @@ public class KsqlJsonSerializerTest {
             + "}"));
   }
 
+  @Test
+  public void shouldSerializeSubsequentValuesIndependently() {
+    // Given:
+    givenSerializerForSchema(Schema.OPTIONAL_STRING_SCHEMA);
+    serializer.serialize(SOME_TOPIC, "a much longer value");
+
+    // When:
+    final byte[] bytes = serializer.serialize(SOME_TOPIC, "short");
+
+    // Then:
+    assertThat(asJsonString(bytes), is("\"short\""));
+  }
+
   @Test
   public void shouldIncludeTopicNameInException() {
     // Given:
@@ -47,7 +47,7 @@ public final class AggregateBuilderUtils {
         physicalAggregationSchema,
         queryContext
     );
-    final Serde<GenericRow> valueSerde = queryBuilder.buildValueSerde(
+    final Serde<GenericRow> valueSerde = queryBuilder.buildInternalValueSerde(
         formats.getValueFormat().getFormatInfo(),
         physicalAggregationSchema,
         queryContext
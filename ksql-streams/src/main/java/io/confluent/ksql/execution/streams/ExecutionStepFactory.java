@@ -46,12 +46,14 @@ import io.confluent.ksql.execution.plan.TableMapValues;
 import io.confluent.ksql.execution.plan.TableSink;
 import io.confluent.ksql.execution.plan.TableTableJoin;
 import io.confluent.ksql.execution.windows.KsqlWindowExpression;
+import io.confluent.ksql.name.ColumnName;
 import io.confluent.ksql.schema.ksql.ColumnRef;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.util.timestamp.TimestampExtractionPolicy;
 import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.Topology.AutoOffsetReset;
 import org.apache.kafka.streams.kstream.JoinWindows;
@@ -72,7 +74,8 @@ public final class ExecutionStepFactory {
       final Formats formats,
       final TimestampExtractionPolicy timestampPolicy,
       final int timestampIndex,
-      final Optional<AutoOffsetReset> offsetReset
+      final Optional<AutoOffsetReset> offsetReset,
+      final Optional<Set<ColumnName>> requiredColumns
   ) {
     final QueryContext queryContext = stacker.getQueryContext();
     return new StreamSource<>(
@@ -84,7 +87,8 @@ public final class ExecutionStepFactory {
         timestampPolicy,
         timestampIndex,
         offsetReset,
-        schema.getOriginalSchema()
+        schema.getOriginalSchema(),
+        requiredColumns
     );
   }
 
@@ -95,7 +99,8 @@ public final class ExecutionStepFactory {
       final Formats formats,
       final TimestampExtractionPolicy timestampPolicy,
       final int timestampIndex,
-      final Optional<AutoOffsetReset> offsetReset
+      final Optional<AutoOffsetReset> offsetReset,
+      final Optional<Set<ColumnName>> requiredColumns
   ) {
     final QueryContext queryContext = stacker.getQueryContext();
     return new StreamSource<>(
@@ -107,7 +112,8 @@ public final class ExecutionStepFactory {
         timestampPolicy,
         timestampIndex,
         offsetReset,
-        schema.getOriginalSchema()
+        schema.getOriginalSchema(),
+        requiredColumns
     );
   }
 
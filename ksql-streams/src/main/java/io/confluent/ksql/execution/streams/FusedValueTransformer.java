@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import static java.util.Objects.requireNonNull;
+
+import io.confluent.ksql.GenericRow;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.kafka.streams.kstream.Predicate;
+import org.apache.kafka.streams.kstream.ValueMapper;
+import org.apache.kafka.streams.kstream.ValueTransformerWithKey;
+import org.apache.kafka.streams.kstream.ValueTransformerWithKeySupplier;
+import org.apache.kafka.streams.processor.ProcessorContext;
+
+/**
+ * A single processor that adds the source meta columns, filters and projects each record.
+ *
+ * <p>Each stage is optional. Records rejected by the predicate produce no output. The predicate
+ * and mapper are created per processor instance, so that they can own their evaluation buffers.
+ */
+final class FusedValueTransformer<K>
+    implements ValueTransformerWithKeySupplier<K, GenericRow, Iterable<GenericRow>> {
+
+  private final Optional<Function<K, Object>> rowKeyExtractor;
+  private final Optional<Supplier<Predicate<K, GenericRow>>> predicateSupplier;
+  private final Optional<Supplier<ValueMapper<GenericRow, GenericRow>>> mapperSupplier;
+
+  FusedValueTransformer(
+      final Optional<Function<K, Object>> rowKeyExtractor,
+      final Optional<Supplier<Predicate<K, GenericRow>>> predicateSupplier,
+      final Optional<Supplier<ValueMapper<GenericRow, GenericRow>>> mapperSupplier
+  ) {
+    this.rowKeyExtractor = requireNonNull(rowKeyExtractor, "rowKeyExtractor");
+    this.predicateSupplier = requireNonNull(predicateSupplier, "predicateSupplier");
+    this.mapperSupplier = requireNonNull(mapperSupplier, "mapperSupplier");
+  }
+
+  @Override
+  public ValueTransformerWithKey<K, GenericRow, Iterable<GenericRow>> get() {
+    final Optional<Predicate<K, GenericRow>> predicate = predicateSupplier.map(Supplier::get);
+    final Optional<ValueMapper<GenericRow, GenericRow>> mapper = mapperSupplier.map(Supplier::get);
+
+    return new ValueTransformerWithKey<K, GenericRow, Iterable<GenericRow>>() {
+      private ProcessorContext processorContext;
+
+      @Override
+      public void init(final ProcessorContext processorContext) {
+        this.processorContext = processorContext;
+      }
+
+      @Override
+      public Iterable<GenericRow> transform(final K key, final GenericRow value) {
+        GenericRow row = value;
+
+        if (rowKeyExtractor.isPresent() && row != null) {
+          row = StreamSourceBuilder.addMetaColumns(
+              row,
+              rowKeyExtractor.get().apply(key),
+              processorContext.timestamp()
+          );
+        }
+
+        if (predicate.isPresent() && !predicate.get().test(key, row)) {
+          return Collections.emptyList();
+        }
+
+        if (mapper.isPresent()) {
+          row = mapper.get().apply(row);
+        }
+
+        return Collections.singletonList(row);
+      }
+
+      @Override
+      public void close() {
+      }
+    };
+  }
+}
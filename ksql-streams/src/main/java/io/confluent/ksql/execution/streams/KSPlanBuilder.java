@@ -77,6 +77,9 @@ public final class KSPlanBuilder implements PlanBuilder {
   }
 
   public <K> KStreamHolder<K> visitStreamFilter(final StreamFilter<K> streamFilter) {
+    if (StreamFusedStepsBuilder.canFuse(streamFilter, queryBuilder)) {
+      return StreamFusedStepsBuilder.build(streamFilter, this, queryBuilder, sqlPredicateFactory);
+    }
     final KStreamHolder<K> source = streamFilter.getSource().build(this);
     return StreamFilterBuilder.build(source, streamFilter, queryBuilder, sqlPredicateFactory);
   }
@@ -121,6 +124,14 @@ public final class KSPlanBuilder implements PlanBuilder {
   @Override
   public <K> KStreamHolder<K> visitStreamMapValues(
       final StreamMapValues<K> streamMapValues) {
+    if (StreamFusedStepsBuilder.canFuse(streamMapValues, queryBuilder)) {
+      return StreamFusedStepsBuilder.build(
+          streamMapValues,
+          this,
+          queryBuilder,
+          sqlPredicateFactory
+      );
+    }
     final KStreamHolder<K> source = streamMapValues.getSource().build(this);
     return StreamMapValuesBuilder.build(source, streamMapValues, queryBuilder);
   }
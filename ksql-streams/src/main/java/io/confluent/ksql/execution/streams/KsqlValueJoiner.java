@@ -17,8 +17,6 @@ package io.confluent.ksql.execution.streams;
 
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
 import org.apache.kafka.streams.kstream.ValueJoiner;
 
@@ -33,25 +31,22 @@ public final class KsqlValueJoiner implements ValueJoiner<GenericRow, GenericRow
 
   @Override
   public GenericRow apply(final GenericRow left, final GenericRow right) {
-    final List<Object> columns = new ArrayList<>();
-    if (left != null) {
-      columns.addAll(left.getColumns());
-    } else {
-      fillWithNulls(columns, leftSchema.value().size());
-    }
-
-    if (right != null) {
-      columns.addAll(right.getColumns());
-    } else {
-      fillWithNulls(columns, rightSchema.value().size());
-    }
+    final int leftSize = left == null ? leftSchema.value().size() : left.size();
+    final int rightSize = right == null ? rightSchema.value().size() : right.size();
 
-    return new GenericRow(columns);
+    final GenericRow.Builder row = GenericRow.builder(leftSize + rightSize);
+    append(row, left, leftSize);
+    append(row, right, rightSize);
+    return row.build();
   }
 
-  private static void fillWithNulls(final List<Object> columns, final int numToFill) {
-    for (int i = 0; i < numToFill; ++i) {
-      columns.add(null);
+  private static void append(
+      final GenericRow.Builder builder,
+      final GenericRow row,
+      final int size
+  ) {
+    for (int i = 0; i < size; ++i) {
+      builder.append(row == null ? null : row.get(i));
     }
   }
 
@@ -53,40 +53,129 @@ public class SelectValueMapper implements ValueMapper<GenericRow, GenericRow> {
       return null;
     }
 
-    final List<Object> newColumns = new ArrayList<>();
+    final Object[] newColumns = new Object[selects.size()];
 
     for (int i = 0; i < selects.size(); i++) {
-      newColumns.add(processColumn(i, row));
+      newColumns[i] = processColumn(i, row);
     }
 
     return new GenericRow(newColumns);
   }
 
+  /**
+   * Get a mapper for use by a single processor instance.
+   *
+   * <p>The returned mapper owns the parameter buffers of its expressions, so avoids the per
+   * expression thread local lookup of {@link #apply}, but is <i>not</i> thread safe.
+   *
+   * @return the mapper.
+   */
+  public ValueMapper<GenericRow, GenericRow> getProcessorMapper() {
+    final Object[][] parameters = new Object[selects.size()][];
+    for (int i = 0; i < selects.size(); i++) {
+      parameters[i] = selects.get(i).evaluator.newParameterBuffer();
+    }
+
+    return row -> {
+      if (row == null) {
+        return null;
+      }
+
+      final Object[] newColumns = new Object[selects.size()];
+
+      for (int i = 0; i < selects.size(); i++) {
+        newColumns[i] = processColumn(i, row, parameters[i]);
+      }
+
+      return new GenericRow(newColumns);
+    };
+  }
+
+  /**
+   * Apply the selects to a batch of rows.
+   *
+   * <p>The batch is processed one select expression at a time, rather than one row at a time,
+   * so that each compiled expression runs in a tight loop over the whole batch.
+   *
+   * <p>This is only for callers that already hold all their rows, such as pull queries. Push
+   * queries still map one row per record, via {@link #apply} or {@link #getProcessorMapper}.
+   *
+   * @param rows the rows to map. {@code null} rows map to {@code null}.
+   * @return the mapped rows, in the same order as {@code rows}.
+   */
+  public List<GenericRow> applyBatch(final List<GenericRow> rows) {
+    final Object[][] columns = new Object[selects.size()][];
+
+    for (int i = 0; i < selects.size(); i++) {
+      final int column = i;
+      columns[i] = new Object[rows.size()];
+      selects.get(i).evaluator.evaluate(
+          rows,
+          columns[i],
+          (e, rowIdx) -> logProcessingError(column, rows.get(rowIdx), e)
+      );
+    }
+
+    final List<GenericRow> result = new ArrayList<>(rows.size());
+    for (int rowIdx = 0; rowIdx < rows.size(); rowIdx++) {
+      if (rows.get(rowIdx) == null) {
+        result.add(null);
+        continue;
+      }
+
+      final Object[] newColumns = new Object[selects.size()];
+      for (int i = 0; i < columns.length; i++) {
+        newColumns[i] = columns[i][rowIdx];
+      }
+      result.add(new GenericRow(newColumns));
+    }
+    return result;
+  }
+
   private Object processColumn(final int column, final GenericRow row) {
     final SelectInfo select = selects.get(column);
 
     try {
       return select.evaluator.evaluate(row);
     } catch (final Exception e) {
-      final String errorMsg = String.format(
-          "Error computing expression %s for column %s with index %d: %s",
-          select.evaluator.getExpression(),
-          select.fieldName.toString(FormatOptions.noEscape()),
-          column,
-          e.getMessage()
-      );
+      logProcessingError(column, row, e);
+      return null;
+    }
+  }
 
-      processingLogger.error(
-          EngineProcessingLogMessageFactory.recordProcessingError(
-              errorMsg,
-              e,
-              row
-          )
-      );
+  private Object processColumn(
+      final int column,
+      final GenericRow row,
+      final Object[] parameters
+  ) {
+    try {
+      return selects.get(column).evaluator.evaluate(row, parameters);
+    } catch (final Exception e) {
+      logProcessingError(column, row, e);
       return null;
     }
   }
 
+  private void logProcessingError(final int column, final GenericRow row, final Exception e) {
+    final SelectInfo select = selects.get(column);
+
+    final String errorMsg = String.format(
+        "Error computing expression %s for column %s with index %d: %s",
+        select.evaluator.getExpression(),
+        select.fieldName.toString(FormatOptions.noEscape()),
+        column,
+        e.getMessage()
+    );
+
+    processingLogger.error(
+        EngineProcessingLogMessageFactory.recordProcessingError(
+            errorMsg,
+            e,
+            row
+        )
+    );
+  }
+
   static final class SelectInfo {
 
     final ColumnName fieldName;
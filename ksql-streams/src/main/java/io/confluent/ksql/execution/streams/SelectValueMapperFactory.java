@@ -26,6 +26,7 @@ import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.util.KsqlConfig;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Factor class for {@link SelectValueMapper}.
@@ -68,18 +69,18 @@ public final class SelectValueMapperFactory {
   }
 
   private List<SelectInfo> buildSelects(final List<SelectExpression> selectExpressions) {
-    return selectExpressions.stream()
-        .map(this::buildSelect)
-        .collect(Collectors.toList());
-  }
-
-  private SelectInfo buildSelect(final SelectExpression selectExpression) {
-    final ExpressionMetadata evaluator = codeGenerator
-        .buildCodeGenFromParseTree(selectExpression.getExpression(), EXP_TYPE);
-
-    return SelectInfo.of(
-        selectExpression.getAlias(),
-        evaluator
+    final List<ExpressionMetadata> evaluators = codeGenerator.buildCodeGenFromParseTrees(
+        selectExpressions.stream()
+            .map(SelectExpression::getExpression)
+            .collect(Collectors.toList()),
+        EXP_TYPE
     );
+
+    return IntStream.range(0, selectExpressions.size())
+        .mapToObj(idx -> SelectInfo.of(
+            selectExpressions.get(idx).getAlias(),
+            evaluators.get(idx)
+        ))
+        .collect(Collectors.toList());
   }
 }
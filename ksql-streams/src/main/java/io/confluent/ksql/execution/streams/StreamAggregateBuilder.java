@@ -171,7 +171,7 @@ public final class StreamAggregateBuilder {
           physicalSchema,
           queryContext
       );
-      valueSerde = queryBuilder.buildValueSerde(
+      valueSerde = queryBuilder.buildInternalValueSerde(
           formats.getValueFormat().getFormatInfo(),
           physicalSchema,
           queryContext
@@ -38,10 +38,20 @@ public final class StreamFilterBuilder {
       final StreamFilter<K> step,
       final KsqlQueryBuilder queryBuilder,
       final SqlPredicateFactory predicateFactory) {
+    final SqlPredicate predicate = buildPredicate(step, queryBuilder, predicateFactory);
+    return stream.withStream(
+        stream.getStream().filter(predicate.getPredicate())
+    );
+  }
+
+  static SqlPredicate buildPredicate(
+      final StreamFilter<?> step,
+      final KsqlQueryBuilder queryBuilder,
+      final SqlPredicateFactory predicateFactory) {
     final QueryContext.Stacker contextStacker = QueryContext.Stacker.of(
         step.getProperties().getQueryContext()
     );
-    final SqlPredicate predicate = predicateFactory.create(
+    return predicateFactory.create(
         step.getFilterExpression(),
         step.getSource().getProperties().getSchema(),
         queryBuilder.getKsqlConfig(),
@@ -51,8 +61,5 @@ public final class StreamFilterBuilder {
                 contextStacker.push("FILTER").getQueryContext())
         )
     );
-    return stream.withStream(
-        stream.getStream().filter(predicate.getPredicate())
-    );
   }
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
+import io.confluent.ksql.execution.plan.ExecutionStep;
+import io.confluent.ksql.execution.plan.KStreamHolder;
+import io.confluent.ksql.execution.plan.PlanBuilder;
+import io.confluent.ksql.execution.plan.StreamFilter;
+import io.confluent.ksql.execution.plan.StreamMapValues;
+import io.confluent.ksql.execution.plan.StreamSource;
+import io.confluent.ksql.util.KsqlConfig;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.kafka.streams.kstream.Predicate;
+import org.apache.kafka.streams.kstream.ValueMapper;
+
+/**
+ * Builds a chain of stateless stream steps as a single processor.
+ *
+ * <p>A {@link StreamMapValues} and/or {@link StreamFilter}, optionally reading directly from a
+ * {@link StreamSource}, would otherwise each be built as separate processors. The fused processor
+ * adds the source meta columns, filters and projects each record in a single pass.
+ */
+public final class StreamFusedStepsBuilder {
+  private StreamFusedStepsBuilder() {
+  }
+
+  /**
+   * @return true if {@code step} is the last of a chain of at least two fusible steps.
+   */
+  static boolean canFuse(
+      final ExecutionStep<?> step,
+      final KsqlQueryBuilder queryBuilder
+  ) {
+    if (!queryBuilder.getKsqlConfig().getBoolean(KsqlConfig.KSQL_FUSE_STATELESS_STEPS)) {
+      return false;
+    }
+
+    if (step instanceof StreamMapValues) {
+      final ExecutionStep<?> source = ((StreamMapValues<?>) step).getSource();
+      return source instanceof StreamFilter || source instanceof StreamSource;
+    }
+
+    if (step instanceof StreamFilter) {
+      return ((StreamFilter<?>) step).getSource() instanceof StreamSource;
+    }
+
+    return false;
+  }
+
+  @SuppressWarnings("unchecked")
+  static <K> KStreamHolder<K> build(
+      final ExecutionStep<KStreamHolder<K>> step,
+      final PlanBuilder planBuilder,
+      final KsqlQueryBuilder queryBuilder,
+      final SqlPredicateFactory predicateFactory
+  ) {
+    ExecutionStep<KStreamHolder<K>> next = step;
+
+    final Optional<StreamMapValues<K>> select = next instanceof StreamMapValues
+        ? Optional.of((StreamMapValues<K>) next)
+        : Optional.empty();
+    if (select.isPresent()) {
+      next = select.get().getSource();
+    }
+
+    final Optional<StreamFilter<K>> filter = next instanceof StreamFilter
+        ? Optional.of((StreamFilter<K>) next)
+        : Optional.empty();
+    if (filter.isPresent()) {
+      next = filter.get().getSource();
+    }
+
+    final Optional<StreamSource<?>> source = next instanceof StreamSource
+        ? Optional.of((StreamSource<?>) next)
+        : Optional.empty();
+
+    final KStreamHolder<K> input = source.isPresent()
+        ? StreamSourceBuilder.buildWithoutMetaColumns(queryBuilder, source.get())
+        : next.build(planBuilder);
+
+    final Optional<Function<K, Object>> rowKeyExtractor =
+        source.map(StreamSourceBuilder::<K>rowKeyExtractor);
+
+    final Optional<Supplier<Predicate<K, GenericRow>>> predicate = filter
+        .map(f -> StreamFilterBuilder.buildPredicate(f, queryBuilder, predicateFactory))
+        .map(sqlPredicate -> sqlPredicate::getProcessorPredicate);
+
+    final Optional<Supplier<ValueMapper<GenericRow, GenericRow>>> mapper = select
+        .map(s -> StreamMapValuesBuilder.buildSelection(s, queryBuilder).getMapper())
+        .map(selectMapper -> selectMapper::getProcessorMapper);
+
+    return input.withStream(
+        input.getStream().flatTransformValues(
+            new FusedValueTransformer<>(rowKeyExtractor, predicate, mapper)
+        )
+    );
+  }
+}
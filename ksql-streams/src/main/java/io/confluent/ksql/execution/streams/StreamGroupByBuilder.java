@@ -99,7 +99,7 @@ public final class StreamGroupByBuilder {
         physicalSchema,
         queryContext
     );
-    final Serde<GenericRow> valSerde = queryBuilder.buildValueSerde(
+    final Serde<GenericRow> valSerde = queryBuilder.buildInternalValueSerde(
         formats.getValueFormat().getFormatInfo(),
         physicalSchema,
         queryContext
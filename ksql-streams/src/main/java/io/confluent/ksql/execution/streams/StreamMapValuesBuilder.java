@@ -29,19 +29,24 @@ public final class StreamMapValuesBuilder {
       final KStreamHolder<K> stream,
       final StreamMapValues<K> step,
       final KsqlQueryBuilder queryBuilder) {
-    final QueryContext queryContext = step.getProperties().getQueryContext();
-    final LogicalSchema sourceSchema = step.getSource().getProperties().getSchema();
-    final Selection selection =
-        Selection.of(
-            queryContext,
-            sourceSchema,
-            step.getSelectExpressions(),
-            queryBuilder.getKsqlConfig(),
-            queryBuilder.getFunctionRegistry(),
-            queryBuilder.getProcessingLogContext()
-        );
+    final Selection selection = buildSelection(step, queryBuilder);
     return stream.withStream(
         stream.getStream().mapValues(selection.getMapper())
     );
   }
+
+  static Selection buildSelection(
+      final StreamMapValues<?> step,
+      final KsqlQueryBuilder queryBuilder) {
+    final QueryContext queryContext = step.getProperties().getQueryContext();
+    final LogicalSchema sourceSchema = step.getSource().getProperties().getSchema();
+    return Selection.of(
+        queryContext,
+        sourceSchema,
+        step.getSelectExpressions(),
+        queryBuilder.getKsqlConfig(),
+        queryBuilder.getFunctionRegistry(),
+        queryBuilder.getProcessingLogContext()
+    );
+  }
 }
@@ -16,14 +16,19 @@ package io.confluent.ksql.execution.streams;
 
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
+import io.confluent.ksql.execution.context.QueryContext;
 import io.confluent.ksql.execution.plan.ExecutionStepProperties;
 import io.confluent.ksql.execution.plan.KStreamHolder;
 import io.confluent.ksql.execution.plan.StreamSource;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.PhysicalSchema;
+import io.confluent.ksql.serde.FormatInfo;
 import io.confluent.ksql.serde.KeyFormat;
 import io.confluent.ksql.serde.KeySerde;
+import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.timestamp.TimestampExtractionPolicy;
+import java.util.Objects;
+import java.util.function.Function;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.streams.kstream.Consumed;
@@ -31,6 +36,8 @@ import org.apache.kafka.streams.kstream.KStream;
 import org.apache.kafka.streams.kstream.ValueMapperWithKey;
 import org.apache.kafka.streams.kstream.ValueTransformer;
 import org.apache.kafka.streams.kstream.ValueTransformerSupplier;
+import org.apache.kafka.streams.kstream.ValueTransformerWithKey;
+import org.apache.kafka.streams.kstream.ValueTransformerWithKeySupplier;
 import org.apache.kafka.streams.kstream.Window;
 import org.apache.kafka.streams.kstream.Windowed;
 import org.apache.kafka.streams.kstream.internals.SessionWindow;
@@ -41,19 +48,78 @@ public final class StreamSourceBuilder {
   private StreamSourceBuilder() {
   }
 
-  @SuppressWarnings("unchecked")
   public static <K> KStreamHolder<K> build(
       final KsqlQueryBuilder queryBuilder,
       final StreamSource<?> streamSource
+  ) {
+    final KStreamHolder<K> stream = buildWithoutMetaColumns(queryBuilder, streamSource);
+    final Function<K, Object> rowKeyExtractor = rowKeyExtractor(streamSource);
+
+    if (queryBuilder.getKsqlConfig().getBoolean(KsqlConfig.KSQL_FUSE_STATELESS_STEPS)) {
+      // Add the ROWTIME and ROWKEY columns in a single processor:
+      return stream.withStream(
+          stream.getStream().transformValues(new AddMetaColumns<>(rowKeyExtractor))
+      );
+    }
+
+    return stream.withStream(
+        stream.getStream()
+            // 2. mapValues to add the ROWKEY column
+            .mapValues(rowKeyMapper(rowKeyExtractor))
+            // 3. transformValues to add the ROWTIME column. transformValues is required to access
+            //    the streams ProcessorContext which has the timestamp for the record.
+            .transformValues(new AddTimestampColumn())
+    );
+  }
+
+  /**
+   * Build the stream of a source, without the ROWTIME and ROWKEY meta columns.
+   *
+   * <p>Callers must add the meta columns, e.g. via {@link #addMetaColumns}, before any other
+   * step sees the rows.
+   */
+  @SuppressWarnings("unchecked")
+  static <K> KStreamHolder<K> buildWithoutMetaColumns(
+      final KsqlQueryBuilder queryBuilder,
+      final StreamSource<?> streamSource
   ) {
     if (streamSource.getFormats().getKeyFormat().isWindowed()) {
-      return (KStreamHolder) buildWindowed(queryBuilder,streamSource);
+      return (KStreamHolder) buildWindowed(queryBuilder, streamSource);
     } else {
       return (KStreamHolder) buildUnwindowed(queryBuilder, streamSource);
     }
   }
 
-  public static KStreamHolder<Struct> buildUnwindowed(
+  /**
+   * @return function to extract the ROWKEY value from the key of a record read from the source.
+   */
+  @SuppressWarnings("unchecked")
+  static <K> Function<K, Object> rowKeyExtractor(final StreamSource<?> streamSource) {
+    final LogicalSchema schema = streamSource.getSourceSchema();
+    if (streamSource.getFormats().getKeyFormat().isWindowed()) {
+      return (Function) windowedRowKeyExtractor(schema);
+    } else {
+      return (Function) nonWindowedRowKeyExtractor(schema);
+    }
+  }
+
+  /**
+   * Build the row with the ROWTIME and ROWKEY meta columns followed by the columns of the
+   * supplied row, in a single copy.
+   */
+  static GenericRow addMetaColumns(
+      final GenericRow row,
+      final Object rowKey,
+      final long rowTime
+  ) {
+    return GenericRow.builder(row.size() + 2)
+        .append(rowTime)
+        .append(rowKey)
+        .appendAll(row)
+        .build();
+  }
+
+  private static KStreamHolder<Struct> buildUnwindowed(
       final KsqlQueryBuilder queryBuilder,
       final StreamSource<?> streamSource
   ) {
@@ -73,8 +139,7 @@ public final class StreamSourceBuilder {
     final KStream<Struct, GenericRow> kstream = buildKStream(
         streamSource,
         queryBuilder,
-        consumed,
-        nonWindowedValueMapper(streamSource.getSourceSchema())
+        consumed
     );
     return new KStreamHolder<>(
         kstream,
@@ -82,7 +147,7 @@ public final class StreamSourceBuilder {
     );
   }
 
-  public static KStreamHolder<Windowed<Struct>> buildWindowed(
+  private static KStreamHolder<Windowed<Struct>> buildWindowed(
       final KsqlQueryBuilder queryBuilder,
       final StreamSource<?> streamSource
   ) {
@@ -103,8 +168,7 @@ public final class StreamSourceBuilder {
     final KStream<Windowed<Struct>, GenericRow> kstream = buildKStream(
         streamSource,
         queryBuilder,
-        consumed,
-        windowedMapper(streamSource.getSourceSchema())
+        consumed
     );
     return new KStreamHolder<>(
         kstream,
@@ -121,11 +185,21 @@ public final class StreamSourceBuilder {
       final KsqlQueryBuilder queryBuilder,
       final StreamSource<?> streamSource,
       final PhysicalSchema physicalSchema) {
-    return queryBuilder.buildValueSerde(
-        streamSource.getFormats().getValueFormat().getFormatInfo(),
-        physicalSchema,
-        streamSource.getProperties().getQueryContext()
-    );
+    final FormatInfo valueFormat = streamSource.getFormats().getValueFormat().getFormatInfo();
+    final QueryContext queryContext = streamSource.getProperties().getQueryContext();
+
+    return streamSource.getRequiredColumns()
+        .map(required -> queryBuilder.buildValueSerde(
+            valueFormat,
+            physicalSchema,
+            queryContext,
+            required
+        ))
+        .orElseGet(() -> queryBuilder.buildValueSerde(
+            valueFormat,
+            physicalSchema,
+            queryContext
+        ));
   }
 
   private static PhysicalSchema getPhysicalSchema(final StreamSource<?> streamSource) {
@@ -138,16 +212,10 @@ public final class StreamSourceBuilder {
   private static <K> KStream<K, GenericRow> buildKStream(
       final StreamSource<?> streamSource,
       final KsqlQueryBuilder queryBuilder,
-      final Consumed<K, GenericRow> consumed,
-      final ValueMapperWithKey<K, GenericRow, GenericRow> mapper) {
+      final Consumed<K, GenericRow> consumed) {
     return queryBuilder.getStreamsBuilder()
         // 1. Create a KStream on the changelog topic.
-        .stream(streamSource.getTopicName(), consumed)
-        // 2. mapValues to add the ROWKEY column
-        .mapValues(mapper)
-        // 3. transformValues to add the ROWTIME column. transformValues is required to access the
-        //    streams ProcessorContext which has the timestamp for the record.
-        .transformValues(new AddTimestampColumn());
+        .stream(streamSource.getTopicName(), consumed);
   }
 
   private static <K> Consumed<K, GenericRow> buildSourceConsumed(
@@ -173,33 +241,88 @@ public final class StreamSourceBuilder {
     return schema.keyConnectSchema().fields().get(0);
   }
 
-  private static ValueMapperWithKey<Windowed<Struct>, GenericRow, GenericRow> windowedMapper(
+  private static Function<Windowed<Struct>, Object> windowedRowKeyExtractor(
       final LogicalSchema schema) {
     final org.apache.kafka.connect.data.Field keyField = getKeySchemaSingleField(schema);
-    return (keyStruct, row) -> {
-      if (row != null) {
-        final Window window = keyStruct.window();
-        final long start = window.start();
-        final String end = window instanceof SessionWindow ? String.valueOf(window.end()) : "-";
-        final Object key = keyStruct.key().get(keyField);
-        final String rowKey = String.format("%s : Window{start=%d end=%s}", key, start, end);
-        row.getColumns().add(0, rowKey);
-      }
-      return row;
+    return keyStruct -> {
+      final Window window = keyStruct.window();
+      final Object key = keyStruct.key().get(keyField);
+      return formatWindowedRowKey(key, window);
     };
   }
 
-  private static ValueMapperWithKey<Struct, GenericRow, GenericRow> nonWindowedValueMapper(
+  /**
+   * Format the ROWKEY of a windowed key, e.g. {@code foo : Window{start=100 end=-}}.
+   *
+   * <p>Built directly, rather than via {@code String.format}, as this runs for every record
+   * read from a windowed source.
+   */
+  private static String formatWindowedRowKey(final Object key, final Window window) {
+    final StringBuilder sb = new StringBuilder(64)
+        .append(key)
+        .append(" : Window{start=")
+        .append(window.start())
+        .append(" end=");
+
+    if (window instanceof SessionWindow) {
+      sb.append(window.end());
+    } else {
+      sb.append('-');
+    }
+
+    return sb.append('}').toString();
+  }
+
+  private static Function<Struct, Object> nonWindowedRowKeyExtractor(
       final LogicalSchema schema) {
     final org.apache.kafka.connect.data.Field keyField = getKeySchemaSingleField(schema);
+    return key -> key.get(keyField);
+  }
+
+  private static <K> ValueMapperWithKey<K, GenericRow, GenericRow> rowKeyMapper(
+      final Function<K, Object> rowKeyExtractor) {
     return (key, row) -> {
       if (row != null) {
-        row.getColumns().add(0, key.get(keyField));
+        row.getColumns().add(0, rowKeyExtractor.apply(key));
       }
       return row;
     };
   }
 
+  private static final class AddMetaColumns<K>
+      implements ValueTransformerWithKeySupplier<K, GenericRow, GenericRow> {
+
+    private final Function<K, Object> rowKeyExtractor;
+
+    private AddMetaColumns(final Function<K, Object> rowKeyExtractor) {
+      this.rowKeyExtractor = Objects.requireNonNull(rowKeyExtractor, "rowKeyExtractor");
+    }
+
+    @Override
+    public ValueTransformerWithKey<K, GenericRow, GenericRow> get() {
+      return new ValueTransformerWithKey<K, GenericRow, GenericRow>() {
+        private ProcessorContext processorContext;
+
+        @Override
+        public void init(final ProcessorContext processorContext) {
+          this.processorContext = processorContext;
+        }
+
+        @Override
+        public GenericRow transform(final K key, final GenericRow row) {
+          if (row == null) {
+            return null;
+          }
+          return addMetaColumns(row, rowKeyExtractor.apply(key), processorContext.timestamp());
+        }
+
+        @Override
+        public void close() {
+        }
+      };
+    }
+  }
+
   private static class AddTimestampColumn
       implements ValueTransformerSupplier<GenericRow, GenericRow> {
     @Override
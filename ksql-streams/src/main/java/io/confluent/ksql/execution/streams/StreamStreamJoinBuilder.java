@@ -50,7 +50,7 @@ public final class StreamStreamJoinBuilder {
         leftSchema.withoutAlias(),
         leftFormats.getOptions()
     );
-    final Serde<GenericRow> leftSerde = queryBuilder.buildValueSerde(
+    final Serde<GenericRow> leftSerde = queryBuilder.buildInternalValueSerde(
         leftFormats.getValueFormat().getFormatInfo(),
         leftPhysicalSchema,
         stacker.push(LEFT_SERDE_CTX).getQueryContext()
@@ -61,7 +61,7 @@ public final class StreamStreamJoinBuilder {
         rightSchema.withoutAlias(),
         rightFormats.getOptions()
     );
-    final Serde<GenericRow> rightSerde = queryBuilder.buildValueSerde(
+    final Serde<GenericRow> rightSerde = queryBuilder.buildInternalValueSerde(
         rightFormats.getValueFormat().getFormatInfo(),
         rightPhysicalSchema,
         stacker.push(RIGHT_SERDE_CTX).getQueryContext()
@@ -49,7 +49,7 @@ public final class StreamTableJoinBuilder {
         leftSchema.withoutAlias(),
         leftFormats.getOptions()
     );
-    final Serde<GenericRow> leftSerde = queryBuilder.buildValueSerde(
+    final Serde<GenericRow> leftSerde = queryBuilder.buildInternalValueSerde(
         leftFormats.getValueFormat().getFormatInfo(),
         leftPhysicalSchema,
         stacker.push(SERDE_CTX).getQueryContext()
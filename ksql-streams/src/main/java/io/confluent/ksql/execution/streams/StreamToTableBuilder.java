@@ -49,7 +49,7 @@ public final class StreamToTableBuilder {
         streamToTable.getFormats().getOptions()
     );
     final ValueFormat valueFormat = streamToTable.getFormats().getValueFormat();
-    final Serde<GenericRow> valueSerde = queryBuilder.buildValueSerde(
+    final Serde<GenericRow> valueSerde = queryBuilder.buildInternalValueSerde(
         valueFormat.getFormatInfo(),
         physicalSchema,
         queryContext
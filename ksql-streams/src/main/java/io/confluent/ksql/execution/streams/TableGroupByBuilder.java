@@ -57,7 +57,7 @@ public final class TableGroupByBuilder {
         physicalSchema,
         queryContext
     );
-    final Serde<GenericRow> valSerde = queryBuilder.buildValueSerde(
+    final Serde<GenericRow> valSerde = queryBuilder.buildInternalValueSerde(
         formats.getValueFormat().getFormatInfo(),
         physicalSchema,
         queryContext
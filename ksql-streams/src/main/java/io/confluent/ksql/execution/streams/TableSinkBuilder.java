@@ -25,8 +25,6 @@ import io.confluent.ksql.execution.util.SinkSchemaUtil;
 import io.confluent.ksql.schema.ksql.LogicalSchema;
 import io.confluent.ksql.schema.ksql.PhysicalSchema;
 import io.confluent.ksql.serde.KeySerde;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Set;
 import org.apache.kafka.common.serialization.Serde;
 import org.apache.kafka.streams.kstream.Produced;
@@ -61,13 +59,13 @@ public final class TableSinkBuilder {
               if (row == null) {
                 return null;
               }
-              final List<Object> columns = new ArrayList<>();
-              for (int i = 0; i < row.getColumns().size(); i++) {
+              final GenericRow.Builder columns = GenericRow.builder(row.size());
+              for (int i = 0; i < row.size(); i++) {
                 if (!rowkeyIndexes.contains(i)) {
-                  columns.add(row.getColumns().get(i));
+                  columns.append(row.get(i));
                 }
               }
-              return new GenericRow(columns);
+              return columns.build();
             }
         ).to(kafkaTopicName, Produced.with(keySerde, valueSerde));
   }
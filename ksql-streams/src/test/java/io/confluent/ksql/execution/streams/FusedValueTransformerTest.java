@@ -0,0 +1,157 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.emptyIterable;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericRow;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.apache.kafka.streams.kstream.Predicate;
+import org.apache.kafka.streams.kstream.ValueMapper;
+import org.apache.kafka.streams.kstream.ValueTransformerWithKey;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FusedValueTransformerTest {
+
+  private static final String KEY = "k";
+  private static final long TIMESTAMP = 456L;
+
+  private static final Function<String, Object> ROW_KEY = key -> key + "-rowkey";
+  private static final Predicate<String, GenericRow> PREDICATE =
+      (key, row) -> !row.getColumns().contains("drop");
+  private static final ValueMapper<GenericRow, GenericRow> MAPPER =
+      row -> new GenericRow(ImmutableList.of(row.getColumns().get(row.getColumns().size() - 1)));
+
+  @Mock
+  private ProcessorContext processorContext;
+
+  private GenericRow row;
+
+  @Before
+  public void setUp() {
+    row = new GenericRow(new ArrayList<>(ImmutableList.of("a", "b")));
+  }
+
+  @Test
+  public void shouldAddMetaColumnsFilterAndProject() {
+    // Given:
+    when(processorContext.timestamp()).thenReturn(TIMESTAMP);
+    final ValueTransformerWithKey<String, GenericRow, Iterable<GenericRow>> transformer =
+        transformer(Optional.of(ROW_KEY), Optional.of(PREDICATE), Optional.of(MAPPER));
+
+    // When:
+    final Iterable<GenericRow> result = transformer.transform(KEY, row);
+
+    // Then:
+    assertThat(result, contains(new GenericRow("b")));
+  }
+
+  @Test
+  public void shouldAddMetaColumns() {
+    // Given:
+    when(processorContext.timestamp()).thenReturn(TIMESTAMP);
+    final ValueTransformerWithKey<String, GenericRow, Iterable<GenericRow>> transformer =
+        transformer(Optional.of(ROW_KEY), Optional.empty(), Optional.empty());
+
+    // When:
+    final Iterable<GenericRow> result = transformer.transform(KEY, row);
+
+    // Then:
+    assertThat(result, contains(new GenericRow(TIMESTAMP, "k-rowkey", "a", "b")));
+  }
+
+  @Test
+  public void shouldDropRowsRejectedByPredicate() {
+    // Given:
+    row.getColumns().add("drop");
+    final ValueTransformerWithKey<String, GenericRow, Iterable<GenericRow>> transformer =
+        transformer(Optional.empty(), Optional.of(PREDICATE), Optional.of(MAPPER));
+
+    // When:
+    final Iterable<GenericRow> result = transformer.transform(KEY, row);
+
+    // Then:
+    assertThat(result, emptyIterable());
+  }
+
+  @Test
+  public void shouldPassThroughNullRowWithoutPredicate() {
+    // Given:
+    final ValueTransformerWithKey<String, GenericRow, Iterable<GenericRow>> transformer =
+        transformer(Optional.of(ROW_KEY), Optional.empty(), Optional.of(row -> row));
+
+    // When:
+    final Iterable<GenericRow> result = transformer.transform(KEY, null);
+
+    // Then:
+    assertThat(result, contains((GenericRow) null));
+  }
+
+  @Test
+  public void shouldCreatePredicateAndMapperPerProcessor() {
+    // Given:
+    final AtomicInteger predicates = new AtomicInteger();
+    final AtomicInteger mappers = new AtomicInteger();
+    final FusedValueTransformer<String> supplier = new FusedValueTransformer<>(
+        Optional.empty(),
+        Optional.of(() -> {
+          predicates.incrementAndGet();
+          return PREDICATE;
+        }),
+        Optional.of(() -> {
+          mappers.incrementAndGet();
+          return MAPPER;
+        })
+    );
+
+    // When:
+    supplier.get();
+    supplier.get();
+
+    // Then:
+    assertThat(predicates.get(), is(2));
+    assertThat(mappers.get(), is(2));
+  }
+
+  private ValueTransformerWithKey<String, GenericRow, Iterable<GenericRow>> transformer(
+      final Optional<Function<String, Object>> rowKeyExtractor,
+      final Optional<Predicate<String, GenericRow>> predicate,
+      final Optional<ValueMapper<GenericRow, GenericRow>> mapper
+  ) {
+    final ValueTransformerWithKey<String, GenericRow, Iterable<GenericRow>> transformer =
+        new FusedValueTransformer<>(
+            rowKeyExtractor,
+            predicate.map(p -> () -> p),
+            mapper.map(m -> () -> m)
+        ).get();
+    transformer.init(processorContext);
+    return transformer;
+  }
+}
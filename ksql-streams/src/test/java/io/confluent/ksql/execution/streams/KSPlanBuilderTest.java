@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
+import io.confluent.ksql.execution.context.QueryContext;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.StringLiteral;
+import io.confluent.ksql.execution.plan.ExecutionStepProperties;
+import io.confluent.ksql.execution.plan.KeySerdeFactory;
+import io.confluent.ksql.execution.plan.KStreamHolder;
+import io.confluent.ksql.execution.plan.SelectExpression;
+import io.confluent.ksql.execution.plan.StreamFilter;
+import io.confluent.ksql.execution.plan.StreamMapValues;
+import io.confluent.ksql.execution.plan.StreamSelectKey;
+import io.confluent.ksql.execution.sqlpredicate.SqlPredicate;
+import io.confluent.ksql.function.FunctionRegistry;
+import io.confluent.ksql.logging.processing.ProcessingLogContext;
+import io.confluent.ksql.logging.processing.ProcessingLogger;
+import io.confluent.ksql.logging.processing.ProcessingLoggerFactory;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.query.QueryId;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.util.KsqlConfig;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Predicate;
+import org.apache.kafka.streams.kstream.ValueMapper;
+import org.apache.kafka.streams.kstream.ValueTransformerWithKeySupplier;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class KSPlanBuilderTest {
+  private static final LogicalSchema SCHEMA = new LogicalSchema.Builder()
+      .valueColumn(ColumnName.of("foo"), SqlTypes.STRING)
+      .build()
+      .withMetaAndKeyColsInValue()
+      .withAlias(SourceName.of("alias"));
+
+  @Mock
+  private KsqlQueryBuilder queryBuilder;
+  @Mock
+  private ProcessingLogContext processingLogContext;
+  @Mock
+  private ProcessingLoggerFactory processingLoggerFactory;
+  @Mock
+  private SqlPredicateFactory predicateFactory;
+  @Mock
+  private SqlPredicate sqlPredicate;
+  @Mock
+  private Predicate<Struct, GenericRow> predicate;
+  @Mock
+  private Expression filterExpression;
+  @Mock
+  private StreamSelectKey<Struct> sourceStep;
+  @Mock
+  private ExecutionStepProperties sourceProperties;
+  @Mock
+  private ExecutionStepProperties properties;
+  @Mock
+  private KStream<Struct, GenericRow> sourceKStream;
+  @Mock
+  private KStream<Struct, GenericRow> filteredKStream;
+  @Mock
+  private KStream<Struct, GenericRow> selectedKStream;
+  @Mock
+  private KStream<Struct, GenericRow> fusedKStream;
+  @Mock
+  private KeySerdeFactory<Struct> keySerdeFactory;
+
+  @Rule
+  public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+  private final QueryContext context =
+      new QueryContext.Stacker(new QueryId("qid")).getQueryContext();
+
+  private KsqlConfig ksqlConfig;
+  private StreamMapValues<Struct> step;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    when(queryBuilder.getKsqlConfig()).thenAnswer(inv -> ksqlConfig);
+    when(queryBuilder.getFunctionRegistry()).thenReturn(mock(FunctionRegistry.class));
+    when(queryBuilder.getProcessingLogContext()).thenReturn(processingLogContext);
+    when(processingLogContext.getLoggerFactory()).thenReturn(processingLoggerFactory);
+    when(processingLoggerFactory.getLogger(any())).thenReturn(mock(ProcessingLogger.class));
+    when(predicateFactory.create(any(), any(), any(), any(), any())).thenReturn(sqlPredicate);
+    when(sqlPredicate.getPredicate()).thenReturn((Predicate) predicate);
+    when(sqlPredicate.getProcessorPredicate()).thenReturn((Predicate) predicate);
+    when(sourceStep.getProperties()).thenReturn(sourceProperties);
+    when(sourceStep.build(any())).thenReturn(new KStreamHolder<>(sourceKStream, keySerdeFactory));
+    when(sourceProperties.getSchema()).thenReturn(SCHEMA);
+    when(properties.getQueryContext()).thenReturn(context);
+    when(properties.getSchema()).thenReturn(SCHEMA);
+    when(sourceKStream.filter(any())).thenReturn(filteredKStream);
+    when(filteredKStream.mapValues(any(ValueMapper.class))).thenReturn(selectedKStream);
+    when(sourceKStream.flatTransformValues(any(ValueTransformerWithKeySupplier.class)))
+        .thenReturn(fusedKStream);
+    step = new StreamMapValues<>(
+        properties,
+        new StreamFilter<>(properties, sourceStep, filterExpression),
+        ImmutableList.of(SelectExpression.of(ColumnName.of("expr"), new StringLiteral("baz")))
+    );
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldBuildFilterAndSelectAsSingleProcessor() {
+    // Given:
+    ksqlConfig = new KsqlConfig(ImmutableMap.of());
+
+    // When:
+    final KStreamHolder<Struct> result = step.build(planBuilder());
+
+    // Then:
+    verify(sourceKStream).flatTransformValues(any(ValueTransformerWithKeySupplier.class));
+    verify(sourceKStream, never()).filter(any());
+    assertThat(result.getStream(), is(fusedKStream));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldBuildFilterAndSelectSeparatelyForLegacyQueries() {
+    // Given:
+    ksqlConfig = new KsqlConfig(ImmutableMap.of())
+        .overrideBreakingConfigsWithOriginalValues(ImmutableMap.of());
+
+    // When:
+    final KStreamHolder<Struct> result = step.build(planBuilder());
+
+    // Then:
+    verify(sourceKStream).filter(predicate);
+    verify(filteredKStream).mapValues(any(ValueMapper.class));
+    verify(sourceKStream, never())
+        .flatTransformValues(any(ValueTransformerWithKeySupplier.class));
+    assertThat(result.getStream(), is(selectedKStream));
+  }
+
+  private KSPlanBuilder planBuilder() {
+    return new KSPlanBuilder(
+        queryBuilder,
+        predicateFactory,
+        mock(AggregateParams.Factory.class),
+        mock(StreamsFactories.class)
+    );
+  }
+}
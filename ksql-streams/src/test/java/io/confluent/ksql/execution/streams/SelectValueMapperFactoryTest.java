@@ -67,12 +67,14 @@ public class SelectValueMapperFactoryTest {
     when(select_1.getExpression()).thenReturn(exp_1);
     when(select_0.getExpression()).thenReturn(exp_0);
     when(select_1.getExpression()).thenReturn(exp_1);
-    when(codeGenerator.buildCodeGenFromParseTree(eq(exp_0), any())).thenReturn(md_0);
-    when(codeGenerator.buildCodeGenFromParseTree(eq(exp_1), any())).thenReturn(md_1);
   }
 
   @Test
   public void shouldBuildSelects() {
+    // Given:
+    when(codeGenerator.buildCodeGenFromParseTrees(eq(ImmutableList.of(exp_0, exp_1)), any()))
+        .thenReturn(ImmutableList.of(md_0, md_1));
+
     // When:
     final SelectValueMapper mapper = factory
         .create(ImmutableList.of(select_0, select_1), processingLogger);
@@ -86,10 +88,14 @@ public class SelectValueMapperFactoryTest {
 
   @Test
   public void shouldInvokeCodeGenWithCorrectExpressionType() {
+    // Given:
+    when(codeGenerator.buildCodeGenFromParseTrees(any(), any()))
+        .thenReturn(ImmutableList.of(md_0));
+
     // When:
     factory.create(ImmutableList.of(select_0), processingLogger);
 
     // Then:
-    verify(codeGenerator).buildCodeGenFromParseTree(any(), eq("Select"));
+    verify(codeGenerator).buildCodeGenFromParseTrees(any(), eq("Select"));
   }
 }
\ No newline at end of file
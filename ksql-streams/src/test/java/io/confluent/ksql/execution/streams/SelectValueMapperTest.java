@@ -1,10 +1,13 @@
 package io.confluent.ksql.execution.streams;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -19,7 +22,10 @@ import io.confluent.ksql.logging.processing.ProcessingLogConfig;
 import io.confluent.ksql.logging.processing.ProcessingLogMessageSchema;
 import io.confluent.ksql.logging.processing.ProcessingLogMessageSchema.MessageType;
 import io.confluent.ksql.logging.processing.ProcessingLogger;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
 import java.util.function.Function;
 import org.apache.kafka.connect.data.SchemaAndValue;
 import org.apache.kafka.connect.data.Struct;
@@ -69,6 +75,17 @@ public class SelectValueMapperTest {
     when(col2.evaluate(any())).thenReturn(result2);
   }
 
+  private static void givenBatchEvaluation(
+      final ExpressionMetadata evaluator,
+      final Object... results
+  ) {
+    doAnswer(inv -> {
+      final Object[] out = inv.getArgument(1);
+      System.arraycopy(results, 0, out, 0, results.length);
+      return null;
+    }).when(evaluator).evaluate(anyList(), any(Object[].class), any());
+  }
+
   @Test
   public void shouldEvaluateExpressions() {
     // Given:
@@ -81,6 +98,34 @@ public class SelectValueMapperTest {
     assertThat(result, equalTo(new GenericRow(ImmutableList.of(100, 200, 300))));
   }
 
+  @Test
+  public void shouldEvaluateExpressionsWithProcessorMapper() {
+    // Given:
+    final Object[] parameters = new Object[1];
+    when(col0.newParameterBuffer()).thenReturn(parameters);
+    when(col1.newParameterBuffer()).thenReturn(new Object[0]);
+    when(col2.newParameterBuffer()).thenReturn(new Object[0]);
+    when(col0.evaluate(any(), any(Object[].class))).thenReturn(100);
+    when(col1.evaluate(any(), any(Object[].class))).thenReturn(200);
+    when(col2.evaluate(any(), any(Object[].class))).thenReturn(300);
+
+    // When:
+    final GenericRow result = selectValueMapper.getProcessorMapper().apply(ROW);
+
+    // Then:
+    assertThat(result, equalTo(new GenericRow(ImmutableList.of(100, 200, 300))));
+    verify(col0).evaluate(ROW, parameters);
+  }
+
+  @Test
+  public void shouldHandleNullRowsWithProcessorMapper() {
+    // When:
+    final GenericRow result = selectValueMapper.getProcessorMapper().apply(null);
+
+    // Then:
+    assertThat(result, is(nullValue()));
+  }
+
   @Test
   public void shouldHandleNullRows() {
     // When:
@@ -123,4 +168,66 @@ public class SelectValueMapperTest {
                 + "for column apple with index 0: oops")
     );
   }
+
+  @Test
+  public void shouldEvaluateBatchOneExpressionAtATime() {
+    // Given:
+    givenBatchEvaluation(col0, 100, 101);
+    givenBatchEvaluation(col1, 200, 201);
+    givenBatchEvaluation(col2, 300, 301);
+
+    // When:
+    final List<GenericRow> result = selectValueMapper.applyBatch(ImmutableList.of(ROW, ROW));
+
+    // Then:
+    assertThat(result, contains(
+        new GenericRow(ImmutableList.of(100, 200, 300)),
+        new GenericRow(ImmutableList.of(101, 201, 301))
+    ));
+  }
+
+  @Test
+  public void shouldHandleNullRowsInBatch() {
+    // Given:
+    givenBatchEvaluation(col0, 100, null);
+    givenBatchEvaluation(col1, 200, null);
+    givenBatchEvaluation(col2, 300, null);
+
+    // When:
+    final List<GenericRow> result = selectValueMapper.applyBatch(Arrays.asList(ROW, null));
+
+    // Then:
+    assertThat(result, contains(new GenericRow(ImmutableList.of(100, 200, 300)), null));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldWriteProcessingLogOnBatchError() {
+    // Given:
+    when(col0.getExpression()).thenReturn(
+        new FunctionCall(FunctionName.of("kumquat"), ImmutableList.of())
+    );
+    doAnswer(inv -> {
+      final ObjIntConsumer<Exception> errorHandler = inv.getArgument(2);
+      errorHandler.accept(new RuntimeException("oops"), 0);
+      return null;
+    }).when(col0).evaluate(anyList(), any(Object[].class), any());
+
+    // When:
+    selectValueMapper.applyBatch(ImmutableList.of(ROW));
+
+    // Then:
+    final ArgumentCaptor<Function<ProcessingLogConfig, SchemaAndValue>> captor
+        = ArgumentCaptor.forClass(Function.class);
+    verify(processingLogger).error(captor.capture());
+    final Struct errorStruct = ((Struct) captor.getValue().apply(
+        new ProcessingLogConfig(Collections.emptyMap())).value())
+        .getStruct(ProcessingLogMessageSchema.RECORD_PROCESSING_ERROR);
+    assertThat(
+        errorStruct.get(ProcessingLogMessageSchema.RECORD_PROCESSING_ERROR_FIELD_MESSAGE),
+        equalTo(
+            "Error computing expression kumquat() "
+                + "for column apple with index 0: oops")
+    );
+  }
 }
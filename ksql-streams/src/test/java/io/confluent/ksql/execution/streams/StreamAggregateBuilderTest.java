@@ -181,7 +181,7 @@ public class StreamAggregateBuilderTest {
     when(sourceStep.getSchema()).thenReturn(INPUT_SCHEMA);
     when(sourceStep.build(any())).thenReturn(groupedStream);
     when(queryBuilder.buildKeySerde(any(), any(), any())).thenReturn(keySerde);
-    when(queryBuilder.buildValueSerde(any(), any(), any())).thenReturn(valueSerde);
+    when(queryBuilder.buildInternalValueSerde(any(), any(), any())).thenReturn(valueSerde);
     when(queryBuilder.getFunctionRegistry()).thenReturn(functionRegistry);
     when(aggregateParamsFactory.create(any(), anyInt(), any(), any())).thenReturn(aggregateParams);
     when(aggregateParams.getAggregator()).thenReturn(aggregator);
@@ -339,7 +339,7 @@ public class StreamAggregateBuilderTest {
     aggregate.build(planBuilder);
 
     // Then:
-    verify(queryBuilder).buildValueSerde(
+    verify(queryBuilder).buildInternalValueSerde(
         VALUE_FORMAT.getFormatInfo(),
         PHYSICAL_AGGREGATE_SCHEMA,
         CTX
@@ -495,7 +495,7 @@ public class StreamAggregateBuilderTest {
 
       // Then:
       verify(queryBuilder)
-          .buildValueSerde(VALUE_FORMAT.getFormatInfo(), PHYSICAL_AGGREGATE_SCHEMA, CTX);
+          .buildInternalValueSerde(VALUE_FORMAT.getFormatInfo(), PHYSICAL_AGGREGATE_SCHEMA, CTX);
     }
   }
 
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2019 Confluent Inc.
+ *
+ * Licensed under the Confluent Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ * http://www.confluent.io/confluent-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+
+package io.confluent.ksql.execution.streams;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import io.confluent.ksql.GenericRow;
+import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
+import io.confluent.ksql.execution.context.QueryContext;
+import io.confluent.ksql.execution.expression.tree.Expression;
+import io.confluent.ksql.execution.expression.tree.IntegerLiteral;
+import io.confluent.ksql.execution.expression.tree.StringLiteral;
+import io.confluent.ksql.execution.plan.ExecutionStep;
+import io.confluent.ksql.execution.plan.ExecutionStepProperties;
+import io.confluent.ksql.execution.plan.KeySerdeFactory;
+import io.confluent.ksql.execution.plan.KStreamHolder;
+import io.confluent.ksql.execution.plan.PlanBuilder;
+import io.confluent.ksql.execution.plan.SelectExpression;
+import io.confluent.ksql.execution.plan.StreamFilter;
+import io.confluent.ksql.execution.plan.StreamMapValues;
+import io.confluent.ksql.execution.plan.StreamSelectKey;
+import io.confluent.ksql.execution.plan.StreamSink;
+import io.confluent.ksql.execution.plan.StreamSource;
+import io.confluent.ksql.execution.sqlpredicate.SqlPredicate;
+import io.confluent.ksql.function.FunctionRegistry;
+import io.confluent.ksql.logging.processing.ProcessingLogContext;
+import io.confluent.ksql.logging.processing.ProcessingLogger;
+import io.confluent.ksql.logging.processing.ProcessingLoggerFactory;
+import io.confluent.ksql.name.ColumnName;
+import io.confluent.ksql.name.SourceName;
+import io.confluent.ksql.query.QueryId;
+import io.confluent.ksql.schema.ksql.LogicalSchema;
+import io.confluent.ksql.schema.ksql.types.SqlTypes;
+import io.confluent.ksql.util.KsqlConfig;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Predicate;
+import org.apache.kafka.streams.kstream.ValueMapper;
+import org.apache.kafka.streams.kstream.ValueTransformerWithKey;
+import org.apache.kafka.streams.kstream.ValueTransformerWithKeySupplier;
+import org.apache.kafka.streams.processor.ProcessorContext;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class StreamFusedStepsBuilderTest {
+  private static final LogicalSchema SCHEMA = new LogicalSchema.Builder()
+      .valueColumn(ColumnName.of("foo"), SqlTypes.STRING)
+      .valueColumn(ColumnName.of("bar"), SqlTypes.BIGINT)
+      .build()
+      .withMetaAndKeyColsInValue()
+      .withAlias(SourceName.of("alias"));
+
+  private static final List<SelectExpression> SELECT_EXPRESSIONS = ImmutableList.of(
+      SelectExpression.of(ColumnName.of("expr1"), new StringLiteral("baz")),
+      SelectExpression.of(ColumnName.of("expr2"), new IntegerLiteral(123))
+  );
+
+  private static final Predicate<Struct, GenericRow> PREDICATE =
+      (key, row) -> row != null && !row.getColumns().contains("drop");
+
+  @Mock
+  private KsqlQueryBuilder queryBuilder;
+  @Mock
+  private KsqlConfig ksqlConfig;
+  @Mock
+  private ProcessingLogContext processingLogContext;
+  @Mock
+  private ProcessingLoggerFactory processingLoggerFactory;
+  @Mock
+  private SqlPredicateFactory predicateFactory;
+  @Mock
+  private SqlPredicate sqlPredicate;
+  @Mock
+  private Expression filterExpression;
+  @Mock
+  private StreamSource<Struct> sourceStep;
+  @Mock
+  private StreamSelectKey<Struct> repartitionStep;
+  @Mock
+  private StreamSink<Struct> sinkStep;
+  @Mock
+  private ExecutionStepProperties sourceProperties;
+  @Mock
+  private ExecutionStepProperties filterProperties;
+  @Mock
+  private ExecutionStepProperties selectProperties;
+  @Mock
+  private KStream<Struct, GenericRow> sourceKStream;
+  @Mock
+  private KStream<Struct, GenericRow> filteredKStream;
+  @Mock
+  private KStream<Struct, GenericRow> selectedKStream;
+  @Mock
+  private KStream<Struct, GenericRow> fusedKStream;
+  @Mock
+  private KeySerdeFactory<Struct> keySerdeFactory;
+  @Mock
+  private ProcessorContext processorContext;
+  @Captor
+  private ArgumentCaptor<Predicate<Struct, GenericRow>> predicateCaptor;
+  @Captor
+  private ArgumentCaptor<ValueMapper<GenericRow, GenericRow>> mapperCaptor;
+  @Captor
+  private ArgumentCaptor<ValueTransformerWithKeySupplier<Struct, GenericRow, Iterable<GenericRow>>>
+      transformerCaptor;
+
+  @Rule
+  public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+  private final QueryContext context =
+      new QueryContext.Stacker(new QueryId("qid")).getQueryContext();
+
+  private PlanBuilder planBuilder;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    when(queryBuilder.getKsqlConfig()).thenReturn(ksqlConfig);
+    when(queryBuilder.getFunctionRegistry()).thenReturn(mock(FunctionRegistry.class));
+    when(queryBuilder.getProcessingLogContext()).thenReturn(processingLogContext);
+    when(processingLogContext.getLoggerFactory()).thenReturn(processingLoggerFactory);
+    when(processingLoggerFactory.getLogger(any())).thenReturn(mock(ProcessingLogger.class));
+    when(ksqlConfig.getBoolean(KsqlConfig.KSQL_FUSE_STATELESS_STEPS)).thenReturn(true);
+    when(predicateFactory.create(any(), any(), any(), any(), any())).thenReturn(sqlPredicate);
+    when(sqlPredicate.getPredicate()).thenReturn((Predicate) PREDICATE);
+    when(sqlPredicate.getProcessorPredicate()).thenReturn((Predicate) PREDICATE);
+    when(repartitionStep.getProperties()).thenReturn(sourceProperties);
+    when(repartitionStep.build(any()))
+        .thenReturn(new KStreamHolder<>(sourceKStream, keySerdeFactory));
+    when(sourceProperties.getSchema()).thenReturn(SCHEMA);
+    when(filterProperties.getQueryContext()).thenReturn(context);
+    when(filterProperties.getSchema()).thenReturn(SCHEMA);
+    when(selectProperties.getQueryContext()).thenReturn(context);
+    when(sourceKStream.filter(any())).thenReturn(filteredKStream);
+    when(filteredKStream.mapValues(any(ValueMapper.class))).thenReturn(selectedKStream);
+    when(sourceKStream.flatTransformValues(any(ValueTransformerWithKeySupplier.class)))
+        .thenReturn(fusedKStream);
+    planBuilder = new KSPlanBuilder(
+        queryBuilder,
+        predicateFactory,
+        mock(AggregateParams.Factory.class),
+        mock(StreamsFactories.class)
+    );
+  }
+
+  @Test
+  public void shouldFuseFilterAndSelect() {
+    // Given:
+    final StreamMapValues<Struct> select = select(filter(sourceStep));
+
+    // Then:
+    assertThat(StreamFusedStepsBuilder.canFuse(select, queryBuilder), is(true));
+  }
+
+  @Test
+  public void shouldFuseSelectOnSource() {
+    // Given:
+    final StreamMapValues<Struct> select = select(sourceStep);
+
+    // Then:
+    assertThat(StreamFusedStepsBuilder.canFuse(select, queryBuilder), is(true));
+  }
+
+  @Test
+  public void shouldFuseFilterOnSource() {
+    // Given:
+    final StreamFilter<Struct> filter = filter(sourceStep);
+
+    // Then:
+    assertThat(StreamFusedStepsBuilder.canFuse(filter, queryBuilder), is(true));
+  }
+
+  @Test
+  public void shouldNotFuseSelectOnRepartition() {
+    // Given:
+    final StreamMapValues<Struct> select = select(repartitionStep);
+
+    // Then:
+    assertThat(StreamFusedStepsBuilder.canFuse(select, queryBuilder), is(false));
+  }
+
+  @Test
+  public void shouldNotFuseFilterOnRepartition() {
+    // Given:
+    final StreamFilter<Struct> filter = filter(repartitionStep);
+
+    // Then:
+    assertThat(StreamFusedStepsBuilder.canFuse(filter, queryBuilder), is(false));
+  }
+
+  @Test
+  public void shouldNotFuseSink() {
+    assertThat(StreamFusedStepsBuilder.canFuse(sinkStep, queryBuilder), is(false));
+  }
+
+  @Test
+  public void shouldNotFuseIfDisabled() {
+    // Given:
+    when(ksqlConfig.getBoolean(KsqlConfig.KSQL_FUSE_STATELESS_STEPS)).thenReturn(false);
+    final StreamMapValues<Struct> select = select(filter(sourceStep));
+
+    // Then:
+    assertThat(StreamFusedStepsBuilder.canFuse(select, queryBuilder), is(false));
+  }
+
+  @Test
+  public void shouldBuildRepartitionSeparatelyFromFusedSteps() {
+    // Given:
+    final StreamMapValues<Struct> select = select(filter(repartitionStep));
+
+    // When:
+    final KStreamHolder<Struct> result =
+        StreamFusedStepsBuilder.build(select, planBuilder, queryBuilder, predicateFactory);
+
+    // Then:
+    verify(repartitionStep).build(planBuilder);
+    verify(sourceKStream).flatTransformValues(any(ValueTransformerWithKeySupplier.class));
+    verify(sourceKStream, never()).filter(any());
+    verify(sourceKStream, never()).mapValues(any(ValueMapper.class));
+    assertThat(result.getStream(), is(fusedKStream));
+    assertThat(result.getKeySerdeFactory(), is(keySerdeFactory));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldDropNullAndFilteredRowsAsUnfusedSteps() {
+    // Given:
+    final List<GenericRow> rows = Arrays.asList(
+        null,
+        new GenericRow("drop", 1L),
+        new GenericRow("keep", 2L)
+    );
+
+    when(ksqlConfig.getBoolean(KsqlConfig.KSQL_FUSE_STATELESS_STEPS)).thenReturn(false);
+    select(filter(repartitionStep)).build(planBuilder);
+    verify(sourceKStream).filter(predicateCaptor.capture());
+    verify(filteredKStream).mapValues(mapperCaptor.capture());
+
+    when(ksqlConfig.getBoolean(KsqlConfig.KSQL_FUSE_STATELESS_STEPS)).thenReturn(true);
+    select(filter(repartitionStep)).build(planBuilder);
+    verify(sourceKStream).flatTransformValues(transformerCaptor.capture());
+    final ValueTransformerWithKey<Struct, GenericRow, Iterable<GenericRow>> transformer =
+        transformerCaptor.getValue().get();
+    transformer.init(processorContext);
+
+    // When:
+    final List<GenericRow> unfused = new ArrayList<>();
+    final List<GenericRow> fused = new ArrayList<>();
+    for (final GenericRow row : rows) {
+      if (predicateCaptor.getValue().test(null, row)) {
+        unfused.add(mapperCaptor.getValue().apply(row));
+      }
+      transformer.transform(null, row).forEach(fused::add);
+    }
+
+    // Then:
+    assertThat(fused, is(unfused));
+    assertThat(fused, is(ImmutableList.of(new GenericRow("baz", 123))));
+  }
+
+  private StreamFilter<Struct> filter(final ExecutionStep<KStreamHolder<Struct>> source) {
+    return new StreamFilter<>(filterProperties, source, filterExpression);
+  }
+
+  private StreamMapValues<Struct> select(final ExecutionStep<KStreamHolder<Struct>> source) {
+    return new StreamMapValues<>(selectProperties, source, SELECT_EXPRESSIONS);
+  }
+}
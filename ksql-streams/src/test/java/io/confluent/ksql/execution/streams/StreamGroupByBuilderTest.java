@@ -129,7 +129,7 @@ public class StreamGroupByBuilderTest {
     when(queryBuilder.getKsqlConfig()).thenReturn(ksqlConfig);
     when(queryBuilder.getFunctionRegistry()).thenReturn(functionRegistry);
     when(queryBuilder.buildKeySerde(any(), any(), any())).thenReturn(keySerde);
-    when(queryBuilder.buildValueSerde(any(), any(), any())).thenReturn(valueSerde);
+    when(queryBuilder.buildInternalValueSerde(any(), any(), any())).thenReturn(valueSerde);
     when(groupedFactory.create(any(), any(KeySerde.class), any())).thenReturn(grouped);
     when(sourceStream.groupByKey(any(Grouped.class))).thenReturn(groupedStream);
     when(sourceStream.filter(any())).thenReturn(filteredStream);
@@ -220,7 +220,7 @@ public class StreamGroupByBuilderTest {
     streamGroupBy.build(planBuilder);
 
     // Then:
-    verify(queryBuilder).buildValueSerde(
+    verify(queryBuilder).buildInternalValueSerde(
         FORMATS.getValueFormat().getFormatInfo(),
         PHYSICAL_SCHEMA,
         STEP_CTX
@@ -265,7 +265,7 @@ public class StreamGroupByBuilderTest {
     streamGroupByKey.build(planBuilder);
 
     // Then:
-    verify(queryBuilder).buildValueSerde(
+    verify(queryBuilder).buildInternalValueSerde(
         FORMATS.getValueFormat().getFormatInfo(),
         PHYSICAL_SCHEMA,
         STEP_CTX
@@ -25,11 +25,14 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import io.confluent.ksql.GenericRow;
 import io.confluent.ksql.execution.builder.KsqlQueryBuilder;
 import io.confluent.ksql.execution.context.QueryContext;
@@ -52,6 +55,7 @@ import io.confluent.ksql.serde.KeySerde;
 import io.confluent.ksql.serde.SerdeOption;
 import io.confluent.ksql.serde.ValueFormat;
 import io.confluent.ksql.serde.WindowInfo;
+import io.confluent.ksql.util.KsqlConfig;
 import io.confluent.ksql.util.timestamp.TimestampExtractionPolicy;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -69,7 +73,10 @@ import org.apache.kafka.streams.kstream.KStream;
 import org.apache.kafka.streams.kstream.ValueMapperWithKey;
 import org.apache.kafka.streams.kstream.ValueTransformer;
 import org.apache.kafka.streams.kstream.ValueTransformerSupplier;
+import org.apache.kafka.streams.kstream.ValueTransformerWithKey;
+import org.apache.kafka.streams.kstream.ValueTransformerWithKeySupplier;
 import org.apache.kafka.streams.kstream.Windowed;
+import org.apache.kafka.streams.kstream.internals.SessionWindow;
 import org.apache.kafka.streams.kstream.internals.TimeWindow;
 import org.apache.kafka.streams.processor.ProcessorContext;
 import org.apache.kafka.streams.processor.TimestampExtractor;
@@ -143,9 +150,13 @@ public class StreamSourceBuilderTest {
   @Captor
   private ArgumentCaptor<ValueTransformerSupplier> transformSupplierCaptor;
   @Captor
+  private ArgumentCaptor<ValueTransformerWithKeySupplier> keyTransformSupplierCaptor;
+  @Captor
   private ArgumentCaptor<Consumed> consumedCaptor;
   private Optional<AutoOffsetReset> offsetReset = Optional.of(AutoOffsetReset.EARLIEST);
   private final GenericRow row = new GenericRow(new LinkedList<>(ImmutableList.of("baz", 123)));
+  private KsqlConfig ksqlConfig = new KsqlConfig(
+      ImmutableMap.of(KsqlConfig.KSQL_FUSE_STATELESS_STEPS, false));
   private PlanBuilder planBuilder;
 
   private StreamSource<KStream<?, GenericRow>> streamSource;
@@ -166,9 +177,11 @@ public class StreamSourceBuilderTest {
     when(extractionPolicy.create(anyInt())).thenReturn(extractor);
     when(extractionPolicy.timestampField()).thenReturn(ColumnRef.withoutSource(ColumnName.of("field2")));
     when(queryBuilder.getStreamsBuilder()).thenReturn(streamsBuilder);
+    when(queryBuilder.getKsqlConfig()).thenAnswer(inv -> ksqlConfig);
     when(streamsBuilder.stream(anyString(), any(Consumed.class))).thenReturn(kStream);
     when(kStream.mapValues(any(ValueMapperWithKey.class))).thenReturn(kStream);
     when(kStream.transformValues(any(ValueTransformerSupplier.class))).thenReturn(kStream);
+    when(kStream.transformValues(any(ValueTransformerWithKeySupplier.class))).thenReturn(kStream);
     when(queryBuilder.buildKeySerde(any(), any(), any(), any())).thenReturn(keySerde);
     when(queryBuilder.buildKeySerde(any(), any(), any())).thenReturn(keySerde);
     when(queryBuilder.buildValueSerde(any(), any(), any())).thenReturn(valueSerde);
@@ -268,6 +281,30 @@ public class StreamSourceBuilderTest {
     verify(queryBuilder).buildValueSerde(valueFormatInfo, PHYSICAL_SCHEMA, ctx);
   }
 
+  @Test
+  public void shouldBuildSourceValueSerdeWithRequiredColumns() {
+    // Given:
+    final Set<ColumnName> required = ImmutableSet.of(ColumnName.of("field1"));
+    when(queryBuilder.buildValueSerde(any(), any(), any(), any())).thenReturn(valueSerde);
+    when(keyFormat.isWindowed()).thenReturn(false);
+    streamSource = new StreamSource<>(
+        new DefaultExecutionStepProperties(SCHEMA, ctx),
+        TOPIC_NAME,
+        Formats.of(keyFormat, valueFormat, SERDE_OPTIONS),
+        extractionPolicy,
+        TIMESTAMP_IDX,
+        offsetReset,
+        SOURCE_SCHEMA,
+        Optional.of(required)
+    );
+
+    // When:
+    streamSource.build(planBuilder);
+
+    // Then:
+    verify(queryBuilder).buildValueSerde(valueFormatInfo, PHYSICAL_SCHEMA, ctx, required);
+  }
+
   @Test
   public void shouldBuildSourceKeySerdeCorrectly() {
     // Given:
@@ -371,6 +408,83 @@ public class StreamSourceBuilderTest {
     assertThat(withTimestamp, equalTo(new GenericRow(456L, "baz", 123)));
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldAddMetaColumnsInSingleTransformWhenFused() {
+    // Given:
+    ksqlConfig = new KsqlConfig(ImmutableMap.of());
+    givenUnwindowedSource();
+
+    // When:
+    final KStreamHolder<?> builtKstream = streamSource.build(planBuilder);
+
+    // Then:
+    assertThat(builtKstream.getStream(), is(kStream));
+    verify(kStream, never()).mapValues(any(ValueMapperWithKey.class));
+    verify(kStream, never()).transformValues(any(ValueTransformerSupplier.class));
+    verify(kStream).transformValues(any(ValueTransformerWithKeySupplier.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldAddRowTimeAndRowKeyWhenFused() {
+    // Given:
+    ksqlConfig = new KsqlConfig(ImmutableMap.of());
+    givenUnwindowedSource();
+    streamSource.build(planBuilder);
+    verify(kStream).transformValues(keyTransformSupplierCaptor.capture());
+    final ValueTransformerWithKey transformer = keyTransformSupplierCaptor.getValue().get();
+    transformer.init(processorCtx);
+
+    // When:
+    final GenericRow result = (GenericRow) transformer.transform(KEY, row);
+
+    // Then:
+    assertThat(result, equalTo(new GenericRow(456L, "foo", "baz", 123)));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldAddWindowedRowKeyWhenFused() {
+    // Given:
+    ksqlConfig = new KsqlConfig(ImmutableMap.of());
+    givenWindowedSource();
+    streamSource.build(planBuilder);
+    verify(kStream).transformValues(keyTransformSupplierCaptor.capture());
+    final ValueTransformerWithKey transformer = keyTransformSupplierCaptor.getValue().get();
+    transformer.init(processorCtx);
+    final Windowed<Struct> key = new Windowed<>(KEY, new TimeWindow(100, 200));
+
+    // When:
+    final GenericRow result = (GenericRow) transformer.transform(key, row);
+
+    // Then:
+    assertThat(
+        result,
+        equalTo(new GenericRow(456L, "foo : Window{start=100 end=-}", "baz", 123)));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldAddSessionWindowedRowKeyWhenFused() {
+    // Given:
+    ksqlConfig = new KsqlConfig(ImmutableMap.of());
+    givenWindowedSource();
+    streamSource.build(planBuilder);
+    verify(kStream).transformValues(keyTransformSupplierCaptor.capture());
+    final ValueTransformerWithKey transformer = keyTransformSupplierCaptor.getValue().get();
+    transformer.init(processorCtx);
+    final Windowed<Struct> key = new Windowed<>(KEY, new SessionWindow(100, 200));
+
+    // When:
+    final GenericRow result = (GenericRow) transformer.transform(key, row);
+
+    // Then:
+    assertThat(
+        result,
+        equalTo(new GenericRow(456L, "foo : Window{start=100 end=200}", "baz", 123)));
+  }
+
   @Test
   @SuppressWarnings("unchecked")
   public void shouldUseCorrectSerdeForWindowedKey() {
@@ -126,9 +126,9 @@ public class StreamStreamJoinBuilderTest {
     when(left.getSchema()).thenReturn(LEFT_SCHEMA);
     when(right.getSchema()).thenReturn(RIGHT_SCHEMA);
     when(keySerdeFactory.buildKeySerde(any(KeyFormat.class), any(), any())).thenReturn(keySerde);
-    when(queryBuilder.buildValueSerde(eq(FormatInfo.of(Format.JSON)), any(), any()))
+    when(queryBuilder.buildInternalValueSerde(eq(FormatInfo.of(Format.JSON)), any(), any()))
         .thenReturn(leftSerde);
-    when(queryBuilder.buildValueSerde(eq(FormatInfo.of(Format.AVRO)), any(), any()))
+    when(queryBuilder.buildInternalValueSerde(eq(FormatInfo.of(Format.AVRO)), any(), any()))
         .thenReturn(rightSerde);
     when(joinedFactory.create(any(Serde.class), any(), any(), any())).thenReturn(joined);
     when(left.build(any())).thenReturn(
@@ -286,7 +286,8 @@ public class StreamStreamJoinBuilderTest {
 
     // Then:
     final QueryContext leftCtx = QueryContext.Stacker.of(CTX).push("left").getQueryContext();
-    verify(queryBuilder).buildValueSerde(FormatInfo.of(Format.JSON), LEFT_PHYSICAL, leftCtx);
+    verify(queryBuilder)
+        .buildInternalValueSerde(FormatInfo.of(Format.JSON), LEFT_PHYSICAL, leftCtx);
   }
 
   @Test
@@ -299,6 +300,7 @@ public class StreamStreamJoinBuilderTest {
 
     // Then:
     final QueryContext leftCtx = QueryContext.Stacker.of(CTX).push("right").getQueryContext();
-    verify(queryBuilder).buildValueSerde(FormatInfo.of(Format.AVRO), RIGHT_PHYSICAL, leftCtx);
+    verify(queryBuilder)
+        .buildInternalValueSerde(FormatInfo.of(Format.AVRO), RIGHT_PHYSICAL, leftCtx);
   }
 }
@@ -127,7 +127,7 @@ public class StreamToTableBuilderTest {
     when(kStream.mapValues(any(ValueMapper.class))).thenReturn(kStream);
     when(kStream.groupByKey()).thenReturn(kGroupedStream);
     when(kGroupedStream.aggregate(any(), any(), any(Materialized.class))).thenReturn(kTable);
-    when(ksqlQueryBuilder.buildValueSerde(any(), any(), any())).thenReturn(valueSerde);
+    when(ksqlQueryBuilder.buildInternalValueSerde(any(), any(), any())).thenReturn(valueSerde);
     when(source.build(any())).thenReturn(
         new KStreamHolder<>(kStream, keySerdeFactory));
     planBuilder = new KSPlanBuilder(
@@ -197,7 +197,7 @@ public class StreamToTableBuilderTest {
     step.build(planBuilder);
 
     // Then:
-    verify(ksqlQueryBuilder).buildValueSerde(
+    verify(ksqlQueryBuilder).buildInternalValueSerde(
         valueFormat.getFormatInfo(),
         physicalSchema,
         queryContext
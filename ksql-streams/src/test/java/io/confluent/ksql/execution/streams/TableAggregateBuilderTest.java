@@ -144,7 +144,7 @@ public class TableAggregateBuilderTest {
   public void init() {
     when(sourceStep.getSchema()).thenReturn(INPUT_SCHEMA);
     when(queryBuilder.buildKeySerde(any(), any(), any())).thenReturn(keySerde);
-    when(queryBuilder.buildValueSerde(any(), any(), any())).thenReturn(valueSerde);
+    when(queryBuilder.buildInternalValueSerde(any(), any(), any())).thenReturn(valueSerde);
     when(queryBuilder.getFunctionRegistry()).thenReturn(functionRegistry);
     when(aggregateParamsFactory.create(any(), anyInt(), any(), any())).thenReturn(aggregateParams);
     when(aggregateParams.getAggregator()).thenReturn(aggregator);
@@ -223,7 +223,7 @@ public class TableAggregateBuilderTest {
     aggregate.build(planBuilder);
 
     // Then:
-    verify(queryBuilder).buildValueSerde(
+    verify(queryBuilder).buildInternalValueSerde(
         VALUE_FORMAT.getFormatInfo(),
         PHYSICAL_AGGREGATE_SCHEMA,
         CTX
@@ -128,7 +128,7 @@ public class TableGroupByBuilderTest {
     when(queryBuilder.getKsqlConfig()).thenReturn(ksqlConfig);
     when(queryBuilder.getFunctionRegistry()).thenReturn(functionRegistry);
     when(queryBuilder.buildKeySerde(any(), any(), any())).thenReturn(keySerde);
-    when(queryBuilder.buildValueSerde(any(), any(), any())).thenReturn(valueSerde);
+    when(queryBuilder.buildInternalValueSerde(any(), any(), any())).thenReturn(valueSerde);
     when(groupedFactory.create(any(), any(KeySerde.class), any())).thenReturn(grouped);
     when(sourceTable.filter(any())).thenReturn(filteredTable);
     when(filteredTable.groupBy(any(KeyValueMapper.class), any(Grouped.class)))
@@ -217,7 +217,7 @@ public class TableGroupByBuilderTest {
     groupBy.build(planBuilder);
 
     // Then:
-    verify(queryBuilder).buildValueSerde(
+    verify(queryBuilder).buildInternalValueSerde(
         FORMATS.getValueFormat().getFormatInfo(),
         PHYSICAL_SCHEMA,
         STEP_CONTEXT